@@ -0,0 +1,243 @@
+/**
+ * AGENTMAILBOX CLASS - Bounded Per-Agent Queue With Priority Lanes
+ *
+ * PURPOSE:
+ * - Holds one agent's pending outgoing or incoming messages
+ * - Bounded: memory stays flat during message storms
+ * - One FIFO lane per priority level (1 = highest ... 5 = lowest), so
+ *   urgent traffic never waits behind routine updates
+ * - Each mailbox has its own lock; agents never contend on a global queue
+ *
+ * OVERFLOW:
+ * - When full, the OverflowPolicy passed with the message decides what
+ *   happens (see OverflowPolicy)
+ * - Dropped and rejected messages are counted for congestion reporting
+ *
+ * USAGE:
+ * AgentMailbox<OutgoingMessage> outbox = new AgentMailbox<>(256);
+ * outbox.offer(message, message.priority, OverflowPolicy.DROP_OLDEST);
+ * OutgoingMessage next = outbox.poll();
+ */
+package com.team6.swarm.communication;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public class AgentMailbox<T> {
+    public static final int HIGHEST_PRIORITY = 1;
+    public static final int LOWEST_PRIORITY = 5;
+    private static final int LANES = LOWEST_PRIORITY - HIGHEST_PRIORITY + 1;
+
+    private final int capacity;
+    private final Consumer<? super T> evictionListener;
+    private final ArrayDeque<T>[] lanes;
+    private int size;
+
+    private long acceptedCount;
+    private long droppedCount;
+    private long rejectedCount;
+    private int highWaterMark;
+
+    public AgentMailbox(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * @param evictionListener called (under the mailbox lock) with each queued
+     *                         message an overflow policy evicts; may be null
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public AgentMailbox(int capacity, Consumer<? super T> evictionListener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.evictionListener = evictionListener;
+        this.lanes = new ArrayDeque[LANES];
+        for (int i = 0; i < LANES; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Adds a message to its priority lane, applying the overflow policy if full.
+     *
+     * @return false if the incoming message was not queued
+     */
+    public synchronized boolean offer(T item, int priority, OverflowPolicy policy) {
+        int lane = laneOf(priority);
+
+        if (size >= capacity && !makeRoom(lane, policy)) {
+            rejectedCount++;
+            return false;
+        }
+
+        lanes[lane].addLast(item);
+        size++;
+        acceptedCount++;
+        if (size > highWaterMark) {
+            highWaterMark = size;
+        }
+        return true;
+    }
+
+    /**
+     * Removes the oldest message of the highest-priority non-empty lane.
+     */
+    public synchronized T poll() {
+        for (ArrayDeque<T> lane : lanes) {
+            T item = lane.pollFirst();
+            if (item != null) {
+                size--;
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes the oldest message of one priority lane only.
+     */
+    public synchronized T pollLane(int priority) {
+        T item = lanes[laneOf(priority)].pollFirst();
+        if (item != null) {
+            size--;
+        }
+        return item;
+    }
+
+    /**
+     * Removes every queued message matching the filter.
+     *
+     * @return number removed
+     */
+    public synchronized int removeIf(Predicate<? super T> filter) {
+        int removed = 0;
+        for (ArrayDeque<T> lane : lanes) {
+            Iterator<T> iterator = lane.iterator();
+            while (iterator.hasNext()) {
+                if (filter.test(iterator.next())) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        size -= removed;
+        return removed;
+    }
+
+    public synchronized T peek() {
+        for (ArrayDeque<T> lane : lanes) {
+            T item = lane.peekFirst();
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized int laneSize(int priority) {
+        return lanes[laneOf(priority)].size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    public synchronized void clear() {
+        for (ArrayDeque<T> lane : lanes) {
+            lane.clear();
+        }
+        size = 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized double getOccupancy() {
+        return (double) size / capacity;
+    }
+
+    public synchronized long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    /**
+     * Queued messages evicted to make room for newer/more important ones.
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Incoming messages refused because the mailbox was full.
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public synchronized int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    private boolean makeRoom(int incomingLane, OverflowPolicy policy) {
+        T evicted;
+        switch (policy) {
+            case DROP_OLDEST: {
+                int lane = incomingLane;
+                if (lanes[lane].isEmpty()) {
+                    lane = lowestNonEmptyLaneIndex();
+                    if (lane < incomingLane) {
+                        return false; // everything queued is more important
+                    }
+                }
+                evicted = lanes[lane].pollFirst();
+                break;
+            }
+            case DROP_LOWEST_PRIORITY: {
+                int lowest = lowestNonEmptyLaneIndex();
+                if (lowest < incomingLane) {
+                    return false; // everything queued is more important
+                }
+                evicted = lanes[lowest].pollLast();
+                break;
+            }
+            case REJECT:
+            default:
+                return false;
+        }
+        size--;
+        droppedCount++;
+        if (evictionListener != null) {
+            evictionListener.accept(evicted);
+        }
+        return true;
+    }
+
+    private int lowestNonEmptyLaneIndex() {
+        for (int i = LANES - 1; i >= 0; i--) {
+            if (!lanes[i].isEmpty()) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static int laneOf(int priority) {
+        int clamped = Math.max(HIGHEST_PRIORITY, Math.min(LOWEST_PRIORITY, priority));
+        return clamped - HIGHEST_PRIORITY;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("AgentMailbox{size=%d/%d, dropped=%d, rejected=%d, highWater=%d}",
+                           size, capacity, droppedCount, rejectedCount, highWaterMark);
+    }
+}
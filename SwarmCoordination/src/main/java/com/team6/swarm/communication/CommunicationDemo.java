@@ -18,6 +18,7 @@ import com.team6.swarm.core.Point2D;
 import com.team6.swarm.core.AgentStatus;
 import com.team6.swarm.core.Vector2D;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class CommunicationDemo {
     
@@ -135,11 +136,12 @@ public class CommunicationDemo {
         OutgoingMessage outgoing = new OutgoingMessage(1, 2, criticalMsg, 1, 5, 30000);
         
         System.out.println("  Sending critical emergency alert (Agent 1 → Agent 2)");
-        boolean sent = recovery.sendCritical(outgoing);
-        System.out.println("  Message queued: " + sent);
+        CompletableFuture<Boolean> sent = recovery.sendCriticalAsync(outgoing);
+        System.out.println("  Message queued: " + (sent.isDone() ? sent.join() : "retry pending"));
         
-        // Process messages (simulates delivery attempts)
+        // Process messages (simulates delivery attempts), then any due retries
         manager.processMessages();
+        recovery.processRetries();
         
         // Check if message was delivered
         List<IncomingMessage> history = manager.getMessageHistory();
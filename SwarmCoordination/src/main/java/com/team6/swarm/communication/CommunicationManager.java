@@ -7,44 +7,89 @@ import com.team6.swarm.core.AgentState;
 import com.team6.swarm.core.Point2D;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class CommunicationManager {
+    public static final int DEFAULT_OUTBOX_CAPACITY = 256;
+    public static final int DEFAULT_INBOX_CAPACITY = 256;
+    
     private final Map<Integer, NeighborInformation> networkTopology;
-    private final PriorityBlockingQueue<OutgoingMessage> messageQueue;
+    private final Map<Integer, AgentMailbox<OutgoingMessage>> outboxes;
+    private final Map<Integer, AgentMailbox<IncomingMessage>> inboxes;
+    private final OverflowPolicy[] overflowPolicies;
+    private final int outboxCapacity;
+    private final int inboxCapacity;
     private final NetworkSimulator networkSimulator;
-    private final List<IncomingMessage> messageHistory;
+    private final MessageHistory messageHistory;
     private final Map<Integer, Point2D> agentPositions;
     private final Map<Integer, MessageListener> messageListeners;
-    private final int maxHistorySize;
+    private final Map<Integer, DuplicateFilter> duplicateFilters;
+    private volatile MessageTransport transport;
+    private volatile LinkBatcher linkBatcher;
+    private final MessageStatistics statistics;
+    private final LinkQualityCache linkQualityCache;
+    private final AtomicLong transportDropped = new AtomicLong();
+    private volatile long topologyVersion;
+    private List<Set<Integer>> cachedPartitions;
+    private long cachedPartitionsVersion = -1;
     
     public CommunicationManager() {
         this(new NetworkSimulator());
     }
     
     public CommunicationManager(NetworkSimulator networkSimulator) {
+        this(networkSimulator, DEFAULT_OUTBOX_CAPACITY, DEFAULT_INBOX_CAPACITY);
+    }
+    
+    /**
+     * @param outboxCapacity Max messages queued per sending agent
+     * @param inboxCapacity Max undelivered messages held per receiving agent
+     */
+    public CommunicationManager(NetworkSimulator networkSimulator, int outboxCapacity, int inboxCapacity) {
+        if (outboxCapacity <= 0 || inboxCapacity <= 0) {
+            throw new IllegalArgumentException("mailbox capacities must be positive");
+        }
         this.networkTopology = new ConcurrentHashMap<>();
-        this.messageQueue = new PriorityBlockingQueue<>(100, 
-            Comparator.comparingInt(msg -> msg.priority));
+        this.outboxes = new ConcurrentHashMap<>();
+        this.inboxes = new ConcurrentHashMap<>();
+        this.overflowPolicies = defaultOverflowPolicies();
+        this.outboxCapacity = outboxCapacity;
+        this.inboxCapacity = inboxCapacity;
         this.networkSimulator = networkSimulator;
-        this.messageHistory = new ArrayList<>();
+        this.messageHistory = new MessageHistory(1000);
         this.agentPositions = new ConcurrentHashMap<>();
         this.messageListeners = new ConcurrentHashMap<>();
-        this.maxHistorySize = 1000;
+        this.duplicateFilters = new ConcurrentHashMap<>();
+        this.transport = InProcessTransport.INSTANCE;
+        this.linkBatcher = new LinkBatcher();
+        this.statistics = new MessageStatistics();
+        this.linkQualityCache = new LinkQualityCache(networkSimulator);
     }
     
-    public void updateTopology(List<AgentState> allAgents) {
+    /**
+     * Recomputes every agent's neighbours. Link signal and up/down state
+     * come from the LinkQualityCache (smoothed, with hysteresis), and the
+     * topology version only moves when a link actually changed.
+     */
+    public synchronized void updateTopology(List<AgentState> allAgents) {
+        long now = System.currentTimeMillis();
+        boolean membershipChanged = false;
         for (AgentState agent : allAgents) {
             agentPositions.put(agent.agentId, agent.position);
         }
         
+        linkQualityCache.beginUpdate();
         for (AgentState agent : allAgents) {
-            NeighborInformation neighbors = calculateNeighbors(agent.agentId, allAgents);
-            networkTopology.put(agent.agentId, neighbors);
+            NeighborInformation neighbors = calculateNeighbors(agent.agentId, allAgents, now);
+            membershipChanged |= networkTopology.put(agent.agentId, neighbors) == null;
+        }
+        
+        if (linkQualityCache.endUpdate(now) > 0 || membershipChanged) {
+            topologyVersion++;
         }
     }
     
-    private NeighborInformation calculateNeighbors(int agentId, List<AgentState> allAgents) {
+    private NeighborInformation calculateNeighbors(int agentId, List<AgentState> allAgents, long now) {
         List<NeighborAgent> neighbors = new ArrayList<>();
         Point2D agentPosition = agentPositions.get(agentId);
         
@@ -58,12 +103,10 @@ public class CommunicationManager {
             Point2D otherPosition = otherAgent.position;
             double distance = agentPosition.distanceTo(otherPosition);
             
-            if (networkSimulator.canCommunicate(distance, networkSimulator.getCommunicationRange())) {
-                double signalStrength = networkSimulator.calculateSignalStrength(distance, networkSimulator.getCommunicationRange());
-                boolean canCommunicate = signalStrength >= 0.3;
-                
+            LinkQualityCache.LinkState link = linkQualityCache.evaluate(agentId, otherAgent.agentId, distance, now);
+            if (link != null) {
                 NeighborAgent neighbor = new NeighborAgent(
-                    otherAgent.agentId, distance, signalStrength, canCommunicate, System.currentTimeMillis());
+                    otherAgent.agentId, distance, link.getSmoothedSignal(), link.isUp(), now);
                 neighbors.add(neighbor);
             }
         }
@@ -71,26 +114,114 @@ public class CommunicationManager {
         return new NeighborInformation(agentId, neighbors);
     }
     
+    /**
+     * Incremented by updateTopology only when a link came up or went down
+     * or an agent joined; consumers can skip rebuilding derived state
+     * (routes, partitions) while it is unchanged.
+     */
+    public long getTopologyVersion() {
+        return topologyVersion;
+    }
+    
+    public LinkQualityCache getLinkQualityCache() {
+        return linkQualityCache;
+    }
+    
+    /**
+     * Queues a message in the sender's outbox.
+     * Returns false if it has expired or the outbox is full and the
+     * message type's overflow policy refuses it.
+     */
     public boolean sendMessage(OutgoingMessage message) {
         if (message.isExpired()) {
             return false;
         }
         
-        return messageQueue.offer(message);
+        boolean accepted = outboxes.computeIfAbsent(message.senderId, id -> new AgentMailbox<>(outboxCapacity))
+                                   .offer(message, message.priority, overflowPolicyFor(message.messageContent));
+        if (accepted) {
+            statistics.recordEnqueued(message, System.currentTimeMillis());
+        }
+        return accepted;
     }
     
+    /**
+     * Takes in deliveries from other processes, then delivers everything queued,
+     * highest priority lane first across all agents, and hands inbox contents
+     * to registered listeners. Repeats until listeners stop sending replies.
+     * Direct messages are coalesced per link and sent as frames once the
+     * lanes are drained (see LinkBatcher).
+     */
     public void processMessages() {
-        while (!messageQueue.isEmpty()) {
-            OutgoingMessage message = messageQueue.poll();
-            if (message != null && !message.isExpired()) {
-                deliverMessage(message);
+        transport.receive(this::acceptRemoteDelivery);
+        do {
+            for (int priority = AgentMailbox.HIGHEST_PRIORITY; priority <= AgentMailbox.LOWEST_PRIORITY; priority++) {
+                for (AgentMailbox<OutgoingMessage> outbox : outboxes.values()) {
+                    OutgoingMessage message;
+                    while ((message = outbox.pollLane(priority)) != null) {
+                        if (!message.isExpired()) {
+                            statistics.recordSent(message, System.nanoTime(), System.currentTimeMillis());
+                            deliverMessage(message);
+                        }
+                    }
+                }
+            }
+            LinkBatcher batcher = linkBatcher;
+            if (batcher != null) {
+                for (LinkBatcher.LinkFrame frame : batcher.takeReadyFrames(System.currentTimeMillis())) {
+                    deliverFrame(frame, batcher);
+                }
+            }
+            transport.flush();
+            dispatchInboxes();
+        } while (getPendingMessageCount() > 0);
+    }
+    
+    /**
+     * Delivery that survived the sender's NetworkSimulator in another process.
+     */
+    private void acceptRemoteDelivery(OutgoingMessage message, double signalStrength) {
+        if (message.isExpired() || !markDelivered(message.receiverId, message.messageContent)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        IncomingMessage incoming = new IncomingMessage(
+            message.receiverId, message.senderId, message.messageContent,
+            signalStrength, now);
+        addToHistory(incoming);
+        if (deliverToInbox(incoming, message.priority)) {
+            // Created in another process: only wall-clock time is comparable
+            statistics.recordDelivered(message.messageContent.type, message.priority,
+                                       (now - message.messageContent.timestamp) * 1000, now);
+        }
+    }
+    
+    /**
+     * Drains the inbox of every agent that has a listener, handing each
+     * agent everything that arrived this round in one call.
+     * Agents without a listener keep up to inboxCapacity messages for pollInbox();
+     * that backlog is not reported as congestion (see MailboxOccupancy).
+     */
+    private void dispatchInboxes() {
+        for (Map.Entry<Integer, MessageListener> entry : messageListeners.entrySet()) {
+            AgentMailbox<IncomingMessage> inbox = inboxes.get(entry.getKey());
+            if (inbox == null || inbox.size() == 0) continue;
+            
+            List<IncomingMessage> arrived = new ArrayList<>(inbox.size());
+            IncomingMessage message;
+            while ((message = inbox.poll()) != null) {
+                arrived.add(message);
             }
+            entry.getValue().onMessagesReceived(arrived);
         }
     }
     
     private void deliverMessage(OutgoingMessage message) {
+        LinkBatcher batcher = linkBatcher;
         if (message.isBroadcast()) {
             deliverBroadcast(message);
+        } else if (batcher != null) {
+            batcher.add(message, System.currentTimeMillis());
         } else {
             deliverDirect(message);
         }
@@ -108,32 +239,184 @@ public class CommunicationManager {
         NetworkSimulator.DeliveryResult result = networkSimulator.simulateDelivery(distance, networkSimulator.getCommunicationRange());
         
         if (result.willDeliver) {
-            List<Integer> routePath = new ArrayList<>();
-            IncomingMessage incoming = new IncomingMessage(
-                message.receiverId, message.senderId, message.messageContent, 
-                routePath, result.signalStrength);
-            
-            addToHistory(incoming);
-            notifyMessageListener(message.receiverId, incoming);
-            System.out.println("Delivered message: " + incoming);
+            IncomingMessage incoming = deliverOverLink(message, result);
+            if (incoming != null) {
+                System.out.println("Delivered message: " + incoming);
+            }
         } else {
             System.out.println("Message delivery failed: " + message);
         }
     }
     
+    /**
+     * Sends a coalesced frame: one NetworkSimulator roll decides range, loss
+     * and latency for every message in it, then the frame is unpacked into
+     * the receiver's inbox (or handed to the transport message by message).
+     */
+    private void deliverFrame(LinkBatcher.LinkFrame frame, LinkBatcher batcher) {
+        Point2D senderPos = agentPositions.get(frame.senderId);
+        Point2D receiverPos = agentPositions.get(frame.receiverId);
+        
+        if (senderPos == null || receiverPos == null) {
+            return;
+        }
+        
+        double distance = senderPos.distanceTo(receiverPos);
+        NetworkSimulator.DeliveryResult result = networkSimulator.simulateDelivery(distance, networkSimulator.getCommunicationRange());
+        
+        if (!result.willDeliver) {
+            batcher.recordLost(frame);
+            System.out.println("Frame delivery failed: " + frame);
+            return;
+        }
+        
+        int delivered = 0;
+        for (OutgoingMessage message : frame.getMessages()) {
+            if (!message.isExpired() && deliverOverLink(message, result) != null) {
+                delivered++;
+            }
+        }
+        if (frame.size() == 1 && delivered == 1) {
+            System.out.println("Delivered message: " + frame.getMessages().get(0));
+        } else {
+            System.out.println(String.format("Delivered frame %d->%d: %d/%d messages",
+                frame.senderId, frame.receiverId, delivered, frame.size()));
+        }
+    }
+    
+    /**
+     * Hands one message that survived its link roll to the receiver.
+     * Returns the local delivery, or null if it went to another process
+     * or was a duplicate.
+     */
+    private IncomingMessage deliverOverLink(OutgoingMessage message, NetworkSimulator.DeliveryResult result) {
+        if (!transport.isLocal(message.receiverId)) {
+            sendRemote(message, message.receiverId, result.signalStrength, result.delay);
+            return null;
+        }
+        if (!markDelivered(message.receiverId, message.messageContent)) {
+            return null;
+        }
+        
+        IncomingMessage incoming = new IncomingMessage(
+            message.receiverId, message.senderId, message.messageContent,
+            result.signalStrength, System.currentTimeMillis() + result.delay);
+        
+        addToHistory(incoming);
+        if (deliverToInbox(incoming, message.priority)) {
+            recordDelivered(message, result.delay);
+        }
+        return incoming;
+    }
+    
+    /**
+     * Records a local delivery: time since creation plus the simulated link delay.
+     */
+    private void recordDelivered(OutgoingMessage message, long simulatedDelayMs) {
+        long latencyMicros = (System.nanoTime() - message.createdNanos) / 1000 + simulatedDelayMs * 1000;
+        statistics.recordDelivered(message.messageContent.type, message.priority,
+                                   latencyMicros, System.currentTimeMillis());
+    }
+    
+    /**
+     * Fans a broadcast out to every communicating neighbour.
+     * The Message is shared by all recipients, and delivery outcomes for the
+     * whole neighbourhood come from a single batched NetworkSimulator call.
+     * Each local recipient's arrival time includes its own simulated delay,
+     * as a direct delivery's does.
+     */
     private void deliverBroadcast(OutgoingMessage message) {
         NeighborInformation neighbors = networkTopology.get(message.senderId);
-        if (neighbors == null) return;
+        Point2D senderPos = agentPositions.get(message.senderId);
+        if (neighbors == null || senderPos == null) return;
+        
+        List<NeighborAgent> candidates = neighbors.getCommunicatingNeighbors();
+        int[] receiverIds = new int[candidates.size()];
+        double[] distances = new double[candidates.size()];
+        int count = 0;
+        
+        for (NeighborAgent neighbor : candidates) {
+            Point2D receiverPos = agentPositions.get(neighbor.neighborId);
+            if (receiverPos == null) continue;
+            
+            receiverIds[count] = neighbor.neighborId;
+            distances[count] = senderPos.distanceTo(receiverPos);
+            count++;
+        }
+        
+        NetworkSimulator.BatchDeliveryResult results = networkSimulator.simulateDeliveryBatch(
+            distances, count, networkSimulator.getCommunicationRange());
+        long now = System.currentTimeMillis();
         
-        for (NeighborAgent neighbor : neighbors.getCommunicatingNeighbors()) {
-            OutgoingMessage individualMessage = new OutgoingMessage(
-                message.senderId, neighbor.neighborId, message.messageContent, 
-                message.priority, message.maxHops, message.expirationTime - System.currentTimeMillis());
+        for (int i = 0; i < count; i++) {
+            if (!results.willDeliver[i]) continue;
+            if (!transport.isLocal(receiverIds[i])) {
+                sendRemote(message, receiverIds[i], results.signalStrength[i], results.delay[i]);
+                continue;
+            }
+            if (!markDelivered(receiverIds[i], message.messageContent)) continue;
             
-            deliverDirect(individualMessage);
+            IncomingMessage incoming = new IncomingMessage(
+                receiverIds[i], message.senderId, message.messageContent,
+                results.signalStrength[i], now + results.delay[i]);
+            
+            addToHistory(incoming);
+            if (deliverToInbox(incoming, message.priority)) {
+                recordDelivered(message, results.delay[i]);
+            }
         }
     }
     
+    /**
+     * Hands a delivery for another process to the transport; one it refuses
+     * (unknown receiver, stalled link) is lost and counted, not retried.
+     */
+    private void sendRemote(OutgoingMessage message, int receiverId, double signalStrength, long delay) {
+        if (!transport.send(message, receiverId, signalStrength, delay)) {
+            transportDropped.incrementAndGet();
+        }
+    }
+    
+    private boolean deliverToInbox(IncomingMessage message, int priority) {
+        return inboxes.computeIfAbsent(message.receiverId, id -> new AgentMailbox<>(inboxCapacity))
+                      .offer(message, priority, overflowPolicyFor(message.messageContent));
+    }
+    
+    /**
+     * Records a delivery in the receiver's duplicate filter.
+     * Returns false if the receiver has already seen this message
+     * (e.g. it arrived over another path or was retried).
+     */
+    private boolean markDelivered(int receiverId, Message message) {
+        return duplicateFilters.computeIfAbsent(receiverId, id -> new DuplicateFilter())
+                               .markSeen(message.id);
+    }
+    
+    /**
+     * Gets the duplicate filter for an agent, or null if nothing was delivered to it yet.
+     */
+    public DuplicateFilter getDuplicateFilter(int agentId) {
+        return duplicateFilters.get(agentId);
+    }
+    
+    /**
+     * Total deliveries dropped as duplicates across all agents.
+     */
+    public long getDuplicatesSuppressed() {
+        long total = 0;
+        for (DuplicateFilter filter : duplicateFilters.values()) {
+            total += filter.getSuppressedCount();
+        }
+        return total;
+    }
+    
+    /**
+     * Deliveries to agents in other processes that the transport refused.
+     */
+    public long getTransportDroppedCount() {
+        return transportDropped.get();
+    }
+    
     public NeighborInformation getNeighbors(int agentId) {
         return networkTopology.get(agentId);
     }
@@ -195,21 +478,242 @@ public class CommunicationManager {
     
     private void addToHistory(IncomingMessage message) {
         messageHistory.add(message);
-        if (messageHistory.size() > maxHistorySize) {
-            messageHistory.remove(0);
-        }
     }
     
+    /**
+     * Copy of the retained history, oldest first.
+     * Pollers should prefer getHistory().readSince(cursor, out), which only
+     * returns what arrived since their last call.
+     */
     public List<IncomingMessage> getMessageHistory() {
-        return new ArrayList<>(messageHistory);
+        return messageHistory.snapshot();
     }
     
+    /**
+     * The indexed ring buffer backing the message history.
+     * Supports cursor-based incremental reads and per-receiver / per-type queries.
+     * 
+     * @return The MessageHistory instance used by this manager
+     */
+    public MessageHistory getHistory() {
+        return messageHistory;
+    }
+    
+    /**
+     * Messages waiting in outboxes (not yet sent over the simulated network).
+     */
     public int getPendingMessageCount() {
-        return messageQueue.size();
+        int total = 0;
+        for (AgentMailbox<OutgoingMessage> outbox : outboxes.values()) {
+            total += outbox.size();
+        }
+        return total;
     }
     
     public void clearPendingMessages() {
-        messageQueue.clear();
+        for (AgentMailbox<OutgoingMessage> outbox : outboxes.values()) {
+            outbox.clear();
+        }
+        LinkBatcher batcher = linkBatcher;
+        if (batcher != null) {
+            batcher.clear();
+        }
+    }
+    
+    // ============================================================
+    // Mailboxes and Backpressure
+    // ============================================================
+    
+    /**
+     * Sets what a full outbox or inbox does with one more message of this type.
+     */
+    public void setOverflowPolicy(MessageType type, OverflowPolicy policy) {
+        if (type == null || policy == null) {
+            throw new IllegalArgumentException("type and policy must not be null");
+        }
+        overflowPolicies[type.ordinal()] = policy;
+    }
+    
+    public OverflowPolicy getOverflowPolicy(MessageType type) {
+        return overflowPolicies[type.ordinal()];
+    }
+    
+    /**
+     * Takes the next delivered message for an agent that has no listener
+     * (highest priority first), or null if its inbox is empty.
+     */
+    public IncomingMessage pollInbox(int agentId) {
+        AgentMailbox<IncomingMessage> inbox = inboxes.get(agentId);
+        return inbox == null ? null : inbox.poll();
+    }
+    
+    /**
+     * Outbox/inbox occupancy for one agent, or null if it never sent or received.
+     */
+    public MailboxOccupancy getMailboxOccupancy(int agentId) {
+        AgentMailbox<OutgoingMessage> outbox = outboxes.get(agentId);
+        AgentMailbox<IncomingMessage> inbox = inboxes.get(agentId);
+        if (outbox == null && inbox == null) {
+            return null;
+        }
+        return new MailboxOccupancy(agentId, outbox, inbox, outboxCapacity, inboxCapacity,
+                                    messageListeners.containsKey(agentId));
+    }
+    
+    /**
+     * Occupancy of every agent mailbox, ordered by agent id.
+     */
+    public List<MailboxOccupancy> getMailboxOccupancy() {
+        Set<Integer> agentIds = new TreeSet<>(outboxes.keySet());
+        agentIds.addAll(inboxes.keySet());
+        
+        List<MailboxOccupancy> result = new ArrayList<>(agentIds.size());
+        for (Integer agentId : agentIds) {
+            result.add(getMailboxOccupancy(agentId));
+        }
+        return result;
+    }
+    
+    /**
+     * Agents whose outbox or inbox is at least the given fraction full,
+     * or has dropped/rejected messages - the congestion hot spots.
+     */
+    public List<MailboxOccupancy> getCongestedAgents(double occupancyThreshold) {
+        List<MailboxOccupancy> congested = new ArrayList<>();
+        for (MailboxOccupancy occupancy : getMailboxOccupancy()) {
+            if (occupancy.getPeakOccupancy() >= occupancyThreshold || occupancy.getLostCount() > 0) {
+                congested.add(occupancy);
+            }
+        }
+        return congested;
+    }
+    
+    private OverflowPolicy overflowPolicyFor(Message message) {
+        return overflowPolicies[message.type.ordinal()];
+    }
+    
+    /**
+     * Position and status updates supersede each other, so the oldest is the
+     * one to lose; everything else keeps the more important traffic.
+     */
+    private static OverflowPolicy[] defaultOverflowPolicies() {
+        OverflowPolicy[] policies = new OverflowPolicy[MessageType.values().length];
+        Arrays.fill(policies, OverflowPolicy.DROP_LOWEST_PRIORITY);
+        policies[MessageType.POSITION_UPDATE.ordinal()] = OverflowPolicy.DROP_OLDEST;
+        policies[MessageType.STATUS_UPDATE.ordinal()] = OverflowPolicy.DROP_OLDEST;
+        return policies;
+    }
+    
+    /**
+     * Point-in-time mailbox usage for one agent.
+     */
+    public static class MailboxOccupancy {
+        public final int agentId;
+        public final int outboxSize;
+        public final int outboxCapacity;
+        public final int outboxHighWaterMark;
+        public final long outboxDropped;
+        public final long outboxRejected;
+        public final int inboxSize;
+        public final int inboxCapacity;
+        public final int inboxHighWaterMark;
+        public final long inboxDropped;
+        public final long inboxRejected;
+        public final boolean inboxDispatched;   // false: held for pollInbox(), not delivery congestion
+        
+        MailboxOccupancy(int agentId, AgentMailbox<OutgoingMessage> outbox,
+                         AgentMailbox<IncomingMessage> inbox, int outboxCapacity, int inboxCapacity,
+                         boolean inboxDispatched) {
+            this.agentId = agentId;
+            this.inboxDispatched = inboxDispatched;
+            this.outboxCapacity = outboxCapacity;
+            this.inboxCapacity = inboxCapacity;
+            this.outboxSize = outbox == null ? 0 : outbox.size();
+            this.outboxHighWaterMark = outbox == null ? 0 : outbox.getHighWaterMark();
+            this.outboxDropped = outbox == null ? 0 : outbox.getDroppedCount();
+            this.outboxRejected = outbox == null ? 0 : outbox.getRejectedCount();
+            this.inboxSize = inbox == null ? 0 : inbox.size();
+            this.inboxHighWaterMark = inbox == null ? 0 : inbox.getHighWaterMark();
+            this.inboxDropped = inbox == null ? 0 : inbox.getDroppedCount();
+            this.inboxRejected = inbox == null ? 0 : inbox.getRejectedCount();
+        }
+        
+        public double getOutboxOccupancy() {
+            return (double) outboxSize / outboxCapacity;
+        }
+        
+        public double getInboxOccupancy() {
+            return (double) inboxSize / inboxCapacity;
+        }
+        
+        /**
+         * Highest fill level either mailbox has reached (0.0 - 1.0).
+         * The inbox of an agent without a listener only counts if it is
+         * dispatched: an unpolled pickup queue is not a delivery backlog.
+         */
+        public double getPeakOccupancy() {
+            double outboxPeak = (double) outboxHighWaterMark / outboxCapacity;
+            return inboxDispatched ? Math.max(outboxPeak, (double) inboxHighWaterMark / inboxCapacity) : outboxPeak;
+        }
+        
+        /**
+         * Messages lost to backpressure in either direction (inbox losses
+         * only for agents with a listener, see getPeakOccupancy).
+         */
+        public long getLostCount() {
+            long lost = outboxDropped + outboxRejected;
+            return inboxDispatched ? lost + inboxDropped + inboxRejected : lost;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Mailbox{agent=%d, out=%d/%d (peak %d), in=%d/%d (peak %d), lost=%d}",
+                               agentId, outboxSize, outboxCapacity, outboxHighWaterMark,
+                               inboxSize, inboxCapacity, inboxHighWaterMark, getLostCount());
+        }
+    }
+    
+    /**
+     * Routes deliveries for agents hosted in other processes through the
+     * given transport. Range, loss and latency are still decided here by
+     * the NetworkSimulator before anything is sent.
+     */
+    public void setTransport(MessageTransport transport) {
+        if (transport == null) {
+            throw new IllegalArgumentException("transport must not be null");
+        }
+        this.transport = transport;
+    }
+    
+    public MessageTransport getTransport() {
+        return transport;
+    }
+    
+    /**
+     * Coalesces direct messages per (sender, receiver) link before they go
+     * over the simulated network. Null sends every message on its own.
+     * Frames still held by the previous batcher are sent first.
+     */
+    public void setLinkBatcher(LinkBatcher batcher) {
+        LinkBatcher previous = linkBatcher;
+        if (previous != null) {
+            for (LinkBatcher.LinkFrame frame : previous.takeAllFrames()) {
+                deliverFrame(frame, previous);
+            }
+        }
+        this.linkBatcher = batcher;
+    }
+    
+    public LinkBatcher getLinkBatcher() {
+        return linkBatcher;
+    }
+    
+    /**
+     * Latency histograms and windowed rates per message type and priority,
+     * recorded at enqueue, send and delivery.
+     */
+    public MessageStatistics getMessageStatistics() {
+        return statistics;
     }
     
     /**
@@ -266,19 +770,6 @@ public class CommunicationManager {
         messageListeners.remove(agentId);
     }
     
-    /**
-     * Notifies the registered listener for an agent when a message arrives.
-     * 
-     * @param agentId The agent receiving the message
-     * @param message The incoming message
-     */
-    private void notifyMessageListener(int agentId, IncomingMessage message) {
-        MessageListener listener = messageListeners.get(agentId);
-        if (listener != null) {
-            listener.onMessageReceived(message);
-        }
-    }
-    
     // ============================================================
     // WEEK 5: Voting Integration - Vote Message Support
     // ============================================================
@@ -292,7 +783,7 @@ public class CommunicationManager {
      * @return true if broadcast queued successfully
      */
     public boolean broadcastVote(int senderId, Map<String, Object> voteProposal) {
-        Message message = new Message(MessageType.VOTE_PROPOSAL, voteProposal);
+        Message message = new Message(senderId, MessageType.VOTE_PROPOSAL, voteProposal);
         OutgoingMessage outgoing = new OutgoingMessage(
             senderId, -1, message, 2, 5, 30000);
         return sendMessage(outgoing);
@@ -308,7 +799,7 @@ public class CommunicationManager {
      * @return true if response queued successfully
      */
     public boolean sendVoteResponse(int voterId, int initiatorId, Map<String, Object> voteResponse) {
-        Message message = new Message(MessageType.VOTE_RESPONSE, voteResponse);
+        Message message = new Message(voterId, MessageType.VOTE_RESPONSE, voteResponse);
         OutgoingMessage outgoing = new OutgoingMessage(
             voterId, initiatorId, message, 2, 5, 30000);
         return sendMessage(outgoing);
@@ -316,21 +807,15 @@ public class CommunicationManager {
     
     /**
      * Retrieves all vote-related messages for an agent from history.
-     * Filters by VOTE_PROPOSAL and VOTE_RESPONSE message types.
+     * Filters by VOTE_PROPOSAL and VOTE_RESPONSE message types using the
+     * history's per-receiver index, so other agents' traffic is never scanned.
      * 
      * @param agentId Agent to get vote messages for
      * @return List of vote-related incoming messages
      */
     public List<IncomingMessage> getVoteMessages(int agentId) {
-        List<IncomingMessage> voteMessages = new ArrayList<>();
-        for (IncomingMessage message : messageHistory) {
-            if (message.receiverId == agentId && 
-                (message.messageContent.type == MessageType.VOTE_PROPOSAL ||
-                 message.messageContent.type == MessageType.VOTE_RESPONSE)) {
-                voteMessages.add(message);
-            }
-        }
-        return voteMessages;
+        return messageHistory.getByReceiver(agentId, 
+            MessageType.VOTE_PROPOSAL, MessageType.VOTE_RESPONSE);
     }
     
     // ============================================================
@@ -347,7 +832,7 @@ public class CommunicationManager {
      * @return true if assignment queued successfully
      */
     public boolean broadcastTaskAssignment(int senderId, Map<String, Object> taskData, List<Integer> targetAgents) {
-        Message message = new Message(MessageType.TASK_ASSIGNMENT, taskData);
+        Message message = new Message(senderId, MessageType.TASK_ASSIGNMENT, taskData);
         
         if (targetAgents == null || targetAgents.isEmpty()) {
             // Broadcast to all
@@ -413,24 +898,38 @@ public class CommunicationManager {
      * @return List of partitions, each containing agent IDs in that partition
      */
     public List<Set<Integer>> getNetworkPartitions() {
-        List<Set<Integer>> partitions = new ArrayList<>();
-        Set<Integer> visited = new HashSet<>();
-        
-        for (Integer agentId : networkTopology.keySet()) {
-            if (!visited.contains(agentId)) {
-                // BFS to find all connected agents
-                Set<Integer> partition = getReachableAgents(agentId, 1000);
-                partitions.add(partition);
-                visited.addAll(partition);
+        List<Set<Integer>> partitions;
+        synchronized (this) {
+            // Recomputed only when the topology version moved
+            if (cachedPartitionsVersion != topologyVersion) {
+                partitions = new ArrayList<>();
+                Set<Integer> visited = new HashSet<>();
+                
+                for (Integer agentId : networkTopology.keySet()) {
+                    if (!visited.contains(agentId)) {
+                        // BFS to find all connected agents
+                        Set<Integer> partition = getReachableAgents(agentId, 1000);
+                        partitions.add(partition);
+                        visited.addAll(partition);
+                    }
+                }
+                cachedPartitions = partitions;
+                cachedPartitionsVersion = topologyVersion;
             }
+            partitions = cachedPartitions;
         }
         
-        return partitions;
+        // Callers get their own copies
+        List<Set<Integer>> copy = new ArrayList<>(partitions.size());
+        for (Set<Integer> partition : partitions) {
+            copy.add(new HashSet<>(partition));
+        }
+        return copy;
     }
     
     @Override
     public String toString() {
         return String.format("CommunicationManager{agents=%d, pending=%d, simulator=%s}", 
-                           networkTopology.size(), messageQueue.size(), networkSimulator);
+                           networkTopology.size(), getPendingMessageCount(), networkSimulator);
     }
 }
@@ -11,19 +11,33 @@
  * - No new state management, purely a view/aggregation layer
  *
  * METRICS PROVIDED:
- * - Messages per second (from message history timestamps)
- * - Average latency (from ConnectionInfo data)
+ * - Messages per second (sliding one-second window of deliveries)
+ * - Average latency and percentiles (p50/p90/p99/p999) per MessageType
+ *   and priority, all from the manager's MessageStatistics histograms
+ * - Average link latency (from ConnectionInfo data)
  * - Failure rate (estimated from network simulator config)
  * - Pending message count (direct from queue)
+ * - Duplicate deliveries suppressed (from per-agent duplicate filters)
+ * - Per-agent mailbox occupancy and congestion hot spots
+ * - Link churn (links coming up or going down per second, from the
+ *   manager's LinkQualityCache)
+ *
+ * INTERVALS:
+ * - getSnapshot() covers every delivery since start or the last reset()
+ * - getIntervalSnapshot() covers deliveries since the previous interval
+ *   snapshot and starts the histograms over (nothing is lost in between)
  *
  * USAGE:
  * CommunicationMetrics metrics = new CommunicationMetrics(manager);
  * CommunicationMetricsSnapshot snapshot = metrics.getSnapshot();
  * System.out.println("Messages/sec: " + snapshot.messagesPerSecond);
+ * CommunicationMetricsSnapshot lastMinute = metrics.getIntervalSnapshot();  // once a minute
  */
 package com.team6.swarm.communication;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class CommunicationMetrics {
     private final CommunicationManager manager;
@@ -36,33 +50,54 @@ public class CommunicationMetrics {
     }
     
     /**
-     * Calculate messages per second from recent message history.
-     * Uses last 1 second of message timestamps.
+     * Messages delivered per second over the last second.
+     * Read from sliding-window counters, not by scanning history.
      */
     public double getMessagesPerSecond() {
-        List<IncomingMessage> history = manager.getMessageHistory();
-        if (history.isEmpty()) {
-            return 0.0;
-        }
-        
-        long now = System.currentTimeMillis();
-        long oneSecondAgo = now - 1000;
-        
-        int messagesInLastSecond = 0;
-        for (IncomingMessage msg : history) {
-            if (msg.actualDeliveryTime >= oneSecondAgo) {
-                messagesInLastSecond++;
-            }
-        }
-        
-        return messagesInLastSecond;
+        return manager.getMessageStatistics().getDeliveredPerSecond(System.currentTimeMillis());
     }
     
     /**
-     * Calculate average latency across all active connections.
-     * Uses ConnectionInfo.averageLatency from active connections.
+     * Messages of one type delivered per second over the last second.
+     */
+    public double getMessagesPerSecond(MessageType type) {
+        return manager.getMessageStatistics().getDeliveredPerSecond(type, System.currentTimeMillis());
+    }
+    
+    /**
+     * Delivery latency percentiles for each message type with traffic.
+     */
+    public Map<MessageType, MessageStatistics.LatencySummary> getLatencyByType() {
+        return manager.getMessageStatistics().summarizeDeliveryByType();
+    }
+    
+    /**
+     * Delivery latency percentiles for each priority (1-5) with traffic.
+     */
+    public Map<Integer, MessageStatistics.LatencySummary> getLatencyByPriority() {
+        return manager.getMessageStatistics().summarizeDeliveryByPriority();
+    }
+    
+    /**
+     * Outbox wait percentiles for each message type with traffic.
+     */
+    public Map<MessageType, MessageStatistics.LatencySummary> getQueueLatencyByType() {
+        return manager.getMessageStatistics().summarizeQueueByType();
+    }
+    
+    /**
+     * Mean delivery latency (ms) over all traffic, from the same histograms
+     * as the percentiles.
      */
     public double getAverageLatency() {
+        return manager.getMessageStatistics().getDeliveryLatency().getMean() / 1000.0;
+    }
+    
+    /**
+     * Calculate average link latency across all active connections.
+     * Uses ConnectionInfo.averageLatency from active connections.
+     */
+    public double getAverageLinkLatency() {
         List<ConnectionInfo> connections = manager.getActiveConnections();
         if (connections.isEmpty()) {
             return 0.0;
@@ -100,17 +135,73 @@ public class CommunicationMetrics {
         return manager.getPendingMessageCount();
     }
     
+    /**
+     * Get number of deliveries dropped as duplicates.
+     * Direct access to the per-agent duplicate filters.
+     */
+    public long getDuplicatesSuppressed() {
+        return manager.getDuplicatesSuppressed();
+    }
+    
+    /**
+     * Get outbox/inbox occupancy for every agent.
+     * Direct access to the per-agent mailboxes.
+     */
+    public List<CommunicationManager.MailboxOccupancy> getMailboxOccupancy() {
+        return manager.getMailboxOccupancy();
+    }
+    
+    /**
+     * Get agents whose mailboxes reached the given fill fraction or lost messages.
+     */
+    public List<CommunicationManager.MailboxOccupancy> getCongestedAgents(double occupancyThreshold) {
+        return manager.getCongestedAgents(occupancyThreshold);
+    }
+    
+    /**
+     * Get link up/down transitions per second over the last second.
+     * High values mean routes and partitions are being rebuilt often.
+     */
+    public double getLinkChurnRate() {
+        return manager.getLinkQualityCache().getChurnRate(System.currentTimeMillis());
+    }
+    
     /**
      * Get a complete snapshot of all metrics at current time.
-     * Immutable snapshot for consistent reporting.
+     * Immutable snapshot for consistent reporting; latency covers every
+     * delivery since start or the last reset().
      */
     public CommunicationMetricsSnapshot getSnapshot() {
+        return snapshot(manager.getMessageStatistics());
+    }
+    
+    /**
+     * Snapshot whose latency covers only deliveries since the previous
+     * interval snapshot (or reset); the histograms start over afterwards.
+     */
+    public CommunicationMetricsSnapshot getIntervalSnapshot() {
+        return snapshot(manager.getMessageStatistics().takeInterval());
+    }
+    
+    /**
+     * Clear the latency histograms.
+     */
+    public void reset() {
+        manager.getMessageStatistics().reset();
+    }
+    
+    private CommunicationMetricsSnapshot snapshot(MessageStatistics statistics) {
+        MessageStatistics.LatencySummary latency =
+            new MessageStatistics.LatencySummary(statistics.getDeliveryLatency());
         return new CommunicationMetricsSnapshot(
             getMessagesPerSecond(),
-            getAverageLatency(),
+            latency.meanMs,
             getFailureRate(),
             getPendingMessageCount(),
-            System.currentTimeMillis()
+            System.currentTimeMillis(),
+            latency,
+            statistics.summarizeDeliveryByType(),
+            statistics.summarizeDeliveryByPriority()
         );
     }
     
@@ -119,25 +210,48 @@ public class CommunicationMetrics {
      */
     public static class CommunicationMetricsSnapshot {
         public final double messagesPerSecond;
-        public final double averageLatency;
+        public final double averageLatency;   // Mean delivery latency (ms), same histogram as the percentiles
         public final double failureRate;
         public final int pendingMessages;
         public final long timestamp;
+        // Delivery latency percentiles (ms) over all traffic; 0 when nothing was delivered
+        public final double latencyP50;
+        public final double latencyP90;
+        public final double latencyP99;
+        public final double latencyP999;
+        public final Map<MessageType, MessageStatistics.LatencySummary> latencyByType;
+        public final Map<Integer, MessageStatistics.LatencySummary> latencyByPriority;
         
         public CommunicationMetricsSnapshot(double messagesPerSecond, double averageLatency,
                                            double failureRate, int pendingMessages, long timestamp) {
+            this(messagesPerSecond, averageLatency, failureRate, pendingMessages, timestamp,
+                 null, Map.of(), Map.of());
+        }
+        
+        public CommunicationMetricsSnapshot(double messagesPerSecond, double averageLatency,
+                                           double failureRate, int pendingMessages, long timestamp,
+                                           MessageStatistics.LatencySummary latency,
+                                           Map<MessageType, MessageStatistics.LatencySummary> latencyByType,
+                                           Map<Integer, MessageStatistics.LatencySummary> latencyByPriority) {
             this.messagesPerSecond = messagesPerSecond;
             this.averageLatency = averageLatency;
             this.failureRate = failureRate;
             this.pendingMessages = pendingMessages;
             this.timestamp = timestamp;
+            this.latencyP50 = latency == null ? 0.0 : latency.p50Ms;
+            this.latencyP90 = latency == null ? 0.0 : latency.p90Ms;
+            this.latencyP99 = latency == null ? 0.0 : latency.p99Ms;
+            this.latencyP999 = latency == null ? 0.0 : latency.p999Ms;
+            this.latencyByType = Collections.unmodifiableMap(latencyByType);
+            this.latencyByPriority = Collections.unmodifiableMap(latencyByPriority);
         }
         
         @Override
         public String toString() {
             return String.format(
-                "MetricsSnapshot{msgs/sec=%.2f, latency=%.1fms, failure=%.1f%%, pending=%d, time=%d}",
-                messagesPerSecond, averageLatency, failureRate * 100, pendingMessages, timestamp
+                "MetricsSnapshot{msgs/sec=%.2f, latency=%.1fms, p50=%.1fms, p99=%.1fms, p999=%.1fms, failure=%.1f%%, pending=%d, time=%d}",
+                messagesPerSecond, averageLatency, latencyP50, latencyP99, latencyP999,
+                failureRate * 100, pendingMessages, timestamp
             );
         }
     }
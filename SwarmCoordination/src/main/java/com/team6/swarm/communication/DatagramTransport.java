@@ -0,0 +1,213 @@
+/**
+ * DATAGRAMTRANSPORT CLASS - NIO Datagram Transport Between Local Processes
+ *
+ * PURPOSE:
+ * - Lets groups of agents run in separate JVMs on one machine
+ * - One non-blocking DatagramChannel per process, bound on loopback
+ *
+ * BATCHING:
+ * - send() appends an envelope (see FrameTransport) to a per-destination
+ *   direct buffer; flush() sends each buffer as one datagram
+ * - A full buffer is flushed early; one datagram carries many messages
+ * - If the socket send buffer is full the batch is kept and retried on
+ *   the next flush (counted in getSendStalls())
+ * - A delivery that does not fit because its batch is full and stalled is
+ *   dropped: send() returns false and it is counted in getEnvelopesDropped()
+ *
+ * RECEIVING:
+ * - receive() drains the channel without blocking
+ * - awaitIncoming() waits on a Selector, so idle processes do not spin
+ *
+ * ADDRESSING:
+ * - addLocalAgent(id) for agents hosted here
+ * - addRemoteAgent(id, address) for agents hosted by another process
+ *
+ * USAGE:
+ * DatagramTransport transport = DatagramTransport.loopback(0);
+ * transport.addLocalAgent(1);
+ * transport.addRemoteAgent(2, peerAddress);
+ * manager.setTransport(transport);
+ */
+package com.team6.swarm.communication;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DatagramTransport extends FrameTransport {
+    // Largest UDP payload over IPv4
+    public static final int MAX_DATAGRAM_SIZE = 65_507;
+    private static final int SOCKET_BUFFER_SIZE = 4 * 1024 * 1024;
+
+    private final DatagramChannel channel;
+    private final Selector selector;
+    private final Map<Integer, InetSocketAddress> agentAddresses;
+    private final Map<InetSocketAddress, ByteBuffer> pendingBatches;
+    private final ByteBuffer receiveBuffer;
+
+    private long datagramsSent;
+    private long datagramsReceived;
+    private long sendStalls;
+
+    public DatagramTransport(InetSocketAddress bindAddress) throws IOException {
+        this.channel = DatagramChannel.open();
+        this.channel.setOption(StandardSocketOptions.SO_RCVBUF, SOCKET_BUFFER_SIZE);
+        this.channel.setOption(StandardSocketOptions.SO_SNDBUF, SOCKET_BUFFER_SIZE);
+        this.channel.bind(bindAddress);
+        this.channel.configureBlocking(false);
+        this.selector = Selector.open();
+        this.channel.register(selector, SelectionKey.OP_READ);
+
+        this.agentAddresses = new ConcurrentHashMap<>();
+        this.pendingBatches = new HashMap<>();
+        this.receiveBuffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE);
+    }
+
+    /**
+     * Transport bound to 127.0.0.1 (port 0 = any free port).
+     */
+    public static DatagramTransport loopback(int port) throws IOException {
+        return new DatagramTransport(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    public InetSocketAddress getLocalAddress() {
+        try {
+            return (InetSocketAddress) channel.getLocalAddress();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void addRemoteAgent(int agentId, InetSocketAddress address) {
+        if (address == null) {
+            throw new IllegalArgumentException("address must not be null");
+        }
+        agentAddresses.put(agentId, address);
+    }
+
+    @Override
+    public synchronized boolean send(OutgoingMessage message, int receiverId,
+                                     double signalStrength, long simulatedDelayMs) {
+        InetSocketAddress address = agentAddresses.get(receiverId);
+        if (address == null) {
+            envelopesDropped.incrementAndGet();
+            return false;
+        }
+
+        ByteBuffer batch = pendingBatches.computeIfAbsent(
+            address, a -> ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE));
+        int written = writeEnvelope(batch, message, receiverId, signalStrength, simulatedDelayMs);
+        if (written != 0) {
+            return written > 0;   // -1: unencodable, already counted
+        }
+
+        // Batch full: ship it and start a new one; a stalled socket keeps the batch
+        if (sendBatch(address, batch)
+                && writeEnvelope(batch, message, receiverId, signalStrength, simulatedDelayMs) > 0) {
+            return true;
+        }
+        envelopesDropped.incrementAndGet();
+        return false;
+    }
+
+    @Override
+    public synchronized void flush() {
+        for (Map.Entry<InetSocketAddress, ByteBuffer> entry : pendingBatches.entrySet()) {
+            if (entry.getValue().position() > 0) {
+                sendBatch(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    protected void pollFrames() {
+        try {
+            while (true) {
+                receiveBuffer.clear();
+                if (channel.receive(receiveBuffer) == null) {
+                    return;
+                }
+                receiveBuffer.flip();
+                datagramsReceived++;
+                readEnvelopes(receiveBuffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void awaitIncoming(long timeoutMs) {
+        try {
+            if (timeoutMs <= 0) {
+                selector.selectNow();
+            } else {
+                selector.select(timeoutMs);
+            }
+            selector.selectedKeys().clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            selector.close();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized long getDatagramsSent() {
+        return datagramsSent;
+    }
+
+    public synchronized long getDatagramsReceived() {
+        return datagramsReceived;
+    }
+
+    /**
+     * Flushes that found the socket send buffer full and had to wait.
+     */
+    public synchronized long getSendStalls() {
+        return sendStalls;
+    }
+
+    /**
+     * Sends one batch as a datagram. Returns false (batch kept) if the
+     * socket could not take it right now.
+     */
+    private boolean sendBatch(InetSocketAddress address, ByteBuffer batch) {
+        batch.flip();
+        try {
+            if (channel.send(batch, address) == 0) {
+                batch.position(batch.limit());
+                batch.limit(batch.capacity());
+                sendStalls++;
+                return false;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        batch.clear();
+        datagramsSent++;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DatagramTransport{local=%s, remoteAgents=%d, sent=%d, received=%d}",
+                           getLocalAddress(), agentAddresses.size(), getEnvelopesSent(), getEnvelopesReceived());
+    }
+}
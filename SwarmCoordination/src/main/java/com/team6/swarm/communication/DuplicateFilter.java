@@ -0,0 +1,174 @@
+/**
+ * DUPLICATEFILTER CLASS - Per-Agent Duplicate Suppression
+ *
+ * PURPOSE:
+ * - Lets an agent (or relay) drop messages it has already seen when the
+ *   same message arrives over several paths (flooding, multi-hop, retries)
+ * - O(1) check per message with bounded memory per sender
+ *
+ * ALGORITHM:
+ * - Message ids are per-sender sequences (see MessageIds)
+ * - For each sender keep the highest sequence seen plus a WINDOW_SIZE-bit
+ *   bitmap of which of the preceding sequences have arrived
+ * - Newer sequence: slide the window forward, mark the bit
+ * - Inside the window: test-and-set the bit
+ * - Older than the window: cannot be checked any more. It is let through
+ *   and counted as stale, because priority queues can legitimately reorder
+ *   a sender's traffic and dropping real messages is worse than a late
+ *   duplicate (flooded copies arrive close together, well inside the window)
+ *
+ * MEMORY:
+ * - WINDOW_SIZE / 8 bytes (+ a few fields) per sender that has ever been heard
+ *
+ * USAGE:
+ * DuplicateFilter filter = new DuplicateFilter();
+ * if (filter.markSeen(message.id)) { deliver(message); }
+ */
+package com.team6.swarm.communication;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class DuplicateFilter {
+    public static final int WINDOW_SIZE = 1024;
+    private static final int WORDS = WINDOW_SIZE / 64;
+
+    private final Map<Integer, SenderWindow> windows;
+    private long acceptedCount;
+    private long duplicateCount;
+    private long staleCount;
+
+    public DuplicateFilter() {
+        this.windows = new HashMap<>();
+    }
+
+    /**
+     * Records a message id.
+     *
+     * @return false if the id was already seen inside the window, true otherwise
+     */
+    public synchronized boolean markSeen(long messageId) {
+        int senderId = MessageIds.senderOf(messageId);
+        int sequence = MessageIds.sequenceOf(messageId);
+
+        SenderWindow window = windows.get(senderId);
+        if (window == null) {
+            window = new SenderWindow(sequence);
+            windows.put(senderId, window);
+            acceptedCount++;
+            return true;
+        }
+
+        int result = window.mark(sequence);
+        if (result == SenderWindow.DUPLICATE) {
+            duplicateCount++;
+            return false;
+        }
+        if (result == SenderWindow.STALE) {
+            staleCount++;
+        }
+        acceptedCount++;
+        return true;
+    }
+
+    public synchronized long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    /**
+     * Messages dropped because they were already delivered.
+     */
+    public synchronized long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    /**
+     * Messages let through unchecked because they fell behind the sliding window.
+     */
+    public synchronized long getStaleCount() {
+        return staleCount;
+    }
+
+    /**
+     * Total suppressed messages.
+     */
+    public synchronized long getSuppressedCount() {
+        return duplicateCount;
+    }
+
+    public synchronized int getTrackedSenderCount() {
+        return windows.size();
+    }
+
+    public synchronized void clear() {
+        windows.clear();
+        acceptedCount = 0;
+        duplicateCount = 0;
+        staleCount = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("DuplicateFilter{senders=%d, accepted=%d, duplicates=%d, stale=%d}",
+                           windows.size(), acceptedCount, duplicateCount, staleCount);
+    }
+
+    /**
+     * Sliding bitmap over one sender's sequence numbers.
+     * Bit (seq mod WINDOW_SIZE) is set when seq has been seen.
+     */
+    private static class SenderWindow {
+        static final int NEW = 0;
+        static final int DUPLICATE = 1;
+        static final int STALE = 2;
+
+        private final long[] bits = new long[WORDS];
+        private int highest;
+
+        SenderWindow(int firstSequence) {
+            highest = firstSequence;
+            set(firstSequence);
+        }
+
+        int mark(int sequence) {
+            // Signed difference keeps working across 32-bit wraparound
+            int ahead = sequence - highest;
+            if (ahead > 0) {
+                if (ahead >= WINDOW_SIZE) {
+                    Arrays.fill(bits, 0L);
+                } else {
+                    for (int s = highest + 1; s != sequence; s++) {
+                        clear(s);
+                    }
+                }
+                highest = sequence;
+                set(sequence);
+                return NEW;
+            }
+            if (-ahead >= WINDOW_SIZE) {
+                return STALE;
+            }
+            if (isSet(sequence)) {
+                return DUPLICATE;
+            }
+            set(sequence);
+            return NEW;
+        }
+
+        private void set(int sequence) {
+            int bit = sequence & (WINDOW_SIZE - 1);
+            bits[bit >>> 6] |= 1L << (bit & 63);
+        }
+
+        private void clear(int sequence) {
+            int bit = sequence & (WINDOW_SIZE - 1);
+            bits[bit >>> 6] &= ~(1L << (bit & 63));
+        }
+
+        private boolean isSet(int sequence) {
+            int bit = sequence & (WINDOW_SIZE - 1);
+            return (bits[bit >>> 6] & (1L << (bit & 63))) != 0;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.team6.swarm.communication;
 
+import com.team6.swarm.core.DeadlineScheduler;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * FAILURERECOVERYPOLICY CLASS - Lightweight Retry Support (Week 9–10)
  *
@@ -8,22 +12,79 @@ package com.team6.swarm.communication;
  * - Reuses CommunicationManager.sendMessage for actual delivery
  * - Avoids duplicating routing or network simulation logic
  * - Uses exponential backoff to prevent resource exhaustion
+ *
+ * SCHEDULING:
+ * - The first attempt runs on the caller's thread; retries are timers in a
+ *   DeadlineScheduler (shareable with VotingSystem / VotingProtocol), so
+ *   they follow whatever clock drives it, simulation time included
+ * - Whoever owns the clock calls processRetries(now) every tick; due retries
+ *   run on that thread, nothing sleeps and no extra thread is started
+ * - Backoff is 10ms, 20ms, 40ms, ... with jitter (each delay is drawn from
+ *   [delay/2, delay]) so senders that failed together do not retry together
+ * - Every retry spends a token from a RetryBudget shared across policies;
+ *   when the budget is empty the send fails instead of retrying
  */
 public class FailureRecoveryPolicy {
 
+    private static final long BASE_DELAY_MS = 10; // Base delay: 10ms
+
     private final CommunicationManager communicationManager;
     private final int maxRetriesForCritical;
-    private static final long BASE_DELAY_MS = 10; // Base delay: 10ms
+    private final DeadlineScheduler retryScheduler;
+    private final RetryBudget retryBudget;
 
     public FailureRecoveryPolicy(CommunicationManager communicationManager, int maxRetriesForCritical) {
+        this(communicationManager, maxRetriesForCritical, new DeadlineScheduler(), RetryBudget.global());
+    }
+
+    /**
+     * @param retryScheduler Timers for retries (e.g. the simulation's DeadlineScheduler)
+     * @param retryBudget Budget shared with other policies
+     */
+    public FailureRecoveryPolicy(CommunicationManager communicationManager, int maxRetriesForCritical,
+                                 DeadlineScheduler retryScheduler, RetryBudget retryBudget) {
         if (communicationManager == null) {
             throw new IllegalArgumentException("communicationManager must not be null");
         }
         if (maxRetriesForCritical < 0) {
             throw new IllegalArgumentException("maxRetriesForCritical must be non-negative");
         }
+        if (retryScheduler == null) {
+            throw new IllegalArgumentException("retryScheduler must not be null");
+        }
+        if (retryBudget == null) {
+            throw new IllegalArgumentException("retryBudget must not be null");
+        }
         this.communicationManager = communicationManager;
         this.maxRetriesForCritical = maxRetriesForCritical;
+        this.retryScheduler = retryScheduler;
+        this.retryBudget = retryBudget;
+    }
+
+    /**
+     * Sends a message, retrying with jittered exponential backoff on later
+     * processRetries calls.
+     *
+     * @param message The outgoing message to send
+     * @param maxRetries Maximum number of retry attempts (0 = try once)
+     * @param now Current time on the clock that drives processRetries
+     * @return future completing with true once sendMessage succeeds, or false
+     *         when retries run out, the message expires or the retry budget is empty
+     */
+    public CompletableFuture<Boolean> sendWithRetryAsync(OutgoingMessage message, int maxRetries, long now) {
+        if (communicationManager.sendMessage(message)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        scheduleRetry(message, 0, maxRetries, now, result);
+        return result;
+    }
+
+    /**
+     * sendWithRetryAsync on the wall clock; pair with processRetries().
+     */
+    public CompletableFuture<Boolean> sendWithRetryAsync(OutgoingMessage message, int maxRetries) {
+        return sendWithRetryAsync(message, maxRetries, System.currentTimeMillis());
     }
 
     /**
@@ -32,34 +93,30 @@ public class FailureRecoveryPolicy {
      * NOTE:
      * - This method is intended for simulated/test environments.
      * - It does not change routing or network behaviour; it simply calls sendMessage again.
-     * - Uses exponential backoff (10ms, 20ms, 40ms, ...) between retries to prevent resource exhaustion.
+     * - Blocks the calling thread for the whole backoff (retries run inline,
+     *   not on the retry scheduler). Use sendWithRetryAsync from tick code.
      *
      * @param message The outgoing message to send
      * @param maxRetries Maximum number of retry attempts (0 = try once)
      * @return true if sendMessage succeeds at least once, false otherwise
+     * @deprecated blocks the caller; use sendWithRetryAsync with processRetries
      */
+    @Deprecated
     public boolean sendWithRetry(OutgoingMessage message, int maxRetries) {
-        int attempts = 0;
-        while (attempts <= maxRetries) {
-            boolean sent = communicationManager.sendMessage(message);
-            if (sent) {
+        for (int retry = 0; ; retry++) {
+            if (communicationManager.sendMessage(message)) {
                 return true;
             }
-            
-            // Don't delay after the last attempt
-            if (attempts < maxRetries) {
-                // Exponential backoff: delay = BASE_DELAY_MS * 2^attempts
-                long delayMs = BASE_DELAY_MS * (1L << attempts);
-                try {
-                    Thread.sleep(delayMs);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    return false; // Interrupted, give up
-                }
+            if (retry >= maxRetries || message.isExpired() || !retryBudget.tryAcquire()) {
+                return false;
+            }
+            try {
+                Thread.sleep(backoffMillis(retry));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
             }
-            attempts++;
         }
-        return false;
     }
 
     /**
@@ -67,10 +124,80 @@ public class FailureRecoveryPolicy {
      *
      * @param message The outgoing message to send
      * @return true if sendMessage succeeds at least once, false otherwise
+     * @deprecated blocks the caller; use sendCriticalAsync with processRetries
      */
+    @Deprecated
     public boolean sendCritical(OutgoingMessage message) {
         return sendWithRetry(message, maxRetriesForCritical);
     }
-}
 
+    /**
+     * Non-blocking variant of sendCritical.
+     */
+    public CompletableFuture<Boolean> sendCriticalAsync(OutgoingMessage message, long now) {
+        return sendWithRetryAsync(message, maxRetriesForCritical, now);
+    }
+
+    /**
+     * sendCriticalAsync on the wall clock; pair with processRetries().
+     */
+    public CompletableFuture<Boolean> sendCriticalAsync(OutgoingMessage message) {
+        return sendWithRetryAsync(message, maxRetriesForCritical);
+    }
 
+    /**
+     * Runs the retries that are due at the given time (e.g. simulation time).
+     * Not needed when the retry scheduler is shared and driven elsewhere.
+     *
+     * @return Number of retries attempted
+     */
+    public int processRetries(long now) {
+        return retryScheduler.runDue(now);
+    }
+
+    /**
+     * Runs the retries that are due on the wall clock.
+     */
+    public int processRetries() {
+        return processRetries(System.currentTimeMillis());
+    }
+
+    /**
+     * Retries waiting for their backoff to pass.
+     */
+    public int getPendingRetryCount() {
+        return retryScheduler.size();
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    private void scheduleRetry(OutgoingMessage message, int retry, int maxRetries, long now,
+                               CompletableFuture<Boolean> result) {
+        if (retry >= maxRetries || message.isExpired() || !retryBudget.tryAcquire()) {
+            result.complete(false);
+            return;
+        }
+
+        retryScheduler.schedule(now + backoffMillis(retry), dueTime -> {
+            try {
+                if (communicationManager.sendMessage(message)) {
+                    result.complete(true);
+                } else {
+                    scheduleRetry(message, retry + 1, maxRetries, dueTime, result);
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * Exponential backoff with jitter: delay in [BASE * 2^retry / 2, BASE * 2^retry]
+     */
+    private static long backoffMillis(int retry) {
+        long delayMs = BASE_DELAY_MS * (1L << Math.min(retry, 20));
+        return delayMs / 2 + ThreadLocalRandom.current().nextLong(delayMs / 2 + 1);
+    }
+}
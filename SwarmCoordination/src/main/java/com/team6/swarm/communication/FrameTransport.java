@@ -0,0 +1,195 @@
+/**
+ * FRAMETRANSPORT CLASS - Shared Base for Byte-Level Transports
+ *
+ * PURPOSE:
+ * - Everything a byte transport needs apart from moving bytes:
+ *   local agent registry, envelope encoding, simulated-delay holding, counters
+ * - Subclasses only implement how batches of envelopes move
+ *   (send/flush/pollFrames/awaitIncoming/close)
+ *
+ * ENVELOPE LAYOUT (big-endian, one per delivery, back to back in a batch):
+ *  0  long   due time (sender's currentTimeMillis + simulated delay)
+ *  8  float  signal strength
+ * 12  frame  MessageCodec frame (receiver id = actual recipient)
+ *
+ * SIMULATED LATENCY:
+ * - The sender stamps the due time; receive() holds envelopes that arrive
+ *   early until then, so NetworkSimulator latency applies on top of the
+ *   real transport latency
+ * - setApplySimulatedDelay(false) stamps "now", to measure the raw transport
+ */
+package com.team6.swarm.communication;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public abstract class FrameTransport implements MessageTransport {
+    public static final int ENVELOPE_HEADER_SIZE = 12;
+
+    private final Set<Integer> localAgents;
+    private final PriorityQueue<HeldDelivery> held;
+    private final List<HeldDelivery> arrivals;
+    private volatile boolean applySimulatedDelay;
+
+    protected final AtomicLong envelopesSent = new AtomicLong();
+    protected final AtomicLong envelopesReceived = new AtomicLong();
+    protected final AtomicLong bytesSent = new AtomicLong();
+    protected final AtomicLong bytesReceived = new AtomicLong();
+    protected final AtomicLong malformedFrames = new AtomicLong();
+    protected final AtomicLong envelopesDropped = new AtomicLong();
+
+    protected FrameTransport() {
+        this.localAgents = ConcurrentHashMap.newKeySet();
+        this.held = new PriorityQueue<>((a, b) -> Long.compare(a.dueTime, b.dueTime));
+        this.arrivals = new ArrayList<>();
+        this.applySimulatedDelay = true;
+    }
+
+    public void addLocalAgent(int agentId) {
+        localAgents.add(agentId);
+    }
+
+    @Override
+    public boolean isLocal(int agentId) {
+        return localAgents.contains(agentId);
+    }
+
+    public void setApplySimulatedDelay(boolean applySimulatedDelay) {
+        this.applySimulatedDelay = applySimulatedDelay;
+    }
+
+    @Override
+    public final synchronized int receive(DeliveryHandler handler) {
+        pollFrames();
+
+        int delivered = 0;
+        long now = System.currentTimeMillis();
+        for (HeldDelivery arrival : arrivals) {
+            if (arrival.dueTime <= now) {
+                handler.onDelivery(arrival.message, arrival.signalStrength);
+                delivered++;
+            } else {
+                held.add(arrival);
+            }
+        }
+        arrivals.clear();
+
+        while (!held.isEmpty() && held.peek().dueTime <= now) {
+            HeldDelivery due = held.poll();
+            handler.onDelivery(due.message, due.signalStrength);
+            delivered++;
+        }
+        return delivered;
+    }
+
+    /**
+     * Reads whatever bytes have arrived and passes each batch to readEnvelopes.
+     * Called with the transport lock held; must not block.
+     */
+    protected abstract void pollFrames();
+
+    /**
+     * Appends one envelope at the buffer's position.
+     *
+     * @return bytes written, 0 if it did not fit, or -1 if the message cannot
+     *         be encoded (counted as dropped); buffer position unchanged
+     *         unless bytes were written
+     */
+    protected int writeEnvelope(ByteBuffer buffer, OutgoingMessage message, int receiverId,
+                                double signalStrength, long simulatedDelayMs) {
+        int start = buffer.position();
+        try {
+            long now = System.currentTimeMillis();
+            buffer.putLong(applySimulatedDelay ? now + simulatedDelayMs : now);
+            buffer.putFloat((float) signalStrength);
+            MessageCodec.encode(message.messageContent, message.senderId, receiverId,
+                                message.priority, message.maxHops, message.getRemainingTime(), buffer);
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            return 0;
+        } catch (IllegalArgumentException e) {
+            // Unsupported or oversized value: leave no partial envelope in the batch
+            buffer.position(start);
+            envelopesDropped.incrementAndGet();
+            return -1;
+        }
+        int written = buffer.position() - start;
+        envelopesSent.incrementAndGet();
+        bytesSent.addAndGet(written);
+        return written;
+    }
+
+    /**
+     * Decodes every envelope between the buffer's position and limit.
+     * A malformed frame discards the rest of the batch.
+     */
+    protected void readEnvelopes(ByteBuffer buffer) {
+        bytesReceived.addAndGet(buffer.remaining());
+        while (buffer.remaining() >= ENVELOPE_HEADER_SIZE + MessageCodec.FRAME_HEADER_SIZE) {
+            try {
+                long dueTime = buffer.getLong();
+                double signalStrength = buffer.getFloat();
+                OutgoingMessage message = MessageCodec.decode(buffer);
+                arrivals.add(new HeldDelivery(message, signalStrength, dueTime));
+                envelopesReceived.incrementAndGet();
+            } catch (IllegalArgumentException e) {
+                malformedFrames.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    public long getEnvelopesSent() {
+        return envelopesSent.get();
+    }
+
+    public long getEnvelopesReceived() {
+        return envelopesReceived.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    public long getMalformedFrames() {
+        return malformedFrames.get();
+    }
+
+    /**
+     * Deliveries send() refused (returned false): unknown receiver, a
+     * message the codec cannot encode, or no room to queue them while the
+     * transport was stalled.
+     */
+    public long getEnvelopesDropped() {
+        return envelopesDropped.get();
+    }
+
+    /**
+     * Deliveries that arrived but are still waiting out their simulated delay.
+     */
+    public synchronized int getHeldCount() {
+        return held.size();
+    }
+
+    private static class HeldDelivery {
+        final OutgoingMessage message;
+        final double signalStrength;
+        final long dueTime;
+
+        HeldDelivery(OutgoingMessage message, double signalStrength, long dueTime) {
+            this.message = message;
+            this.signalStrength = signalStrength;
+            this.dueTime = dueTime;
+        }
+    }
+}
@@ -0,0 +1,701 @@
+/**
+ * GOSSIPPROTOCOL CLASS - Digest-Based State Dissemination
+ *
+ * PURPOSE:
+ * - Lets agents learn each other's state (position, battery, status) through
+ *   messages instead of reading global AgentState objects
+ * - Avoids broadcasting full state every tick: agents exchange compact
+ *   digests and only pull what is missing or stale
+ *
+ * PROTOCOL (push-pull anti-entropy, one exchange = up to 3 messages):
+ * 1. Every period, agent A sends DIGEST [(agentId, version)...] to `fanout`
+ *    random communicating neighbours
+ * 2. Neighbour B answers with REPLY: ids it needs (A's version is newer)
+ *    plus B's entries that are newer than A's
+ * 3. A applies B's entries and sends ENTRIES for the ids B asked for
+ *
+ * DIGEST CONTENTS (bounded by maxDigestEntries):
+ * - The agent's own entry, then entries it learned in its last HOT_ROUNDS
+ *   rounds (rumours spread fast), then a rotating window over everything
+ *   else (full anti-entropy over several rounds)
+ *
+ * MESSAGES:
+ * - MessageType.STATUS_UPDATE with a Map payload whose "gossip" key is
+ *   DIGEST / REPLY / ENTRIES; every value is MessageCodec-encodable
+ * - Sent through a Network: over(CommunicationManager) for the simulator,
+ *   InMemoryNetwork for large in-memory experiments
+ *
+ * METRICS:
+ * - Messages, bytes (encoded frame size) and entries transferred
+ * - Convergence time of each update: publish -> every local agent holds it
+ *
+ * USAGE:
+ * GossipProtocol gossip = new GossipProtocol(GossipProtocol.over(manager), 3, 500);
+ * gossip.addAgent(agentState);               // once per local agent
+ * gossip.publish(agentState, now);           // when an agent's state changes
+ * gossip.tick(now);                          // every simulation tick
+ * // in the agent's MessageListener: if (gossip.onMessage(message, now)) return;
+ */
+package com.team6.swarm.communication;
+
+import com.team6.swarm.core.AgentState;
+import com.team6.swarm.core.Point2D;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class GossipProtocol {
+    public static final int DEFAULT_FANOUT = 3;
+    public static final long DEFAULT_PERIOD_MS = 500;
+    public static final int DEFAULT_MAX_DIGEST_ENTRIES = 256;
+
+    static final String KIND = "gossip";
+    static final String DIGEST = "DIGEST";
+    static final String REPLY = "REPLY";
+    static final String ENTRIES = "ENTRIES";
+
+    private static final int GOSSIP_PRIORITY = 4;
+    // Rounds a newly learned entry keeps being advertised ahead of the window
+    static final int HOT_ROUNDS = 3;
+
+    private final Network network;
+    private final int fanout;
+    private final long periodMs;
+    private final int maxDigestEntries;
+    private final Random random;
+    private final ByteBuffer encodeBuffer;
+
+    // Dense slot per agent id; views and global tracking are indexed by slot
+    private final Map<Integer, Integer> slots;
+    private int[] slotAgents;
+    private int slotCount;
+
+    private final Map<Integer, View> views;
+    private final List<View> viewList;
+
+    // Newest version seen for each subject and how many local views hold it
+    private StateEntry[] latest;
+    private int[] holders;
+    private long[] publishedAt;
+    private boolean[] converged;
+
+    private long rounds;
+    private long messagesSent;
+    private long bytesSent;
+    private long entriesSent;
+    private long updatesPublished;
+    private long[] convergenceTimes;
+    private int convergedCount;
+
+    public GossipProtocol(Network network, int fanout, long periodMs) {
+        this(network, fanout, periodMs, DEFAULT_MAX_DIGEST_ENTRIES, System.nanoTime());
+    }
+
+    public GossipProtocol(Network network, int fanout, long periodMs, int maxDigestEntries, long seed) {
+        if (network == null) {
+            throw new IllegalArgumentException("network must not be null");
+        }
+        if (fanout <= 0 || periodMs <= 0 || maxDigestEntries <= 0) {
+            throw new IllegalArgumentException("fanout, periodMs and maxDigestEntries must be positive");
+        }
+        this.network = network;
+        this.fanout = fanout;
+        this.periodMs = periodMs;
+        this.maxDigestEntries = maxDigestEntries;
+        this.random = new Random(seed);
+        this.encodeBuffer = ByteBuffer.allocate(MessageCodec.MAX_FRAME_SIZE);
+
+        this.slots = new HashMap<>();
+        this.slotAgents = new int[16];
+        this.views = new HashMap<>();
+        this.viewList = new ArrayList<>();
+        this.latest = new StateEntry[16];
+        this.holders = new int[16];
+        this.publishedAt = new long[16];
+        this.converged = new boolean[16];
+        this.convergenceTimes = new long[64];
+    }
+
+    // ===== AGENTS AND STATE =====
+
+    /**
+     * Registers an agent hosted here and publishes its current state.
+     * The first gossip round is staggered randomly within one period.
+     */
+    public synchronized void addAgent(AgentState state, long now) {
+        if (views.containsKey(state.agentId)) {
+            return;
+        }
+        View view = new View(state.agentId, now + (long) (random.nextDouble() * periodMs));
+        views.put(state.agentId, view);
+        viewList.add(view);
+        publish(state, now);
+    }
+
+    /**
+     * Records a new version of a local agent's state.
+     */
+    public synchronized void publish(AgentState state, long now) {
+        View view = views.get(state.agentId);
+        if (view == null) {
+            throw new IllegalArgumentException("Agent " + state.agentId + " is not hosted here");
+        }
+        int slot = slotOf(state.agentId);
+        long version = latest[slot] == null ? 1 : latest[slot].version + 1;
+        StateEntry entry = new StateEntry(state.agentId, version,
+            new Point2D(state.position.x, state.position.y), state.batteryLevel,
+            state.status == null ? null : state.status.name());
+
+        latest[slot] = entry;
+        holders[slot] = 0;
+        publishedAt[slot] = now;
+        converged[slot] = false;
+        updatesPublished++;
+        apply(view, slot, entry, now);
+    }
+
+    /**
+     * Gives every local agent the newest known version of every entry, as if
+     * the swarm had already converged (e.g. restored from a mission plan).
+     * Not counted as traffic or convergence.
+     */
+    public synchronized void bootstrapViews() {
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (latest[slot] == null) continue;
+            for (View view : viewList) {
+                view.set(slot, latest[slot]);
+            }
+            if (!converged[slot]) {
+                updatesPublished--;
+            }
+            holders[slot] = viewList.size();
+            converged[slot] = true;
+        }
+    }
+
+    /**
+     * What this agent currently believes about another, or null if unknown.
+     */
+    public synchronized StateEntry getKnownState(int viewerId, int subjectId) {
+        View view = views.get(viewerId);
+        Integer slot = slots.get(subjectId);
+        if (view == null || slot == null) {
+            return null;
+        }
+        return view.get(slot);
+    }
+
+    /**
+     * Number of agents this agent has any state for (including itself).
+     */
+    public synchronized int getKnownCount(int viewerId) {
+        View view = views.get(viewerId);
+        return view == null ? 0 : view.knownCount;
+    }
+
+    /**
+     * True when every local agent holds the newest version of every entry.
+     */
+    public synchronized boolean isConverged() {
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (latest[slot] != null && holders[slot] < viewList.size()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ===== ROUNDS =====
+
+    /**
+     * Runs a gossip round for every local agent whose period has elapsed.
+     */
+    public synchronized void tick(long now) {
+        for (View view : viewList) {
+            if (now < view.nextRoundAt) continue;
+            view.nextRoundAt += periodMs;
+            if (view.nextRoundAt <= now) {
+                view.nextRoundAt = now + periodMs; // fell behind, do not burst
+            }
+            runRound(view);
+        }
+    }
+
+    private void runRound(View view) {
+        rounds++;
+        view.round++;
+        int[] targets = pickTargets(network.neighborsOf(view.agentId));
+        if (targets.length == 0) return;
+
+        // Same digest to every target: encode once for the byte count
+        Message digest = new Message(view.agentId, MessageType.STATUS_UPDATE, buildDigest(view));
+        int frameSize = encodedSize(digest, view.agentId, targets[0]);
+        for (int target : targets) {
+            messagesSent++;
+            bytesSent += frameSize;
+            network.send(view.agentId, target, digest);
+        }
+    }
+
+    private int[] pickTargets(int[] neighbors) {
+        if (neighbors == null || neighbors.length <= fanout) {
+            return neighbors == null ? new int[0] : neighbors;
+        }
+        int[] pool = neighbors.clone();
+        for (int i = 0; i < fanout; i++) {
+            int j = i + random.nextInt(pool.length - i);
+            int swap = pool[i];
+            pool[i] = pool[j];
+            pool[j] = swap;
+        }
+        return Arrays.copyOf(pool, fanout);
+    }
+
+    private Map<String, Object> buildDigest(View view) {
+        List<Integer> ids = new ArrayList<>();
+        List<Long> versions = new ArrayList<>();
+        boolean[] included = new boolean[slotCount];
+
+        int ownSlot = slots.get(view.agentId);
+        addToDigest(view, ownSlot, ids, versions, included);
+
+        view.expireRecent();
+        for (long hot : view.recent) {
+            if (ids.size() >= maxDigestEntries) break;
+            addToDigest(view, (int) hot, ids, versions, included);
+        }
+
+        for (int scanned = 0; scanned < slotCount && ids.size() < maxDigestEntries; scanned++) {
+            view.cursor = (view.cursor + 1) % slotCount;
+            addToDigest(view, view.cursor, ids, versions, included);
+        }
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put(KIND, DIGEST);
+        payload.put("ids", ids);
+        payload.put("versions", versions);
+        return payload;
+    }
+
+    private void addToDigest(View view, int slot, List<Integer> ids, List<Long> versions, boolean[] included) {
+        StateEntry entry = view.get(slot);
+        if (entry == null || included[slot]) return;
+        included[slot] = true;
+        ids.add(entry.agentId);
+        versions.add(entry.version);
+    }
+
+    // ===== RECEIVING =====
+
+    /**
+     * Handles a message delivered through CommunicationManager.
+     *
+     * @return true if it was a gossip message (consumed), false otherwise
+     */
+    public boolean onMessage(IncomingMessage message, long now) {
+        return handle(message.originalSenderId, message.receiverId, message.messageContent, now);
+    }
+
+    /**
+     * Handles a gossip message from senderId to receiverId.
+     *
+     * @return true if it was a gossip message (consumed), false otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized boolean handle(int senderId, int receiverId, Message message, long now) {
+        if (!(message.payload instanceof Map)) return false;
+        Map<String, Object> payload = (Map<String, Object>) message.payload;
+        Object kind = payload.get(KIND);
+        if (kind == null) return false;
+
+        View view = views.get(receiverId);
+        if (view == null) return true;
+
+        if (DIGEST.equals(kind)) {
+            answerDigest(view, senderId, (List<Integer>) payload.get("ids"), (List<Long>) payload.get("versions"));
+        } else if (REPLY.equals(kind)) {
+            applyEntries(view, payload, now);
+            sendWanted(view, senderId, (List<Integer>) payload.get("want"));
+        } else if (ENTRIES.equals(kind)) {
+            applyEntries(view, payload, now);
+        }
+        return true;
+    }
+
+    private void answerDigest(View view, int senderId, List<Integer> ids, List<Long> versions) {
+        List<Integer> want = new ArrayList<>();
+        List<StateEntry> newer = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            StateEntry mine = view.get(slotOf(ids.get(i)));
+            long theirs = versions.get(i);
+            if (mine == null || mine.version < theirs) {
+                want.add(ids.get(i));
+            } else if (mine.version > theirs) {
+                newer.add(mine);
+            }
+        }
+        if (want.isEmpty() && newer.isEmpty()) return;
+
+        Map<String, Object> reply = entriesPayload(REPLY, newer);
+        reply.put("want", want);
+        send(view.agentId, senderId, reply, newer.size());
+    }
+
+    private void sendWanted(View view, int requesterId, List<Integer> want) {
+        if (want == null || want.isEmpty()) return;
+        List<StateEntry> entries = new ArrayList<>(want.size());
+        for (int agentId : want) {
+            StateEntry entry = view.get(slotOf(agentId));
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        if (!entries.isEmpty()) {
+            send(view.agentId, requesterId, entriesPayload(ENTRIES, entries), entries.size());
+        }
+    }
+
+    private static Map<String, Object> entriesPayload(String kind, List<StateEntry> entries) {
+        List<Integer> ids = new ArrayList<>(entries.size());
+        List<Long> versions = new ArrayList<>(entries.size());
+        List<Point2D> positions = new ArrayList<>(entries.size());
+        List<Double> battery = new ArrayList<>(entries.size());
+        List<String> status = new ArrayList<>(entries.size());
+        for (StateEntry entry : entries) {
+            ids.add(entry.agentId);
+            versions.add(entry.version);
+            positions.add(entry.position);
+            battery.add(entry.batteryLevel);
+            status.add(entry.status);
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put(KIND, kind);
+        payload.put("ids", ids);
+        payload.put("versions", versions);
+        payload.put("positions", positions);
+        payload.put("battery", battery);
+        payload.put("statuses", status);
+        return payload;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyEntries(View view, Map<String, Object> payload, long now) {
+        List<Integer> ids = (List<Integer>) payload.get("ids");
+        if (ids == null) return;
+        List<Long> versions = (List<Long>) payload.get("versions");
+        List<Point2D> positions = (List<Point2D>) payload.get("positions");
+        List<Double> battery = (List<Double>) payload.get("battery");
+        List<String> status = (List<String>) payload.get("statuses");
+
+        for (int i = 0; i < ids.size(); i++) {
+            int slot = slotOf(ids.get(i));
+            StateEntry mine = view.get(slot);
+            long version = versions.get(i);
+            if (mine != null && mine.version >= version) continue;
+            // Local views share one instance per version (entries are immutable)
+            StateEntry entry = latest[slot] != null && latest[slot].version == version
+                ? latest[slot]
+                : new StateEntry(ids.get(i), version, positions.get(i), battery.get(i), status.get(i));
+            apply(view, slot, entry, now);
+        }
+    }
+
+    /**
+     * Stores a newer entry in a view and updates convergence tracking.
+     */
+    private void apply(View view, int slot, StateEntry entry, long now) {
+        StateEntry previous = view.set(slot, entry);
+        if (previous != null && latest[slot] != null && previous.version == latest[slot].version) {
+            holders[slot]--;
+        }
+        if (latest[slot] == null || entry.version > latest[slot].version) {
+            // First sighting of a remote agent's version
+            latest[slot] = entry;
+            holders[slot] = 0;
+            publishedAt[slot] = now;
+            converged[slot] = false;
+        }
+        if (entry.version == latest[slot].version) {
+            holders[slot]++;
+            if (holders[slot] == viewList.size() && !converged[slot]) {
+                converged[slot] = true;
+                recordConvergence(now - publishedAt[slot]);
+            }
+        }
+        view.markRecent(slot, maxDigestEntries);
+    }
+
+    private void send(int senderId, int receiverId, Map<String, Object> payload, int entryCount) {
+        Message message = new Message(senderId, MessageType.STATUS_UPDATE, payload);
+        bytesSent += encodedSize(message, senderId, receiverId);
+        messagesSent++;
+        entriesSent += entryCount;
+        network.send(senderId, receiverId, message);
+    }
+
+    private int encodedSize(Message message, int senderId, int receiverId) {
+        encodeBuffer.clear();
+        return MessageCodec.encode(message, senderId, receiverId, GOSSIP_PRIORITY, 0, periodMs, encodeBuffer);
+    }
+
+    private int slotOf(int agentId) {
+        Integer slot = slots.get(agentId);
+        if (slot != null) {
+            return slot;
+        }
+        if (slotCount == slotAgents.length) {
+            int capacity = slotAgents.length * 2;
+            slotAgents = Arrays.copyOf(slotAgents, capacity);
+            latest = Arrays.copyOf(latest, capacity);
+            holders = Arrays.copyOf(holders, capacity);
+            publishedAt = Arrays.copyOf(publishedAt, capacity);
+            converged = Arrays.copyOf(converged, capacity);
+        }
+        slotAgents[slotCount] = agentId;
+        slots.put(agentId, slotCount);
+        return slotCount++;
+    }
+
+    private void recordConvergence(long elapsedMs) {
+        if (convergedCount == convergenceTimes.length) {
+            convergenceTimes = Arrays.copyOf(convergenceTimes, convergedCount * 2);
+        }
+        convergenceTimes[convergedCount++] = elapsedMs;
+    }
+
+    // ===== METRICS =====
+
+    public synchronized GossipStatistics getStatistics(long elapsedMs) {
+        long[] sorted = Arrays.copyOf(convergenceTimes, convergedCount);
+        Arrays.sort(sorted);
+        return new GossipStatistics(viewList.size(), fanout, periodMs, rounds, messagesSent, bytesSent,
+                                    entriesSent, updatesPublished, sorted, elapsedMs);
+    }
+
+    public int getFanout() {
+        return fanout;
+    }
+
+    public long getPeriodMs() {
+        return periodMs;
+    }
+
+    /**
+     * Gossip traffic totals and update convergence times.
+     */
+    public static class GossipStatistics {
+        public final int agents;
+        public final int fanout;
+        public final long periodMs;
+        public final long rounds;
+        public final long messagesSent;
+        public final long bytesSent;
+        public final long entriesSent;
+        public final long updatesPublished;
+        public final long updatesConverged;
+        public final long elapsedMs;
+        private final long[] sortedConvergenceMs;
+
+        GossipStatistics(int agents, int fanout, long periodMs, long rounds, long messagesSent,
+                         long bytesSent, long entriesSent, long updatesPublished,
+                         long[] sortedConvergenceMs, long elapsedMs) {
+            this.agents = agents;
+            this.fanout = fanout;
+            this.periodMs = periodMs;
+            this.rounds = rounds;
+            this.messagesSent = messagesSent;
+            this.bytesSent = bytesSent;
+            this.entriesSent = entriesSent;
+            this.updatesPublished = updatesPublished;
+            this.updatesConverged = sortedConvergenceMs.length;
+            this.elapsedMs = elapsedMs;
+            this.sortedConvergenceMs = sortedConvergenceMs;
+        }
+
+        public double getMessagesPerAgentPerSecond() {
+            return agents == 0 || elapsedMs == 0 ? 0.0 : messagesSent * 1000.0 / agents / elapsedMs;
+        }
+
+        public double getBytesPerAgentPerSecond() {
+            return agents == 0 || elapsedMs == 0 ? 0.0 : bytesSent * 1000.0 / agents / elapsedMs;
+        }
+
+        /**
+         * Convergence time percentile in ms (p in 0-100), over converged updates.
+         */
+        public long getConvergencePercentile(double p) {
+            if (sortedConvergenceMs.length == 0) return -1;
+            int index = (int) Math.ceil(p / 100.0 * sortedConvergenceMs.length) - 1;
+            return sortedConvergenceMs[Math.max(0, Math.min(sortedConvergenceMs.length - 1, index))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "Gossip{agents=%d, fanout=%d, period=%dms, msgs/agent/s=%.1f, bytes/agent/s=%,.0f, converged=%d/%d, p50=%dms, p99=%dms}",
+                agents, fanout, periodMs, getMessagesPerAgentPerSecond(), getBytesPerAgentPerSecond(),
+                updatesConverged, updatesPublished, getConvergencePercentile(50), getConvergencePercentile(99));
+        }
+    }
+
+    // ===== STATE ENTRIES AND VIEWS =====
+
+    /**
+     * One version of one agent's gossiped state. Immutable.
+     */
+    public static class StateEntry {
+        public final int agentId;
+        public final long version;
+        public final Point2D position;
+        public final double batteryLevel;
+        public final String status;
+
+        public StateEntry(int agentId, long version, Point2D position, double batteryLevel, String status) {
+            this.agentId = agentId;
+            this.version = version;
+            this.position = position;
+            this.batteryLevel = batteryLevel;
+            this.status = status;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("StateEntry{agent=%d, v%d, pos=%s, battery=%.2f, status=%s}",
+                               agentId, version, position, batteryLevel, status);
+        }
+    }
+
+    /**
+     * One local agent's knowledge, indexed by slot.
+     */
+    private static class View {
+        final int agentId;
+        StateEntry[] known = new StateEntry[16];
+        int knownCount;
+        int cursor;
+        long nextRoundAt;
+        long round;
+        // Recently learned slots, packed as (last hot round << 32 | slot), oldest first
+        final ArrayDeque<Long> recent = new ArrayDeque<>();
+
+        View(int agentId, long firstRoundAt) {
+            this.agentId = agentId;
+            this.nextRoundAt = firstRoundAt;
+        }
+
+        StateEntry get(int slot) {
+            return slot < known.length ? known[slot] : null;
+        }
+
+        StateEntry set(int slot, StateEntry entry) {
+            if (slot >= known.length) {
+                known = Arrays.copyOf(known, Math.max(slot + 1, known.length * 2));
+            }
+            StateEntry previous = known[slot];
+            if (previous == null) {
+                knownCount++;
+            }
+            known[slot] = entry;
+            return previous;
+        }
+
+        void markRecent(int slot, int limit) {
+            if (recent.size() >= limit) {
+                recent.poll();
+            }
+            recent.add((round + HOT_ROUNDS) << 32 | slot);
+        }
+
+        void expireRecent() {
+            while (!recent.isEmpty() && (recent.peek() >>> 32) < round) {
+                recent.poll();
+            }
+        }
+    }
+
+    // ===== NETWORK =====
+
+    /**
+     * Where gossip gets neighbours from and sends messages through.
+     */
+    public interface Network {
+        int[] neighborsOf(int agentId);
+
+        void send(int senderId, int receiverId, Message message);
+    }
+
+    /**
+     * Gossip over the simulated network: neighbours from the manager's
+     * topology, messages through its mailboxes (so range/loss apply).
+     * Agents' listeners must pass messages to onMessage().
+     */
+    public static Network over(CommunicationManager manager) {
+        return new Network() {
+            @Override
+            public int[] neighborsOf(int agentId) {
+                NeighborInformation neighbors = manager.getNeighbors(agentId);
+                if (neighbors == null) return new int[0];
+                List<NeighborAgent> communicating = neighbors.getCommunicatingNeighbors();
+                int[] ids = new int[communicating.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = communicating.get(i).neighborId;
+                }
+                return ids;
+            }
+
+            @Override
+            public void send(int senderId, int receiverId, Message message) {
+                manager.sendMessage(new OutgoingMessage(senderId, receiverId, message, GOSSIP_PRIORITY, 0, 5000));
+            }
+        };
+    }
+
+    /**
+     * Lossless in-memory network with a fixed neighbour table, for large
+     * experiments. Messages are queued and delivered by deliverAll().
+     */
+    public static class InMemoryNetwork implements Network {
+        private final Map<Integer, int[]> neighbors;
+        private final ArrayDeque<Object[]> queue;
+        private GossipProtocol protocol;
+
+        public InMemoryNetwork(Map<Integer, int[]> neighbors) {
+            this.neighbors = neighbors;
+            this.queue = new ArrayDeque<>();
+        }
+
+        public void attach(GossipProtocol protocol) {
+            this.protocol = protocol;
+        }
+
+        @Override
+        public int[] neighborsOf(int agentId) {
+            return neighbors.get(agentId);
+        }
+
+        @Override
+        public void send(int senderId, int receiverId, Message message) {
+            queue.add(new Object[] {senderId, receiverId, message});
+        }
+
+        /**
+         * Delivers queued messages, including replies they trigger.
+         *
+         * @return number delivered
+         */
+        public int deliverAll(long now) {
+            int delivered = 0;
+            Object[] next;
+            while ((next = queue.poll()) != null) {
+                protocol.handle((Integer) next[0], (Integer) next[1], (Message) next[2], now);
+                delivered++;
+            }
+            return delivered;
+        }
+    }
+}
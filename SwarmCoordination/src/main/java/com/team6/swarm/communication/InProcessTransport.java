@@ -0,0 +1,47 @@
+/**
+ * INPROCESSTRANSPORT CLASS - Default Single-JVM Transport
+ *
+ * PURPOSE:
+ * - Every agent is local, so CommunicationManager delivers in memory and
+ *   nothing is ever sent or received
+ */
+package com.team6.swarm.communication;
+
+public final class InProcessTransport implements MessageTransport {
+    public static final InProcessTransport INSTANCE = new InProcessTransport();
+
+    private InProcessTransport() {
+    }
+
+    @Override
+    public boolean isLocal(int agentId) {
+        return true;
+    }
+
+    @Override
+    public boolean send(OutgoingMessage message, int receiverId, double signalStrength, long simulatedDelayMs) {
+        return false;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public int receive(DeliveryHandler handler) {
+        return 0;
+    }
+
+    @Override
+    public void awaitIncoming(long timeoutMs) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public String toString() {
+        return "InProcessTransport";
+    }
+}
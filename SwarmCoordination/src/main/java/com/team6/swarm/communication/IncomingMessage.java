@@ -5,8 +5,12 @@ package com.team6.swarm.communication;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
 
 public class IncomingMessage {
+    // Shared route for direct/broadcast deliveries - avoids one list per recipient
+    static final List<Integer> DIRECT_ROUTE = Collections.emptyList();
+    
     public final int receiverId;
     public final int originalSenderId;
     public final Message messageContent;
@@ -26,6 +30,23 @@ public class IncomingMessage {
         this.transmissionDelay = actualDeliveryTime - messageContent.timestamp;
     }
     
+    /**
+     * Per-recipient record of a single-hop delivery (direct or broadcast).
+     * The Message and route are shared by every recipient, only the
+     * receiver, signal strength and arrival time are recipient-specific.
+     * arrivalTime includes the simulated link delay.
+     */
+    IncomingMessage(int receiverId, int originalSenderId, Message messageContent,
+                    double signalStrength, long arrivalTime) {
+        this.receiverId = receiverId;
+        this.originalSenderId = originalSenderId;
+        this.messageContent = messageContent;
+        this.routePath = DIRECT_ROUTE;
+        this.signalStrength = signalStrength;
+        this.actualDeliveryTime = arrivalTime;
+        this.transmissionDelay = arrivalTime - messageContent.timestamp;
+    }
+    
     public boolean isDirectDelivery() {
         return routePath.isEmpty();
     }
@@ -18,10 +18,13 @@ package com.team6.swarm.communication;
 import com.team6.swarm.core.AgentState;
 import com.team6.swarm.core.Point2D;
 import com.team6.swarm.core.AgentStatus;
+import com.team6.swarm.core.DeadlineScheduler;
 import com.team6.swarm.core.Vector2D;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class IntegrationTest {
+    private static final long TEST_SEED = 5L;
     
     public static void main(String[] args) {
         System.out.println("=== Communication System Integration Tests ===");
@@ -58,7 +61,7 @@ public class IntegrationTest {
     private static void testMessageListeners() {
         System.out.println("\n--- Week 4: Message Listeners ---");
         
-        CommunicationManager manager = new CommunicationManager();
+        CommunicationManager manager = createTestManager();
         
         // Create test agent states
         List<AgentState> agents = createTestAgents();
@@ -105,7 +108,7 @@ public class IntegrationTest {
     private static void testVotingMessages() {
         System.out.println("\n--- Week 5: Voting Messages ---");
         
-        CommunicationManager manager = new CommunicationManager();
+        CommunicationManager manager = createTestManager();
         List<AgentState> agents = createTestAgents();
         manager.updateTopology(agents);
         
@@ -134,6 +137,23 @@ public class IntegrationTest {
         // Test get vote messages
         List<IncomingMessage> voteMessages = manager.getVoteMessages(2);
         assert voteMessages.size() > 0 : "Should have vote messages for agent 2";
+        for (IncomingMessage voteMessage : voteMessages) {
+            assert voteMessage.receiverId == 2 : "Index should only return agent 2's messages";
+        }
+        
+        // Test cursor-based incremental reads
+        MessageHistory history = manager.getHistory();
+        List<IncomingMessage> fresh = new ArrayList<>();
+        long cursor = history.readSince(0, fresh);
+        assert fresh.size() == manager.getMessageHistory().size() : "First read should return everything";
+        fresh.clear();
+        cursor = history.readSince(cursor, fresh);
+        assert fresh.isEmpty() : "Second read should return nothing new";
+        
+        manager.sendVoteResponse(3, 1, voteResponse);
+        manager.processMessages();
+        history.readSince(cursor, MessageType.VOTE_RESPONSE, fresh);
+        assert fresh.size() <= 1 : "Only the new response should be returned";
         
         System.out.println("✓ Voting message tests passed");
     }
@@ -142,7 +162,7 @@ public class IntegrationTest {
     private static void testConsensusSupport() {
         System.out.println("\n--- Week 7–8: Consensus Support ---");
         
-        CommunicationManager manager = new CommunicationManager();
+        CommunicationManager manager = createTestManager();
         List<AgentState> agents = createTestAgents();
         manager.updateTopology(agents);
         
@@ -175,6 +195,16 @@ public class IntegrationTest {
         response3.put("choice", "V_SHAPE");
         protocol.recordResponse(3, response3);
         
+        // Responses delivered through the manager are picked up by cursor polling
+        Map<String, Object> delivered = new HashMap<>();
+        delivered.put("proposalId", "vote-consensus-1");
+        delivered.put("choice", "LINE");
+        manager.sendVoteResponse(2, 1, delivered);
+        manager.processMessages();
+        int collected = protocol.collectResponses();
+        assert collected <= 1 : "At most the one new response should be collected";
+        assert protocol.collectResponses() == 0 : "Nothing new on the second poll";
+        
         VotingProtocol.VoteResult result = protocol.getVoteResult("vote-consensus-1");
         assert result != null : "Vote result should not be null";
         assert result.complete : "Vote should be complete when all expected voters respond";
@@ -216,6 +246,31 @@ public class IntegrationTest {
             assert e.getMessage().contains("not in the expected voters") : "Exception should mention unauthorized voter";
         }
         
+        // Deadlines are scheduler timers: only due votes are touched
+        DeadlineScheduler scheduler = new DeadlineScheduler();
+        VotingProtocol timed = new VotingProtocol(manager, scheduler);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 20; i++) {
+            Map<String, Object> timedProposal = new HashMap<>();
+            timedProposal.put("proposalId", "vote-timed-" + i);
+            timedProposal.put("deadline", start + 1000L + i * 100L);
+            timed.startVote(1, timedProposal, expectedVoters);
+        }
+        manager.processMessages();
+        timed.cleanupExpiredVotes(start + 500);
+        assert timed.getActiveVoteCount() == 20 && scheduler.getFiredCount() == 0 : "Nothing due yet";
+        timed.cleanupExpiredVotes(start + 1950);
+        assert timed.getActiveVoteCount() == 10 : "Deadlines up to +1900ms have passed";
+        assert scheduler.getNextDeadline() == start + 2000L;
+        
+        // A replaced vote keeps its own deadline
+        Map<String, Object> restarted = new HashMap<>();
+        restarted.put("proposalId", "vote-timed-0");
+        restarted.put("deadline", start + 5000L);
+        timed.startVote(1, restarted, expectedVoters);
+        timed.cleanupExpiredVotes(start + 3000);
+        assert timed.getActiveVoteCount() == 1 && timed.getVoteResult("vote-timed-0") != null;
+        
         System.out.println("✓ Consensus support tests passed");
     }
     
@@ -223,7 +278,7 @@ public class IntegrationTest {
     private static void testMissionCoordination() {
         System.out.println("\n--- Week 6: Mission Coordination ---");
         
-        CommunicationManager manager = new CommunicationManager();
+        CommunicationManager manager = createTestManager();
         List<AgentState> agents = createTestAgents();
         manager.updateTopology(agents);
         
@@ -262,7 +317,7 @@ public class IntegrationTest {
     private static void testFaultTolerance() {
         System.out.println("\n--- Week 9–10: Fault Tolerance ---");
         
-        CommunicationManager manager = new CommunicationManager();
+        CommunicationManager manager = createTestManager();
         List<AgentState> agents = createTestAgents();
         manager.updateTopology(agents);
         
@@ -276,8 +331,8 @@ public class IntegrationTest {
         
         OutgoingMessage outgoing = new OutgoingMessage(1, 2, message);
         
-        boolean sent = recoveryPolicy.sendCritical(outgoing);
-        assert sent : "Critical message should be accepted by the queue with retries";
+        CompletableFuture<Boolean> sent = recoveryPolicy.sendCriticalAsync(outgoing);
+        assert sent.getNow(false) : "Critical message should be accepted by the queue with retries";
         
         manager.processMessages();
         
@@ -295,6 +350,38 @@ public class IntegrationTest {
         Set<Integer> partition = manager.getPartitionForAgent(1);
         assert partition != null && partition.size() > 0 : "Partition for agent 1 should exist and be non-empty";
         
+        // Retries are timers on the caller's clock: the caller gets a future instead of sleeping
+        CommunicationManager congested = new CommunicationManager(new NetworkSimulator(), 1, 1);
+        congested.updateTopology(agents);
+        congested.setOverflowPolicy(MessageType.EMERGENCY_ALERT, OverflowPolicy.REJECT);
+        DeadlineScheduler retryTimers = new DeadlineScheduler();
+        FailureRecoveryPolicy asyncPolicy = new FailureRecoveryPolicy(
+            congested, 5, retryTimers, new RetryBudget(10, 0.0));
+        long simTime = 1_000;
+        
+        congested.sendMessage(new OutgoingMessage(1, 2, new Message(1, MessageType.EMERGENCY_ALERT, "first")));
+        CompletableFuture<Boolean> retried = asyncPolicy.sendCriticalAsync(
+            new OutgoingMessage(1, 2, new Message(1, MessageType.EMERGENCY_ALERT, "second")), simTime);
+        assert !retried.isDone() : "Full outbox should return a pending future, not wait for backoff";
+        assert asyncPolicy.getPendingRetryCount() == 1 : "One retry should be waiting";
+        
+        congested.processMessages(); // frees the outbox
+        assert asyncPolicy.processRetries(simTime + 4) == 0 : "Backoff has not passed in simulation time";
+        assert asyncPolicy.processRetries(simTime + 10) == 1 : "Retry runs once simulation time reaches it";
+        assert retried.getNow(false) : "Retry should succeed once there is room";
+        
+        // An exhausted budget ends retry storms instead of queueing more work
+        FailureRecoveryPolicy starved = new FailureRecoveryPolicy(
+            congested, 5, retryTimers, new RetryBudget(1, 0.0));
+        CompletableFuture<Boolean> denied = starved.sendWithRetryAsync(
+            new OutgoingMessage(1, 2, new Message(1, MessageType.EMERGENCY_ALERT, "third")), 5, simTime);
+        for (long t = simTime; !denied.isDone() && t < simTime + 1_000; t += 10) {
+            starved.processRetries(t);
+        }
+        assert !denied.getNow(true) : "No budget left, send should fail";
+        assert starved.getRetryBudget().getGrantedCount() == 1 : "Only one retry fits the budget";
+        assert starved.getRetryBudget().getDeniedCount() == 1 : "The next retry should be denied";
+        
         System.out.println("✓ Fault tolerance tests passed");
     }
     
@@ -302,7 +389,7 @@ public class IntegrationTest {
     private static void testPerformanceMetrics() {
         System.out.println("\n--- Week 11–12: Performance Metrics ---");
         
-        CommunicationManager manager = new CommunicationManager();
+        CommunicationManager manager = createTestManager();
         List<AgentState> agents = createTestAgents();
         manager.updateTopology(agents);
         
@@ -352,6 +439,14 @@ public class IntegrationTest {
     }
     
     // ===== HELPER METHODS =====
+    /**
+     * Manager over a seeded simulator with the agents' 200-unit range and
+     * no random link failures, so every run makes the same delivery decisions
+     */
+    private static CommunicationManager createTestManager() {
+        return new CommunicationManager(new NetworkSimulator(200.0, 0.0, 0.0, 150.0, 50.0, TEST_SEED));
+    }
+    
     private static List<AgentState> createTestAgents() {
         List<AgentState> agents = new ArrayList<>();
         
@@ -0,0 +1,181 @@
+/**
+ * LATENCYHISTOGRAM CLASS - Lock-Free Log-Bucketed Histogram
+ *
+ * PURPOSE:
+ * - Records latencies (microseconds) from many threads without locks or
+ *   allocation, so it can stay on in production
+ * - Answers percentile queries (p50/p90/p99/p999) with bounded relative error
+ *
+ * BUCKETING (HDR-style):
+ * - Values below 32 get an exact bucket each
+ * - Above that, every power-of-two range [2^k, 2^(k+1)) is split into
+ *   SUB_BUCKETS linear sub-buckets, so a bucket is at most 1/16 (~6%)
+ *   as wide as the values in it
+ * - 976 buckets cover the whole long range
+ *
+ * RECORDING:
+ * - record() is one bucket-index computation and a few atomic adds
+ * - Reads are not a consistent snapshot while writers are active; counts
+ *   may be off by the records in flight, which is fine for monitoring
+ * - drainTo() moves every count into another histogram and empties this
+ *   one bucket by bucket, so per-interval reports lose no records
+ *
+ * USAGE:
+ * LatencyHistogram histogram = new LatencyHistogram();
+ * histogram.record(elapsedMicros);
+ * long p99 = histogram.getValueAtPercentile(99.0);
+ */
+package com.team6.swarm.communication;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount;
+    private final AtomicLong totalValue;
+    private final AtomicLong maxValue;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new AtomicLong();
+        this.totalValue = new AtomicLong();
+        this.maxValue = new AtomicLong();
+    }
+
+    /**
+     * Records one value. Negative values are recorded as 0.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(v));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(v);
+
+        long max = maxValue.get();
+        while (v > max && !maxValue.compareAndSet(max, v)) {
+            max = maxValue.get();
+        }
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0.0 : (double) totalValue.get() / count;
+    }
+
+    /**
+     * Value at the given percentile (0-100): the midpoint of the bucket the
+     * percentile falls in, never above the recorded maximum (which is what
+     * the top rank returns). 0 if empty.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        if (rank >= count) {
+            return maxValue.get();
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(maxValue.get(), bucketMidpoint(i));
+            }
+        }
+        return maxValue.get();
+    }
+
+    /**
+     * Adds another histogram's counts to this one.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = other.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalValue.addAndGet(other.totalValue.get());
+        long otherMax = other.maxValue.get();
+        long max = maxValue.get();
+        while (otherMax > max && !maxValue.compareAndSet(max, otherMax)) {
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * Moves this histogram's counts into target and leaves this one empty.
+     * A record made while draining ends up in one of the two.
+     */
+    public void drainTo(LatencyHistogram target) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = counts.getAndSet(i, 0);
+            if (c != 0) {
+                target.counts.addAndGet(i, c);
+            }
+        }
+        target.totalCount.addAndGet(totalCount.getAndSet(0));
+        target.totalValue.addAndGet(totalValue.getAndSet(0));
+        long drainedMax = maxValue.getAndSet(0);
+        long max = target.maxValue.get();
+        while (drainedMax > max && !target.maxValue.compareAndSet(max, drainedMax)) {
+            max = target.maxValue.get();
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalValue.set(0);
+        maxValue.set(0);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    }
+
+    private static long bucketMidpoint(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return bucketLowerBound(index) + ((1L << shift) >>> 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LatencyHistogram{count=%d, p50=%d, p99=%d, max=%d}",
+                           getCount(), getValueAtPercentile(50), getValueAtPercentile(99), getMax());
+    }
+}
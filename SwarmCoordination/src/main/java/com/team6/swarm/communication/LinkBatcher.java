@@ -0,0 +1,213 @@
+/**
+ * LINKBATCHER CLASS - Per-Link Message Coalescing
+ *
+ * PURPOSE:
+ * - Packs all direct messages from one sender to one receiver into a
+ *   single LinkFrame, so subsystems that talk to the same neighbour in the
+ *   same tick (voting, task allocation, formation) share one link-layer
+ *   transmission
+ * - CommunicationManager rolls the NetworkSimulator once per frame and
+ *   unpacks the frame into the receiver's inbox
+ *
+ * THRESHOLDS:
+ * - maxFrameMessages: a frame that reaches this size is closed at once
+ * - maxDelayMs: how long a frame may stay open waiting for more messages;
+ *   0 (default) closes every frame at the end of the tick it was opened in
+ *
+ * BROADCASTS:
+ * - Not batched here; a broadcast is already one batched simulator call
+ *   for the whole neighbourhood
+ *
+ * USAGE:
+ * manager.setLinkBatcher(new LinkBatcher(32, 20));   // hold frames up to 20ms
+ * manager.setLinkBatcher(null);                      // one roll per message
+ */
+package com.team6.swarm.communication;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LinkBatcher {
+    public static final int DEFAULT_MAX_FRAME_MESSAGES = 32;
+    public static final long DEFAULT_MAX_DELAY_MS = 0;
+
+    private final int maxFrameMessages;
+    private final long maxDelayMs;
+
+    // Open frames by link, oldest first
+    private final Map<Long, LinkFrame> openFrames;
+    private final List<LinkFrame> closedFrames;
+
+    private long messagesBatched;
+    private long framesSent;
+    private long framesLost;
+    private long messagesLost;
+
+    public LinkBatcher() {
+        this(DEFAULT_MAX_FRAME_MESSAGES, DEFAULT_MAX_DELAY_MS);
+    }
+
+    public LinkBatcher(int maxFrameMessages, long maxDelayMs) {
+        if (maxFrameMessages <= 0 || maxDelayMs < 0) {
+            throw new IllegalArgumentException("maxFrameMessages must be positive and maxDelayMs non-negative");
+        }
+        this.maxFrameMessages = maxFrameMessages;
+        this.maxDelayMs = maxDelayMs;
+        this.openFrames = new LinkedHashMap<>();
+        this.closedFrames = new ArrayList<>();
+    }
+
+    /**
+     * Adds a direct message to its link's open frame, closing the frame if full.
+     */
+    public synchronized void add(OutgoingMessage message, long now) {
+        long link = linkKey(message.senderId, message.receiverId);
+        LinkFrame frame = openFrames.get(link);
+        if (frame == null) {
+            frame = new LinkFrame(message.senderId, message.receiverId, now);
+            openFrames.put(link, frame);
+        }
+        frame.messages.add(message);
+        messagesBatched++;
+
+        if (frame.messages.size() >= maxFrameMessages) {
+            openFrames.remove(link);
+            closedFrames.add(frame);
+        }
+    }
+
+    /**
+     * Removes and returns the frames ready to transmit: full ones and those
+     * open for at least maxDelayMs.
+     */
+    public synchronized List<LinkFrame> takeReadyFrames(long now) {
+        Iterator<LinkFrame> open = openFrames.values().iterator();
+        while (open.hasNext()) {
+            LinkFrame frame = open.next();
+            if (now - frame.openedAt < maxDelayMs) break; // rest opened later
+            closedFrames.add(frame);
+            open.remove();
+        }
+        return takeClosed();
+    }
+
+    /**
+     * Removes and returns every frame, ready or not.
+     */
+    public synchronized List<LinkFrame> takeAllFrames() {
+        closedFrames.addAll(openFrames.values());
+        openFrames.clear();
+        return takeClosed();
+    }
+
+    private List<LinkFrame> takeClosed() {
+        if (closedFrames.isEmpty()) {
+            return List.of();
+        }
+        List<LinkFrame> ready = new ArrayList<>(closedFrames);
+        closedFrames.clear();
+        framesSent += ready.size();
+        return ready;
+    }
+
+    /**
+     * Records a frame the simulated network dropped as a whole.
+     */
+    public synchronized void recordLost(LinkFrame frame) {
+        framesLost++;
+        messagesLost += frame.size();
+    }
+
+    /**
+     * Messages held in frames that are not yet transmitted.
+     */
+    public synchronized int getHeldMessageCount() {
+        int held = 0;
+        for (LinkFrame frame : openFrames.values()) {
+            held += frame.size();
+        }
+        for (LinkFrame frame : closedFrames) {
+            held += frame.size();
+        }
+        return held;
+    }
+
+    public synchronized void clear() {
+        openFrames.clear();
+        closedFrames.clear();
+    }
+
+    public int getMaxFrameMessages() {
+        return maxFrameMessages;
+    }
+
+    public long getMaxDelayMs() {
+        return maxDelayMs;
+    }
+
+    public synchronized long getMessagesBatched() {
+        return messagesBatched;
+    }
+
+    public synchronized long getFramesSent() {
+        return framesSent;
+    }
+
+    public synchronized long getFramesLost() {
+        return framesLost;
+    }
+
+    public synchronized long getMessagesLost() {
+        return messagesLost;
+    }
+
+    /**
+     * Average messages carried per transmitted frame.
+     */
+    public synchronized double getAverageFrameSize() {
+        return framesSent == 0 ? 0.0 : (double) (messagesBatched - getHeldMessageCount()) / framesSent;
+    }
+
+    private static long linkKey(int senderId, int receiverId) {
+        return ((long) senderId << 32) | (receiverId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Messages from one sender to one receiver transmitted together.
+     */
+    public static class LinkFrame {
+        public final int senderId;
+        public final int receiverId;
+        public final long openedAt;
+        final List<OutgoingMessage> messages;
+
+        LinkFrame(int senderId, int receiverId, long openedAt) {
+            this.senderId = senderId;
+            this.receiverId = receiverId;
+            this.openedAt = openedAt;
+            this.messages = new ArrayList<>();
+        }
+
+        public List<OutgoingMessage> getMessages() {
+            return messages;
+        }
+
+        public int size() {
+            return messages.size();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("LinkFrame{%d->%d, messages=%d}", senderId, receiverId, messages.size());
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("LinkBatcher{maxMessages=%d, maxDelay=%dms, frames=%d, avgSize=%.1f, lost=%d}",
+                           maxFrameMessages, maxDelayMs, framesSent, getAverageFrameSize(), framesLost);
+    }
+}
@@ -0,0 +1,260 @@
+/**
+ * LINKQUALITYCACHE CLASS - Smoothed Link State Between Topology Updates
+ *
+ * PURPOSE:
+ * - Keeps one entry per agent pair (undirected) across topology updates so
+ *   links do not flap on every noisy signal sample
+ * - Fewer spurious link changes mean fewer route rebuilds and partition
+ *   recomputations downstream
+ *
+ * PER LINK:
+ * - smoothedSignal: EWMA of NetworkSimulator signal samples
+ * - up: link state with hysteresis; a down link comes up only when the
+ *   smoothed signal reaches upThreshold, an up link goes down only when
+ *   it falls below downThreshold (defaults 0.35 / 0.25 around the old
+ *   fixed 0.3 cut-off)
+ *
+ * RE-EVALUATION:
+ * - A link is only re-sampled when its distance changed by more than
+ *   reevaluateDistance since the last sample; otherwise the cached state
+ *   is returned without touching the simulator
+ * - A jump of RESET_FRACTION of the range or more restarts the average
+ *   (the old samples describe a different link)
+ * - Out of range is physics, not noise: the link goes down at once
+ *
+ * CHURN:
+ * - Every link coming up (including new links) or going down (including
+ *   leaving range) counts; reported as a total and as transitions per
+ *   second (last second)
+ *
+ * USAGE (CommunicationManager does this on every updateTopology):
+ * cache.beginUpdate();
+ * LinkQualityCache.LinkState link = cache.evaluate(a, b, distance, now);
+ * int changes = cache.endUpdate(now);   // drops links not seen this update
+ */
+package com.team6.swarm.communication;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public class LinkQualityCache {
+    public static final double DEFAULT_SMOOTHING = 0.3;
+    public static final double DEFAULT_UP_THRESHOLD = 0.35;
+    public static final double DEFAULT_DOWN_THRESHOLD = 0.25;
+    // Fraction of the communication range a link must move to be re-sampled
+    public static final double DEFAULT_REEVALUATE_FRACTION = 0.01;
+    private static final double RESET_FRACTION = 0.1;
+
+    private final NetworkSimulator simulator;
+    private final double smoothing;
+    private final double upThreshold;
+    private final double downThreshold;
+    private final double reevaluateDistance;
+    private final Map<Long, LinkState> links;
+    private final SlidingWindowCounter churnRate;
+
+    private long updateEpoch;
+    private int changesThisUpdate;
+    private long evaluations;
+    private long cacheHits;
+    private long transitions;
+
+    public LinkQualityCache(NetworkSimulator simulator) {
+        this(simulator, DEFAULT_SMOOTHING, DEFAULT_UP_THRESHOLD, DEFAULT_DOWN_THRESHOLD,
+             simulator.getCommunicationRange() * DEFAULT_REEVALUATE_FRACTION);
+    }
+
+    /**
+     * @param smoothing Weight of a new sample in the EWMA (0-1]
+     * @param upThreshold Smoothed signal a down link needs to come up
+     * @param downThreshold Smoothed signal below which an up link goes down
+     * @param reevaluateDistance Distance change that triggers a new sample
+     */
+    public LinkQualityCache(NetworkSimulator simulator, double smoothing, double upThreshold,
+                            double downThreshold, double reevaluateDistance) {
+        if (simulator == null) {
+            throw new IllegalArgumentException("simulator must not be null");
+        }
+        if (smoothing <= 0.0 || smoothing > 1.0 || downThreshold > upThreshold || reevaluateDistance < 0.0) {
+            throw new IllegalArgumentException(
+                "smoothing must be in (0,1], downThreshold <= upThreshold, reevaluateDistance >= 0");
+        }
+        this.simulator = simulator;
+        this.smoothing = smoothing;
+        this.upThreshold = upThreshold;
+        this.downThreshold = downThreshold;
+        this.reevaluateDistance = reevaluateDistance;
+        this.links = new HashMap<>();
+        this.churnRate = new SlidingWindowCounter(1000);
+    }
+
+    /**
+     * Starts a topology update; links not evaluated before endUpdate() are dropped.
+     */
+    public synchronized void beginUpdate() {
+        updateEpoch++;
+        changesThisUpdate = 0;
+    }
+
+    /**
+     * Current state of the link between two agents at the given distance.
+     * Returns null if they are out of range (the link is dropped).
+     */
+    public synchronized LinkState evaluate(int agentA, int agentB, double distance, long now) {
+        long key = linkKey(agentA, agentB);
+        double range = simulator.getCommunicationRange();
+        LinkState link = links.get(key);
+
+        if (!simulator.canCommunicate(distance, range)) {
+            if (link != null) {
+                links.remove(key);
+                recordRemoval(link, now);
+            }
+            return null;
+        }
+
+        if (link != null && Math.abs(distance - link.distance) <= reevaluateDistance) {
+            link.epoch = updateEpoch;
+            cacheHits++;
+            return link;
+        }
+
+        double sample = simulator.calculateSignalStrength(distance, range);
+        evaluations++;
+        if (link == null) {
+            // New link: decide with the midpoint threshold, then apply hysteresis
+            link = new LinkState(sample, sample >= (upThreshold + downThreshold) / 2);
+            links.put(key, link);
+            if (link.up) recordTransition(now);
+        } else if (Math.abs(distance - link.distance) >= range * RESET_FRACTION) {
+            link.smoothedSignal = sample;
+        } else {
+            link.smoothedSignal = smoothing * sample + (1.0 - smoothing) * link.smoothedSignal;
+        }
+        link.distance = distance;
+        link.lastSampled = now;
+        link.epoch = updateEpoch;
+
+        if (link.up && link.smoothedSignal < downThreshold) {
+            link.up = false;
+            recordTransition(now);
+        } else if (!link.up && link.smoothedSignal >= upThreshold) {
+            link.up = true;
+            recordTransition(now);
+        }
+        return link;
+    }
+
+    /**
+     * Ends a topology update: drops links whose agents were not evaluated
+     * (left the swarm) and returns the number of link changes in this update
+     * (transitions plus down links that left range).
+     */
+    public synchronized int endUpdate(long now) {
+        Iterator<LinkState> iterator = links.values().iterator();
+        while (iterator.hasNext()) {
+            LinkState link = iterator.next();
+            if (link.epoch != updateEpoch) {
+                iterator.remove();
+                recordRemoval(link, now);
+            }
+        }
+        return changesThisUpdate;
+    }
+
+    private void recordRemoval(LinkState link, long now) {
+        if (link.up) {
+            recordTransition(now);
+        } else {
+            changesThisUpdate++; // neighbour lists change even though no usable link was lost
+        }
+    }
+
+    private void recordTransition(long now) {
+        transitions++;
+        changesThisUpdate++;
+        churnRate.increment(now);
+    }
+
+    public synchronized int size() {
+        return links.size();
+    }
+
+    /**
+     * Link up/down transitions since creation.
+     */
+    public synchronized long getTransitionCount() {
+        return transitions;
+    }
+
+    /**
+     * Link up/down transitions per second over the last second.
+     */
+    public double getChurnRate(long now) {
+        return churnRate.getRatePerSecond(now);
+    }
+
+    /**
+     * Simulator samples taken (cache misses).
+     */
+    public synchronized long getEvaluationCount() {
+        return evaluations;
+    }
+
+    /**
+     * Evaluations answered from the cache because the distance barely changed.
+     */
+    public synchronized long getCacheHitCount() {
+        return cacheHits;
+    }
+
+    private static long linkKey(int agentA, int agentB) {
+        int low = Math.min(agentA, agentB);
+        int high = Math.max(agentA, agentB);
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Smoothed state of one link. Updated in place by the cache.
+     */
+    public static class LinkState {
+        private double smoothedSignal;
+        private boolean up;
+        private double distance;
+        private long lastSampled;
+        private long epoch;
+
+        LinkState(double smoothedSignal, boolean up) {
+            this.smoothedSignal = smoothedSignal;
+            this.up = up;
+        }
+
+        public double getSmoothedSignal() {
+            return smoothedSignal;
+        }
+
+        public boolean isUp() {
+            return up;
+        }
+
+        public double getDistance() {
+            return distance;
+        }
+
+        public long getLastSampled() {
+            return lastSampled;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("LinkState{signal=%.2f, up=%s, distance=%.1f}", smoothedSignal, up, distance);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("LinkQualityCache{links=%d, samples=%d, hits=%d, transitions=%d}",
+                           links.size(), evaluations, cacheHits, transitions);
+    }
+}
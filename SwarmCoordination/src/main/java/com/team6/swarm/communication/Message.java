@@ -1,35 +1,72 @@
 /**
  * Standardized message container for agent communication
+ *
+ * IDENTIFIERS:
+ * - id is a compact 64-bit identifier carried as-is by MessageCodec
+ * - ids are per-sender sequences (see MessageIds); pass the sender id
+ *   when it is known so receivers can filter duplicates per sender
+ * - messageId is its string form, kept for map keys and logging
+ *
+ * METADATA:
+ * - "priority" and "ttl" are read once at construction so queue
+ *   comparisons and expiry checks never touch the metadata map
+ * - The map is read-only after construction (put throws), so the cached
+ *   values always match it; build a new Message to change metadata
  */
 package com.team6.swarm.communication;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.UUID;
 
 public class Message {
+    static final int DEFAULT_PRIORITY = 3;
+    static final int NO_TTL = -1;
+
+    public final long id;
     public final String messageId;
     public final MessageType type;
     public final Object payload;
     public final long timestamp;
     public final Map<String, Object> metadata;
-    
+    private final int priority;
+    private final int ttl;
+
     public Message(MessageType type, Object payload) {
-        this.messageId = UUID.randomUUID().toString();
-        this.type = type;
-        this.payload = payload;
-        this.timestamp = System.currentTimeMillis();
-        this.metadata = new HashMap<>();
+        this(MessageIds.UNATTRIBUTED_SENDER, type, payload);
     }
-    
+
     public Message(MessageType type, Object payload, Map<String, Object> metadata) {
-        this.messageId = UUID.randomUUID().toString();
+        this(MessageIds.UNATTRIBUTED_SENDER, type, payload, metadata);
+    }
+
+    public Message(int senderId, MessageType type, Object payload) {
+        this(MessageIds.next(senderId), type, payload, System.currentTimeMillis(), new HashMap<>());
+    }
+
+    public Message(int senderId, MessageType type, Object payload, Map<String, Object> metadata) {
+        this(MessageIds.next(senderId), type, payload, System.currentTimeMillis(), new HashMap<>(metadata));
+    }
+
+    /**
+     * Rebuilds a message with a known identity (used by MessageCodec on decode).
+     * The metadata map is taken over, not copied; the caller must not keep
+     * modifying it.
+     */
+    Message(long id, MessageType type, Object payload, long timestamp, Map<String, Object> metadata) {
+        this.id = id;
+        this.messageId = Long.toHexString(id);
         this.type = type;
         this.payload = payload;
-        this.timestamp = System.currentTimeMillis();
-        this.metadata = new HashMap<>(metadata);
+        this.timestamp = timestamp;
+        this.metadata = Collections.unmodifiableMap(metadata);
+
+        Object priorityValue = metadata.get("priority");
+        this.priority = priorityValue instanceof Integer ? (Integer) priorityValue : DEFAULT_PRIORITY;
+        Object ttlValue = metadata.get("ttl");
+        this.ttl = ttlValue instanceof Integer ? (Integer) ttlValue : NO_TTL;
     }
-    
+
     @SuppressWarnings("unchecked")
     public <T> T getMetadata(String key, Class<T> expectedType) {
         Object value = metadata.get(key);
@@ -38,23 +75,28 @@ public class Message {
         }
         return null;
     }
-    
+
     public boolean isExpired() {
-        Integer ttl = getMetadata("ttl", Integer.class);
-        if (ttl != null) {
+        if (ttl != NO_TTL) {
             return (System.currentTimeMillis() - timestamp) > ttl;
         }
         return false;
     }
-    
+
     public int getPriority() {
-        Integer priority = getMetadata("priority", Integer.class);
-        return priority != null ? priority : 3;
+        return priority;
+    }
+
+    /**
+     * Time-to-live in milliseconds from the metadata, or -1 if none was set
+     */
+    public int getTtl() {
+        return ttl;
     }
-    
+
     @Override
     public String toString() {
-        return String.format("Message{id=%s, type=%s, timestamp=%d, payload=%s}", 
+        return String.format("Message{id=%s, type=%s, timestamp=%d, payload=%s}",
                            messageId, type, timestamp, payload);
     }
 }
@@ -0,0 +1,564 @@
+/**
+ * MESSAGECODEC CLASS - Compact Binary Wire Format
+ *
+ * PURPOSE:
+ * - Encodes Message / OutgoingMessage into a ByteBuffer (heap or direct)
+ * - Decodes frames back into equivalent OutgoingMessage objects
+ * - Shared by in-process zero-copy paths and any external transport
+ *
+ * FRAME LAYOUT (big-endian, FRAME_HEADER_SIZE bytes of fixed header):
+ *  0  byte   version
+ *  1  byte   MessageType ordinal
+ *  2  int    sender id
+ *  6  int    receiver id (-1 = broadcast)
+ * 10  byte   priority (1-5)
+ * 11  byte   max hops
+ * 12  int    remaining ttl in ms
+ * 16  long   64-bit message id
+ * 24  long   creation timestamp
+ * 32  int    body length
+ * 36  body   message ttl/priority metadata, payload, extra metadata
+ *
+ * BODY:
+ * - One flags byte says whether the message's metadata held an Integer
+ *   "ttl" / "priority", then the int ttl and the byte priority; unflagged
+ *   fields are not restored, so absent and explicit defaults round-trip
+ * - Any other metadata entry (including a non-Integer "priority") follows
+ *   as a tagged key/value pair
+ *
+ * PAYLOAD SCHEMAS:
+ * - Each MessageType declares its well-known payload fields and their types
+ * - Schema fields are written as a presence bitmask followed by untagged values
+ * - Anything outside the schema is written as tagged key/value pairs
+ * - Supported value types: String, Integer, Long, Double, Boolean,
+ *   Point2D, Vector2D, enum constants (sent with their class name, so they
+ *   decode to the same constant), List and Map of supported values
+ * - Strings are limited to 65535 UTF-8 bytes and lists, maps and metadata
+ *   to 65535 entries; larger values are rejected, never truncated
+ *
+ * ZERO-COPY ACCESS:
+ * - peekType / peekSender / peekReceiver / peekMessageId read header fields
+ *   with absolute gets, so routers can dispatch a frame without decoding it
+ *
+ * USAGE:
+ * ByteBuffer buffer = ByteBuffer.allocateDirect(MessageCodec.MAX_FRAME_SIZE);
+ * MessageCodec.encode(outgoing, buffer);
+ * buffer.flip();
+ * OutgoingMessage copy = MessageCodec.decode(buffer);
+ */
+package com.team6.swarm.communication;
+
+import com.team6.swarm.core.Point2D;
+import com.team6.swarm.core.Vector2D;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class MessageCodec {
+    public static final byte VERSION = 2;
+    public static final int MAX_STRING_BYTES = 0xFFFF;
+    public static final int MAX_ENTRIES = 0xFFFF;
+    public static final int FRAME_HEADER_SIZE = 36;
+    public static final int MAX_FRAME_SIZE = 64 * 1024;
+
+    // Header offsets for absolute (zero-copy) reads
+    private static final int OFFSET_TYPE = 1;
+    private static final int OFFSET_SENDER = 2;
+    private static final int OFFSET_RECEIVER = 6;
+    private static final int OFFSET_ID = 16;
+    private static final int OFFSET_BODY_LENGTH = 32;
+
+    // Value tags
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_DOUBLE = 4;
+    private static final byte TAG_BOOLEAN = 5;
+    private static final byte TAG_POINT = 6;
+    private static final byte TAG_VECTOR = 7;
+    private static final byte TAG_LIST = 8;
+    private static final byte TAG_MAP = 9;
+    private static final byte TAG_ENUM = 10;
+
+    // Body flags: which fixed metadata fields were present
+    private static final byte HAS_TTL = 1;
+    private static final byte HAS_PRIORITY = 2;
+
+    // Payload kinds
+    private static final byte PAYLOAD_NONE = 0;
+    private static final byte PAYLOAD_SCHEMA_MAP = 1;
+    private static final byte PAYLOAD_VALUE = 2;
+
+    private static final PayloadSchema[] SCHEMAS = new PayloadSchema[MessageType.values().length];
+    private static final MessageType[] TYPES = MessageType.values();
+    private static final Map<String, Class<?>> ENUM_CLASSES = new ConcurrentHashMap<>();
+
+    static {
+        SCHEMAS[MessageType.POSITION_UPDATE.ordinal()] = new PayloadSchema(
+            new String[] {"agentId", "position", "velocity", "heading"},
+            new byte[] {TAG_INT, TAG_POINT, TAG_VECTOR, TAG_DOUBLE});
+        SCHEMAS[MessageType.VOTE_PROPOSAL.ordinal()] = new PayloadSchema(
+            new String[] {"proposalId", "question", "options", "deadline"},
+            new byte[] {TAG_STRING, TAG_STRING, TAG_LIST, TAG_LONG});
+        SCHEMAS[MessageType.VOTE_RESPONSE.ordinal()] = new PayloadSchema(
+            new String[] {"proposalId", "choice", "voterId", "reasoning"},
+            new byte[] {TAG_STRING, TAG_STRING, TAG_INT, TAG_STRING});
+        SCHEMAS[MessageType.TASK_ASSIGNMENT.ordinal()] = new PayloadSchema(
+            new String[] {"taskId", "type", "location", "priority"},
+            new byte[] {TAG_STRING, TAG_STRING, TAG_POINT, TAG_STRING});
+        SCHEMAS[MessageType.FORMATION_COMMAND.ordinal()] = new PayloadSchema(
+            new String[] {"formationType", "targetPosition"},
+            new byte[] {TAG_STRING, TAG_POINT});
+        SCHEMAS[MessageType.EMERGENCY_ALERT.ordinal()] = new PayloadSchema(
+            new String[] {"alertType", "description", "location"},
+            new byte[] {TAG_STRING, TAG_STRING, TAG_POINT});
+        SCHEMAS[MessageType.STATUS_UPDATE.ordinal()] = new PayloadSchema(
+            new String[] {"status", "batteryLevel"},
+            new byte[] {TAG_STRING, TAG_DOUBLE});
+        SCHEMAS[MessageType.ACKNOWLEDGMENT.ordinal()] = new PayloadSchema(
+            new String[] {"originalMessageId", "success", "details"},
+            new byte[] {TAG_STRING, TAG_BOOLEAN, TAG_STRING});
+    }
+
+    private MessageCodec() {
+    }
+
+    /**
+     * Encodes an outgoing message at the buffer's current position.
+     *
+     * @return number of bytes written
+     * @throws java.nio.BufferOverflowException if the frame does not fit
+     * @throws IllegalArgumentException if the payload holds an unsupported value type,
+     *         a string over MAX_STRING_BYTES or a collection over MAX_ENTRIES
+     */
+    public static int encode(OutgoingMessage message, ByteBuffer buffer) {
+        return encode(message.messageContent, message.senderId, message.receiverId,
+                      message.priority, message.maxHops, message.getRemainingTime(), buffer);
+    }
+
+    /**
+     * Encodes a message with explicit routing fields at the buffer's current position.
+     *
+     * @return number of bytes written
+     */
+    public static int encode(Message message, int senderId, int receiverId, int priority,
+                             int maxHops, long remainingTtlMs, ByteBuffer buffer) {
+        int start = buffer.position();
+
+        buffer.put(VERSION);
+        buffer.put((byte) message.type.ordinal());
+        buffer.putInt(senderId);
+        buffer.putInt(receiverId);
+        buffer.put((byte) priority);
+        buffer.put((byte) maxHops);
+        buffer.putInt((int) Math.min(Integer.MAX_VALUE, Math.max(0, remainingTtlMs)));
+        buffer.putLong(message.id);
+        buffer.putLong(message.timestamp);
+        int bodyLengthPosition = buffer.position();
+        buffer.putInt(0);
+
+        encodeBody(message, buffer);
+
+        int bodyLength = buffer.position() - bodyLengthPosition - 4;
+        buffer.putInt(bodyLengthPosition, bodyLength);
+        return buffer.position() - start;
+    }
+
+    /**
+     * Decodes one frame starting at the buffer's current position and
+     * advances the position past it.
+     *
+     * @throws IllegalArgumentException if the frame is malformed or from another version
+     */
+    public static OutgoingMessage decode(ByteBuffer buffer) {
+        try {
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported frame version: " + version);
+            }
+            MessageType type = typeOf(buffer.get());
+            int senderId = buffer.getInt();
+            int receiverId = buffer.getInt();
+            int priority = buffer.get();
+            int maxHops = buffer.get();
+            int remainingTtl = buffer.getInt();
+            long id = buffer.getLong();
+            long timestamp = buffer.getLong();
+            int bodyLength = buffer.getInt();
+            int bodyEnd = buffer.position() + bodyLength;
+
+            Map<String, Object> metadata = new HashMap<>();
+            Object payload = decodeBody(type, buffer, metadata);
+            if (buffer.position() != bodyEnd) {
+                throw new IllegalArgumentException("Frame body length mismatch");
+            }
+
+            Message message = new Message(id, type, payload, timestamp, metadata);
+            return new OutgoingMessage(senderId, receiverId, message, priority, maxHops, remainingTtl);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated frame", e);
+        }
+    }
+
+    /**
+     * Total size of the frame starting at the given absolute offset.
+     */
+    public static int frameLength(ByteBuffer buffer, int offset) {
+        return FRAME_HEADER_SIZE + buffer.getInt(offset + OFFSET_BODY_LENGTH);
+    }
+
+    public static MessageType peekType(ByteBuffer buffer, int offset) {
+        return typeOf(buffer.get(offset + OFFSET_TYPE));
+    }
+
+    public static int peekSender(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + OFFSET_SENDER);
+    }
+
+    public static int peekReceiver(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + OFFSET_RECEIVER);
+    }
+
+    public static long peekMessageId(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + OFFSET_ID);
+    }
+
+    // ===== BODY =====
+
+    private static void encodeBody(Message message, ByteBuffer buffer) {
+        Map<String, Object> metadata = message.metadata;
+        byte flags = 0;
+        if (isFixedMetadata("ttl", metadata.get("ttl"))) flags |= HAS_TTL;
+        if (isFixedMetadata("priority", metadata.get("priority"))) flags |= HAS_PRIORITY;
+        buffer.put(flags);
+        buffer.putInt(message.getTtl());
+        buffer.put((byte) message.getPriority());
+
+        Object payload = message.payload;
+        PayloadSchema schema = SCHEMAS[message.type.ordinal()];
+        if (payload == null) {
+            buffer.put(PAYLOAD_NONE);
+        } else if (payload instanceof Map && schema != null) {
+            buffer.put(PAYLOAD_SCHEMA_MAP);
+            encodeSchemaMap((Map<?, ?>) payload, schema, buffer);
+        } else {
+            buffer.put(PAYLOAD_VALUE);
+            writeValue(payload, buffer);
+        }
+
+        // Metadata other than Integer priority/ttl (those travel in fixed fields)
+        int extraCount = 0;
+        for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+            if (!isFixedMetadata(entry.getKey(), entry.getValue())) extraCount++;
+        }
+        writeCount(extraCount, "metadata", buffer);
+        for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+            if (isFixedMetadata(entry.getKey(), entry.getValue())) continue;
+            writeString(entry.getKey(), buffer);
+            writeValue(entry.getValue(), buffer);
+        }
+    }
+
+    private static Object decodeBody(MessageType type, ByteBuffer buffer, Map<String, Object> metadata) {
+        byte flags = buffer.get();
+        int ttl = buffer.getInt();
+        if ((flags & HAS_TTL) != 0) {
+            metadata.put("ttl", ttl);
+        }
+        int messagePriority = buffer.get();
+        if ((flags & HAS_PRIORITY) != 0) {
+            metadata.put("priority", messagePriority);
+        }
+
+        Object payload;
+        byte kind = buffer.get();
+        switch (kind) {
+            case PAYLOAD_NONE:
+                payload = null;
+                break;
+            case PAYLOAD_SCHEMA_MAP:
+                PayloadSchema schema = SCHEMAS[type.ordinal()];
+                if (schema == null) {
+                    throw new IllegalArgumentException("No payload schema for " + type);
+                }
+                payload = decodeSchemaMap(schema, buffer);
+                break;
+            case PAYLOAD_VALUE:
+                payload = readValue(buffer);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown payload kind: " + kind);
+        }
+
+        int extraCount = readCount(buffer);
+        for (int i = 0; i < extraCount; i++) {
+            String key = readString(buffer);
+            metadata.put(key, readValue(buffer));
+        }
+        return payload;
+    }
+
+    /**
+     * Metadata carried in the fixed body fields: an Integer "ttl", or an
+     * Integer "priority" that fits in a byte (what Message caches)
+     */
+    private static boolean isFixedMetadata(String key, Object value) {
+        if (!(value instanceof Integer)) {
+            return false;
+        }
+        int number = (Integer) value;
+        return "ttl".equals(key)
+            || ("priority".equals(key) && number >= Byte.MIN_VALUE && number <= Byte.MAX_VALUE);
+    }
+
+    private static void encodeSchemaMap(Map<?, ?> map, PayloadSchema schema, ByteBuffer buffer) {
+        int presence = 0;
+        int schemaHits = 0;
+        for (int i = 0; i < schema.fields.length; i++) {
+            Object value = map.get(schema.fields[i]);
+            if (value != null && matchesTag(value, schema.tags[i])) {
+                presence |= 1 << i;
+                schemaHits++;
+            }
+        }
+
+        buffer.putInt(presence);
+        for (int i = 0; i < schema.fields.length; i++) {
+            if ((presence & (1 << i)) != 0) {
+                writeUntagged(map.get(schema.fields[i]), schema.tags[i], buffer);
+            }
+        }
+
+        // Fields outside the schema (or with unexpected types) keep their key and tag
+        writeCount(map.size() - schemaHits, "payload map", buffer);
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            int index = schema.indexOf(entry.getKey());
+            if (index >= 0 && (presence & (1 << index)) != 0) continue;
+            writeString(String.valueOf(entry.getKey()), buffer);
+            writeValue(entry.getValue(), buffer);
+        }
+    }
+
+    private static Map<String, Object> decodeSchemaMap(PayloadSchema schema, ByteBuffer buffer) {
+        Map<String, Object> map = new HashMap<>();
+        int presence = buffer.getInt();
+        for (int i = 0; i < schema.fields.length; i++) {
+            if ((presence & (1 << i)) != 0) {
+                map.put(schema.fields[i], readUntagged(schema.tags[i], buffer));
+            }
+        }
+
+        int extraCount = readCount(buffer);
+        for (int i = 0; i < extraCount; i++) {
+            String key = readString(buffer);
+            map.put(key, readValue(buffer));
+        }
+        return map;
+    }
+
+    // ===== VALUES =====
+
+    private static byte tagOf(Object value) {
+        if (value == null) return TAG_NULL;
+        if (value instanceof String) return TAG_STRING;
+        if (value instanceof Integer) return TAG_INT;
+        if (value instanceof Long) return TAG_LONG;
+        if (value instanceof Double) return TAG_DOUBLE;
+        if (value instanceof Boolean) return TAG_BOOLEAN;
+        if (value instanceof Point2D) return TAG_POINT;
+        if (value instanceof Vector2D) return TAG_VECTOR;
+        if (value instanceof List) return TAG_LIST;
+        if (value instanceof Map) return TAG_MAP;
+        if (value instanceof Enum) return TAG_ENUM;
+        throw new IllegalArgumentException("Unsupported payload value type: " + value.getClass().getName());
+    }
+
+    private static boolean matchesTag(Object value, byte tag) {
+        return tagOf(value) == tag;
+    }
+
+    private static void writeValue(Object value, ByteBuffer buffer) {
+        byte tag = tagOf(value);
+        buffer.put(tag);
+        writeUntagged(value, tag, buffer);
+    }
+
+    private static Object readValue(ByteBuffer buffer) {
+        return readUntagged(buffer.get(), buffer);
+    }
+
+    private static void writeUntagged(Object value, byte tag, ByteBuffer buffer) {
+        switch (tag) {
+            case TAG_NULL:
+                break;
+            case TAG_STRING:
+                writeString((String) value, buffer);
+                break;
+            case TAG_INT:
+                buffer.putInt((Integer) value);
+                break;
+            case TAG_LONG:
+                buffer.putLong((Long) value);
+                break;
+            case TAG_DOUBLE:
+                buffer.putDouble((Double) value);
+                break;
+            case TAG_BOOLEAN:
+                buffer.put((byte) ((Boolean) value ? 1 : 0));
+                break;
+            case TAG_POINT:
+                buffer.putDouble(((Point2D) value).x);
+                buffer.putDouble(((Point2D) value).y);
+                break;
+            case TAG_VECTOR:
+                buffer.putDouble(((Vector2D) value).x);
+                buffer.putDouble(((Vector2D) value).y);
+                break;
+            case TAG_LIST:
+                List<?> list = (List<?>) value;
+                writeCount(list.size(), "list", buffer);
+                for (Object element : list) {
+                    writeValue(element, buffer);
+                }
+                break;
+            case TAG_MAP:
+                Map<?, ?> map = (Map<?, ?>) value;
+                writeCount(map.size(), "map", buffer);
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeString(String.valueOf(entry.getKey()), buffer);
+                    writeValue(entry.getValue(), buffer);
+                }
+                break;
+            case TAG_ENUM:
+                Enum<?> constant = (Enum<?>) value;
+                writeString(constant.getDeclaringClass().getName(), buffer);
+                writeString(constant.name(), buffer);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown value tag: " + tag);
+        }
+    }
+
+    private static Object readUntagged(byte tag, ByteBuffer buffer) {
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_STRING:
+                return readString(buffer);
+            case TAG_INT:
+                return buffer.getInt();
+            case TAG_LONG:
+                return buffer.getLong();
+            case TAG_DOUBLE:
+                return buffer.getDouble();
+            case TAG_BOOLEAN:
+                return buffer.get() != 0;
+            case TAG_POINT:
+                return new Point2D(buffer.getDouble(), buffer.getDouble());
+            case TAG_VECTOR:
+                return new Vector2D(buffer.getDouble(), buffer.getDouble());
+            case TAG_LIST:
+                int listSize = readCount(buffer);
+                List<Object> list = new ArrayList<>(listSize);
+                for (int i = 0; i < listSize; i++) {
+                    list.add(readValue(buffer));
+                }
+                return list;
+            case TAG_MAP:
+                int mapSize = readCount(buffer);
+                Map<String, Object> map = new HashMap<>();
+                for (int i = 0; i < mapSize; i++) {
+                    String key = readString(buffer);
+                    map.put(key, readValue(buffer));
+                }
+                return map;
+            case TAG_ENUM:
+                return readEnum(readString(buffer), readString(buffer));
+            default:
+                throw new IllegalArgumentException("Unknown value tag: " + tag);
+        }
+    }
+
+    private static void writeString(String value, ByteBuffer buffer) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String too long to encode: " + bytes.length + " bytes");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        if (buffer.hasArray()) {
+            String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                                      length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeCount(int count, String what, ByteBuffer buffer) {
+        if (count > MAX_ENTRIES) {
+            throw new IllegalArgumentException("Too many " + what + " entries to encode: " + count);
+        }
+        buffer.putShort((short) count);
+    }
+
+    private static int readCount(ByteBuffer buffer) {
+        return buffer.getShort() & 0xFFFF;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object readEnum(String className, String name) {
+        Class<?> enumClass = ENUM_CLASSES.get(className);
+        if (enumClass == null) {
+            try {
+                enumClass = Class.forName(className, false, MessageCodec.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Unknown enum class: " + className, e);
+            }
+            if (!enumClass.isEnum()) {
+                throw new IllegalArgumentException("Not an enum class: " + className);
+            }
+            ENUM_CLASSES.put(className, enumClass);
+        }
+        return Enum.valueOf((Class) enumClass, name);
+    }
+
+    private static MessageType typeOf(byte ordinal) {
+        if (ordinal < 0 || ordinal >= TYPES.length) {
+            throw new IllegalArgumentException("Unknown message type ordinal: " + ordinal);
+        }
+        return TYPES[ordinal];
+    }
+
+    /**
+     * Well-known payload fields for one MessageType, in wire order.
+     */
+    private static class PayloadSchema {
+        final String[] fields;
+        final byte[] tags;
+
+        PayloadSchema(String[] fields, byte[] tags) {
+            this.fields = fields;
+            this.tags = tags;
+        }
+
+        int indexOf(Object key) {
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i].equals(key)) return i;
+            }
+            return -1;
+        }
+    }
+}
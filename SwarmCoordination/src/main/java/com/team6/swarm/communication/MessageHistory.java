@@ -0,0 +1,297 @@
+/**
+ * MESSAGEHISTORY CLASS - Indexed Ring Buffer of Delivered Messages
+ *
+ * PURPOSE:
+ * - Fixed-capacity record of recent deliveries for monitoring and protocols
+ * - Replaces the ArrayList + remove(0) history (O(n) per delivery, unsynchronized)
+ * - Lets consumers read incrementally instead of copying the whole history
+ *
+ * DESIGN:
+ * - Every delivery gets a global sequence number (claimed with one atomic add)
+ * - Slot = sequence & mask; each slot holds one immutable (sequence, message)
+ *   entry swapped in atomically, so readers can tell "not yet published"
+ *   from "already overwritten" and never see a message under the wrong sequence
+ * - A writer that falls a whole lap behind never replaces a newer entry
+ * - Writers never block readers or each other (lock-free)
+ * - Secondary indexes keep the most recent sequences per receiver id and
+ *   per MessageType, so filtered queries skip unrelated traffic
+ * - By default the receiver index is as large as the ring, so per-receiver
+ *   queries (and getVoteMessages) see everything the ring still holds; a
+ *   smaller receiver index capacity trades that for memory per receiver
+ *
+ * CURSORS:
+ * - A cursor is the next sequence a consumer wants to see (start with 0)
+ * - readSince(cursor, out) appends everything newer and returns the new cursor
+ * - If a consumer falls more than capacity behind, the overwritten entries
+ *   are skipped and counted in getOverrunCount()
+ *
+ * USAGE:
+ * long cursor = 0;
+ * List<IncomingMessage> fresh = new ArrayList<>();
+ * cursor = history.readSince(cursor, fresh);   // on every poll
+ */
+package com.team6.swarm.communication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class MessageHistory {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Entry> slots;   // null = never written
+    private final AtomicLong nextSequence;
+    private final AtomicLong overrunCount;
+
+    private final int receiverIndexCapacity;
+    private final Map<Integer, SequenceIndex> receiverIndex;
+    private final SequenceIndex[] typeIndex;
+
+    public MessageHistory(int minimumCapacity) {
+        this(minimumCapacity, minimumCapacity);
+    }
+
+    /**
+     * @param receiverIndexCapacity most recent deliveries remembered per
+     *        receiver; getByReceiver returns at most this many even if the
+     *        ring holds more (capped at the ring capacity)
+     */
+    public MessageHistory(int minimumCapacity, int receiverIndexCapacity) {
+        if (minimumCapacity <= 0 || receiverIndexCapacity <= 0) {
+            throw new IllegalArgumentException("capacities must be positive");
+        }
+        this.capacity = roundUpToPowerOfTwo(minimumCapacity);
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.nextSequence = new AtomicLong();
+        this.overrunCount = new AtomicLong();
+
+        this.receiverIndexCapacity = Math.min(capacity, roundUpToPowerOfTwo(receiverIndexCapacity));
+        this.receiverIndex = new ConcurrentHashMap<>();
+        this.typeIndex = new SequenceIndex[MessageType.values().length];
+        for (int i = 0; i < typeIndex.length; i++) {
+            typeIndex[i] = new SequenceIndex(capacity);
+        }
+    }
+
+    /**
+     * Appends a delivered message.
+     *
+     * @return the sequence number assigned to it
+     */
+    public long add(IncomingMessage message) {
+        long sequence = nextSequence.getAndIncrement();
+        int slot = (int) (sequence & mask);
+        Entry entry = new Entry(sequence, message);
+        Entry current;
+        do {
+            current = slots.get(slot);
+            if (current != null && current.sequence > sequence) {
+                break; // lapped while we were here; the newer entry stays
+            }
+        } while (!slots.compareAndSet(slot, current, entry));
+
+        receiverIndex.computeIfAbsent(message.receiverId, id -> new SequenceIndex(receiverIndexCapacity))
+                     .add(sequence);
+        typeIndex[message.messageContent.type.ordinal()].add(sequence);
+        return sequence;
+    }
+
+    /**
+     * Appends every message with sequence >= cursor to out, oldest first.
+     *
+     * @return cursor to pass on the next call
+     */
+    public long readSince(long cursor, List<IncomingMessage> out) {
+        return readSince(cursor, null, out);
+    }
+
+    /**
+     * Same as readSince(cursor, out) but only appends messages of one type.
+     * Cost is proportional to the number of new deliveries, not history size.
+     */
+    public long readSince(long cursor, MessageType type, List<IncomingMessage> out) {
+        long end = nextSequence.get();
+        long sequence = Math.max(cursor, end - capacity);
+        if (sequence > cursor) {
+            overrunCount.addAndGet(sequence - cursor);
+        }
+
+        for (; sequence < end; sequence++) {
+            Entry entry = slots.get((int) (sequence & mask));
+            if (entry == null || entry.sequence < sequence) {
+                break; // writer still filling this slot, resume here next poll
+            }
+            if (entry.sequence > sequence) {
+                overrunCount.incrementAndGet();
+                continue;
+            }
+            if (type == null || entry.message.messageContent.type == type) {
+                out.add(entry.message);
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Most recent messages delivered to one agent, oldest first
+     * (at most the receiver index capacity).
+     */
+    public List<IncomingMessage> getByReceiver(int receiverId) {
+        List<IncomingMessage> result = new ArrayList<>();
+        SequenceIndex index = receiverIndex.get(receiverId);
+        if (index != null) {
+            collect(index, result, receiverId, null);
+        }
+        return result;
+    }
+
+    /**
+     * Most recent messages delivered to one agent with one of the given types, oldest first.
+     * Only the receiver's last receiver-index-capacity deliveries are considered.
+     */
+    public List<IncomingMessage> getByReceiver(int receiverId, MessageType... types) {
+        List<IncomingMessage> result = new ArrayList<>();
+        SequenceIndex index = receiverIndex.get(receiverId);
+        if (index != null) {
+            collect(index, result, receiverId, types);
+        }
+        return result;
+    }
+
+    /**
+     * Most recent messages of one type, oldest first.
+     */
+    public List<IncomingMessage> getByType(MessageType type) {
+        List<IncomingMessage> result = new ArrayList<>();
+        collect(typeIndex[type.ordinal()], result, null, null);
+        return result;
+    }
+
+    /**
+     * Snapshot of everything still held, oldest first.
+     */
+    public List<IncomingMessage> snapshot() {
+        List<IncomingMessage> result = new ArrayList<>(size());
+        long end = nextSequence.get();
+        for (long sequence = Math.max(0, end - capacity); sequence < end; sequence++) {
+            IncomingMessage message = get(sequence);
+            if (message != null) {
+                result.add(message);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sequence the next delivery will get; a cursor taken now sees only newer messages.
+     */
+    public long getHeadSequence() {
+        return nextSequence.get();
+    }
+
+    public int size() {
+        return (int) Math.min(capacity, nextSequence.get());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Messages consumers missed because they fell more than capacity behind.
+     */
+    public long getOverrunCount() {
+        return overrunCount.get();
+    }
+
+    /**
+     * Reads one sequence, or null if it is not published yet or was overwritten.
+     */
+    private IncomingMessage get(long sequence) {
+        Entry entry = slots.get((int) (sequence & mask));
+        return entry != null && entry.sequence == sequence ? entry.message : null;
+    }
+
+    private void collect(SequenceIndex index, List<IncomingMessage> out,
+                         Integer receiverId, MessageType[] types) {
+        long oldest = nextSequence.get() - capacity;
+        for (long sequence : index.recent()) {
+            if (sequence < oldest) continue;
+            IncomingMessage message = get(sequence);
+            if (message == null) continue;
+            if (receiverId != null && message.receiverId != receiverId) continue;
+            if (types != null && !matches(message.messageContent.type, types)) continue;
+            out.add(message);
+        }
+    }
+
+    private static boolean matches(MessageType type, MessageType[] types) {
+        for (MessageType candidate : types) {
+            if (candidate == type) return true;
+        }
+        return false;
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+
+    /**
+     * One published delivery; immutable, so sequence and message always match.
+     */
+    private static final class Entry {
+        final long sequence;
+        final IncomingMessage message;
+
+        Entry(long sequence, IncomingMessage message) {
+            this.sequence = sequence;
+            this.message = message;
+        }
+    }
+
+    /**
+     * Small lock-free ring of recent global sequence numbers.
+     */
+    private static class SequenceIndex {
+        private final int mask;
+        private final AtomicLongArray entries;
+        private final AtomicLong next = new AtomicLong();
+
+        SequenceIndex(int capacity) {
+            this.mask = capacity - 1;
+            this.entries = new AtomicLongArray(capacity);
+        }
+
+        void add(long sequence) {
+            long position = next.getAndIncrement();
+            entries.set((int) (position & mask), sequence + 1);
+        }
+
+        long[] recent() {
+            long end = next.get();
+            long start = Math.max(0, end - (mask + 1));
+            long[] result = new long[(int) (end - start)];
+            int count = 0;
+            for (long position = start; position < end; position++) {
+                long stored = entries.get((int) (position & mask)) - 1;
+                if (stored >= 0) {
+                    result[count++] = stored;
+                }
+            }
+            return count == result.length ? result : Arrays.copyOf(result, count);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MessageHistory{capacity=%d, size=%d, head=%d, overruns=%d}",
+                           capacity, size(), nextSequence.get(), overrunCount.get());
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * MESSAGEIDS CLASS - Cheap 64-bit Message Identifiers
+ *
+ * PURPOSE:
+ * - Replaces UUID.randomUUID() (SecureRandom) with per-sender sequences
+ * - Ids are unique per sender and ordered, which lets DuplicateFilter
+ *   use a sliding window instead of remembering every id it has seen
+ *
+ * LAYOUT:
+ * - High 32 bits: sender agent id (UNATTRIBUTED_SENDER when unknown)
+ * - Low 32 bits: sender-local sequence number, starting at 1
+ *
+ * COST:
+ * - Senders 0..FAST_PATH_SENDERS-1 use a lock-free array slot (one CAS)
+ * - Other sender ids fall back to a concurrent map lookup
+ */
+package com.team6.swarm.communication;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public final class MessageIds {
+    public static final int UNATTRIBUTED_SENDER = -1;
+
+    private static final int FAST_PATH_SENDERS = 4096;
+    private static final AtomicIntegerArray FAST_SEQUENCES = new AtomicIntegerArray(FAST_PATH_SENDERS);
+    private static final Map<Integer, AtomicInteger> OTHER_SEQUENCES = new ConcurrentHashMap<>();
+
+    private MessageIds() {
+    }
+
+    /**
+     * Allocates the next id in the given sender's sequence.
+     */
+    public static long next(int senderId) {
+        int sequence;
+        if (senderId >= 0 && senderId < FAST_PATH_SENDERS) {
+            sequence = FAST_SEQUENCES.incrementAndGet(senderId);
+        } else {
+            sequence = OTHER_SEQUENCES.computeIfAbsent(senderId, id -> new AtomicInteger()).incrementAndGet();
+        }
+        return compose(senderId, sequence);
+    }
+
+    public static long compose(int senderId, int sequence) {
+        return ((long) senderId << 32) | (sequence & 0xFFFFFFFFL);
+    }
+
+    public static int senderOf(long messageId) {
+        return (int) (messageId >>> 32);
+    }
+
+    public static int sequenceOf(long messageId) {
+        return (int) messageId;
+    }
+}
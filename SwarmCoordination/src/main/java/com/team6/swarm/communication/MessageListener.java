@@ -26,6 +26,8 @@
  */
 package com.team6.swarm.communication;
 
+import java.util.List;
+
 public interface MessageListener {
     /**
      * Called when a message is delivered to the registered agent.
@@ -33,5 +35,19 @@ public interface MessageListener {
      * @param message The incoming message with all delivery details
      */
     void onMessageReceived(IncomingMessage message);
+    
+    /**
+     * Called once per processing round with everything delivered to the
+     * agent in that round, in inbox order (highest priority first).
+     * Override to handle a coalesced batch in one pass; by default each
+     * message goes to onMessageReceived.
+     * 
+     * @param messages The messages delivered this round (never empty)
+     */
+    default void onMessagesReceived(List<IncomingMessage> messages) {
+        for (IncomingMessage message : messages) {
+            onMessageReceived(message);
+        }
+    }
 }
 
@@ -1,15 +1,17 @@
 /**
- * Priority-based message queue for agent communication
+ * Priority-based message queue for agent communication.
+ * Backed by an AgentMailbox (one FIFO lane per priority); unbounded unless
+ * constructed with a capacity and OverflowPolicy.
  */
 package com.team6.swarm.communication;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class MessageQueue {
-    private final PriorityBlockingQueue<OutgoingMessage> queue;
+    private final AgentMailbox<OutgoingMessage> queue;
+    private final OverflowPolicy overflowPolicy;
     private final Map<String, MessageStatus> messageStatus;
     private final AtomicInteger totalEnqueued;
     private final AtomicInteger totalDequeued;
@@ -17,8 +19,19 @@ public class MessageQueue {
     private final AtomicInteger totalExpired;
     
     public MessageQueue() {
-        this.queue = new PriorityBlockingQueue<>(100, 
-            Comparator.comparingInt(msg -> msg.priority));
+        this(Integer.MAX_VALUE, OverflowPolicy.REJECT);
+    }
+    
+    /**
+     * Bounded queue. When full, the policy decides whether the new message is
+     * rejected or a queued one is evicted (evicted messages are marked FAILED).
+     */
+    public MessageQueue(int capacity, OverflowPolicy overflowPolicy) {
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("overflowPolicy must not be null");
+        }
+        this.queue = new AgentMailbox<>(capacity, this::onEvicted);
+        this.overflowPolicy = overflowPolicy;
         this.messageStatus = new ConcurrentHashMap<>();
         this.totalEnqueued = new AtomicInteger(0);
         this.totalDequeued = new AtomicInteger(0);
@@ -32,10 +45,13 @@ public class MessageQueue {
             return false;
         }
         
-        boolean added = queue.offer(message);
+        boolean added = queue.offer(message, message.priority, overflowPolicy);
         if (added) {
             messageStatus.put(message.messageContent.messageId, MessageStatus.PENDING);
             totalEnqueued.incrementAndGet();
+        } else {
+            messageStatus.put(message.messageContent.messageId, MessageStatus.FAILED);
+            totalFailed.incrementAndGet();
         }
         
         return added;
@@ -79,20 +95,37 @@ public class MessageQueue {
     }
     
     public int clearExpiredMessages() {
-        int removedCount = 0;
-        Iterator<OutgoingMessage> iterator = queue.iterator();
-        
-        while (iterator.hasNext()) {
-            OutgoingMessage message = iterator.next();
-            if (message.isExpired()) {
-                iterator.remove();
-                messageStatus.put(message.messageContent.messageId, MessageStatus.EXPIRED);
-                totalExpired.incrementAndGet();
-                removedCount++;
+        return queue.removeIf(message -> {
+            if (!message.isExpired()) {
+                return false;
             }
-        }
-        
-        return removedCount;
+            messageStatus.put(message.messageContent.messageId, MessageStatus.EXPIRED);
+            totalExpired.incrementAndGet();
+            return true;
+        });
+    }
+    
+    public int getCapacity() {
+        return queue.getCapacity();
+    }
+    
+    /**
+     * Queued messages evicted by the overflow policy.
+     */
+    public long getDroppedCount() {
+        return queue.getDroppedCount();
+    }
+    
+    /**
+     * Messages refused at enqueue because the queue was full.
+     */
+    public long getRejectedCount() {
+        return queue.getRejectedCount();
+    }
+    
+    private void onEvicted(OutgoingMessage message) {
+        messageStatus.put(message.messageContent.messageId, MessageStatus.FAILED);
+        totalFailed.incrementAndGet();
     }
     
     public void markFailed(String messageId) {
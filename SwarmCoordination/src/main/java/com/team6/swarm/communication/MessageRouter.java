@@ -53,6 +53,7 @@ public class MessageRouter {
     private final int maxHops;
     private final long routeTimeout;
     private final Random random;
+    private long routeInvalidations;
     
     public MessageRouter() {
         this(new HashMap<>(), 5, 30000);
@@ -69,13 +70,50 @@ public class MessageRouter {
     
     /**
      * Update network topology for routing
+     * Cached routes are kept when no agent's neighbour links changed
+     * (only distances or signal estimates moved)
      */
     public void updateTopology(Map<Integer, NeighborInformation> newTopology) {
+        boolean linksChanged = !sameLinks(networkTopology, newTopology);
         networkTopology.clear();
         networkTopology.putAll(newTopology);
         
         // Clear routing table when topology changes
-        routingTable.clear();
+        if (linksChanged) {
+            routingTable.clear();
+            routeInvalidations++;
+        }
+    }
+    
+    /**
+     * Number of times a topology update cleared the routing table.
+     */
+    public long getRouteInvalidations() {
+        return routeInvalidations;
+    }
+    
+    private static boolean sameLinks(Map<Integer, NeighborInformation> before,
+                                     Map<Integer, NeighborInformation> after) {
+        if (!before.keySet().equals(after.keySet())) {
+            return false;
+        }
+        for (Map.Entry<Integer, NeighborInformation> entry : after.entrySet()) {
+            List<NeighborAgent> oldNeighbors = before.get(entry.getKey()).neighbors;
+            List<NeighborAgent> newNeighbors = entry.getValue().neighbors;
+            if (oldNeighbors.size() != newNeighbors.size()) {
+                return false;
+            }
+            Map<Integer, Boolean> oldLinks = new HashMap<>();
+            for (NeighborAgent neighbor : oldNeighbors) {
+                oldLinks.put(neighbor.neighborId, neighbor.canCommunicate);
+            }
+            for (NeighborAgent neighbor : newNeighbors) {
+                if (!Boolean.valueOf(neighbor.canCommunicate).equals(oldLinks.get(neighbor.neighborId))) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
     
     /**
@@ -0,0 +1,254 @@
+/**
+ * MESSAGESTATISTICS CLASS - Per-Type and Per-Priority Latency Recording
+ *
+ * PURPOSE:
+ * - Records every message at three points in CommunicationManager:
+ *   enqueue (accepted into an outbox), send (taken out of the outbox and
+ *   put on the simulated network) and delivery (placed in an inbox)
+ * - Breaks latency and throughput down by MessageType and by priority,
+ *   so it is visible which traffic drives tail latency
+ *
+ * LATENCIES (microseconds, LatencyHistogram):
+ * - Queue: message creation -> send (time spent waiting in the outbox)
+ * - Delivery: message creation -> delivery, plus the simulated link delay
+ *   the NetworkSimulator assigned (what the receiving agent experiences)
+ *
+ * RATES (SlidingWindowCounter, last second):
+ * - Enqueued, sent and delivered messages per second per type
+ *
+ * INTERVALS:
+ * - Latency histograms accumulate until reset(); takeInterval() moves
+ *   everything recorded so far into a new MessageStatistics and starts
+ *   this one over, for per-interval percentiles
+ *
+ * COST:
+ * - Arrays indexed by type ordinal / priority, no maps or boxing;
+ *   each record is a few atomic increments and never allocates
+ *
+ * USAGE:
+ * MessageStatistics stats = manager.getMessageStatistics();
+ * long p99 = stats.getDeliveryLatency(MessageType.VOTE_PROPOSAL).getValueAtPercentile(99);
+ */
+package com.team6.swarm.communication;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class MessageStatistics {
+    private static final int TYPES = MessageType.values().length;
+    private static final int PRIORITIES = AgentMailbox.LOWEST_PRIORITY;
+    private static final long RATE_WINDOW_MS = 1000;
+
+    private final LatencyHistogram[] queueByType;
+    private final LatencyHistogram[] deliveryByType;
+    private final LatencyHistogram[] queueByPriority;
+    private final LatencyHistogram[] deliveryByPriority;
+    private final SlidingWindowCounter[] enqueuedRate;
+    private final SlidingWindowCounter[] sentRate;
+    private final SlidingWindowCounter[] deliveredRate;
+
+    public MessageStatistics() {
+        this.queueByType = histograms(TYPES);
+        this.deliveryByType = histograms(TYPES);
+        this.queueByPriority = histograms(PRIORITIES);
+        this.deliveryByPriority = histograms(PRIORITIES);
+        this.enqueuedRate = counters(TYPES);
+        this.sentRate = counters(TYPES);
+        this.deliveredRate = counters(TYPES);
+    }
+
+    // ===== RECORDING =====
+
+    public void recordEnqueued(OutgoingMessage message, long nowMs) {
+        enqueuedRate[message.messageContent.type.ordinal()].increment(nowMs);
+    }
+
+    public void recordSent(OutgoingMessage message, long nowNanos, long nowMs) {
+        int type = message.messageContent.type.ordinal();
+        long waitedMicros = (nowNanos - message.createdNanos) / 1000;
+        queueByType[type].record(waitedMicros);
+        queueByPriority[priorityIndex(message.priority)].record(waitedMicros);
+        sentRate[type].increment(nowMs);
+    }
+
+    /**
+     * @param latencyMicros Creation-to-delivery time including simulated link delay
+     */
+    public void recordDelivered(MessageType type, int priority, long latencyMicros, long nowMs) {
+        deliveryByType[type.ordinal()].record(latencyMicros);
+        deliveryByPriority[priorityIndex(priority)].record(latencyMicros);
+        deliveredRate[type.ordinal()].increment(nowMs);
+    }
+
+    // ===== QUERIES =====
+
+    public LatencyHistogram getQueueLatency(MessageType type) {
+        return queueByType[type.ordinal()];
+    }
+
+    public LatencyHistogram getDeliveryLatency(MessageType type) {
+        return deliveryByType[type.ordinal()];
+    }
+
+    public LatencyHistogram getQueueLatency(int priority) {
+        return queueByPriority[priorityIndex(priority)];
+    }
+
+    public LatencyHistogram getDeliveryLatency(int priority) {
+        return deliveryByPriority[priorityIndex(priority)];
+    }
+
+    /**
+     * Delivery latency over all message types (a merged copy).
+     */
+    public LatencyHistogram getDeliveryLatency() {
+        LatencyHistogram all = new LatencyHistogram();
+        for (LatencyHistogram histogram : deliveryByType) {
+            all.add(histogram);
+        }
+        return all;
+    }
+
+    public double getEnqueuedPerSecond(MessageType type, long nowMs) {
+        return enqueuedRate[type.ordinal()].getRatePerSecond(nowMs);
+    }
+
+    public double getSentPerSecond(MessageType type, long nowMs) {
+        return sentRate[type.ordinal()].getRatePerSecond(nowMs);
+    }
+
+    public double getDeliveredPerSecond(MessageType type, long nowMs) {
+        return deliveredRate[type.ordinal()].getRatePerSecond(nowMs);
+    }
+
+    public double getDeliveredPerSecond(long nowMs) {
+        double total = 0.0;
+        for (SlidingWindowCounter counter : deliveredRate) {
+            total += counter.getRatePerSecond(nowMs);
+        }
+        return total;
+    }
+
+    /**
+     * Percentile summaries of delivery latency for every type with traffic.
+     */
+    public Map<MessageType, LatencySummary> summarizeDeliveryByType() {
+        Map<MessageType, LatencySummary> summaries = new EnumMap<>(MessageType.class);
+        for (MessageType type : MessageType.values()) {
+            LatencyHistogram histogram = deliveryByType[type.ordinal()];
+            if (histogram.getCount() > 0) {
+                summaries.put(type, new LatencySummary(histogram));
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Percentile summaries of outbox wait for every type with traffic.
+     */
+    public Map<MessageType, LatencySummary> summarizeQueueByType() {
+        Map<MessageType, LatencySummary> summaries = new EnumMap<>(MessageType.class);
+        for (MessageType type : MessageType.values()) {
+            LatencyHistogram histogram = queueByType[type.ordinal()];
+            if (histogram.getCount() > 0) {
+                summaries.put(type, new LatencySummary(histogram));
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Percentile summaries of delivery latency for every priority with traffic.
+     */
+    public Map<Integer, LatencySummary> summarizeDeliveryByPriority() {
+        Map<Integer, LatencySummary> summaries = new TreeMap<>();
+        for (int priority = AgentMailbox.HIGHEST_PRIORITY; priority <= AgentMailbox.LOWEST_PRIORITY; priority++) {
+            LatencyHistogram histogram = deliveryByPriority[priorityIndex(priority)];
+            if (histogram.getCount() > 0) {
+                summaries.put(priority, new LatencySummary(histogram));
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Latencies recorded since the last interval (or reset), moved into a
+     * new instance; this one keeps recording from empty histograms. Rates
+     * are already windowed and are not carried over.
+     */
+    public MessageStatistics takeInterval() {
+        MessageStatistics interval = new MessageStatistics();
+        drain(queueByType, interval.queueByType);
+        drain(deliveryByType, interval.deliveryByType);
+        drain(queueByPriority, interval.queueByPriority);
+        drain(deliveryByPriority, interval.deliveryByPriority);
+        return interval;
+    }
+
+    public void reset() {
+        for (int i = 0; i < TYPES; i++) {
+            queueByType[i].reset();
+            deliveryByType[i].reset();
+        }
+        for (int i = 0; i < PRIORITIES; i++) {
+            queueByPriority[i].reset();
+            deliveryByPriority[i].reset();
+        }
+    }
+
+    private static int priorityIndex(int priority) {
+        return Math.max(AgentMailbox.HIGHEST_PRIORITY, Math.min(AgentMailbox.LOWEST_PRIORITY, priority)) - 1;
+    }
+
+    private static void drain(LatencyHistogram[] from, LatencyHistogram[] to) {
+        for (int i = 0; i < from.length; i++) {
+            from[i].drainTo(to[i]);
+        }
+    }
+
+    private static LatencyHistogram[] histograms(int count) {
+        LatencyHistogram[] histograms = new LatencyHistogram[count];
+        for (int i = 0; i < count; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    private static SlidingWindowCounter[] counters(int count) {
+        SlidingWindowCounter[] counters = new SlidingWindowCounter[count];
+        for (int i = 0; i < count; i++) {
+            counters[i] = new SlidingWindowCounter(RATE_WINDOW_MS);
+        }
+        return counters;
+    }
+
+    /**
+     * Immutable percentile summary of one histogram, in milliseconds.
+     */
+    public static class LatencySummary {
+        public final long count;
+        public final double meanMs;
+        public final double p50Ms;
+        public final double p90Ms;
+        public final double p99Ms;
+        public final double p999Ms;
+        public final double maxMs;
+
+        public LatencySummary(LatencyHistogram histogram) {
+            this.count = histogram.getCount();
+            this.meanMs = histogram.getMean() / 1000.0;
+            this.p50Ms = histogram.getValueAtPercentile(50.0) / 1000.0;
+            this.p90Ms = histogram.getValueAtPercentile(90.0) / 1000.0;
+            this.p99Ms = histogram.getValueAtPercentile(99.0) / 1000.0;
+            this.p999Ms = histogram.getValueAtPercentile(99.9) / 1000.0;
+            this.maxMs = histogram.getMax() / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("{n=%d, p50=%.2fms, p90=%.2fms, p99=%.2fms, p999=%.2fms, max=%.2fms}",
+                               count, p50Ms, p90Ms, p99Ms, p999Ms, maxMs);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * MESSAGETRANSPORT INTERFACE - Carries Deliveries Between Processes
+ *
+ * PURPOSE:
+ * - Lets agents hosted in different JVMs talk through CommunicationManager
+ * - CommunicationManager still decides range, loss and latency with
+ *   NetworkSimulator on the sending side; the transport only carries the
+ *   deliveries that survived to the process hosting the receiver
+ *
+ * CONTRACT:
+ * - isLocal(agentId): the agent lives in this process (delivered in memory)
+ * - send(...): queue one delivery for a remote agent; may be batched until flush()
+ * - receive(handler): hand every delivery that has arrived (and whose simulated
+ *   delay has elapsed) to the handler; never blocks
+ * - awaitIncoming(timeout): optional wait until something may be readable
+ *
+ * IMPLEMENTATIONS:
+ * - InProcessTransport: default, every agent is local
+ * - DatagramTransport: NIO DatagramChannel over loopback
+ * - SharedMemoryTransport: memory-mapped SPSC rings per process pair
+ */
+package com.team6.swarm.communication;
+
+public interface MessageTransport extends AutoCloseable {
+
+    boolean isLocal(int agentId);
+
+    /**
+     * Queues a delivery to an agent hosted in another process.
+     *
+     * @param receiverId The actual recipient (also for broadcasts)
+     * @param signalStrength Signal strength computed by NetworkSimulator
+     * @param simulatedDelayMs Delay computed by NetworkSimulator
+     * @return false if the receiver is unknown or the delivery could not be queued
+     */
+    boolean send(OutgoingMessage message, int receiverId, double signalStrength, long simulatedDelayMs);
+
+    /**
+     * Pushes out anything batched by send().
+     */
+    void flush();
+
+    /**
+     * Passes every delivery that is due to the handler.
+     *
+     * @return number of deliveries handed over
+     */
+    int receive(DeliveryHandler handler);
+
+    /**
+     * Waits up to timeoutMs for incoming data. May return early.
+     */
+    void awaitIncoming(long timeoutMs);
+
+    @Override
+    void close();
+
+    /**
+     * Receives deliveries that arrived from another process.
+     */
+    interface DeliveryHandler {
+        /**
+         * @param message Decoded message; receiverId is the recipient agent
+         * @param signalStrength Signal strength the sender's simulator computed
+         */
+        void onDelivery(OutgoingMessage message, double signalStrength);
+    }
+}
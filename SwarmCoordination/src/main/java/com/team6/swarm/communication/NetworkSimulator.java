@@ -38,6 +38,19 @@
  * - double signal = simulator.calculateSignalStrength(distance, 100.0);
  * - boolean shouldDeliver = simulator.shouldDeliverMessage(sender, receiver, distance);
  * - long delay = simulator.calculateDelay(sender, receiver);
+ * - BatchDeliveryResult batch = simulator.simulateDeliveryBatch(distances, count, 100.0);
+ * - NetworkSimulator seeded = new NetworkSimulator(100.0, 0.05, 0.1, 150.0, 50.0, 42L);
+ *
+ * RANDOMNESS AND THREADS:
+ * - All draws come from SplittableRandom streams split off one root seeded
+ *   at construction (getSeed()); there is no shared, contended Random
+ * - Single-message calls use a per-thread stream, split off the root the
+ *   first time a thread calls in: a seeded simulator driven from one thread
+ *   replays exactly
+ * - simulateDeliveryBatch splits one stream per batch and one per
+ *   BATCH_CHUNK recipients before any work starts, so large batches run in
+ *   parallel and give the same result for a given seed and batch order no
+ *   matter how many threads execute the chunks
  *
  * INTEGRATION POINTS:
  * - CommunicationManager: Uses for range checking and delivery simulation
@@ -47,30 +60,48 @@
  */
 package com.team6.swarm.communication;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 public class NetworkSimulator {
+    // Recipients per random stream in a batch; fixed so results do not depend on threads
+    public static final int BATCH_CHUNK = 1024;
+    // Batches at least this large are simulated in parallel
+    public static final int PARALLEL_BATCH_THRESHOLD = 8 * BATCH_CHUNK;
+
     private final double communicationRange;
     private final double failureRate;
     private final double interferenceLevel;
     private final double baseLatency;
     private final double latencyVariation;
-    private final Random random;
+    private final long seed;
+    private final SplittableRandom root;
+    private final ThreadLocal<SplittableRandom> threadRandom;
     
     // Default constructor with standard parameters
     public NetworkSimulator() {
         this(100.0, 0.05, 0.1, 150.0, 50.0);
     }
     
-    // Full constructor with custom parameters
+    // Full constructor with custom parameters (random seed)
     public NetworkSimulator(double communicationRange, double failureRate, 
                            double interferenceLevel, double baseLatency, double latencyVariation) {
+        this(communicationRange, failureRate, interferenceLevel, baseLatency, latencyVariation,
+             new SplittableRandom().nextLong());
+    }
+    
+    // Full constructor with a seed for reproducible runs
+    public NetworkSimulator(double communicationRange, double failureRate, 
+                           double interferenceLevel, double baseLatency, double latencyVariation,
+                           long seed) {
         this.communicationRange = communicationRange;
         this.failureRate = Math.max(0.0, Math.min(1.0, failureRate)); // Clamp to [0,1]
         this.interferenceLevel = Math.max(0.0, Math.min(1.0, interferenceLevel)); // Clamp to [0,1]
         this.baseLatency = baseLatency;
         this.latencyVariation = latencyVariation;
-        this.random = new Random();
+        this.seed = seed;
+        this.root = new SplittableRandom(seed);
+        this.threadRandom = ThreadLocal.withInitial(this::splitRoot);
     }
     
     /**
@@ -86,6 +117,104 @@ public class NetworkSimulator {
      * Based on distance and interference level
      */
     public double calculateSignalStrength(double distance, double maxRange) {
+        return signalStrength(distance, maxRange, threadRandom.get());
+    }
+    
+    /**
+     * Determine if a message should be delivered
+     * Considers range, failure rate, and signal strength
+     */
+    public boolean shouldDeliverMessage(double distance, double maxRange) {
+        // Check if in range
+        if (!canCommunicate(distance, maxRange)) {
+            return false;
+        }
+        
+        SplittableRandom random = threadRandom.get();
+        return survives(signalStrength(distance, maxRange, random), random);
+    }
+    
+    /**
+     * Calculate message delivery delay
+     * Based on distance and network conditions
+     */
+    public long calculateDelay(double distance, double maxRange) {
+        return delay(distance, maxRange, threadRandom.get());
+    }
+    
+    /**
+     * Simulate network conditions for a message
+     * Returns delivery result with delay and signal strength.
+     * The signal strength is computed once and also drives the failure decision.
+     */
+    public DeliveryResult simulateDelivery(double distance, double maxRange) {
+        SplittableRandom random = threadRandom.get();
+        double signalStrength = signalStrength(distance, maxRange, random);
+        boolean willDeliver = canCommunicate(distance, maxRange) && survives(signalStrength, random);
+        long delay = willDeliver ? delay(distance, maxRange, random) : 0;
+        
+        return new DeliveryResult(willDeliver, signalStrength, delay);
+    }
+    
+    /**
+     * Simulate network conditions for a whole fan-out in one call
+     * Used by broadcasts: one entry per recipient, signal strength is
+     * computed once per recipient and reused for the failure decision.
+     * Large batches are split into BATCH_CHUNK pieces simulated in parallel;
+     * each piece has its own pre-split random stream, so the result is the
+     * same for any number of threads.
+     *
+     * @param distances Sender-to-recipient distances (only the first count entries are used)
+     * @param count Number of recipients in the batch
+     * @param maxRange Maximum communication range
+     * @return Per-recipient delivery decisions, signal strengths and delays
+     */
+    public BatchDeliveryResult simulateDeliveryBatch(double[] distances, int count, double maxRange) {
+        boolean[] willDeliver = new boolean[count];
+        double[] signalStrengths = new double[count];
+        long[] delays = new long[count];
+        
+        int chunks = (count + BATCH_CHUNK - 1) / BATCH_CHUNK;
+        SplittableRandom batchRandom = splitRoot();
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            streams[c] = batchRandom.split();
+        }
+        
+        IntStream pieces = IntStream.range(0, chunks);
+        if (count >= PARALLEL_BATCH_THRESHOLD) {
+            pieces = pieces.parallel();
+        }
+        int deliveredCount = pieces.map(c -> simulateChunk(distances, c * BATCH_CHUNK,
+                                                       Math.min(count, (c + 1) * BATCH_CHUNK), maxRange,
+                                                       streams[c], willDeliver, signalStrengths, delays))
+                                   .sum();
+        
+        return new BatchDeliveryResult(willDeliver, signalStrengths, delays, deliveredCount);
+    }
+    
+    private int simulateChunk(double[] distances, int from, int to, double maxRange, SplittableRandom random,
+                              boolean[] willDeliver, double[] signalStrengths, long[] delays) {
+        int delivered = 0;
+        for (int i = from; i < to; i++) {
+            double distance = distances[i];
+            if (!canCommunicate(distance, maxRange)) {
+                continue;
+            }
+            
+            double signalStrength = signalStrength(distance, maxRange, random);
+            signalStrengths[i] = signalStrength;
+            
+            if (survives(signalStrength, random)) {
+                willDeliver[i] = true;
+                delays[i] = delay(distance, maxRange, random);
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+    
+    private double signalStrength(double distance, double maxRange, SplittableRandom random) {
         if (distance > maxRange) return 0.0;
         
         // Base signal strength (linear decay)
@@ -105,36 +234,14 @@ public class NetworkSimulator {
     }
     
     /**
-     * Determine if a message should be delivered
-     * Considers range, failure rate, and signal strength
+     * Random failure decision: base failure rate plus up to 30% more for weak signals.
      */
-    public boolean shouldDeliverMessage(double distance, double maxRange) {
-        // Check if in range
-        if (!canCommunicate(distance, maxRange)) {
-            return false;
-        }
-        
-        // Calculate signal strength
-        double signalStrength = calculateSignalStrength(distance, maxRange);
-        
-        // Base failure rate
-        double baseFailure = failureRate;
-        
-        // Increase failure rate for weak signals
-        double signalPenalty = (1.0 - signalStrength) * 0.3; // Up to 30% additional failure
-        
-        // Total failure probability
-        double totalFailureRate = baseFailure + signalPenalty;
-        
-        // Random failure decision
+    private boolean survives(double signalStrength, SplittableRandom random) {
+        double totalFailureRate = failureRate + (1.0 - signalStrength) * 0.3;
         return random.nextDouble() > totalFailureRate;
     }
     
-    /**
-     * Calculate message delivery delay
-     * Based on distance and network conditions
-     */
-    public long calculateDelay(double distance, double maxRange) {
+    private long delay(double distance, double maxRange, SplittableRandom random) {
         // Base latency
         double delay = baseLatency;
         
@@ -151,16 +258,15 @@ public class NetworkSimulator {
         return Math.max(10, (long) totalDelay);
     }
     
+    private synchronized SplittableRandom splitRoot() {
+        return root.split();
+    }
+    
     /**
-     * Simulate network conditions for a message
-     * Returns delivery result with delay and signal strength
+     * Seed of the root random stream (pass it back in to replay a run)
      */
-    public DeliveryResult simulateDelivery(double distance, double maxRange) {
-        double signalStrength = calculateSignalStrength(distance, maxRange);
-        boolean willDeliver = shouldDeliverMessage(distance, maxRange);
-        long delay = willDeliver ? calculateDelay(distance, maxRange) : 0;
-        
-        return new DeliveryResult(willDeliver, signalStrength, delay);
+    public long getSeed() {
+        return seed;
     }
     
     /**
@@ -240,6 +346,35 @@ public class NetworkSimulator {
         }
     }
     
+    /**
+     * Batched delivery result container
+     * Parallel arrays indexed like the distances passed to simulateDeliveryBatch
+     */
+    public static class BatchDeliveryResult {
+        public final boolean[] willDeliver;
+        public final double[] signalStrength;
+        public final long[] delay;
+        public final int deliveredCount;
+        
+        public BatchDeliveryResult(boolean[] willDeliver, double[] signalStrength, 
+                                   long[] delay, int deliveredCount) {
+            this.willDeliver = willDeliver;
+            this.signalStrength = signalStrength;
+            this.delay = delay;
+            this.deliveredCount = deliveredCount;
+        }
+        
+        public int size() {
+            return willDeliver.length;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("BatchDeliveryResult{recipients=%d, delivered=%d}", 
+                               willDeliver.length, deliveredCount);
+        }
+    }
+    
     @Override
     public String toString() {
         return String.format("NetworkSimulator{range=%.1f, failure=%.2f, interference=%.2f, latency=%.1f±%.1f}", 
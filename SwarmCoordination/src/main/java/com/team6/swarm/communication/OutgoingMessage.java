@@ -13,6 +13,7 @@
  * 4. priority - Delivery priority (1=highest, 5=lowest)
  * 5. maxHops - Maximum number of relay agents allowed
  * 6. expirationTime - When message becomes invalid
+ * 7. createdNanos - System.nanoTime() at creation (latency measurement)
  *
  * ROUTING SCENARIOS:
  * 1. Direct Delivery: Agent 1 → Agent 2 (if in communication range)
@@ -63,6 +64,7 @@ public class OutgoingMessage {
     public final int priority;
     public final int maxHops;
     public final long expirationTime;
+    public final long createdNanos;
     
     public OutgoingMessage(int senderId, int receiverId, Message messageContent) {
         this(senderId, receiverId, messageContent, messageContent.getPriority(), 2, 30000);
@@ -76,6 +78,7 @@ public class OutgoingMessage {
         this.priority = priority;
         this.maxHops = maxHops;
         this.expirationTime = System.currentTimeMillis() + expirationTimeMs;
+        this.createdNanos = System.nanoTime();
     }
     
     /**
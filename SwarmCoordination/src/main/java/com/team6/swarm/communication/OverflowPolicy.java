@@ -0,0 +1,22 @@
+/**
+ * OVERFLOWPOLICY ENUM - What a Full Mailbox Does With One More Message
+ *
+ * POLICIES:
+ * 1. DROP_OLDEST - Evict the oldest message of the same priority lane
+ *    (newest data wins; good for position/status updates that supersede).
+ *    If that lane is empty, evict the oldest of the lowest-priority lane,
+ *    as long as it is not more important than the incoming one
+ * 2. DROP_LOWEST_PRIORITY - Evict the newest message of the lowest-priority
+ *    lane, as long as it is not more important than the incoming one
+ * 3. REJECT - Refuse the incoming message; the sender sees sendMessage() == false
+ *
+ * CONFIGURATION:
+ * - Chosen per MessageType via CommunicationManager.setOverflowPolicy
+ */
+package com.team6.swarm.communication;
+
+public enum OverflowPolicy {
+    DROP_OLDEST,
+    DROP_LOWEST_PRIORITY,
+    REJECT
+}
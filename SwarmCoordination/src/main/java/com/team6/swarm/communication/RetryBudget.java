@@ -0,0 +1,101 @@
+package com.team6.swarm.communication;
+
+/**
+ * RETRYBUDGET CLASS - Cap on Retries Across the Whole Swarm
+ *
+ * PURPOSE:
+ * - Stops retry storms: when the network degrades every sender starts
+ *   retrying at once, and the retries themselves fill the mailboxes
+ * - Token bucket shared by every FailureRecoveryPolicy that uses it
+ *   (first attempts are free; each retry costs one token)
+ *
+ * BEHAVIOUR:
+ * - Holds at most maxTokens; refills at refillPerSecond
+ * - tryAcquire() never blocks; no token = the retry is abandoned
+ *
+ * USAGE:
+ * RetryBudget budget = new RetryBudget(100, 50.0);
+ * FailureRecoveryPolicy a = new FailureRecoveryPolicy(manager, 3, deadlines, budget);
+ * FailureRecoveryPolicy b = new FailureRecoveryPolicy(manager, 5, deadlines, budget);
+ */
+public class RetryBudget {
+    public static final int DEFAULT_MAX_TOKENS = 200;
+    public static final double DEFAULT_REFILL_PER_SECOND = 100.0;
+
+    private static final RetryBudget GLOBAL = new RetryBudget(DEFAULT_MAX_TOKENS, DEFAULT_REFILL_PER_SECOND);
+
+    private final int maxTokens;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+    private long grantedCount;
+    private long deniedCount;
+
+    public RetryBudget(int maxTokens, double refillPerSecond) {
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException("maxTokens must be positive");
+        }
+        if (refillPerSecond < 0) {
+            throw new IllegalArgumentException("refillPerSecond must be non-negative");
+        }
+        this.maxTokens = maxTokens;
+        this.refillPerNano = refillPerSecond / 1_000_000_000.0;
+        this.tokens = maxTokens;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Budget shared by every policy that does not supply its own.
+     */
+    public static RetryBudget global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Takes one retry token.
+     *
+     * @return false if the budget is exhausted and the retry should not happen
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            grantedCount++;
+            return true;
+        }
+        deniedCount++;
+        return false;
+    }
+
+    public synchronized int getAvailableTokens() {
+        refill();
+        return (int) tokens;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public synchronized long getGrantedCount() {
+        return grantedCount;
+    }
+
+    /**
+     * Retries abandoned because the budget was empty.
+     */
+    public synchronized long getDeniedCount() {
+        return deniedCount;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(maxTokens, tokens + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("RetryBudget{tokens=%.1f/%d, granted=%d, denied=%d}",
+                           tokens, maxTokens, grantedCount, deniedCount);
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * SLIDINGWINDOWCOUNTER CLASS - Lock-Free Windowed Event Rate
+ *
+ * PURPOSE:
+ * - Counts events over a recent window (e.g. 1 second) without keeping
+ *   per-event timestamps or scanning history
+ *
+ * HOW IT WORKS:
+ * - The window is split into BUCKETS time slices held in a ring
+ * - Each slot remembers which slice it currently counts; the first event
+ *   in a new slice claims the slot (CAS) and resets it
+ * - The rate sums the slots whose slice is still inside the window
+ * - An increment racing a slot rollover can be lost; rates are approximate
+ *
+ * USAGE:
+ * SlidingWindowCounter delivered = new SlidingWindowCounter(1000);
+ * delivered.increment(System.currentTimeMillis());
+ * double perSecond = delivered.getRatePerSecond(System.currentTimeMillis());
+ */
+package com.team6.swarm.communication;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class SlidingWindowCounter {
+    public static final int BUCKETS = 10;
+
+    private final long windowMs;
+    private final long sliceMs;
+    private final AtomicLongArray slices;
+    private final AtomicLongArray counts;
+
+    public SlidingWindowCounter(long windowMs) {
+        if (windowMs < BUCKETS) {
+            throw new IllegalArgumentException("windowMs must be at least " + BUCKETS);
+        }
+        this.windowMs = windowMs;
+        this.sliceMs = windowMs / BUCKETS;
+        this.slices = new AtomicLongArray(BUCKETS);
+        this.counts = new AtomicLongArray(BUCKETS);
+        for (int i = 0; i < BUCKETS; i++) {
+            slices.set(i, -1);
+        }
+    }
+
+    public void increment(long nowMs) {
+        long slice = nowMs / sliceMs;
+        int slot = (int) (slice % BUCKETS);
+        long current = slices.get(slot);
+        if (current != slice && slices.compareAndSet(slot, current, slice)) {
+            // Winner of the slot resets it; losers simply count into the new slice
+            counts.set(slot, 0);
+        }
+        counts.incrementAndGet(slot);
+    }
+
+    /**
+     * Events in the slices that overlap the last window.
+     */
+    public long getCount(long nowMs) {
+        long newest = nowMs / sliceMs;
+        long total = 0;
+        for (int slot = 0; slot < BUCKETS; slot++) {
+            long slice = slices.get(slot);
+            if (slice > newest - BUCKETS && slice <= newest) {
+                total += counts.get(slot);
+            }
+        }
+        return total;
+    }
+
+    public double getRatePerSecond(long nowMs) {
+        return getCount(nowMs) * 1000.0 / windowMs;
+    }
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+}
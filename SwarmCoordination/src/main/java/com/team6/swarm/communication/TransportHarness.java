@@ -0,0 +1,438 @@
+/**
+ * TRANSPORTHARNESS CLASS - Multi-Process Throughput and Latency Harness
+ *
+ * PURPOSE:
+ * - Starts N-1 child JVMs on this machine, each hosting AGENTS_PER_PROCESS
+ *   agents behind its own CommunicationManager and transport
+ * - Transports: loopback datagrams (DatagramTransport) or memory-mapped
+ *   rings (SharedMemoryTransport); "both" runs them back to back to compare
+ * - The parent (process 0) sends timestamped STATUS_UPDATE pings to agents
+ *   in every child; each child echoes them back through its manager
+ * - Reports end to end (mailbox -> NetworkSimulator -> codec -> transport ->
+ *   decode -> listener -> and back):
+ *   - latency: round trips with one ping in flight (p50/p99/max)
+ *   - throughput: round trips/s with WINDOW pings in flight
+ *
+ * SETUP:
+ * - All processes compute the same agent layout (a tight cluster), so every
+ *   pair is in range and NetworkSimulator loss/signal still apply
+ * - Simulated latency is not applied, so the numbers are transport cost
+ * - A warm-up exchange runs first so JIT compilation is not measured
+ *
+ * USAGE:
+ * java com.team6.swarm.communication.TransportHarness [processes] [messages] [datagram|shm|both]
+ *
+ * EXPECTED OUTPUT:
+ * - One line per run with delivered ratio, round trips/s and latency percentiles
+ */
+package com.team6.swarm.communication;
+
+import com.team6.swarm.core.AgentState;
+import com.team6.swarm.core.AgentStatus;
+import com.team6.swarm.core.Point2D;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class TransportHarness {
+    private static final int AGENTS_PER_PROCESS = 4;
+    private static final int WINDOW = 256;
+    private static final int MAILBOX_CAPACITY = 4096;
+    private static final long STARTUP_TIMEOUT_MS = 15_000;
+    private static final int MAX_LATENCY_SAMPLES = 5000;
+    private static final long LOAD_LOSS_TIMEOUT_MS = 100;
+    private static final long PING_LOSS_TIMEOUT_MS = 20;
+    private static final long CHILD_LIFETIME_MS = 120_000;
+    private static final String CHILD_FLAG = "--child";
+
+    public enum Kind {
+        DATAGRAM("datagram"),
+        SHARED_MEMORY("shm");
+
+        public final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        static Kind parse(String label) {
+            for (Kind kind : values()) {
+                if (kind.label.equals(label)) return kind;
+            }
+            throw new IllegalArgumentException("Unknown transport: " + label);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && CHILD_FLAG.equals(args[0])) {
+            runChild(Kind.parse(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]), args[4]);
+            return;
+        }
+
+        int processes = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int messages = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        String which = args.length > 2 ? args[2] : "both";
+
+        System.out.println("=== Transport Harness ===");
+        for (Kind kind : Kind.values()) {
+            if (!"both".equals(which) && kind != Kind.parse(which)) continue;
+            Result result = run(kind, processes, messages);
+            System.out.println(result);
+            if (result.echoed == 0) {
+                throw new IllegalStateException("No round trips completed over " + kind.label);
+            }
+        }
+    }
+
+    /**
+     * Spawns processes-1 children, runs the ping/echo exchange and stops them.
+     */
+    public static Result run(Kind kind, int processes, int messages) throws IOException, InterruptedException {
+        if (processes < 2) {
+            throw new IllegalArgumentException("processes must be at least 2");
+        }
+
+        FrameTransport transport;
+        String endpoint;
+        Path ringDirectory = null;
+        if (kind == Kind.SHARED_MEMORY) {
+            ringDirectory = Files.createTempDirectory(SharedMemoryTransport.defaultDirectory(), "swarm-rings");
+            SharedMemoryTransport rings = new SharedMemoryTransport(0, ringDirectory);
+            for (int index = 1; index < processes; index++) {
+                rings.connect(index);
+                for (int agentId : agentsOf(index)) {
+                    rings.addRemoteAgent(agentId, index);
+                }
+            }
+            transport = rings;
+            endpoint = ringDirectory.toString();
+        } else {
+            DatagramTransport socket = DatagramTransport.loopback(0);
+            transport = socket;
+            endpoint = String.valueOf(socket.getLocalAddress().getPort());
+        }
+        transport.setApplySimulatedDelay(false);
+
+        List<Process> children = new ArrayList<>();
+        PrintStream console = System.out;
+        try {
+            for (int index = 1; index < processes; index++) {
+                children.add(spawnChild(kind, index, processes, endpoint));
+            }
+            // Per-delivery logging would dominate the measurement
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            return new Parent(kind, transport, processes).run(messages);
+        } finally {
+            System.setOut(console);
+            for (Process child : children) {
+                if (!child.waitFor(5, TimeUnit.SECONDS)) {
+                    child.destroyForcibly();
+                }
+            }
+            transport.close();
+            if (ringDirectory != null) {
+                deleteRings(ringDirectory);
+            }
+        }
+    }
+
+    // ===== PARENT =====
+
+    private static class Parent {
+        private final Kind kind;
+        private final FrameTransport transport;
+        private final CommunicationManager manager;
+        private final int processes;
+        private final List<Integer> targets = new ArrayList<>();
+        private final long[] roundTrips = new long[MAX_LATENCY_SAMPLES];
+        // Send timestamps of pings awaiting an echo, oldest first
+        private final Set<Long> inFlight = new HashSet<>();
+        private final ArrayDeque<Long> inFlightOrder = new ArrayDeque<>();
+        private int helloCount;
+        private int echoed;
+
+        Parent(Kind kind, FrameTransport transport, int processes) {
+            this.kind = kind;
+            this.transport = transport;
+            this.processes = processes;
+            this.manager = createManager(transport);
+            for (int agentId : agentsOf(0)) {
+                transport.addLocalAgent(agentId);
+            }
+            manager.updateTopology(layout(processes));
+            manager.registerMessageListener(0, this::onMessage);
+        }
+
+        Result run(int messages) {
+            long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MS;
+            while (helloCount < processes - 1) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("Only " + helloCount + " of " + (processes - 1) + " children started");
+                }
+                pump(10);
+            }
+
+            exchange(messages / 4, WINDOW, LOAD_LOSS_TIMEOUT_MS); // warm-up, discarded
+
+            // Latency: one ping in flight, so queueing does not inflate the numbers
+            int latencySamples = Math.min(messages, MAX_LATENCY_SAMPLES);
+            echoed = 0;
+            exchange(latencySamples, 1, PING_LOSS_TIMEOUT_MS);
+            long[] latencies = Arrays.copyOf(roundTrips, echoed);
+
+            // Throughput: a full window in flight
+            echoed = 0;
+            long start = System.nanoTime();
+            exchange(messages, WINDOW, LOAD_LOSS_TIMEOUT_MS);
+            long elapsed = System.nanoTime() - start;
+            int delivered = echoed;
+
+            for (int target : targets) {
+                manager.sendMessage(new OutgoingMessage(0, target, new Message(0, MessageType.STATUS_UPDATE, "STOP"), 1, 0, 5000));
+            }
+            manager.processMessages();
+
+            return new Result(kind.label, processes, messages, delivered, elapsed, latencies);
+        }
+
+        /**
+         * Sends count pings keeping at most window in flight. Pings with no
+         * echo after lossTimeoutMs are written off as lost (simulated loss or
+         * socket drops) and free their window slot.
+         */
+        private void exchange(int count, int window, long lossTimeoutMs) {
+            long lossTimeout = TimeUnit.MILLISECONDS.toNanos(lossTimeoutMs);
+            inFlight.clear();
+            inFlightOrder.clear();
+            int sent = 0;
+            while (sent < count || !inFlight.isEmpty()) {
+                while (inFlight.size() < window && sent < count) {
+                    int target = targets.get(sent % targets.size());
+                    long sentAt = System.nanoTime();
+                    manager.sendMessage(new OutgoingMessage(0, target,
+                        new Message(0, MessageType.STATUS_UPDATE, sentAt), 3, 0, 5000));
+                    inFlight.add(sentAt);
+                    inFlightOrder.add(sentAt);
+                    sent++;
+                }
+                manager.processMessages();
+                if (inFlight.size() >= window || (sent == count && !inFlight.isEmpty())) {
+                    transport.awaitIncoming(1);
+                }
+
+                long expired = System.nanoTime() - lossTimeout;
+                while (!inFlightOrder.isEmpty() && inFlightOrder.peek() < expired) {
+                    inFlight.remove(inFlightOrder.poll());
+                }
+            }
+        }
+
+        private void pump(long waitMs) {
+            manager.processMessages();
+            if (waitMs > 0) {
+                transport.awaitIncoming(waitMs);
+            }
+        }
+
+        private void onMessage(IncomingMessage message) {
+            Object payload = message.messageContent.payload;
+            if (payload instanceof Long) {
+                if (!inFlight.remove(payload)) {
+                    return; // echo of a ping already written off
+                }
+                if (echoed < roundTrips.length) {
+                    roundTrips[echoed] = System.nanoTime() - (Long) payload;
+                }
+                echoed++;
+            } else if (payload instanceof Map && !targets.contains(message.originalSenderId)) {
+                int process = processOf(message.originalSenderId);
+                Object port = ((Map<?, ?>) payload).get("port");
+                for (int agentId : agentsOf(process)) {
+                    if (transport instanceof DatagramTransport) {
+                        ((DatagramTransport) transport).addRemoteAgent(agentId,
+                            new InetSocketAddress(InetAddress.getLoopbackAddress(), (Integer) port));
+                    }
+                    targets.add(agentId);
+                }
+                helloCount++;
+            }
+        }
+    }
+
+    // ===== CHILD =====
+
+    private static void runChild(Kind kind, int index, int processes, String endpoint) throws IOException {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        FrameTransport transport;
+        Map<String, Object> hello = new HashMap<>();
+        hello.put("status", "READY");
+        if (kind == Kind.SHARED_MEMORY) {
+            SharedMemoryTransport rings = new SharedMemoryTransport(index, Paths.get(endpoint));
+            rings.connect(0);
+            for (int agentId : agentsOf(0)) {
+                rings.addRemoteAgent(agentId, 0);
+            }
+            transport = rings;
+        } else {
+            DatagramTransport socket = DatagramTransport.loopback(0);
+            InetSocketAddress parent = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(endpoint));
+            for (int agentId : agentsOf(0)) {
+                socket.addRemoteAgent(agentId, parent);
+            }
+            hello.put("port", socket.getLocalAddress().getPort());
+            transport = socket;
+        }
+        transport.setApplySimulatedDelay(false);
+        for (int agentId : agentsOf(index)) {
+            transport.addLocalAgent(agentId);
+        }
+
+        CommunicationManager manager = createManager(transport);
+        manager.updateTopology(layout(processes));
+
+        boolean[] running = {true};
+        for (int agentId : agentsOf(index)) {
+            manager.registerMessageListener(agentId, message -> {
+                Object payload = message.messageContent.payload;
+                if ("STOP".equals(payload)) {
+                    running[0] = false;
+                } else {
+                    manager.sendMessage(new OutgoingMessage(message.receiverId, message.originalSenderId,
+                        new Message(message.receiverId, MessageType.STATUS_UPDATE, payload), 3, 0, 5000));
+                }
+            });
+        }
+
+        // Announce this process to the parent; resend until the parent's pings arrive
+        int firstAgent = agentsOf(index)[0];
+
+        long deadline = System.currentTimeMillis() + CHILD_LIFETIME_MS;
+        long nextHello = 0;
+        long received = 0;
+        while (running[0] && System.currentTimeMillis() < deadline) {
+            if (received == 0 && System.currentTimeMillis() >= nextHello) {
+                manager.sendMessage(new OutgoingMessage(firstAgent, 0,
+                    new Message(firstAgent, MessageType.STATUS_UPDATE, hello), 1, 0, 5000));
+                nextHello = System.currentTimeMillis() + 100;
+            }
+            manager.processMessages();
+            received = transport.getEnvelopesReceived();
+            transport.awaitIncoming(1);
+        }
+        transport.close();
+    }
+
+    // ===== SHARED SETUP =====
+
+    private static CommunicationManager createManager(MessageTransport transport) {
+        // No base failure, interference or latency: loss only from signal strength
+        NetworkSimulator simulator = new NetworkSimulator(100.0, 0.0, 0.0, 0.0, 0.0);
+        CommunicationManager manager = new CommunicationManager(simulator, MAILBOX_CAPACITY, MAILBOX_CAPACITY);
+        manager.setTransport(transport);
+        return manager;
+    }
+
+    private static List<AgentState> layout(int processes) {
+        List<AgentState> agents = new ArrayList<>();
+        for (int process = 0; process < processes; process++) {
+            for (int agentId : agentsOf(process)) {
+                AgentState agent = new AgentState();
+                agent.agentId = agentId;
+                agent.position = new Point2D(agentId % 8, agentId / 8);
+                agent.status = AgentStatus.ACTIVE;
+                agents.add(agent);
+            }
+        }
+        return agents;
+    }
+
+    private static int[] agentsOf(int process) {
+        int[] ids = new int[AGENTS_PER_PROCESS];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = process * AGENTS_PER_PROCESS + i;
+        }
+        return ids;
+    }
+
+    private static int processOf(int agentId) {
+        return agentId / AGENTS_PER_PROCESS;
+    }
+
+    private static Process spawnChild(Kind kind, int index, int processes, String endpoint) throws IOException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        ProcessBuilder builder = new ProcessBuilder(
+            java, "-cp", System.getProperty("java.class.path"), TransportHarness.class.getName(),
+            CHILD_FLAG, kind.label, String.valueOf(index), String.valueOf(processes), endpoint);
+        builder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        return builder.start();
+    }
+
+    private static void deleteRings(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Outcome of one harness run. Latencies are round trips in nanoseconds.
+     */
+    public static class Result {
+        public final String transport;
+        public final int processes;
+        public final int sent;
+        public final int echoed;
+        public final long elapsedNanos;
+        private final long[] sortedRoundTrips;
+
+        Result(String transport, int processes, int sent, int echoed, long elapsedNanos, long[] roundTrips) {
+            this.transport = transport;
+            this.processes = processes;
+            this.sent = sent;
+            this.echoed = echoed;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedRoundTrips = roundTrips;
+            Arrays.sort(this.sortedRoundTrips);
+        }
+
+        public double getRoundTripsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : echoed * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Round-trip latency percentile in microseconds (p in 0-100).
+         */
+        public double getPercentileMicros(double p) {
+            if (sortedRoundTrips.length == 0) return 0.0;
+            int index = (int) Math.min(sortedRoundTrips.length - 1, Math.ceil(p / 100.0 * sortedRoundTrips.length) - 1);
+            return sortedRoundTrips[Math.max(0, index)] / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%-9s processes=%d delivered=%d/%d (%.1f%%) throughput=%,.0f round trips/s  rtt p50=%.0fus p99=%.0fus max=%.0fus",
+                transport, processes, echoed, sent, sent == 0 ? 0.0 : 100.0 * echoed / sent,
+                getRoundTripsPerSecond(), getPercentileMicros(50), getPercentileMicros(99), getPercentileMicros(100));
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.team6.swarm.communication;
 
+import com.team6.swarm.core.DeadlineScheduler;
+
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -17,6 +21,11 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * DESIGN NOTES:
  * - Reuses CommunicationManager.broadcastVote, sendVoteResponse, getVoteMessages
+ * - collectResponses() reads delivered VOTE_RESPONSE messages with a history
+ *   cursor, so each poll only touches what arrived since the last one
+ * - Each vote's deadline is a DeadlineScheduler timer (shareable with
+ *   VotingSystem); cleanupExpiredVotes() only runs timers that are due
+ *   instead of scanning every active vote
  * - Does NOT implement its own routing or queueing logic (DRY)
  * - Uses Map-based payloads carried by existing Message / MessageType values
  */
@@ -24,6 +33,8 @@ public class VotingProtocol {
 
     private final CommunicationManager communicationManager;
     private final Map<String, VoteState> activeVotes = new ConcurrentHashMap<>();
+    private final DeadlineScheduler deadlineScheduler;
+    private long historyCursor;
 
     /**
      * Internal state for a single vote / consensus round.
@@ -34,6 +45,7 @@ public class VotingProtocol {
         final Set<Integer> expectedVoters;
         final long deadlineMillis;
         final Map<Integer, Map<String, Object>> responses = new HashMap<>();
+        volatile DeadlineScheduler.Timer expiryTimer;
 
         VoteState(String proposalId, int initiatorId, Set<Integer> expectedVoters, long deadlineMillis) {
             this.proposalId = proposalId;
@@ -78,10 +90,21 @@ public class VotingProtocol {
     }
 
     public VotingProtocol(CommunicationManager communicationManager) {
+        this(communicationManager, new DeadlineScheduler());
+    }
+
+    /**
+     * @param deadlineScheduler Scheduler shared with other components (e.g. VotingSystem)
+     */
+    public VotingProtocol(CommunicationManager communicationManager, DeadlineScheduler deadlineScheduler) {
         if (communicationManager == null) {
             throw new IllegalArgumentException("communicationManager must not be null");
         }
+        if (deadlineScheduler == null) {
+            throw new IllegalArgumentException("deadlineScheduler must not be null");
+        }
         this.communicationManager = communicationManager;
+        this.deadlineScheduler = deadlineScheduler;
     }
 
     /**
@@ -125,11 +148,12 @@ public class VotingProtocol {
                 }
             }
             // If expired, remove it and continue (will be replaced below)
-            activeVotes.remove(proposalId);
+            removeVote(existingState);
         }
 
         VoteState state = new VoteState(proposalId, initiatorId, expectedVoters, deadlineMillis);
         activeVotes.put(proposalId, state);
+        state.expiryTimer = deadlineScheduler.schedule(deadlineMillis, now -> removeVote(state));
 
         communicationManager.broadcastVote(initiatorId, proposalPayload);
     }
@@ -173,6 +197,37 @@ public class VotingProtocol {
         }
     }
 
+    /**
+     * Records every VOTE_RESPONSE delivered since the previous call.
+     * Responses for unknown proposals or from unexpected voters are ignored.
+     *
+     * @return number of responses recorded
+     */
+    public synchronized int collectResponses() {
+        List<IncomingMessage> fresh = new ArrayList<>();
+        historyCursor = communicationManager.getHistory()
+            .readSince(historyCursor, MessageType.VOTE_RESPONSE, fresh);
+
+        int recorded = 0;
+        for (IncomingMessage incoming : fresh) {
+            if (!(incoming.messageContent.payload instanceof Map)) continue;
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> payload = (Map<String, Object>) incoming.messageContent.payload;
+            Object proposalId = payload.get("proposalId");
+            VoteState state = proposalId instanceof String ? activeVotes.get(proposalId) : null;
+            if (state == null
+                || state.initiatorId != incoming.receiverId
+                || !state.expectedVoters.contains(incoming.originalSenderId)) {
+                continue;
+            }
+
+            recordResponse(incoming.originalSenderId, payload);
+            recorded++;
+        }
+        return recorded;
+    }
+
     /**
      * Returns a snapshot of the current state for a given proposal.
      * Thread-safe: Uses double-check pattern to ensure state is still valid.
@@ -218,15 +273,38 @@ public class VotingProtocol {
 
     /**
      * Removes expired votes from the active vote registry.
-     * Thread-safe: Uses ConcurrentHashMap's atomic removeIf operation.
+     * Only the deadline timers that are due run; O(1) when none are.
      */
     public void cleanupExpiredVotes() {
-        long now = System.currentTimeMillis();
-        activeVotes.values().removeIf(state -> {
-            synchronized (state) {
-                return state.isExpired(now);
-            }
-        });
+        cleanupExpiredVotes(System.currentTimeMillis());
+    }
+
+    /**
+     * Removes votes expired at the given time (e.g. simulation time).
+     */
+    public void cleanupExpiredVotes(long now) {
+        deadlineScheduler.runDue(now);
+    }
+
+    /**
+     * Removes a vote unless it was already replaced; thread-safe against
+     * recordResponse/getVoteResult through the state lock.
+     */
+    private void removeVote(VoteState state) {
+        synchronized (state) {
+            activeVotes.remove(state.proposalId, state);
+        }
+        if (state.expiryTimer != null) {
+            state.expiryTimer.cancel();
+        }
+    }
+
+    public int getActiveVoteCount() {
+        return activeVotes.size();
+    }
+
+    public DeadlineScheduler getDeadlineScheduler() {
+        return deadlineScheduler;
     }
 }
 
@@ -0,0 +1,170 @@
+/**
+ * DEADLINESCHEDULER CLASS - Shared Min-Heap of Timed Callbacks
+ *
+ * PURPOSE:
+ * - Lets components register "call me at time T" instead of scanning all
+ *   of their open items every frame to see which ones ran out
+ * - One instance can be shared by several components (VotingSystem,
+ *   VotingProtocol, ...); whoever drives the clock calls runDue(now)
+ *
+ * TIME:
+ * - Plain long milliseconds supplied by the caller: wall clock
+ *   (System.currentTimeMillis) or simulation time, as long as schedule()
+ *   and runDue() use the same clock
+ * - A timer fires on the first runDue(now) with now >= its deadline
+ *
+ * COST:
+ * - schedule(): O(log n)
+ * - runDue() with nothing due: O(1) (peek at the earliest deadline)
+ * - runDue() firing k timers: O(k log n)
+ * - cancel(): O(1); cancelled timers are skipped when they reach the top
+ *   and purged in one pass if they ever make up half the heap
+ *
+ * CALLBACKS:
+ * - Run outside the scheduler's lock, in deadline order (FIFO on equal
+ *   deadlines), and receive the runDue time; they may schedule new timers
+ *
+ * USAGE:
+ * DeadlineScheduler scheduler = new DeadlineScheduler();
+ * DeadlineScheduler.Timer timer = scheduler.schedule(deadline, now -> expire(id));
+ * scheduler.runDue(System.currentTimeMillis());   // every frame
+ * timer.cancel();                                 // finished early
+ */
+package com.team6.swarm.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.LongConsumer;
+
+public class DeadlineScheduler {
+    private final PriorityQueue<Timer> timers;
+    private long nextSequence;
+    private int cancelledCount;
+    private long firedCount;
+
+    public DeadlineScheduler() {
+        this.timers = new PriorityQueue<>();
+    }
+
+    /**
+     * Registers an action to run once the clock reaches the deadline.
+     */
+    public synchronized Timer schedule(long deadline, LongConsumer action) {
+        if (action == null) {
+            throw new IllegalArgumentException("action must not be null");
+        }
+        Timer timer = new Timer(this, deadline, nextSequence++, action);
+        timers.add(timer);
+        return timer;
+    }
+
+    /**
+     * Runs every timer whose deadline is at or before now.
+     *
+     * @return Number of timers fired
+     */
+    public int runDue(long now) {
+        List<Timer> due;
+        synchronized (this) {
+            Timer first = timers.peek();
+            if (first == null || first.deadline > now) {
+                return 0;
+            }
+            due = new ArrayList<>();
+            while (!timers.isEmpty() && timers.peek().deadline <= now) {
+                Timer timer = timers.poll();
+                if (timer.cancelled) {
+                    cancelledCount--;
+                } else {
+                    timer.fired = true;
+                    due.add(timer);
+                }
+            }
+            firedCount += due.size();
+        }
+        for (Timer timer : due) {
+            timer.action.accept(now);
+        }
+        return due.size();
+    }
+
+    private synchronized boolean cancel(Timer timer) {
+        if (timer.cancelled || timer.fired) {
+            return false;
+        }
+        timer.cancelled = true;
+        cancelledCount++;
+        if (cancelledCount > 64 && cancelledCount * 2 > timers.size()) {
+            timers.removeIf(t -> t.cancelled);
+            cancelledCount = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Earliest pending deadline, or Long.MAX_VALUE if nothing is scheduled.
+     */
+    public synchronized long getNextDeadline() {
+        while (!timers.isEmpty() && timers.peek().cancelled) {
+            timers.poll();
+            cancelledCount--;
+        }
+        Timer first = timers.peek();
+        return first != null ? first.deadline : Long.MAX_VALUE;
+    }
+
+    /**
+     * Timers scheduled and not yet fired or cancelled.
+     */
+    public synchronized int size() {
+        return timers.size() - cancelledCount;
+    }
+
+    public synchronized long getFiredCount() {
+        return firedCount;
+    }
+
+    /**
+     * Handle for one scheduled action.
+     */
+    public static final class Timer implements Comparable<Timer> {
+        private final DeadlineScheduler scheduler;
+        private final long deadline;
+        private final long sequence;
+        private final LongConsumer action;
+        private boolean cancelled;
+        private boolean fired;
+
+        private Timer(DeadlineScheduler scheduler, long deadline, long sequence, LongConsumer action) {
+            this.scheduler = scheduler;
+            this.deadline = deadline;
+            this.sequence = sequence;
+            this.action = action;
+        }
+
+        /**
+         * Stops the timer from firing. Returns false if it already fired or
+         * was cancelled.
+         */
+        public boolean cancel() {
+            return scheduler.cancel(this);
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        @Override
+        public int compareTo(Timer other) {
+            int byDeadline = Long.compare(deadline, other.deadline);
+            return byDeadline != 0 ? byDeadline : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("DeadlineScheduler[pending=%d | next=%d | fired=%d]",
+            size(), getNextDeadline(), firedCount);
+    }
+}
@@ -0,0 +1,232 @@
+/**
+ * AGGREGATIONTREE CLASS - Cluster Hierarchy for Aggregated Voting
+ *
+ * PURPOSE:
+ * - Decides who forwards votes to whom in aggregation-tree voting, so the
+ *   initiator hears from a handful of cluster heads instead of every agent
+ *
+ * CONSTRUCTION (build):
+ * - Agents are dropped into a SpatialGrid; every occupied cell becomes a
+ *   cluster whose head is its member with the most battery (ties: lowest
+ *   ID), since heads relay for everyone else
+ * - The heads are clustered again on a grid with twice the cell size, and
+ *   so on, until at most maxRootChildren heads are left; those report to
+ *   the root (the vote initiator)
+ * - flat() builds the one-level tree of the flat protocol for comparison
+ *
+ * HEAD LOSS:
+ * - removeNode() detaches a failed head and hands its children to its own
+ *   parent, so their votes still have a path to the root
+ *
+ * USAGE:
+ * AggregationTree tree = AggregationTree.build(initiatorId, agents, 100.0, 16);
+ * int parent = tree.getParent(agentId);      // -1 for the root
+ * tree.removeNode(failedHeadId);
+ */
+package com.team6.swarm.intelligence.voting;
+
+import com.team6.swarm.core.AgentState;
+import com.team6.swarm.intelligence.optimization.SpatialGrid;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AggregationTree {
+    public static final int DEFAULT_MAX_ROOT_CHILDREN = 16;
+
+    private final int rootId;
+    private final Map<Integer, Integer> parents;
+    private final Map<Integer, List<Integer>> children;
+
+    private AggregationTree(int rootId) {
+        this.rootId = rootId;
+        this.parents = new HashMap<>();
+        this.children = new HashMap<>();
+        this.children.put(rootId, new ArrayList<>());
+    }
+
+    /**
+     * Builds the cluster hierarchy from agent positions.
+     *
+     * @param rootId Vote initiator; excluded from clustering if present in agents
+     * @param cellSize Size of the first-level clusters in world units
+     * @param maxRootChildren Most heads allowed to report to the root directly
+     */
+    public static AggregationTree build(int rootId, List<AgentState> agents,
+                                        double cellSize, int maxRootChildren) {
+        if (agents == null) {
+            throw new IllegalArgumentException("agents must not be null");
+        }
+        if (cellSize <= 0.0 || maxRootChildren < 1) {
+            throw new IllegalArgumentException("cellSize and maxRootChildren must be positive");
+        }
+        AggregationTree tree = new AggregationTree(rootId);
+
+        double width = 1.0;
+        double height = 1.0;
+        List<AgentState> level = new ArrayList<>();
+        for (AgentState agent : agents) {
+            if (agent.agentId == rootId) continue;
+            level.add(agent);
+            tree.children.put(agent.agentId, new ArrayList<>());
+            width = Math.max(width, agent.position.x + 1.0);
+            height = Math.max(height, agent.position.y + 1.0);
+        }
+
+        double size = cellSize;
+        while (level.size() > maxRootChildren) {
+            SpatialGrid grid = new SpatialGrid(width, height, size);
+            for (AgentState agent : level) {
+                grid.insert(agent);
+            }
+            size *= 2.0;
+            if (grid.getOccupiedCells().size() == level.size()) {
+                continue;  // Every cell holds one agent - try bigger cells
+            }
+
+            List<AgentState> heads = new ArrayList<>();
+            for (List<AgentState> cell : grid.getOccupiedCells()) {
+                AgentState head = selectHead(cell);
+                heads.add(head);
+                for (AgentState member : cell) {
+                    if (member != head) {
+                        tree.attach(member.agentId, head.agentId);
+                    }
+                }
+            }
+            heads.sort((a, b) -> Integer.compare(a.agentId, b.agentId));
+            level = heads;
+        }
+
+        for (AgentState head : level) {
+            tree.attach(head.agentId, rootId);
+        }
+        return tree;
+    }
+
+    /**
+     * Every agent reports to the root directly (the flat protocol).
+     */
+    public static AggregationTree flat(int rootId, List<AgentState> agents) {
+        if (agents == null) {
+            throw new IllegalArgumentException("agents must not be null");
+        }
+        AggregationTree tree = new AggregationTree(rootId);
+        for (AgentState agent : agents) {
+            if (agent.agentId == rootId) continue;
+            tree.children.put(agent.agentId, new ArrayList<>());
+            tree.attach(agent.agentId, rootId);
+        }
+        return tree;
+    }
+
+    private static AgentState selectHead(List<AgentState> cell) {
+        AgentState head = cell.get(0);
+        for (AgentState candidate : cell) {
+            if (candidate.batteryLevel > head.batteryLevel
+                || (candidate.batteryLevel == head.batteryLevel && candidate.agentId < head.agentId)) {
+                head = candidate;
+            }
+        }
+        return head;
+    }
+
+    private void attach(int nodeId, int parentId) {
+        parents.put(nodeId, parentId);
+        children.get(parentId).add(nodeId);
+    }
+
+    /**
+     * Detaches a failed node; its children report to its parent instead.
+     *
+     * @return The adopted children
+     */
+    public List<Integer> removeNode(int nodeId) {
+        if (nodeId == rootId) {
+            throw new IllegalArgumentException("root must not be removed");
+        }
+        Integer parentId = parents.remove(nodeId);
+        List<Integer> orphans = children.remove(nodeId);
+        if (parentId == null || orphans == null) {
+            return Collections.emptyList();
+        }
+        children.get(parentId).remove(Integer.valueOf(nodeId));
+        for (int orphan : orphans) {
+            attach(orphan, parentId);
+        }
+        return new ArrayList<>(orphans);
+    }
+
+    public int getRootId() {
+        return rootId;
+    }
+
+    /**
+     * Parent of a node, or -1 for the root and unknown nodes.
+     */
+    public int getParent(int nodeId) {
+        Integer parent = parents.get(nodeId);
+        return parent != null ? parent : -1;
+    }
+
+    public List<Integer> getChildren(int nodeId) {
+        List<Integer> nodeChildren = children.get(nodeId);
+        return nodeChildren != null ? Collections.unmodifiableList(nodeChildren) : Collections.emptyList();
+    }
+
+    public boolean contains(int nodeId) {
+        return children.containsKey(nodeId);
+    }
+
+    /**
+     * Nodes other than the root that have children.
+     */
+    public List<Integer> getHeads() {
+        List<Integer> heads = new ArrayList<>();
+        for (Map.Entry<Integer, List<Integer>> entry : children.entrySet()) {
+            if (entry.getKey() != rootId && !entry.getValue().isEmpty()) {
+                heads.add(entry.getKey());
+            }
+        }
+        Collections.sort(heads);
+        return heads;
+    }
+
+    /**
+     * Hops from a node to the root, -1 if it is not in the tree.
+     */
+    public int getDepth(int nodeId) {
+        int depth = 0;
+        int node = nodeId;
+        while (node != rootId) {
+            if (!parents.containsKey(node)) return -1;
+            node = parents.get(node);
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Longest path to the root (1 for the flat tree).
+     */
+    public int getHeight() {
+        int height = 0;
+        for (int node : parents.keySet()) {
+            height = Math.max(height, getDepth(node));
+        }
+        return height;
+    }
+
+    public int getNodeCount() {
+        return children.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AggregationTree[root=%d | nodes=%d | heads=%d | rootChildren=%d | height=%d]",
+            rootId, getNodeCount(), getHeads().size(), getChildren(rootId).size(), getHeight());
+    }
+}
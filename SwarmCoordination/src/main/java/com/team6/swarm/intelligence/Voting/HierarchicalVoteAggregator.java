@@ -0,0 +1,402 @@
+/**
+ * HIERARCHICALVOTEAGGREGATOR CLASS - Aggregation-Tree Voting Mode
+ *
+ * PURPOSE:
+ * - Collects a vote through an AggregationTree: members send their vote
+ *   to their cluster head, heads merge what they receive into one
+ *   PartialTally and forward it upward, the initiator merges the few
+ *   partials that reach it
+ * - Keeps the initiator's inbox from becoming the bottleneck when
+ *   thousands of agents vote
+ *
+ * TIME MODEL (tick-based, for comparing against the flat protocol):
+ * - A message sent in one tick is in the receiver's inbox the next tick
+ * - Every node handles at most inboxCapacity messages per tick; the rest
+ *   wait, which is exactly what slows a flat vote down at the initiator
+ * - A head forwards its pending partial once all of its children have
+ *   reported, or flushTicks after the first unforwarded vote arrived
+ *   (stragglers are forwarded later as another partial)
+ *
+ * HEAD LOSS (failNode):
+ * - The failed head's inbox and unforwarded partial are lost
+ * - The tree hands its children to its parent, and each child re-sends
+ *   every message it had sent upward; what the dead head had already
+ *   forwarded is recognised by voter BitSet and dropped as duplicate
+ *
+ * WEIGHTS AND ABSTENTIONS:
+ * - calculatedWeight (if weighted voting is on) and abstentions travel in
+ *   the partial tallies, so the root's counts equal a flat count
+ *
+ * USAGE:
+ * HierarchicalVoteAggregator vote = new HierarchicalVoteAggregator(
+ *     tree, proposal, parameters, 50, 3);
+ * vote.submitVote(response);                 // for every voter
+ * vote.runUntilComplete(1000);
+ * votingSystem.processPartialTally(vote.getRootPartial());
+ */
+package com.team6.swarm.intelligence.voting;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class HierarchicalVoteAggregator {
+    public static final int DEFAULT_INBOX_CAPACITY = 50;
+    public static final int DEFAULT_FLUSH_TICKS = 3;
+
+    private final AggregationTree tree;
+    private final VoteProposal proposal;
+    private final VotingParameters parameters;
+    private final int inboxCapacity;
+    private final int flushTicks;
+
+    private final Map<Integer, Node> nodes;
+    private List<Envelope> inFlight;
+    private final PartialTally rootPartial;
+    private final VoteTally rootTally;
+    private final BitSet submittedVoters;
+    private final BitSet failedNodes;
+
+    private int tick;
+    private int decidedAtTick;
+    private int completedAtTick;
+
+    // Statistics
+    private long messagesSent;
+    private long messagesLost;
+    private long duplicatesDropped;
+
+    public HierarchicalVoteAggregator(AggregationTree tree, VoteProposal proposal, VotingParameters parameters) {
+        this(tree, proposal, parameters, DEFAULT_INBOX_CAPACITY, DEFAULT_FLUSH_TICKS);
+    }
+
+    /**
+     * @param inboxCapacity Messages a node can handle per tick
+     * @param flushTicks Ticks a head waits for missing children before forwarding
+     */
+    public HierarchicalVoteAggregator(AggregationTree tree, VoteProposal proposal, VotingParameters parameters,
+                                      int inboxCapacity, int flushTicks) {
+        if (tree == null || proposal == null || parameters == null) {
+            throw new IllegalArgumentException("tree, proposal and parameters must not be null");
+        }
+        if (inboxCapacity < 1 || flushTicks < 1) {
+            throw new IllegalArgumentException("inboxCapacity and flushTicks must be positive");
+        }
+        this.tree = tree;
+        this.proposal = proposal;
+        this.parameters = parameters;
+        this.inboxCapacity = inboxCapacity;
+        this.flushTicks = flushTicks;
+        this.nodes = new HashMap<>();
+        this.inFlight = new ArrayList<>();
+        this.rootPartial = new PartialTally(proposal.proposalId, proposal.options);
+        this.rootTally = new VoteTally(proposal.options);
+        this.submittedVoters = new BitSet();
+        this.failedNodes = new BitSet();
+        this.decidedAtTick = -1;
+        this.completedAtTick = -1;
+    }
+
+    /**
+     * A voter casts its vote: leaves send it to their head, heads add it
+     * to their own pending partial. Returns false if the vote is invalid.
+     * The deadline is checked against the vote's wall-clock timestamp.
+     */
+    public boolean submitVote(VoteResponse response) {
+        return submitVote(response, response.timestamp);
+    }
+
+    /**
+     * Casts a vote arriving at currentTime, on the proposal's clock (pass
+     * simulation time when the deadline was set from it).
+     */
+    public boolean submitVote(VoteResponse response, long currentTime) {
+        int voter = response.voterId;
+        if (voter < 0 || failedNodes.get(voter) || !tree.contains(voter)
+            || !response.validate(proposal, currentTime)) {
+            return false;
+        }
+        if (parameters.useWeightedVoting) {
+            response.calculateWeight(proposal, null);
+        }
+        PartialTally vote = new PartialTally(proposal.proposalId, proposal.options);
+        if (!vote.add(response) || submittedVoters.get(voter)) {
+            return false;
+        }
+        submittedVoters.set(voter);
+
+        if (voter == tree.getRootId()) {
+            mergeAtRoot(vote);
+        } else if (tree.getChildren(voter).isEmpty()) {
+            send(voter, vote);
+        } else {
+            node(voter).accept(vote, -1, tick);
+        }
+        return true;
+    }
+
+    /**
+     * Advances one tick: delivers last tick's messages, lets every node
+     * handle up to inboxCapacity of them, and lets heads forward.
+     */
+    public void tick() {
+        tick++;
+        List<Envelope> arriving = inFlight;
+        inFlight = new ArrayList<>();
+        for (Envelope envelope : arriving) {
+            if (failedNodes.get(envelope.to)) {
+                messagesLost++;
+            } else {
+                node(envelope.to).inbox.add(envelope);
+            }
+        }
+
+        for (Map.Entry<Integer, Node> entry : nodes.entrySet()) {
+            int nodeId = entry.getKey();
+            Node node = entry.getValue();
+            for (int handled = 0; handled < inboxCapacity && !node.inbox.isEmpty(); handled++) {
+                Envelope envelope = node.inbox.poll();
+                node.received++;
+                if (nodeId == tree.getRootId()) {
+                    mergeAtRoot(envelope.tally);
+                } else if (!node.accept(envelope.tally, envelope.from, tick)) {
+                    duplicatesDropped++;
+                }
+            }
+        }
+
+        for (Map.Entry<Integer, Node> entry : nodes.entrySet()) {
+            int nodeId = entry.getKey();
+            Node node = entry.getValue();
+            if (nodeId != tree.getRootId() && node.isReadyToForward(tree.getChildren(nodeId), tick)) {
+                PartialTally forwarded = node.pending;
+                node.pending = new PartialTally(proposal.proposalId, proposal.options);
+                node.reported.clear();
+                send(nodeId, forwarded);
+            }
+        }
+
+        if (decidedAtTick < 0 && rootTally.isDecided(parameters, proposal, expectedVoters())) {
+            decidedAtTick = tick;
+        }
+        if (completedAtTick < 0 && isComplete()) {
+            completedAtTick = tick;
+        }
+    }
+
+    /**
+     * Ticks until every vote of a live voter reached the root, or maxTicks.
+     *
+     * @return Ticks taken, or -1 if not complete within maxTicks
+     */
+    public int runUntilComplete(int maxTicks) {
+        for (int i = 0; i < maxTicks && completedAtTick < 0; i++) {
+            tick();
+        }
+        return completedAtTick;
+    }
+
+    /**
+     * A cluster head fails: its queued and unforwarded votes are lost and its
+     * children re-send everything they had sent upward to their new parent.
+     */
+    public void failNode(int nodeId) {
+        if (nodeId == tree.getRootId() || failedNodes.get(nodeId)) {
+            return;
+        }
+        failedNodes.set(nodeId);
+        Node failed = nodes.remove(nodeId);
+        if (failed != null) {
+            messagesLost += failed.inbox.size();
+        }
+        for (int orphan : tree.removeNode(nodeId)) {
+            Node child = nodes.get(orphan);
+            if (child == null) continue;
+            for (PartialTally message : child.sent) {
+                send(orphan, message, false);
+            }
+        }
+    }
+
+    private void mergeAtRoot(PartialTally tally) {
+        if (rootPartial.merge(tally)) {
+            rootTally.merge(tally);
+        } else {
+            duplicatesDropped++;
+        }
+    }
+
+    private void send(int from, PartialTally tally) {
+        send(from, tally, true);
+    }
+
+    private void send(int from, PartialTally tally, boolean remember) {
+        int to = tree.getParent(from);
+        if (to < 0 && from != tree.getRootId()) {
+            return;
+        }
+        Node sender = node(from);
+        if (remember) {
+            sender.sent.add(tally);
+        }
+        inFlight.add(new Envelope(from, to, tally));
+        messagesSent++;
+    }
+
+    private Node node(int nodeId) {
+        return nodes.computeIfAbsent(nodeId, id -> new Node());
+    }
+
+    private int expectedVoters() {
+        return tree.getNodeCount();
+    }
+
+    /**
+     * True once every submitted vote from a voter that is still alive is
+     * counted at the root.
+     */
+    public boolean isComplete() {
+        BitSet missing = (BitSet) submittedVoters.clone();
+        missing.andNot(failedNodes);
+        missing.andNot(rootPartial.voters);
+        return missing.isEmpty();
+    }
+
+    // ==================== RESULTS AND STATISTICS ====================
+
+    /**
+     * Everything counted at the root, ready for VotingSystem.processPartialTally.
+     */
+    public PartialTally getRootPartial() {
+        return rootPartial.copy();
+    }
+
+    public VoteTally getRootTally() {
+        return rootTally;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Tick at which the root's counts fixed the outcome (VoteTally.isDecided), -1 if not yet.
+     */
+    public int getDecidedAtTick() {
+        return decidedAtTick;
+    }
+
+    /**
+     * Tick at which every live voter was counted at the root, -1 if not yet.
+     */
+    public int getCompletedAtTick() {
+        return completedAtTick;
+    }
+
+    /**
+     * Messages that reached the initiator's inbox.
+     */
+    public long getRootMessages() {
+        Node root = nodes.get(tree.getRootId());
+        return root != null ? root.received : 0;
+    }
+
+    /**
+     * Most messages handled by any single non-root node.
+     */
+    public long getMaxHeadMessages() {
+        long max = 0;
+        for (Map.Entry<Integer, Node> entry : nodes.entrySet()) {
+            if (entry.getKey() != tree.getRootId()) {
+                max = Math.max(max, entry.getValue().received);
+            }
+        }
+        return max;
+    }
+
+    public long getMessagesSent() {
+        return messagesSent;
+    }
+
+    public long getMessagesLost() {
+        return messagesLost;
+    }
+
+    public long getDuplicatesDropped() {
+        return duplicatesDropped;
+    }
+
+    /**
+     * One agent's view: its inbox, the partial it has not forwarded yet and
+     * the messages it sent upward (kept for re-sending if its head fails).
+     */
+    private class Node {
+        final ArrayDeque<Envelope> inbox = new ArrayDeque<>();
+        final List<PartialTally> sent = new ArrayList<>();
+        final BitSet reported = new BitSet();
+        final BitSet covered = new BitSet();
+        PartialTally pending = new PartialTally(proposal.proposalId, proposal.options);
+        int pendingSince = -1;
+        long received;
+
+        /**
+         * Merges a vote or partial; false if it was already counted here.
+         * Messages are never split, so one that overlaps what this node
+         * has seen is a re-send of something already counted.
+         */
+        boolean accept(PartialTally tally, int from, int now) {
+            if (covered.intersects(tally.voters) || !pending.merge(tally)) {
+                return false;
+            }
+            covered.or(tally.voters);
+            if (from >= 0) {
+                reported.set(from);
+            }
+            if (pendingSince < 0) {
+                pendingSince = now;
+            }
+            return true;
+        }
+
+        boolean isReadyToForward(List<Integer> children, int now) {
+            if (pending.isEmpty()) {
+                return false;
+            }
+            boolean allReported = true;
+            for (int child : children) {
+                if (!reported.get(child)) {
+                    allReported = false;
+                    break;
+                }
+            }
+            if (allReported || now - pendingSince >= flushTicks) {
+                pendingSince = -1;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static class Envelope {
+        final int from;
+        final int to;
+        final PartialTally tally;
+
+        Envelope(int from, int to, PartialTally tally) {
+            this.from = from;
+            this.to = to;
+            this.tally = tally;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "HierarchicalVoteAggregator[%s | tick=%d | decided=%d | complete=%d | rootInbox=%d | sent=%d | lost=%d | dup=%d]",
+            proposal.proposalId, tick, decidedAtTick, completedAtTick, getRootMessages(),
+            messagesSent, messagesLost, duplicatesDropped);
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * PARTIALTALLY CLASS - Mergeable Vote Counts for Part of the Swarm
+ *
+ * PURPOSE:
+ * - What a cluster head forwards in aggregation-tree voting: the summed
+ *   votes of its members instead of one message per member
+ * - Merging two partial tallies is O(options + voters/64), so counts can
+ *   be combined level by level on the way up to the initiator
+ *
+ * CONTENTS:
+ * - Per-option counts and weights (calculatedWeight), with abstentions
+ *   also counted separately, exactly as VoteTally keeps them
+ * - voters / abstainers: BitSets of the agent IDs covered, so the same
+ *   vote is never counted twice when a member re-sends after losing its
+ *   cluster head
+ *
+ * MERGE RULES:
+ * - Same proposal and same options only
+ * - Refused if any voter is already covered; a re-sent message is either
+ *   fully counted already or not at all, so the receiver simply drops it
+ *
+ * USAGE:
+ * PartialTally cluster = new PartialTally(proposal.proposalId, proposal.options);
+ * cluster.add(memberVote);
+ * parentTally.merge(cluster);
+ * votingSystem.processPartialTally(rootTally);
+ */
+package com.team6.swarm.intelligence.voting;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+public class PartialTally {
+    public final String proposalId;
+    private final List<String> options;
+
+    final int[] counts;
+    final int[] abstentionCounts;
+    final double[] weights;
+    final double[] abstentionWeights;
+    final BitSet voters;
+    final BitSet abstainers;
+    private int voterCount;
+
+    public PartialTally(String proposalId, List<String> options) {
+        if (proposalId == null || options == null) {
+            throw new IllegalArgumentException("proposalId and options must not be null");
+        }
+        this.proposalId = proposalId;
+        this.options = Collections.unmodifiableList(new ArrayList<>(options));
+        this.counts = new int[options.size()];
+        this.abstentionCounts = new int[options.size()];
+        this.weights = new double[options.size()];
+        this.abstentionWeights = new double[options.size()];
+        this.voters = new BitSet();
+        this.abstainers = new BitSet();
+    }
+
+    /**
+     * Adds one agent's vote. Returns false if the choice is not an option
+     * or the voter is already counted.
+     */
+    public boolean add(VoteResponse response) {
+        int option = options.indexOf(response.choice);
+        if (option < 0 || response.voterId < 0 || voters.get(response.voterId)) {
+            return false;
+        }
+        counts[option]++;
+        weights[option] += response.calculatedWeight;
+        if (response.isAbstention()) {
+            abstentionCounts[option]++;
+            abstentionWeights[option] += response.calculatedWeight;
+            abstainers.set(response.voterId);
+        }
+        voters.set(response.voterId);
+        voterCount++;
+        return true;
+    }
+
+    /**
+     * Adds another partial tally's votes. Returns false (and changes
+     * nothing) if it is for another proposal or overlaps this one.
+     */
+    public boolean merge(PartialTally other) {
+        if (!isCompatible(other) || voters.intersects(other.voters)) {
+            return false;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+            abstentionCounts[i] += other.abstentionCounts[i];
+            weights[i] += other.weights[i];
+            abstentionWeights[i] += other.abstentionWeights[i];
+        }
+        voters.or(other.voters);
+        abstainers.or(other.abstainers);
+        voterCount += other.voterCount;
+        return true;
+    }
+
+    boolean isCompatible(PartialTally other) {
+        return proposalId.equals(other.proposalId) && options.equals(other.options);
+    }
+
+    public boolean covers(int voterId) {
+        return voterId >= 0 && voters.get(voterId);
+    }
+
+    public int getVoterCount() {
+        return voterCount;
+    }
+
+    public boolean isEmpty() {
+        return voterCount == 0;
+    }
+
+    public List<String> getOptions() {
+        return options;
+    }
+
+    /**
+     * Votes for an option; abstentions only if they are allowed.
+     */
+    public int getCount(int option, boolean allowAbstention) {
+        return allowAbstention ? counts[option] : counts[option] - abstentionCounts[option];
+    }
+
+    /**
+     * Weighted votes for an option; abstentions only if they are allowed.
+     */
+    public double getWeight(int option, boolean allowAbstention) {
+        return allowAbstention ? weights[option] : weights[option] - abstentionWeights[option];
+    }
+
+    /**
+     * Independent copy (what a head puts in a message).
+     */
+    public PartialTally copy() {
+        PartialTally copy = new PartialTally(proposalId, options);
+        copy.merge(this);
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder breakdown = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (i > 0) breakdown.append(", ");
+            breakdown.append(options.get(i)).append('=').append(counts[i]);
+        }
+        return String.format("PartialTally[%s: %d voters | %s]", proposalId, voterCount, breakdown);
+    }
+}
@@ -147,15 +147,28 @@ public class VoteProposal {
      * Check if proposal has expired
      */
     public boolean hasExpired() {
-        return System.currentTimeMillis() > deadline;
+        return hasExpired(System.currentTimeMillis());
+    }
+    
+    /**
+     * Check expiry on the clock the deadline was set on (e.g. simulation time)
+     */
+    public boolean hasExpired(long currentTime) {
+        return currentTime > deadline;
     }
     
     /**
      * Get time remaining until deadline
      */
     public long getTimeRemaining() {
-        long remaining = deadline - System.currentTimeMillis();
-        return Math.max(0, remaining);
+        return getTimeRemaining(System.currentTimeMillis());
+    }
+    
+    /**
+     * Time remaining on the clock the deadline was set on
+     */
+    public long getTimeRemaining(long currentTime) {
+        return Math.max(0, deadline - currentTime);
     }
     
     /**
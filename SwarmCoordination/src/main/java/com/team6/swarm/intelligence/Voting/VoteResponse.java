@@ -154,9 +154,18 @@ public class VoteResponse {
     
     /**
      * Validate vote response
-     * Checks if response is properly formed
+     * Checks if response is properly formed and was cast before the
+     * deadline (wall clock)
      */
     public boolean validate(VoteProposal proposal) {
+        return validate(proposal, this.timestamp);
+    }
+    
+    /**
+     * Validate vote response arriving at currentTime, on the clock the
+     * proposal's deadline was set on (e.g. simulation time)
+     */
+    public boolean validate(VoteProposal proposal, long currentTime) {
         // Check proposal ID matches
         if (!this.proposalId.equals(proposal.proposalId)) {
             return false;
@@ -173,7 +182,7 @@ public class VoteResponse {
         }
         
         // Check not arrived after deadline
-        if (this.timestamp > proposal.deadline) {
+        if (proposal.hasExpired(currentTime)) {
             return false;
         }
         
@@ -0,0 +1,287 @@
+/**
+ * VOTETALLY CLASS - Running Vote Counts for One Proposal
+ *
+ * PURPOSE:
+ * - Keeps per-option counts up to date as votes arrive, so checking
+ *   consensus does not recount every response
+ * - Tells VotingSystem when the outcome can no longer change, so large
+ *   swarms do not have to wait for the last vote or the deadline
+ *
+ * STORAGE:
+ * - Primitive arrays indexed by the option's position in the proposal
+ * - Abstentions are counted separately as well, so allowAbstention can be
+ *   applied when consensus is checked (parameters may change mid-vote)
+ * - One small record per voter remembers what it contributed, so a
+ *   changed vote (allowRevoting) is moved from one option to another in
+ *   O(1) even if the VoteResponse object is modified afterwards
+ *
+ * AGGREGATED VOTES:
+ * - merge() adds a PartialTally from an aggregation tree; its voters are
+ *   remembered in a BitSet so a direct vote from the same agent (or an
+ *   overlapping partial) is refused instead of counted twice
+ *
+ * COST:
+ * - record(): O(1)
+ * - merge(): O(options + voters/64)
+ * - getCount()/getLeadingOption()/isDecided(): O(options), independent of
+ *   the number of voters
+ *
+ * EARLY TERMINATION (isDecided):
+ * - Given how many voters are still expected, the outcome is decided when
+ *   neither all remaining votes going to the leader nor all of them going
+ *   elsewhere can change consensus or the winning option
+ * - Never decided while revoting is allowed: any counted vote may change
+ *
+ * USAGE:
+ * VoteTally tally = new VoteTally(proposal.options);
+ * tally.record(response);
+ * boolean done = tally.isDecided(parameters, proposal, expectedVoters);
+ */
+package com.team6.swarm.intelligence.voting;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class VoteTally {
+    private final List<String> options;
+    private final Map<String, Integer> optionIndex;
+
+    // All responses per option, and the abstentions among them
+    private final int[] counts;
+    private final int[] abstentionCounts;
+    private final double[] weights;
+    private final double[] abstentionWeights;
+
+    // What each voter currently contributes, in first-vote order
+    private final Map<Integer, Cast> casts;
+
+    // Voters counted through merged partial tallies
+    private final BitSet aggregatedVoters;
+    private final BitSet aggregatedAbstainers;
+    private int aggregatedCount;
+
+    public VoteTally(List<String> options) {
+        if (options == null) {
+            throw new IllegalArgumentException("options must not be null");
+        }
+        this.options = new ArrayList<>(options);
+        this.optionIndex = new HashMap<>();
+        for (int i = 0; i < this.options.size(); i++) {
+            optionIndex.putIfAbsent(this.options.get(i), i);
+        }
+        this.counts = new int[this.options.size()];
+        this.abstentionCounts = new int[this.options.size()];
+        this.weights = new double[this.options.size()];
+        this.abstentionWeights = new double[this.options.size()];
+        this.casts = new LinkedHashMap<>();
+        this.aggregatedVoters = new BitSet();
+        this.aggregatedAbstainers = new BitSet();
+    }
+
+    /**
+     * Adds a vote, replacing the voter's previous vote if there was one.
+     * Returns false if the choice is not one of the options or the voter
+     * was already counted through a partial tally.
+     */
+    public synchronized boolean record(VoteResponse response) {
+        Integer option = optionIndex.get(response.choice);
+        if (option == null || (response.voterId >= 0 && aggregatedVoters.get(response.voterId))) {
+            return false;
+        }
+        Cast previous = casts.get(response.voterId);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        Cast cast = new Cast(option, response.isAbstention(), response.calculatedWeight);
+        apply(cast, +1);
+        casts.put(response.voterId, cast);
+        return true;
+    }
+
+    private void apply(Cast cast, int sign) {
+        counts[cast.option] += sign;
+        weights[cast.option] += sign * cast.weight;
+        if (cast.abstained) {
+            abstentionCounts[cast.option] += sign;
+            abstentionWeights[cast.option] += sign * cast.weight;
+        }
+    }
+
+    /**
+     * Adds the votes of a partial tally. Returns false (and changes nothing)
+     * if its options differ or any of its voters is already counted.
+     */
+    public synchronized boolean merge(PartialTally partial) {
+        if (!partial.getOptions().equals(options) || aggregatedVoters.intersects(partial.voters)) {
+            return false;
+        }
+        for (int voter = partial.voters.nextSetBit(0); voter >= 0; voter = partial.voters.nextSetBit(voter + 1)) {
+            if (casts.containsKey(voter)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += partial.counts[i];
+            abstentionCounts[i] += partial.abstentionCounts[i];
+            weights[i] += partial.weights[i];
+            abstentionWeights[i] += partial.abstentionWeights[i];
+        }
+        aggregatedVoters.or(partial.voters);
+        aggregatedAbstainers.or(partial.abstainers);
+        aggregatedCount += partial.getVoterCount();
+        return true;
+    }
+
+    /**
+     * Number of voters who have responded (abstentions included).
+     */
+    public synchronized int getTotalVotes() {
+        return casts.size() + aggregatedCount;
+    }
+
+    /**
+     * Votes counted for an option; abstentions only if they are allowed.
+     */
+    public synchronized int getCount(int option, boolean allowAbstention) {
+        return allowAbstention ? counts[option] : counts[option] - abstentionCounts[option];
+    }
+
+    /**
+     * Weighted votes counted for an option; abstentions only if they are allowed.
+     */
+    public synchronized double getWeight(int option, boolean allowAbstention) {
+        return allowAbstention ? weights[option] : weights[option] - abstentionWeights[option];
+    }
+
+    /**
+     * Index of the option with the most counted votes (the earliest one on
+     * a tie), or -1 if no votes are counted.
+     */
+    public synchronized int getLeadingOption(boolean allowAbstention) {
+        int leader = -1;
+        int most = 0;
+        for (int i = 0; i < counts.length; i++) {
+            int count = getCount(i, allowAbstention);
+            if (count > most) {
+                most = count;
+                leader = i;
+            }
+        }
+        return leader;
+    }
+
+    public String getOption(int option) {
+        return options.get(option);
+    }
+
+    public int getOptionCount() {
+        return options.size();
+    }
+
+    /**
+     * Option -> counted votes, every option present.
+     */
+    public synchronized Map<String, Integer> getCounts(boolean allowAbstention) {
+        Map<String, Integer> breakdown = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            breakdown.put(options.get(i), getCount(i, allowAbstention));
+        }
+        return breakdown;
+    }
+
+    /**
+     * Option -> weighted votes, every option present.
+     */
+    public synchronized Map<String, Double> getWeights(boolean allowAbstention) {
+        Map<String, Double> breakdown = new HashMap<>();
+        for (int i = 0; i < weights.length; i++) {
+            breakdown.put(options.get(i), getWeight(i, allowAbstention));
+        }
+        return breakdown;
+    }
+
+    /**
+     * Voters whose votes are counted: direct votes in the order they first
+     * voted, then aggregated voters by ID.
+     */
+    public synchronized List<Integer> getCountedVoters(boolean allowAbstention) {
+        List<Integer> voters = new ArrayList<>(getTotalVotes());
+        for (Map.Entry<Integer, Cast> entry : casts.entrySet()) {
+            if (allowAbstention || !entry.getValue().abstained) {
+                voters.add(entry.getKey());
+            }
+        }
+        for (int voter = aggregatedVoters.nextSetBit(0); voter >= 0; voter = aggregatedVoters.nextSetBit(voter + 1)) {
+            if (allowAbstention || !aggregatedAbstainers.get(voter)) {
+                voters.add(voter);
+            }
+        }
+        return voters;
+    }
+
+    /**
+     * Whether the consensus outcome (reached or not, and the winner) is
+     * fixed no matter how the remaining expected voters vote.
+     *
+     * @param expectedVoters Voters the proposal was sent to
+     */
+    public synchronized boolean isDecided(VotingParameters parameters, VoteProposal proposal,
+                                          int expectedVoters) {
+        if (parameters.allowRevoting) {
+            return false;
+        }
+        int total = getTotalVotes();
+        int remaining = Math.max(0, expectedVoters - total);
+        if (total + remaining < proposal.minimumVotes) {
+            return true;  // Quorum can no longer be reached
+        }
+
+        int leader = getLeadingOption(parameters.allowAbstention);
+        int leaderVotes = leader < 0 ? 0 : getCount(leader, parameters.allowAbstention);
+
+        if (proposal.requiresUnanimous) {
+            // One vote off the leader (or an uncounted abstention) rules out unanimity
+            return leaderVotes < total || remaining == 0;
+        }
+
+        int bestOther = 0;
+        double bestPossibleLevel = 0.0;
+        for (int i = 0; i < counts.length; i++) {
+            int count = getCount(i, parameters.allowAbstention);
+            if (i != leader) {
+                bestOther = Math.max(bestOther, count);
+            }
+            bestPossibleLevel = Math.max(bestPossibleLevel, (double) (count + remaining) / (total + remaining));
+        }
+        if (bestPossibleLevel < parameters.consensusThreshold) {
+            return true;  // No option can reach the threshold
+        }
+        boolean quorumReached = total >= proposal.minimumVotes;
+        boolean worstCaseStillPasses = (double) leaderVotes / (total + remaining) >= parameters.consensusThreshold;
+        return leader >= 0 && quorumReached && worstCaseStillPasses && bestOther + remaining < leaderVotes;
+    }
+
+    /**
+     * One voter's contribution.
+     */
+    private static class Cast {
+        final int option;
+        final boolean abstained;
+        final double weight;
+
+        Cast(int option, boolean abstained, double weight) {
+            this.option = option;
+            this.abstained = abstained;
+            this.weight = weight;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("VoteTally[voters=%d, counts=%s]", getTotalVotes(), getCounts(true));
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * VOTINGBENCHMARK CLASS - Voting Scalability Measurements
+ *
+ * PURPOSE:
+ * - Measures how voting behaves as the swarm grows
+ * - Gives repeatable numbers to compare before/after optimizations
+ * - Runs standalone; not part of the pass/fail test suites
+ *
+ * BENCHMARKS:
+ * 1. Aggregation tree vs flat protocol: initiator inbox load, busiest
+ *    head, total messages and ticks to a decided / complete result for
+ *    1k-20k voters, with and without failed cluster heads
+ *
+ * USAGE:
+ * java com.team6.swarm.intelligence.voting.VotingBenchmark
+ */
+package com.team6.swarm.intelligence.voting;
+
+import com.team6.swarm.core.AgentState;
+import com.team6.swarm.core.Point2D;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class VotingBenchmark {
+    private static final int INBOX_CAPACITY = 50;   // messages a node handles per tick
+    private static final int FLUSH_TICKS = 3;
+
+    public static void main(String[] args) {
+        System.out.println("=== Voting Benchmarks ===");
+
+        benchmarkAggregation();
+
+        System.out.println("\n=== Benchmarks Complete ===");
+    }
+
+    // ===== BENCHMARK 1: AGGREGATION TREE VS FLAT =====
+    private static void benchmarkAggregation() {
+        System.out.println("\n--- Aggregation tree vs flat (inbox " + INBOX_CAPACITY + " msgs/tick) ---");
+        System.out.println(String.format("%-7s %-14s %10s %9s %9s %8s %9s %6s",
+            "voters", "mode", "rootInbox", "maxHead", "messages", "decided", "complete", "ms"));
+
+        for (int voters : new int[] {1_000, 5_000, 20_000}) {
+            List<AgentState> agents = createSwarm(voters, 11L);
+            runAggregation("flat", AggregationTree.flat(0, agents), agents, 0.0);
+            runAggregation("tree", AggregationTree.build(0, agents, 60.0, 16), agents, 0.0);
+            runAggregation("tree -5% hd", AggregationTree.build(0, agents, 60.0, 16), agents, 0.05);
+        }
+    }
+
+    private static void runAggregation(String mode, AggregationTree tree, List<AgentState> agents,
+                                       double headFailureRate) {
+        VoteProposal proposal = new VoteProposal("bench", "Split the swarm?",
+            Arrays.asList("YES", "NO", "HOLD"));
+        proposal.deadline = System.currentTimeMillis() + 600_000;
+        VotingParameters parameters = new VotingParameters();
+        parameters.useWeightedVoting = true;
+
+        long start = System.nanoTime();
+        HierarchicalVoteAggregator aggregator =
+            new HierarchicalVoteAggregator(tree, proposal, parameters, INBOX_CAPACITY, FLUSH_TICKS);
+        Random random = new Random(5);
+        for (AgentState agent : agents) {
+            double roll = random.nextDouble();
+            String choice = roll < 0.62 ? "YES" : roll < 0.9 ? "NO" : "HOLD";
+            double confidence = random.nextDouble() < 0.03 ? 0.0 : 0.5 + random.nextDouble() * 0.5;
+            aggregator.submitVote(new VoteResponse("bench", agent.agentId, choice, confidence, "",
+                agent.position, agent.batteryLevel, null));
+        }
+
+        if (headFailureRate > 0.0) {
+            // Heads fail after collecting, before forwarding
+            aggregator.tick();
+            aggregator.tick();
+            List<Integer> heads = tree.getHeads();
+            int failures = (int) Math.ceil(heads.size() * headFailureRate);
+            for (int i = 0; i < failures; i++) {
+                aggregator.failNode(heads.get(random.nextInt(heads.size())));
+            }
+        }
+        aggregator.runUntilComplete(10_000);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(String.format("%-7d %-14s %10d %9d %9d %8d %9d %6d",
+            agents.size(), mode, aggregator.getRootMessages(), aggregator.getMaxHeadMessages(),
+            aggregator.getMessagesSent(), aggregator.getDecidedAtTick(), aggregator.getCompletedAtTick(),
+            elapsedMs));
+    }
+
+    private static List<AgentState> createSwarm(int size, long seed) {
+        Random random = new Random(seed);
+        double side = Math.sqrt(size) * 25.0;  // ~25 units between neighbours
+        List<AgentState> agents = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            AgentState agent = new AgentState();
+            agent.agentId = id;
+            agent.position = new Point2D(random.nextDouble() * side, random.nextDouble() * side);
+            agent.batteryLevel = 0.3 + random.nextDouble() * 0.7;
+            agents.add(agent);
+        }
+        return agents;
+    }
+}
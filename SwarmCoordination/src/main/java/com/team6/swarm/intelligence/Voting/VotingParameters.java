@@ -22,6 +22,9 @@
  * - allowAbstention: Can agents skip voting? (default: true)
  * - useWeightedVoting: Enable confidence/role weighting (default: false)
  * - allowRevoting: Can agents change their vote? (default: false)
+ * - closeWhenDecided: Finish a vote as soon as the remaining expected
+ *   voters can no longer change it, instead of at the deadline
+ *   (default: false; needs VotingSystem.setSwarmSize)
  *
  * FALLBACK STRATEGIES:
  * - timeoutFallback: What to do if vote times out
@@ -98,6 +101,7 @@ public class VotingParameters {
     public boolean allowAbstention;      // Can agents abstain?
     public boolean useWeightedVoting;    // Enable vote weighting?
     public boolean allowRevoting;        // Can change vote?
+    public boolean closeWhenDecided;     // Finish before the deadline once decided?
     
     // Fallback strategies
     public TimeoutFallback timeoutFallback;
@@ -120,6 +124,7 @@ public class VotingParameters {
         this.allowAbstention = true;
         this.useWeightedVoting = false;
         this.allowRevoting = false;
+        this.closeWhenDecided = false;
         
         this.timeoutFallback = TimeoutFallback.LEADER_DECIDES;
         this.tiebreakerMode = TiebreakerMode.LEADER_DECIDES;
@@ -142,6 +147,7 @@ public class VotingParameters {
         this.allowAbstention = allowAbstention;
         this.useWeightedVoting = useWeightedVoting;
         this.allowRevoting = false;
+        this.closeWhenDecided = false;
         this.timeoutFallback = TimeoutFallback.LEADER_DECIDES;
         this.tiebreakerMode = TiebreakerMode.LEADER_DECIDES;
         this.leaderOverride = true;
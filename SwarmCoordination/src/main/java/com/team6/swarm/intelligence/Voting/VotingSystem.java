@@ -21,7 +21,7 @@
  *    - Store responses and validate them
  *
  * 3. CHECK CONSENSUS
- *    - Count votes for each option
+ *    - Read running per-option counts (VoteTally, updated on every vote)
  *    - Calculate percentages
  *    - Check if threshold met (e.g., 60% agreement)
  *    - Handle special cases (tie, timeout, unanimous)
@@ -61,8 +61,27 @@
  * - Battery level affects weight
  * - Confidence scores considered
  *
+ * EARLY TERMINATION:
+ * - isOutcomeDecided() reports when the remaining expected voters can no
+ *   longer change the result, so large swarms need not wait for the
+ *   deadline (expected voters: setSwarmSize)
+ * - With VotingParameters.closeWhenDecided the proposal is finished by
+ *   the vote or partial tally that decides it, the same way a deadline
+ *   would finish it
+ *
  * TIMEOUT HANDLING:
  *
+ * Every proposal's deadline is a timer in a DeadlineScheduler (shareable
+ * with other components). expireProposals() only runs the timers that are
+ * due, so calling it every frame costs O(1) however many votes are open.
+ *
+ * Deadlines live on the caller's clock: pass simulation time to
+ * initiateVote(..., currentTime), processVote(response, currentTime) and
+ * expireProposals(currentTime), or use the overloads without a time for
+ * the wall clock (never mix the two). Once a time has been passed in,
+ * late votes, late partial tallies, wasTimeout and getTimeRemaining are
+ * judged against the latest one; until then against the wall clock.
+ *
  * If not all votes received by deadline:
  * - Calculate consensus with available votes
  * - If threshold met: proceed with decision
@@ -102,6 +121,8 @@
  */
 package com.team6.swarm.intelligence.voting;
 
+import com.team6.swarm.core.DeadlineScheduler;
+
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -112,11 +133,23 @@ public class VotingSystem {
     // Active voting data
     private final Map<String, VoteProposal> activeProposals;
     private final Map<String, Map<Integer, VoteResponse>> voteResponses;
+    private final Map<String, VoteTally> voteTallies;
     private final Map<String, Long> proposalTimestamps;
     
+    // Deadline timers (fire TimeoutFallback handling when a vote runs out)
+    private final DeadlineScheduler deadlineScheduler;
+    private final Map<String, DeadlineScheduler.Timer> expiryTimers;
+    
     // Communication integration (placeholder until John implements)
     private final Object communicationManager;
     
+    // Latest time passed in by initiateVote / expireProposals (simulation clock)
+    private boolean simulationClock;
+    private long clockTime;
+    
+    // Voters each proposal is sent to (used for early termination)
+    private int swarmSize;
+    
     // Proposal ID generation
     private int nextProposalId;
     
@@ -133,8 +166,12 @@ public class VotingSystem {
         this.parameters = new VotingParameters();
         this.activeProposals = new ConcurrentHashMap<>();
         this.voteResponses = new ConcurrentHashMap<>();
+        this.voteTallies = new ConcurrentHashMap<>();
         this.proposalTimestamps = new ConcurrentHashMap<>();
+        this.deadlineScheduler = new DeadlineScheduler();
+        this.expiryTimers = new ConcurrentHashMap<>();
         this.communicationManager = null;  // Will be set when John's system ready
+        this.swarmSize = 7;
         this.nextProposalId = 1;
         this.totalVotesProcessed = 0;
         this.consensusReachedCount = 0;
@@ -146,11 +183,26 @@ public class VotingSystem {
      * Constructor with custom parameters
      */
     public VotingSystem(VotingParameters parameters) {
+        this(parameters, new DeadlineScheduler());
+    }
+    
+    /**
+     * Constructor with custom parameters and a deadline scheduler shared
+     * with other components
+     */
+    public VotingSystem(VotingParameters parameters, DeadlineScheduler deadlineScheduler) {
+        if (deadlineScheduler == null) {
+            throw new IllegalArgumentException("deadlineScheduler must not be null");
+        }
         this.parameters = parameters;
         this.activeProposals = new ConcurrentHashMap<>();
         this.voteResponses = new ConcurrentHashMap<>();
+        this.voteTallies = new ConcurrentHashMap<>();
         this.proposalTimestamps = new ConcurrentHashMap<>();
+        this.deadlineScheduler = deadlineScheduler;
+        this.expiryTimers = new ConcurrentHashMap<>();
         this.communicationManager = null;
+        this.swarmSize = 7;
         this.nextProposalId = 1;
         this.totalVotesProcessed = 0;
         this.consensusReachedCount = 0;
@@ -169,13 +221,29 @@ public class VotingSystem {
      */
     public String initiateVote(String question, List<String> options, 
                               ProposalType proposalType) {
+        return createProposal(question, options, proposalType, System.currentTimeMillis());
+    }
+    
+    /**
+     * INITIATE VOTE at an explicit time (e.g. simulation time); the deadline
+     * is currentTime + votingTimeout on the same clock
+     */
+    public String initiateVote(String question, List<String> options,
+                              ProposalType proposalType, long currentTime) {
+        advanceClock(currentTime);
+        return createProposal(question, options, proposalType, currentTime);
+    }
+    
+    private String createProposal(String question, List<String> options,
+                                  ProposalType proposalType, long currentTime) {
         // Generate unique proposal ID
         String proposalId = "vote_" + String.format("%03d", nextProposalId++);
         
         // Create proposal object
         VoteProposal proposal = new VoteProposal(proposalId, question, options);
         proposal.proposalType = proposalType;
-        proposal.deadline = System.currentTimeMillis() + parameters.votingTimeout;
+        proposal.timestamp = currentTime;
+        proposal.deadline = currentTime + parameters.votingTimeout;
         proposal.minimumVotes = parameters.minimumQuorum;
         proposal.requiresUnanimous = parameters.requireUnanimous;
         
@@ -188,7 +256,9 @@ public class VotingSystem {
         // Store proposal data
         activeProposals.put(proposalId, proposal);
         voteResponses.put(proposalId, new ConcurrentHashMap<>());
-        proposalTimestamps.put(proposalId, System.currentTimeMillis());
+        voteTallies.put(proposalId, new VoteTally(proposal.options));
+        proposalTimestamps.put(proposalId, currentTime);
+        scheduleExpiry(proposal);
         
         // Broadcast to all agents (placeholder until John's system ready)
         broadcastProposal(proposal);
@@ -205,6 +275,16 @@ public class VotingSystem {
      * Note: Does NOT check consensus immediately - waits for timeout
      *
      * @param response Vote from an agent
+     * @param currentTime Arrival time on the deadline's clock
+     */
+    public void processVote(VoteResponse response, long currentTime) {
+        advanceClock(currentTime);
+        processVote(response);
+    }
+    
+    /**
+     * PROCESS VOTE on the system's current clock (the last time passed in,
+     * else the wall clock)
      */
     public void processVote(VoteResponse response) {
         // Validate proposal exists and is active
@@ -215,8 +295,8 @@ public class VotingSystem {
         
         VoteProposal proposal = activeProposals.get(response.proposalId);
         
-        // Validate response against proposal
-        if (!response.validate(proposal)) {
+        // Validate response against proposal, on the deadline's clock
+        if (!response.validate(proposal, currentTime())) {
             System.out.println("Warning: Invalid vote rejected - " + response);
             return;
         }
@@ -233,7 +313,12 @@ public class VotingSystem {
             response.calculateWeight(proposal, null);  // problemLocation can be added later
         }
         
-        // Record the vote
+        // Record the vote and update the running tally
+        VoteTally tally = voteTallies.get(response.proposalId);
+        if (!tally.record(response)) {
+            System.out.println("Warning: Agent " + response.voterId + " already counted through a partial tally");
+            return;
+        }
         responses.put(response.voterId, response);
         totalVotesProcessed++;
         
@@ -241,8 +326,75 @@ public class VotingSystem {
         System.out.println(String.format("  %s (%d/%d votes)",
             response.getVoteDescription(), responses.size(), getCurrentSwarmSize()));
         
-        // DO NOT check consensus here - wait for timeout to collect all votes
-        // Consensus will be checked when expireProposals() is called
+        // Consensus is checked at the deadline (expireProposals), or now
+        // if closeWhenDecided and the remaining voters cannot change it
+        closeIfDecided(proposal, tally);
+    }
+    
+    /**
+     * PROCESS PARTIAL TALLY
+     * Records the merged votes a cluster head forwarded in aggregation-tree
+     * mode (see HierarchicalVoteAggregator). Votes inside were validated by
+     * the heads; voters already counted make the whole tally rejected.
+     */
+    public void processPartialTally(PartialTally partial) {
+        VoteProposal proposal = activeProposals.get(partial.proposalId);
+        VoteTally tally = voteTallies.get(partial.proposalId);
+        if (proposal == null || tally == null) {
+            System.out.println("Warning: Partial tally for unknown proposal " + partial.proposalId);
+            return;
+        }
+        if (proposal.hasExpired(currentTime())) {
+            System.out.println("Warning: Partial tally arrived after deadline - " + partial);
+            return;
+        }
+        if (!tally.merge(partial)) {
+            System.out.println("Warning: Partial tally rejected (duplicate voters or wrong options) - " + partial);
+            return;
+        }
+        totalVotesProcessed += partial.getVoterCount();
+        
+        System.out.println(String.format("  Merged %s (%d/%d votes)",
+            partial, tally.getTotalVotes(), getCurrentSwarmSize()));
+        closeIfDecided(proposal, tally);
+    }
+    
+    /**
+     * Finish a proposal before its deadline once its outcome is decided
+     * (closeWhenDecided only); it leaves the active set, so this runs once
+     */
+    private void closeIfDecided(VoteProposal proposal, VoteTally tally) {
+        if (!parameters.closeWhenDecided
+            || !tally.isDecided(parameters, proposal, getCurrentSwarmSize())) {
+            return;
+        }
+        String proposalId = proposal.proposalId;
+        System.out.println("  Outcome of " + proposalId + " can no longer change, closing early");
+        VoteResult result = checkConsensus(proposalId);
+        if (result.consensusReached) {
+            executeVoteResult(result);
+            return;
+        }
+        
+        System.out.println("Proposal " + proposalId + " failed: " + result.reason);
+        consensusFailedCount++;
+        applyTimeoutFallback(proposal, result);
+        removeProposal(proposalId);
+        recentDecisions.add(result);
+    }
+    
+    /**
+     * EARLY TERMINATION
+     * True once the remaining expected voters can no longer change whether
+     * consensus is reached or which option wins. O(options).
+     */
+    public boolean isOutcomeDecided(String proposalId) {
+        VoteProposal proposal = activeProposals.get(proposalId);
+        VoteTally tally = voteTallies.get(proposalId);
+        if (proposal == null || tally == null) {
+            return false;
+        }
+        return tally.isDecided(parameters, proposal, getCurrentSwarmSize());
     }
     
     /**
@@ -254,50 +406,19 @@ public class VotingSystem {
      */
     public VoteResult checkConsensus(String proposalId) {
         VoteProposal proposal = activeProposals.get(proposalId);
-        Map<Integer, VoteResponse> responses = voteResponses.get(proposalId);
+        VoteTally tally = voteTallies.get(proposalId);
         
-        if (proposal == null || responses == null) {
+        if (proposal == null || tally == null) {
             return new VoteResult(proposalId, false, null, 
                 "Proposal not found");
         }
         
-        // Count votes for each option
-        Map<String, Integer> voteCounts = new HashMap<>();
-        Map<String, Double> weightedVoteCounts = new HashMap<>();
-        List<Integer> voters = new ArrayList<>();
-        
-        for (String option : proposal.options) {
-            voteCounts.put(option, 0);
-            weightedVoteCounts.put(option, 0.0);
-        }
-        
-        // Tally votes
-        for (VoteResponse response : responses.values()) {
-            if (response.isAbstention() && !parameters.allowAbstention) {
-                continue;  // Skip abstentions if not allowed
-            }
-            
-            voteCounts.put(response.choice, voteCounts.get(response.choice) + 1);
-            
-            if (parameters.useWeightedVoting) {
-                double current = weightedVoteCounts.get(response.choice);
-                weightedVoteCounts.put(response.choice, current + response.calculatedWeight);
-            }
-            
-            voters.add(response.voterId);
-        }
-        
-        // Find option with most votes
-        String winningOption = null;
-        int maxVotes = 0;
-        int totalVotes = responses.size();
-        
-        for (Map.Entry<String, Integer> entry : voteCounts.entrySet()) {
-            if (entry.getValue() > maxVotes) {
-                maxVotes = entry.getValue();
-                winningOption = entry.getKey();
-            }
-        }
+        // Running counts; abstentions are skipped if not allowed
+        boolean countAbstentions = parameters.allowAbstention;
+        int leader = tally.getLeadingOption(countAbstentions);
+        String winningOption = leader >= 0 ? tally.getOption(leader) : null;
+        int maxVotes = leader >= 0 ? tally.getCount(leader, countAbstentions) : 0;
+        int totalVotes = tally.getTotalVotes();
         
         // Calculate consensus level
         double consensusLevel = totalVotes > 0 ? (double) maxVotes / totalVotes : 0.0;
@@ -320,13 +441,19 @@ public class VotingSystem {
             consensusReached ? winningOption : null,
             consensusLevel,
             generateResultReason(consensusReached, winningOption, maxVotes, totalVotes, consensusLevel),
-            voteCounts, voters, totalVotes, 
+            tally.getCounts(countAbstentions), tally.getCountedVoters(countAbstentions), totalVotes, 
             proposal.minimumVotes, parameters.consensusThreshold
         );
         
         result.wasUnanimous = isUnanimous;
-        result.wasTimeout = proposal.hasExpired();
-        result.weightedVoteBreakdown = weightedVoteCounts;
+        result.wasTimeout = proposal.hasExpired(currentTime());
+        if (parameters.useWeightedVoting) {
+            result.weightedVoteBreakdown = tally.getWeights(countAbstentions);
+        } else {
+            for (String option : proposal.options) {
+                result.weightedVoteBreakdown.put(option, 0.0);
+            }
+        }
         
         return result;
     }
@@ -360,9 +487,7 @@ public class VotingSystem {
         System.out.println(result.getDetailedBreakdown());
         
         // Remove from active proposals
-        VoteProposal proposal = activeProposals.remove(result.proposalId);
-        voteResponses.remove(result.proposalId);
-        proposalTimestamps.remove(result.proposalId);
+        VoteProposal proposal = removeProposal(result.proposalId);
         
         // Store in recent decisions
         recentDecisions.add(result);
@@ -435,36 +560,97 @@ public class VotingSystem {
     
     /**
      * EXPIRE PROPOSALS
-     * Clean up votes that timed out without consensus
+     * Clean up votes that timed out without consensus.
+     * Only proposals whose deadline timer is due are touched.
      */
     public void expireProposals() {
-        long currentTime = System.currentTimeMillis();
-        List<String> expiredIds = new ArrayList<>();
-        
-        for (Map.Entry<String, VoteProposal> entry : activeProposals.entrySet()) {
-            if (entry.getValue().hasExpired()) {
-                expiredIds.add(entry.getKey());
-            }
+        deadlineScheduler.runDue(System.currentTimeMillis());
+    }
+    
+    /**
+     * EXPIRE PROPOSALS at an explicit time (e.g. simulation time)
+     */
+    public void expireProposals(long currentTime) {
+        advanceClock(currentTime);
+        deadlineScheduler.runDue(currentTime);
+    }
+    
+    private void advanceClock(long currentTime) {
+        clockTime = simulationClock ? Math.max(clockTime, currentTime) : currentTime;
+        simulationClock = true;
+    }
+    
+    private long currentTime() {
+        return simulationClock ? clockTime : System.currentTimeMillis();
+    }
+    
+    /**
+     * Change a proposal's deadline and move its expiry timer
+     */
+    public void updateDeadline(String proposalId, long deadline) {
+        VoteProposal proposal = activeProposals.get(proposalId);
+        if (proposal == null) {
+            return;
+        }
+        proposal.deadline = deadline;
+        scheduleExpiry(proposal);
+    }
+    
+    /**
+     * (Re)arm the expiry timer; hasExpired() means now > deadline, so the
+     * timer fires one millisecond after the deadline
+     */
+    private void scheduleExpiry(VoteProposal proposal) {
+        String proposalId = proposal.proposalId;
+        DeadlineScheduler.Timer previous = expiryTimers.put(proposalId,
+            deadlineScheduler.schedule(proposal.deadline + 1, now -> expireProposal(proposalId, now)));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+    
+    /**
+     * Deadline timer fired: count what arrived and apply the fallback
+     */
+    private void expireProposal(String proposalId, long currentTime) {
+        VoteProposal proposal = activeProposals.get(proposalId);
+        if (proposal == null) {
+            return;
+        }
+        if (proposal.deadline >= currentTime) {
+            scheduleExpiry(proposal);  // Deadline moved later without updateDeadline()
+            return;
         }
         
-        for (String proposalId : expiredIds) {
-            VoteResult result = checkConsensus(proposalId);
-            result.wasTimeout = true;
-            
-            if (!result.consensusReached) {
-                System.out.println("Proposal " + proposalId + " expired: " + result.reason);
-                consensusFailedCount++;
-                
-                // Apply timeout fallback
-                applyTimeoutFallback(activeProposals.get(proposalId), result);
-            }
+        VoteResult result = checkConsensus(proposalId);
+        result.wasTimeout = true;
+        
+        if (!result.consensusReached) {
+            System.out.println("Proposal " + proposalId + " expired: " + result.reason);
+            consensusFailedCount++;
             
-            // Cleanup
-            activeProposals.remove(proposalId);
-            voteResponses.remove(proposalId);
-            proposalTimestamps.remove(proposalId);
-            recentDecisions.add(result);
+            // Apply timeout fallback
+            applyTimeoutFallback(proposal, result);
+        }
+        
+        // Cleanup
+        removeProposal(proposalId);
+        recentDecisions.add(result);
+    }
+    
+    /**
+     * Drop all state of a proposal and its expiry timer
+     */
+    private VoteProposal removeProposal(String proposalId) {
+        VoteProposal proposal = activeProposals.remove(proposalId);
+        voteResponses.remove(proposalId);
+        voteTallies.remove(proposalId);
+        proposalTimestamps.remove(proposalId);
+        DeadlineScheduler.Timer timer = expiryTimers.remove(proposalId);
+        if (timer != null) {
+            timer.cancel();
         }
+        return proposal;
     }
     
     /**
@@ -509,7 +695,17 @@ public class VotingSystem {
     // Utility methods
     private int getCurrentSwarmSize() {
         // TODO: Get actual swarm size from Sanidhya's system
-        return 7;  // Placeholder
+        return swarmSize;  // 7 until set
+    }
+    
+    /**
+     * Set how many agents receive each proposal (expected voters)
+     */
+    public void setSwarmSize(int swarmSize) {
+        if (swarmSize < 1) {
+            throw new IllegalArgumentException("swarmSize must be at least 1");
+        }
+        this.swarmSize = swarmSize;
     }
     
     // ==================== PARAMETER MANAGEMENT ====================
@@ -530,6 +726,10 @@ public class VotingSystem {
         return this.parameters;
     }
     
+    public DeadlineScheduler getDeadlineScheduler() {
+        return deadlineScheduler;
+    }
+    
     // ==================== QUERY METHODS ====================
     
     /**
@@ -546,6 +746,15 @@ public class VotingSystem {
         return new ArrayList<>(recentDecisions);
     }
     
+    /**
+     * Milliseconds left until a proposal's deadline on the system's clock
+     * (0 if unknown or past)
+     */
+    public long getTimeRemaining(String proposalId) {
+        VoteProposal proposal = activeProposals.get(proposalId);
+        return proposal == null ? 0 : proposal.getTimeRemaining(currentTime());
+    }
+    
     /**
      * Get specific proposal by ID
      */
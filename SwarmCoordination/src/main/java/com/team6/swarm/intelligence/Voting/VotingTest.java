@@ -39,6 +39,24 @@
  *    Expected: Scout votes count more for navigation
  *    Success: Weighted consensus calculated correctly
  *
+ * 7. INCREMENTAL TALLY TEST
+ *    Setup: Vote changes, disallowed abstentions, 200-agent swarm
+ *    Expected: Running counts match a full recount; outcome reported
+ *              as decided once remaining votes cannot change it
+ *    Success: Early termination signalled before the last vote
+ *
+ * 8. AGGREGATION TREE TEST
+ *    Setup: 300 agents vote through cluster heads; one head fails
+ *    Expected: Same counts and weights as a flat vote, far fewer
+ *              messages at the initiator, no vote counted twice
+ *    Success: VotingSystem accepts the merged tally
+ *
+ * 9. TIMER-DRIVEN EXPIRY TEST
+ *    Setup: 40 open proposals with staggered deadlines
+ *    Expected: A frame with nothing due touches no proposal; each
+ *              deadline fires once and applies the timeout fallback
+ *    Success: Moved deadlines are honoured
+ *
  * WEEK 2 SUCCESS CRITERIA:
  * ✓ VoteProposal creation and validation
  * ✓ VoteResponse processing and tracking
@@ -50,10 +68,14 @@
  */
 package com.team6.swarm.intelligence.voting;
 
+import com.team6.swarm.core.AgentState;
+import com.team6.swarm.core.DeadlineScheduler;
 import com.team6.swarm.core.Point2D;
 import com.team6.swarm.intelligence.flocking.BehaviorType;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 public class VotingTest {
     
@@ -70,6 +92,9 @@ public class VotingTest {
         testTieVote();
         testWeightedVoting();
         testParameterPresets();
+        testIncrementalTally();
+        testAggregationTree();
+        testTimerDrivenExpiry();
         
         System.out.println();
         System.out.println("========================================");
@@ -360,4 +385,280 @@ public class VotingTest {
         System.out.println("  ✓ PASS: All presets configured correctly");
         System.out.println();
     }
-}
\ No newline at end of file
+    
+    /**
+     * TEST 7: INCREMENTAL TALLY
+     * Running counts must follow vote changes and abstentions, and the
+     * outcome should be reported as decided as soon as it cannot change
+     */
+    private static void testIncrementalTally() {
+        System.out.println("TEST 7: Incremental Tally and Early Termination");
+        System.out.println("-----------------------------------------------");
+        
+        // Vote changes move a vote between options
+        VotingParameters revoteParams = new VotingParameters();
+        revoteParams.allowRevoting = true;
+        VotingSystem voting = new VotingSystem(revoteParams);
+        String proposalId = voting.initiateVote("Which sector?",
+            Arrays.asList("A", "B", "C"), ProposalType.COORDINATION);
+        voting.processVote(new VoteResponse(proposalId, 1, "A"));
+        voting.processVote(new VoteResponse(proposalId, 2, "A"));
+        voting.processVote(new VoteResponse(proposalId, 3, "B"));
+        voting.processVote(new VoteResponse(proposalId, 2, "C"));  // changed mind
+        VoteResult result = voting.checkConsensus(proposalId);
+        boolean revotePass = result.totalVotes == 3
+            && result.voteBreakdown.get("A") == 1
+            && result.voteBreakdown.get("B") == 1
+            && result.voteBreakdown.get("C") == 1
+            && !voting.isOutcomeDecided(proposalId);
+        
+        // Abstentions counted as responses but not for an option
+        VotingParameters strictParams = new VotingParameters();
+        strictParams.allowAbstention = false;
+        voting = new VotingSystem(strictParams);
+        proposalId = voting.initiateVote("Hold position?",
+            Arrays.asList("YES", "NO"), ProposalType.COORDINATION);
+        voting.processVote(new VoteResponse(proposalId, 1, "YES"));
+        voting.processVote(new VoteResponse(proposalId, 2, "YES"));
+        voting.processVote(new VoteResponse(proposalId, 3, "NO", 0.0, "", null, 1.0, null));
+        result = voting.checkConsensus(proposalId);
+        boolean abstentionPass = result.totalVotes == 3
+            && result.voteBreakdown.get("NO") == 0
+            && result.participatingAgents.size() == 2;
+        
+        // Large swarm: decided once the leader cannot be caught
+        int swarm = 200;
+        voting = new VotingSystem();
+        voting.setSwarmSize(swarm);
+        proposalId = voting.initiateVote("Split the swarm?",
+            Arrays.asList("YES", "NO"), ProposalType.MISSION);
+        int decidedAfter = -1;
+        for (int agent = 1; agent <= swarm && decidedAfter < 0; agent++) {
+            voting.processVote(new VoteResponse(proposalId, agent, agent % 10 == 0 ? "NO" : "YES"));
+            if (voting.isOutcomeDecided(proposalId)) {
+                decidedAfter = agent;
+            }
+        }
+        result = voting.checkConsensus(proposalId);
+        boolean earlyPass = decidedAfter > 0 && decidedAfter < swarm && "YES".equals(result.winningOption);
+        
+        // Unanimous vote fails for good at the first dissent
+        voting = new VotingSystem(VotingParameters.createEmergencyVoting());
+        voting.setSwarmSize(swarm);
+        proposalId = voting.initiateVote("Abort mission?",
+            Arrays.asList("ABORT", "CONTINUE"), ProposalType.EMERGENCY);
+        voting.getProposal(proposalId).requiresUnanimous = true;
+        voting.processVote(new VoteResponse(proposalId, 1, "ABORT"));
+        boolean unanimousOpen = !voting.isOutcomeDecided(proposalId);
+        voting.processVote(new VoteResponse(proposalId, 2, "CONTINUE"));
+        boolean unanimousPass = unanimousOpen && voting.isOutcomeDecided(proposalId)
+            && !voting.checkConsensus(proposalId).consensusReached;
+        
+        // closeWhenDecided: the deciding vote finishes the proposal, once
+        VotingParameters closingParams = new VotingParameters();
+        closingParams.closeWhenDecided = true;
+        voting = new VotingSystem(closingParams);
+        voting.setSwarmSize(swarm);
+        proposalId = voting.initiateVote("Split the swarm?",
+            Arrays.asList("YES", "NO"), ProposalType.MISSION);
+        int closedAfter = -1;
+        for (int agent = 1; agent <= swarm && closedAfter < 0; agent++) {
+            voting.processVote(new VoteResponse(proposalId, agent, agent % 10 == 0 ? "NO" : "YES"));
+            if (voting.getProposal(proposalId) == null) {
+                closedAfter = agent;
+            }
+        }
+        voting.processVote(new VoteResponse(proposalId, swarm, "NO"));  // late vote is ignored
+        boolean closePass = closedAfter == decidedAfter
+            && voting.getConsensusReachedCount() == 1
+            && "YES".equals(voting.getRecentDecisions().get(0).winningOption)
+            && !voting.getRecentDecisions().get(0).wasTimeout
+            && voting.getDeadlineScheduler().size() == 0;
+        
+        System.out.println();
+        System.out.println("Decided after " + decidedAfter + " of " + swarm + " votes");
+        if (revotePass && abstentionPass && earlyPass && unanimousPass && closePass) {
+            System.out.println("  ✓ PASS: Incremental tally and early termination");
+        } else {
+            System.out.println("  ✗ FAIL: revote=" + revotePass + " abstention=" + abstentionPass
+                + " early=" + earlyPass + " unanimous=" + unanimousPass + " close=" + closePass);
+        }
+        System.out.println();
+    }
+    
+    /**
+     * TEST 8: AGGREGATION TREE
+     * Cluster heads merge member votes; the initiator sees a few partial
+     * tallies, results match the flat count, and a failed head loses nothing
+     */
+    private static void testAggregationTree() {
+        System.out.println("TEST 8: Aggregation-Tree Voting");
+        System.out.println("-------------------------------");
+        
+        VotingParameters params = new VotingParameters();
+        params.useWeightedVoting = true;
+        List<AgentState> agents = new ArrayList<>();
+        for (int id = 0; id < 300; id++) {
+            AgentState agent = new AgentState();
+            agent.agentId = id;
+            agent.position = new Point2D((id % 20) * 40.0, (id / 20) * 40.0);
+            agent.batteryLevel = 0.5 + (id % 7) * 0.05;
+            agents.add(agent);
+        }
+        
+        VotingSystem voting = new VotingSystem(params);
+        voting.setSwarmSize(agents.size());
+        String proposalId = voting.initiateVote("Survey the east sector?",
+            Arrays.asList("YES", "NO"), ProposalType.MISSION);
+        VoteProposal proposal = voting.getProposal(proposalId);
+        
+        AggregationTree tree = AggregationTree.build(0, agents, 120.0, 8);
+        AggregationTree flatTree = AggregationTree.flat(0, agents);
+        HierarchicalVoteAggregator hierarchical = new HierarchicalVoteAggregator(tree, proposal, params, 20, 3);
+        HierarchicalVoteAggregator flat = new HierarchicalVoteAggregator(flatTree, proposal, params, 20, 3);
+        
+        // Fail a head below the top level once it holds its members' votes
+        int failedHead = tree.getHeads().get(0);
+        for (int head : tree.getHeads()) {
+            if (tree.getDepth(head) == 2) {
+                failedHead = head;
+                break;
+            }
+        }
+        for (AgentState agent : agents) {
+            hierarchical.submitVote(createSurveyVote(proposalId, agent));
+            flat.submitVote(createSurveyVote(proposalId, agent));
+            if (agent.agentId == 150) {
+                hierarchical.tick();
+                hierarchical.tick();
+                hierarchical.failNode(failedHead);
+            }
+        }
+        hierarchical.runUntilComplete(500);
+        flat.runUntilComplete(500);
+        
+        // Whatever reached the root must be counted exactly once
+        PartialTally merged = hierarchical.getRootPartial();
+        PartialTally expected = new PartialTally(proposalId, proposal.options);
+        int countedVoter = -1;
+        for (AgentState agent : agents) {
+            if (merged.covers(agent.agentId)) {
+                VoteResponse vote = createSurveyVote(proposalId, agent);
+                vote.calculateWeight(proposal, null);
+                expected.add(vote);
+                if (agent.agentId != 0) countedVoter = agent.agentId;
+            }
+        }
+        boolean countsMatch = true;
+        for (int option = 0; option < proposal.options.size(); option++) {
+            countsMatch &= merged.getCount(option, true) == expected.getCount(option, true)
+                && merged.getCount(option, false) == expected.getCount(option, false)
+                && Math.abs(merged.getWeight(option, true) - expected.getWeight(option, true)) < 1e-9;
+        }
+        boolean lessInitiatorLoad = hierarchical.getRootMessages() * 5 < flat.getRootMessages();
+        boolean noneLost = merged.getVoterCount() >= agents.size() - 1 && hierarchical.isComplete()
+            && flat.getRootPartial().getVoterCount() == agents.size();
+        
+        voting.processPartialTally(merged);
+        voting.processVote(new VoteResponse(proposalId, countedVoter, "NO"));  // already counted: refused
+        VoteResult result = voting.checkConsensus(proposalId);
+        boolean resultPass = result.totalVotes == merged.getVoterCount()
+            && "YES".equals(result.winningOption)
+            && Math.abs(result.weightedVoteBreakdown.get("YES") - merged.getWeight(0, true)) < 1e-9;
+        
+        System.out.println();
+        System.out.println("Tree: " + tree);
+        System.out.println("Hierarchical: " + hierarchical);
+        System.out.println("Flat:         " + flat);
+        if (countsMatch && lessInitiatorLoad && noneLost && resultPass) {
+            System.out.println("  ✓ PASS: Aggregation-tree voting");
+        } else {
+            System.out.println("  ✗ FAIL: counts=" + countsMatch + " load=" + lessInitiatorLoad
+                + " lost=" + !noneLost + " result=" + resultPass);
+        }
+        System.out.println();
+    }
+    
+    /**
+     * TEST 9: TIMER-DRIVEN EXPIRY
+     * Deadlines fire from the scheduler; frames with nothing due are free
+     */
+    private static void testTimerDrivenExpiry() {
+        System.out.println("TEST 9: Timer-Driven Proposal Expiry");
+        System.out.println("------------------------------------");
+        
+        DeadlineScheduler scheduler = new DeadlineScheduler();
+        VotingSystem voting = new VotingSystem(new VotingParameters(), scheduler);
+        List<String> proposalIds = new ArrayList<>();
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 40; i++) {
+            String proposalId = voting.initiateVote("Checkpoint " + i + "?",
+                Arrays.asList("GO", "WAIT"), ProposalType.COORDINATION);
+            voting.updateDeadline(proposalId, start + 10_000 + i * 1_000);
+            proposalIds.add(proposalId);
+        }
+        voting.processVote(new VoteResponse(proposalIds.get(0), 1, "GO"));
+        
+        // Frames before any deadline: nothing fires
+        for (int frame = 0; frame < 100; frame++) {
+            voting.expireProposals(start + frame * 10);
+        }
+        boolean idlePass = scheduler.getFiredCount() == 0 && voting.getActiveProposals().size() == 40;
+        
+        // Half the deadlines pass
+        voting.expireProposals(start + 29_500);
+        boolean halfPass = voting.getActiveProposals().size() == 20
+            && voting.getConsensusFailedCount() == 20
+            && voting.getRecentDecisions().get(0).wasTimeout;
+        
+        // A moved deadline is honoured
+        voting.updateDeadline(proposalIds.get(39), start + 100_000);
+        voting.expireProposals(start + 60_000);
+        boolean movedPass = voting.getActiveProposals().size() == 1
+            && voting.getProposal(proposalIds.get(39)) != null
+            && scheduler.size() == 1;
+        
+        // Deadlines follow the simulation clock passed in, not the wall clock
+        VotingParameters parameters = new VotingParameters();
+        VotingSystem simVoting = new VotingSystem(parameters, new DeadlineScheduler());
+        String simId = simVoting.initiateVote("Hold position?",
+            Arrays.asList("YES", "NO"), ProposalType.COORDINATION, 0);
+        simVoting.processVote(new VoteResponse(simId, 1, "YES"), 500);
+        simVoting.expireProposals(parameters.votingTimeout - 1);
+        boolean simPass = simVoting.getProposal(simId) != null
+            && simVoting.getProposal(simId).deadline == parameters.votingTimeout
+            && simVoting.getVotesForProposal(simId).size() == 1
+            && simVoting.getTimeRemaining(simId) == 1;
+        List<AgentState> pair = new ArrayList<>();
+        for (int id = 1; id <= 2; id++) {
+            AgentState agent = new AgentState();
+            agent.agentId = id;
+            agent.position = new Point2D(id * 10.0, 0);
+            pair.add(agent);
+        }
+        HierarchicalVoteAggregator simTree = new HierarchicalVoteAggregator(
+            AggregationTree.flat(1, pair), simVoting.getProposal(simId), parameters);
+        simPass = simPass && simTree.submitVote(new VoteResponse(simId, 2, "NO"), 600)
+            && !simTree.submitVote(new VoteResponse(simId, 1, "NO"), parameters.votingTimeout + 1);
+        simVoting.expireProposals(parameters.votingTimeout + 1);
+        simPass = simPass && simVoting.getProposal(simId) == null
+            && simVoting.getConsensusFailedCount() == 1;
+        
+        System.out.println();
+        System.out.println("Scheduler: " + scheduler);
+        if (idlePass && halfPass && movedPass && simPass) {
+            System.out.println("  ✓ PASS: Timer-driven expiry");
+        } else {
+            System.out.println("  ✗ FAIL: idle=" + idlePass + " half=" + halfPass + " moved=" + movedPass
+                + " sim=" + simPass);
+        }
+        System.out.println();
+    }
+    
+    private static VoteResponse createSurveyVote(String proposalId, AgentState agent) {
+        String choice = agent.agentId % 4 == 0 ? "NO" : "YES";
+        double confidence = agent.agentId % 25 == 0 ? 0.0 : 0.9;  // a few abstentions
+        return new VoteResponse(proposalId, agent.agentId, choice, confidence, "",
+            agent.position, agent.batteryLevel, null);
+    }
+}
@@ -0,0 +1,309 @@
+/**
+ * COORDINATIONBENCHMARK CLASS - Leadership Scalability Measurements
+ *
+ * PURPOSE:
+ * - Measures leader election and succession time as the swarm grows
+ * - Gives repeatable numbers to compare before/after optimizations
+ * - Runs standalone; not part of the pass/fail test suites
+ *
+ * BENCHMARKS:
+ * 1. AUTO election: the old scan (swarm center recomputed for every
+ *    candidate) vs LeaderElection (center once, heapified candidates)
+ * 2. 20 leader failures in a row: a fresh AUTO election per failure vs
+ *    handleLeaderFailure promoting from the standing election, with 10
+ *    battery/position updates fed in between failures
+ * 3. Partition leaders, 32 sub-swarms: one election after another vs
+ *    selectPartitionLeaders (parallel above the threshold), ms per run
+ *    averaged over 5 runs; the gain depends on the cores available
+ * 4. Follower updates over 20 ticks with the leader moving and every
+ *    command applied: flat updateFollowers (everyone tracks the leader)
+ *    vs the fan-out 8 leader tree, plus per-level figures of the tree
+ * 5. 1% of the swarm failing one agent at a time: LeaderTree.remove
+ *    repairs vs rebuilding the tree after each failure
+ *
+ * USAGE:
+ * java com.team6.swarm.intelligence.coordination.CoordinationBenchmark
+ */
+package com.team6.swarm.intelligence.coordination;
+
+import com.team6.swarm.core.AgentState;
+import com.team6.swarm.core.AgentStatus;
+import com.team6.swarm.core.MovementCommand;
+import com.team6.swarm.core.Point2D;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class CoordinationBenchmark {
+    private static final int WARMUP_RUNS = 2;
+    private static final int FAILURES = 20;
+    private static final int UPDATES_PER_FAILURE = 10;
+    private static final int PARTITIONS = 32;
+    private static final int PARTITION_RUNS = 5;
+    private static final int FOLLOW_TICKS = 20;
+
+    public static void main(String[] args) {
+        System.out.println("=== Coordination Benchmarks ===");
+
+        benchmarkElection();
+        benchmarkSuccession();
+        benchmarkPartitionLeaders();
+        benchmarkLeaderTree();
+        benchmarkTreeRepair();
+
+        System.out.println("\n=== Benchmarks Complete ===");
+    }
+
+    // ===== BENCHMARK 1: ELECTION =====
+    private static void benchmarkElection() {
+        System.out.println("\n--- AUTO leader election ---");
+        System.out.println(String.format("%-7s %-9s %7s %10s", "agents", "mode", "leader", "ms"));
+
+        for (int size : new int[] {1_000, 5_000, 20_000}) {
+            List<AgentState> agents = createAgents(size, new Random(48));
+            int leader = 0;
+            long start = 0;
+            for (int run = -WARMUP_RUNS; run < 1; run++) {
+                if (run == 0) start = System.nanoTime();
+                leader = scanForLeader(agents, LeaderSelectionReason.AUTO);
+            }
+            System.out.println(String.format("%-7d %-9s %7d %10.2f", size, "scan", leader,
+                (System.nanoTime() - start) / 1e6));
+
+            for (int run = -WARMUP_RUNS; run < 1; run++) {
+                if (run == 0) start = System.nanoTime();
+                leader = new LeaderElection(agents, LeaderSelectionReason.AUTO).best();
+            }
+            System.out.println(String.format("%-7d %-9s %7d %10.2f", size, "election", leader,
+                (System.nanoTime() - start) / 1e6));
+        }
+    }
+
+    // ===== BENCHMARK 2: SUCCESSION =====
+    private static void benchmarkSuccession() {
+        System.out.println("\n--- " + FAILURES + " leader failures in a row ---");
+        System.out.println(String.format("%-7s %-9s %7s %10s %12s", "agents", "mode", "last", "ms", "ms/failure"));
+
+        for (int size : new int[] {1_000, 2_000, 5_000}) {
+            for (int mode = 0; mode < 2; mode++) {
+                int last = 0;
+                double millis = 0;
+                for (int run = 0; run <= WARMUP_RUNS; run++) {
+                    Random random = new Random(91);
+                    List<AgentState> agents = createAgents(size, random);
+                    LeaderFollower system = new LeaderFollower();
+                    PrintStream console = System.out;
+                    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+                    long start = System.nanoTime();
+                    try {
+                        system.selectLeader(agents, LeaderSelectionReason.AUTO);
+                        for (int failure = 0; failure < FAILURES; failure++) {
+                            for (int u = 0; u < UPDATES_PER_FAILURE; u++) {
+                                AgentState moved = agents.get(random.nextInt(agents.size()));
+                                moved.batteryLevel = Math.max(0, moved.batteryLevel - 0.01);
+                                moved.position = new Point2D(moved.position.x + random.nextDouble() - 0.5,
+                                                             moved.position.y + random.nextDouble() - 0.5);
+                                if (mode == 1) system.updateCandidate(moved);
+                            }
+                            int failed = system.getCurrentLeader();
+                            if (mode == 0) {
+                                agents.removeIf(a -> a.agentId == failed);
+                                last = scanForLeader(agents, LeaderSelectionReason.AUTO);
+                            } else {
+                                system.handleLeaderFailure(agents);
+                                last = system.getCurrentLeader();
+                            }
+                            if (mode == 0) system.setLeader(last, LeaderSelectionReason.AUTO);
+                        }
+                    } finally {
+                        System.setOut(console);
+                    }
+                    millis = (System.nanoTime() - start) / 1e6;
+                }
+                System.out.println(String.format("%-7d %-9s %7d %10.2f %12.4f", size,
+                    mode == 0 ? "re-elect" : "heap", last, millis, millis / FAILURES));
+            }
+        }
+    }
+
+    // ===== BENCHMARK 3: PARTITION LEADERS =====
+    private static void benchmarkPartitionLeaders() {
+        System.out.println("\n--- Partition leaders, " + PARTITIONS + " sub-swarms ---");
+        System.out.println(String.format("%-7s %-11s %9s %10s", "agents", "mode", "leaders", "ms"));
+
+        for (int size : new int[] {5_000, 50_000, 200_000}) {
+            List<AgentState> agents = createAgents(size, new Random(17));
+            Map<Integer, List<AgentState>> partitions = new HashMap<>();
+            for (AgentState agent : agents) {
+                // Vertical strips, so each sub-swarm has its own center
+                int strip = (int) (agent.position.x / 800.0 * PARTITIONS);
+                partitions.computeIfAbsent(Math.min(strip, PARTITIONS - 1), k -> new ArrayList<>()).add(agent);
+            }
+
+            // Standings kept for failover, as selectPartitionLeaders does
+            Map<Integer, LeaderElection> standings = new HashMap<>();
+            int leaders = 0;
+            long start = 0;
+            for (int run = -WARMUP_RUNS; run < PARTITION_RUNS; run++) {
+                if (run == 0) start = System.nanoTime();
+                standings.clear();
+                leaders = 0;
+                for (Map.Entry<Integer, List<AgentState>> entry : partitions.entrySet()) {
+                    LeaderElection election = new LeaderElection(entry.getValue(), LeaderSelectionReason.AUTO);
+                    standings.put(entry.getKey(), election);
+                    if (election.best() != -1) leaders++;
+                }
+            }
+            System.out.println(String.format("%-7d %-11s %9d %10.2f", size, "sequential", leaders,
+                (System.nanoTime() - start) / 1e6 / PARTITION_RUNS));
+
+            LeaderFollower system = new LeaderFollower();
+            PrintStream console = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                for (int run = -WARMUP_RUNS; run < PARTITION_RUNS; run++) {
+                    if (run == 0) start = System.nanoTime();
+                    leaders = system.selectPartitionLeaders(partitions, LeaderSelectionReason.AUTO).size();
+                }
+            } finally {
+                System.setOut(console);
+            }
+            System.out.println(String.format("%-7d %-11s %9d %10.2f", size, "partitioned", leaders,
+                (System.nanoTime() - start) / 1e6 / PARTITION_RUNS));
+        }
+    }
+
+    // ===== BENCHMARK 4: LEADER TREE UPDATES =====
+    private static void benchmarkLeaderTree() {
+        System.out.println("\n--- Follower updates, " + FOLLOW_TICKS + " ticks, leader moving ---");
+        System.out.println(String.format("%-7s %-6s %7s %10s %10s", "agents", "mode", "height", "cmds/tick", "ms/tick"));
+
+        LeaderTree largest = null;
+        for (int size : new int[] {1_000, 10_000, 50_000}) {
+            for (int mode = 0; mode < 2; mode++) {
+                List<AgentState> agents = createAgents(size, new Random(49));
+                AgentState leader = agents.get(0);
+                LeaderFollower system = new LeaderFollower();
+                LeaderTree tree = null;
+                long commands = 0;
+                double millis = 0;
+                PrintStream console = System.out;
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+                try {
+                    system.setLeader(leader.agentId, LeaderSelectionReason.MANUAL);
+                    if (mode == 0) {
+                        for (AgentState agent : agents.subList(1, agents.size())) {
+                            system.addFollowerAuto(agent.agentId, agent.position, leader.position);
+                        }
+                    } else {
+                        tree = system.buildLeaderTree(agents, LeaderTree.DEFAULT_FAN_OUT);
+                    }
+                    Map<Integer, AgentState> byId = new HashMap<>();
+                    for (AgentState agent : agents) byId.put(agent.agentId, agent);
+
+                    for (int tick = -WARMUP_RUNS; tick < FOLLOW_TICKS; tick++) {
+                        leader.position = new Point2D(leader.position.x + 5, leader.position.y + 2);
+                        long start = System.nanoTime();
+                        List<MovementCommand> tickCommands = mode == 0
+                            ? system.updateFollowers(leader, agents)
+                            : system.updateHierarchy(agents);
+                        if (tick >= 0) {
+                            millis += (System.nanoTime() - start) / 1e6;
+                            commands += tickCommands.size();
+                        }
+                        for (MovementCommand cmd : tickCommands) {
+                            byId.get(cmd.agentId).position = (Point2D) cmd.parameters.get("target");
+                        }
+                    }
+                } finally {
+                    System.setOut(console);
+                }
+                System.out.println(String.format("%-7d %-6s %7s %10d %10.2f", size, mode == 0 ? "flat" : "tree",
+                    mode == 0 ? "1" : String.valueOf(tree.getHeight()), commands / FOLLOW_TICKS, millis / FOLLOW_TICKS));
+                if (tree != null) largest = tree;
+            }
+        }
+        System.out.println("Tree levels, " + largest.size() + " agents, last tick:");
+        for (LeaderTree.LevelStats level : largest.getLevelStats()) {
+            System.out.println("  " + level);
+        }
+    }
+
+    // ===== BENCHMARK 5: TREE REPAIR =====
+    private static void benchmarkTreeRepair() {
+        System.out.println("\n--- 1% of agents fail one at a time ---");
+        System.out.println(String.format("%-7s %-8s %8s %7s %9s %10s %12s",
+            "agents", "mode", "failures", "height", "rebuilds", "ms", "ms/failure"));
+
+        for (int size : new int[] {1_000, 10_000, 50_000}) {
+            List<AgentState> agents = createAgents(size, new Random(50));
+            List<Integer> failures = new ArrayList<>();
+            Random random = new Random(51);
+            while (failures.size() < size / 100) {
+                int id = 2 + random.nextInt(size - 1);   // Agent 1 leads
+                if (!failures.contains(id)) failures.add(id);
+            }
+            for (int mode = 0; mode < 2; mode++) {
+                LeaderTree tree = new LeaderTree(LeaderTree.DEFAULT_FAN_OUT);
+                tree.build(agents, 1);
+                List<AgentState> alive = new ArrayList<>(agents);
+                long start = System.nanoTime();
+                for (int id : failures) {
+                    if (mode == 0) {
+                        tree.remove(id);
+                    } else {
+                        alive.removeIf(a -> a.agentId == id);
+                        tree.build(alive, 1);
+                    }
+                }
+                double millis = (System.nanoTime() - start) / 1e6;
+                System.out.println(String.format("%-7d %-8s %8d %7d %9d %10.2f %12.4f", size,
+                    mode == 0 ? "repair" : "rebuild", failures.size(), tree.getHeight(), tree.getRebuildCount(),
+                    millis, millis / failures.size()));
+            }
+        }
+    }
+
+    /**
+     * The selectLeader loop before LeaderElection: the swarm center is
+     * recomputed for every candidate it scores
+     */
+    private static int scanForLeader(List<AgentState> agents, LeaderSelectionReason reason) {
+        int best = -1;
+        double bestScore = LeaderElection.MIN_SCORE;
+        for (AgentState agent : agents) {
+            if (agent.status != AgentStatus.ACTIVE) continue;
+            double sumX = 0;
+            double sumY = 0;
+            for (AgentState other : agents) {
+                sumX += other.position.x;
+                sumY += other.position.y;
+            }
+            Point2D center = new Point2D(sumX / agents.size(), sumY / agents.size());
+            double score = LeaderElection.score(agent, center, reason);
+            if (score > bestScore) {
+                bestScore = score;
+                best = agent.agentId;
+            }
+        }
+        return best;
+    }
+
+    private static List<AgentState> createAgents(int count, Random random) {
+        List<AgentState> agents = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            AgentState agent = new AgentState();
+            agent.agentId = id;
+            agent.position = new Point2D(random.nextDouble() * 800, random.nextDouble() * 600);
+            agent.status = AgentStatus.ACTIVE;
+            agent.batteryLevel = 0.3 + random.nextDouble() * 0.7;
+            agents.add(agent);
+        }
+        return agents;
+    }
+}
@@ -54,6 +54,16 @@
  *    Expected: New leader selected, formation adapted
  *    Success: Smooth leadership transition
  *
+ * 10. LEADER ELECTION HEAP TEST
+ *    Setup: 200 agents, AUTO and CENTRAL_POSITION elections, 4 partitions
+ *    Expected: Same leader as a full scoring scan, next-best on failover
+ *    Success: Battery/position updates re-rank, each partition gets a leader
+ *
+ * 11. LEADER TREE TEST
+ *    Setup: 500 agents in a tree with fan-out 6
+ *    Expected: Bounded fan-out, followers track their sub-leader
+ *    Success: Tree stays valid through sub-leader and leader failures
+ *
  * WEEK 5-6 SUCCESS CRITERIA:
  * ✓ Multiple search patterns implemented
  * ✓ Obstacle avoidance strategies working
@@ -85,6 +95,8 @@ public class CoordinationTest {
         testLeaderSelection();
         testLeaderFollowerFormation();
         testLeaderFailure();
+        testLeaderElectionHeap();
+        testLeaderTree();
         
         System.out.println();
         System.out.println("========================================");
@@ -467,7 +479,222 @@ public class CoordinationTest {
         System.out.println();
     }
     
+    /**
+     * TEST 10: LEADER ELECTION HEAP
+     */
+    private static void testLeaderElectionHeap() {
+        System.out.println("TEST 10: Leader Election Heap and Partition Leaders");
+        System.out.println("---------------------------------------------------");
+
+        Random random = new Random(48);
+        List<AgentState> agents = createTestAgents(200);
+        for (AgentState agent : agents) {
+            agent.position = new Point2D(300 + random.nextDouble() * 200, 200 + random.nextDouble() * 200);
+            agent.batteryLevel = 0.2 + random.nextDouble() * 0.8;
+        }
+        agents.get(7).status = AgentStatus.FAILED;
+
+        // Same leader as scoring every agent against the swarm center
+        boolean sameAsScan = true;
+        for (LeaderSelectionReason reason : new LeaderSelectionReason[] {
+                LeaderSelectionReason.AUTO, LeaderSelectionReason.CENTRAL_POSITION,
+                LeaderSelectionReason.HIGHEST_BATTERY}) {
+            LeaderFollower system = new LeaderFollower();
+            system.selectLeader(agents, reason);
+            int scanned = scanForLeader(agents, reason);
+            System.out.println(String.format("  %s: heap leader %d, scan leader %d",
+                reason, system.getCurrentLeader(), scanned));
+            sameAsScan &= system.getCurrentLeader() == scanned;
+        }
+
+        // Failover promotes the runner-up without a new election
+        LeaderFollower system = new LeaderFollower();
+        system.selectLeader(agents, LeaderSelectionReason.AUTO);
+        int firstLeader = system.getCurrentLeader();
+        int runnerUp = system.getSuccessionOrder(2).get(1);
+        List<AgentState> remaining = new ArrayList<>(agents);
+        system.handleLeaderFailure(remaining);
+        boolean failover = system.getCurrentLeader() == runnerUp
+            && system.getSelectionReason() == LeaderSelectionReason.SUCCESSION
+            && !system.getElection().isCandidate(firstLeader);
+
+        // Battery drop pushes the leader down; a charged agent moves up
+        AgentState leader = system.getLeaderState(agents);
+        leader.batteryLevel = 0.05;
+        system.updateCandidate(leader);
+        AgentState charged = agents.get(150);
+        charged.batteryLevel = 1.0;
+        charged.position = new Point2D(system.getElection().getScoringCenter().x,
+                                       system.getElection().getScoringCenter().y);
+        system.updateCandidate(charged);
+        int nextUp = system.getSuccessionOrder(1).get(0);
+        boolean reRanked = nextUp == scanForLeader(remaining, LeaderSelectionReason.AUTO)
+            && nextUp != leader.agentId;
+        System.out.println(String.format("  Failover %d -> %d, after updates next up: Agent %d",
+            firstLeader, system.getCurrentLeader(), nextUp));
+
+        // States changed in place: the tick's updateCandidates picks up a
+        // candidate whose score rose, failover then promotes it
+        AgentState risen = agents.get(120);
+        risen.batteryLevel = 0.2;
+        LeaderFollower stale = new LeaderFollower();
+        stale.selectLeader(agents, LeaderSelectionReason.HIGHEST_BATTERY);
+        List<AgentState> survivors = new ArrayList<>(agents);
+        boolean rankedLow = !stale.getSuccessionOrder(10).contains(risen.agentId);
+        risen.batteryLevel = 1.0;
+        stale.updateCandidates(survivors);
+        stale.handleLeaderFailure(survivors);
+        boolean staleFailover = rankedLow && stale.getCurrentLeader() == risen.agentId;
+        
+        // A next-up whose battery fell since the last tick is re-ranked at
+        // failover, and the swarm's best as a fresh scan would find it leads
+        int fading = stale.getSuccessionOrder(2).get(1);   // 0 is the leader
+        for (AgentState agent : survivors) {
+            if (agent.agentId == fading) agent.batteryLevel = 0.0;
+        }
+        stale.handleLeaderFailure(survivors);
+        boolean fadedSkipped = stale.getCurrentLeader() != fading
+            && stale.getCurrentLeader() == scanForLeader(survivors, LeaderSelectionReason.HIGHEST_BATTERY);
+        System.out.println(String.format("  Stale failover -> Agent %d, next-up %d faded, then Agent %d",
+            risen.agentId, fading, stale.getCurrentLeader()));
+
+        // One leader per partition, each the best of its own members
+        Map<Integer, List<AgentState>> partitions = new HashMap<>();
+        for (AgentState agent : agents) {
+            partitions.computeIfAbsent(agent.agentId % 4, k -> new ArrayList<>()).add(agent);
+        }
+        Map<Integer, Integer> leaders = system.selectPartitionLeaders(partitions, LeaderSelectionReason.AUTO);
+        boolean partitionsOk = leaders.size() == 4;
+        for (Map.Entry<Integer, List<AgentState>> entry : partitions.entrySet()) {
+            partitionsOk &= leaders.get(entry.getKey())
+                == scanForLeader(entry.getValue(), LeaderSelectionReason.AUTO);
+        }
+        int oldLeader = leaders.get(2);
+        int successor = system.handlePartitionLeaderFailure(2, partitions.get(2));
+        partitionsOk &= successor != -1 && successor != oldLeader
+            && successor % 4 == 2 && system.isPartitionLeader(successor) && !system.isPartitionLeader(oldLeader);
+        System.out.println(String.format("  Partition leaders: %s, partition 2 failover %d -> %d",
+            leaders, oldLeader, successor));
+
+        System.out.println();
+        if (sameAsScan && failover && reRanked && staleFailover && fadedSkipped && partitionsOk) {
+            System.out.println("  ✓ PASS: Heap elections match the scan, fail over and re-rank incrementally");
+        } else {
+            System.out.println(String.format("  ✗ FAIL: scan=%b failover=%b reRanked=%b stale=%b fadedSkipped=%b partitions=%b",
+                sameAsScan, failover, reRanked, staleFailover, fadedSkipped, partitionsOk));
+        }
+        System.out.println();
+    }
+
+    /**
+     * TEST 11: LEADER TREE
+     */
+    private static void testLeaderTree() {
+        System.out.println("TEST 11: Hierarchical Leader Tree");
+        System.out.println("---------------------------------");
+
+        Random random = new Random(49);
+        List<AgentState> agents = createTestAgents(500);
+        for (AgentState agent : agents) {
+            agent.position = new Point2D(random.nextDouble() * 800, random.nextDouble() * 600);
+        }
+        LeaderFollower system = new LeaderFollower();
+        system.setLeader(agents.get(0).agentId, LeaderSelectionReason.MANUAL);
+        LeaderTree tree = system.buildLeaderTree(agents, 6);
+        boolean built = checkTree(tree, 500) && tree.getHeight() <= 5;
+
+        // Nobody has moved: no corrections. Then the leader moves and only
+        // its direct followers react; their followers track them, not it
+        boolean quiet = system.updateHierarchy(agents).isEmpty();
+        AgentState leader = agents.get(0);
+        leader.position = new Point2D(leader.position.x + 100, leader.position.y);
+        List<MovementCommand> commands = system.updateHierarchy(agents);
+        Set<Integer> firstLevel = new HashSet<>(tree.getChildIds(leader.agentId));
+        boolean tracked = commands.size() == firstLevel.size();
+        for (MovementCommand cmd : commands) {
+            tracked &= firstLevel.contains(cmd.agentId);
+        }
+        List<LeaderTree.LevelStats> levels = tree.getLevelStats();
+        tracked &= levels.size() == tree.getHeight() + 1 && levels.get(1).nodes == firstLevel.size();
+        for (LeaderTree.LevelStats level : levels) {
+            System.out.println("  " + level);
+        }
+
+        // A sub-leader fails: its followers are re-homed locally
+        int subLeader = tree.getChildIds(leader.agentId).get(0);
+        List<Integer> orphans = tree.getChildIds(subLeader);
+        system.removeFromHierarchy(subLeader);
+        boolean repaired = !tree.contains(subLeader) && checkTree(tree, 499);
+        for (int orphan : orphans) {
+            repaired &= tree.contains(orphan) && tree.getParentId(orphan) != subLeader;
+        }
+
+        // The leader fails: the tree is re-rooted at the successor
+        List<AgentState> remaining = new ArrayList<>(agents);
+        remaining.removeIf(a -> a.agentId == subLeader);
+        system.handleLeaderFailure(remaining);
+        boolean rerooted = tree.getRootId() == system.getCurrentLeader()
+            && system.getCurrentLeader() != leader.agentId && checkTree(tree, 498);
+
+        System.out.println(String.format("  Tree: %s", tree));
+        System.out.println();
+        if (built && quiet && tracked && repaired && rerooted) {
+            System.out.println("  ✓ PASS: Tree is bounded, tracks per level and repairs after failures");
+        } else {
+            System.out.println(String.format("  ✗ FAIL: built=%b quiet=%b tracked=%b repaired=%b rerooted=%b",
+                built, quiet, tracked, repaired, rerooted));
+        }
+        System.out.println();
+    }
+
     // ==================== HELPER METHODS ====================
+
+    /**
+     * Walk the tree from its root: every node reached once, parent links
+     * consistent, fan-out respected
+     */
+    private static boolean checkTree(LeaderTree tree, int expectedSize) {
+        Set<Integer> seen = new HashSet<>();
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(tree.getRootId());
+        boolean valid = tree.getParentId(tree.getRootId()) == -1;
+        while (!queue.isEmpty()) {
+            int id = queue.poll();
+            valid &= seen.add(id);
+            List<Integer> children = tree.getChildIds(id);
+            valid &= children.size() <= tree.getFanOut();
+            for (int child : children) {
+                valid &= tree.getParentId(child) == id;
+                queue.add(child);
+            }
+        }
+        return valid && seen.size() == expectedSize && tree.size() == expectedSize;
+    }
+
+    /**
+     * Leader a full scan picks: every active agent scored against the swarm
+     * center, first strictly higher score wins
+     */
+    private static int scanForLeader(List<AgentState> agents, LeaderSelectionReason reason) {
+        double sumX = 0;
+        double sumY = 0;
+        for (AgentState agent : agents) {
+            sumX += agent.position.x;
+            sumY += agent.position.y;
+        }
+        Point2D center = new Point2D(sumX / agents.size(), sumY / agents.size());
+        int best = -1;
+        double bestScore = LeaderElection.MIN_SCORE;
+        for (AgentState agent : agents) {
+            if (agent.status != AgentStatus.ACTIVE) continue;
+            double score = LeaderElection.score(agent, center, reason);
+            if (score > bestScore) {
+                bestScore = score;
+                best = agent.agentId;
+            }
+        }
+        return best;
+    }
     
     /**
      * Create test agents with default properties
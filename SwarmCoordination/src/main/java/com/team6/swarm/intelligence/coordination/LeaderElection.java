@@ -0,0 +1,400 @@
+/**
+ * LEADERELECTION CLASS - Ranked Leadership Candidates for One Swarm
+ *
+ * PURPOSE:
+ * - Scores every active agent once per election instead of rescanning
+ *   the swarm for each candidate
+ * - Keeps the candidates in a max-heap so the next-best leader is always
+ *   at the top: failover is a peek, not a new election
+ * - Absorbs battery, position and status changes one agent at a time;
+ *   update() with an unchanged agent is a no-op, so the whole swarm can
+ *   be fed through it every tick
+ *
+ * SCORING (same formulas as before, see score()):
+ * - Swarm center (mean position of every agent passed in, active or not)
+ *   is computed once when the election is built
+ * - CENTRAL_POSITION and AUTO score against that snapshot; the live
+ *   center is tracked from running sums and every candidate is rescored
+ *   once it drifts more than CENTER_DRIFT_TOLERANCE from the snapshot
+ * - Only ACTIVE agents are candidates; a score must beat MIN_SCORE
+ *   (the old selectLeader started from bestScore = -1)
+ * - Equal scores go to the agent listed first, as the old scan did
+ *
+ * COMPLEXITY (n agents):
+ * - Build: O(n) (bottom-up heapify)
+ * - best(): O(1); update()/remove(): O(log n), O(n) on a recenter
+ * - update() of an agent whose battery, position and status are as last
+ *   seen: O(1)
+ *
+ * USAGE:
+ * LeaderElection election = new LeaderElection(agents, LeaderSelectionReason.AUTO);
+ * int leader = election.best();
+ * election.update(agentState);       // battery / position / status changed
+ * election.remove(leader);           // leader failed
+ * int successor = election.best();
+ */
+package com.team6.swarm.intelligence.coordination;
+
+import com.team6.swarm.core.*;
+import java.util.*;
+
+public class LeaderElection {
+    /**
+     * MIN_SCORE: a candidate must score above this to lead.
+     * CENTER_DRIFT_TOLERANCE: how far the live swarm center may move from the
+     *   scoring snapshot before every candidate is rescored.
+     */
+    static final double MIN_SCORE = -1;
+    static final double CENTER_DRIFT_TOLERANCE = 5.0;
+
+    private final LeaderSelectionReason reason;
+    private final Map<Integer, Member> members;
+    private Member[] heap;
+    private int heapSize;
+    private int nextOrder;
+
+    // Swarm aggregates
+    private double sumX;
+    private double sumY;
+    private Point2D scoringCenter;
+
+    // Statistics
+    private int recenterCount;
+
+    public LeaderElection(List<AgentState> agents, LeaderSelectionReason reason) {
+        if (agents == null || reason == null) {
+            throw new IllegalArgumentException("agents and reason must not be null");
+        }
+        this.reason = reason;
+        this.members = new HashMap<>(agents.size() * 2);
+        this.heap = new Member[Math.max(4, agents.size())];
+
+        for (AgentState agent : agents) {
+            if (members.containsKey(agent.agentId)) continue;   // Listed twice: first entry counts
+            members.put(agent.agentId, new Member(agent, nextOrder++));
+            sumX += agent.position.x;
+            sumY += agent.position.y;
+        }
+        scoringCenter = liveCenter();
+
+        for (AgentState agent : agents) {
+            Member member = members.get(agent.agentId);
+            if (agent.status == AgentStatus.ACTIVE && !member.isCandidate()) {
+                member.agent = agent;
+                member.score = score(agent, scoringCenter, reason);
+                place(member, heapSize++);
+            }
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * SCORE AGENT FOR LEADERSHIP
+     */
+    static double score(AgentState agent, Point2D swarmCenter, LeaderSelectionReason reason) {
+        double score = 0;
+
+        switch (reason) {
+            case HIGHEST_BATTERY:
+                score = agent.batteryLevel * 100;
+                break;
+
+            case CENTRAL_POSITION:
+                double distanceToCenter = agent.position.distanceTo(swarmCenter);
+                score = 100 - distanceToCenter;
+                break;
+
+            case BEST_SENSORS:
+                score = 50;
+                break;
+
+            case LOWEST_ID:
+                score = 1000 - agent.agentId;
+                break;
+
+            case AUTO:
+                score = agent.batteryLevel * 40;
+                double dist = agent.position.distanceTo(swarmCenter);
+                score += Math.max(0, 100 - dist) * 0.3;
+                score += (1000 - agent.agentId) * 0.01;
+                break;
+
+            default:
+                score = agent.batteryLevel * 50;
+        }
+
+        return score;
+    }
+
+    // ==================== UPDATES ====================
+
+    /**
+     * Re-score one agent after its battery, position or status changed;
+     * an agent not seen before joins the swarm. Nothing happens if none of
+     * them changed since the agent was last seen.
+     */
+    public void update(AgentState agent) {
+        if (agent == null) {
+            throw new IllegalArgumentException("agent must not be null");
+        }
+        Member member = members.get(agent.agentId);
+        if (member == null) {
+            member = new Member(agent, nextOrder++);
+            members.put(agent.agentId, member);
+            sumX += agent.position.x;
+            sumY += agent.position.y;
+        } else if (!member.changed(agent)) {
+            return;
+        } else if (member.x != agent.position.x || member.y != agent.position.y) {
+            sumX += agent.position.x - member.x;
+            sumY += agent.position.y - member.y;
+            member.x = agent.position.x;
+            member.y = agent.position.y;
+        }
+
+        member.agent = agent;
+        member.battery = agent.batteryLevel;
+        member.active = agent.status == AgentStatus.ACTIVE;
+        if (!member.active) {
+            removeCandidate(member);
+        } else if (!member.isCandidate()) {
+            member.score = score(agent, scoringCenter, reason);
+            push(member);
+        } else {
+            rescore(member);
+        }
+        recenterIfDrifted();
+    }
+
+    /**
+     * Drop an agent from the swarm (failed, lost or left the partition)
+     *
+     * @return true if the agent was part of this election
+     */
+    public boolean remove(int agentId) {
+        Member member = members.remove(agentId);
+        if (member == null) {
+            return false;
+        }
+        sumX -= member.x;
+        sumY -= member.y;
+        removeCandidate(member);
+        recenterIfDrifted();
+        return true;
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Best candidate's agent ID, or -1 if no candidate scores above MIN_SCORE
+     */
+    public int best() {
+        return heapSize > 0 && heap[0].score > MIN_SCORE ? heap[0].agent.agentId : -1;
+    }
+
+    /**
+     * Up to limit candidates, best first (does not disturb the heap)
+     */
+    public List<Integer> ranking(int limit) {
+        List<Integer> ranked = new ArrayList<>(Math.min(limit, heapSize));
+        PriorityQueue<Member> frontier = new PriorityQueue<>(LeaderElection::compare);
+        if (heapSize > 0) frontier.add(heap[0]);
+        while (!frontier.isEmpty() && ranked.size() < limit) {
+            Member next = frontier.poll();
+            if (next.score <= MIN_SCORE) break;
+            ranked.add(next.agent.agentId);
+            int child = 2 * next.heapIndex + 1;
+            if (child < heapSize) frontier.add(heap[child]);
+            if (child + 1 < heapSize) frontier.add(heap[child + 1]);
+        }
+        return ranked;
+    }
+
+    /**
+     * Current score of a candidate, NaN if the agent is not a candidate
+     */
+    public double getScore(int agentId) {
+        Member member = members.get(agentId);
+        return member != null && member.isCandidate() ? member.score : Double.NaN;
+    }
+
+    public boolean isMember(int agentId) {
+        return members.containsKey(agentId);
+    }
+
+    public boolean isCandidate(int agentId) {
+        Member member = members.get(agentId);
+        return member != null && member.isCandidate();
+    }
+
+    public LeaderSelectionReason getReason() {
+        return reason;
+    }
+
+    /**
+     * Center the candidates are currently scored against
+     */
+    public Point2D getScoringCenter() {
+        return new Point2D(scoringCenter.x, scoringCenter.y);
+    }
+
+    public int getCandidateCount() {
+        return heapSize;
+    }
+
+    public int getMemberCount() {
+        return members.size();
+    }
+
+    /**
+     * Times every candidate was rescored because the swarm center drifted
+     */
+    public int getRecenterCount() {
+        return recenterCount;
+    }
+
+    // ==================== AGGREGATES ====================
+
+    private Point2D liveCenter() {
+        int count = members.size();
+        return count > 0 ? new Point2D(sumX / count, sumY / count) : new Point2D(0, 0);
+    }
+
+    private void recenterIfDrifted() {
+        if (reason != LeaderSelectionReason.CENTRAL_POSITION && reason != LeaderSelectionReason.AUTO) {
+            return;
+        }
+        Point2D center = liveCenter();
+        if (center.distanceTo(scoringCenter) <= CENTER_DRIFT_TOLERANCE) {
+            return;
+        }
+        scoringCenter = center;
+        recenterCount++;
+        for (int i = 0; i < heapSize; i++) {
+            heap[i].score = score(heap[i].agent, scoringCenter, reason);
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    // ==================== HEAP ====================
+
+    private void rescore(Member member) {
+        double old = member.score;
+        member.score = score(member.agent, scoringCenter, reason);
+        if (member.score > old) {
+            siftUp(member.heapIndex);
+        } else if (member.score < old) {
+            siftDown(member.heapIndex);
+        }
+    }
+
+    private void push(Member member) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        place(member, heapSize++);
+        siftUp(member.heapIndex);
+    }
+
+    private void removeCandidate(Member member) {
+        if (!member.isCandidate()) {
+            return;
+        }
+        int index = member.heapIndex;
+        member.heapIndex = -1;
+        Member last = heap[--heapSize];
+        heap[heapSize] = null;
+        if (index < heapSize) {
+            place(last, index);
+            siftDown(index);
+            siftUp(last.heapIndex);
+        }
+    }
+
+    private void siftUp(int index) {
+        Member candidate = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (compare(candidate, heap[parent]) >= 0) break;
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(candidate, index);
+    }
+
+    private void siftDown(int index) {
+        Member candidate = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && compare(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (compare(heap[child], candidate) >= 0) break;
+            place(heap[child], index);
+            index = child;
+        }
+        place(candidate, index);
+    }
+
+    private void place(Member candidate, int index) {
+        heap[index] = candidate;
+        candidate.heapIndex = index;
+    }
+
+    /**
+     * Higher score first, then the agent listed first
+     */
+    private static int compare(Member a, Member b) {
+        if (a.score != b.score) {
+            return Double.compare(b.score, a.score);
+        }
+        return Integer.compare(a.order, b.order);
+    }
+
+    /**
+     * Every agent counted in the aggregates; on the heap only while ACTIVE
+     */
+    private static final class Member {
+        AgentState agent;
+        final int order;
+        double x;              // Position counted in sumX / sumY
+        double y;
+        double battery;        // Battery and status last scored
+        boolean active;
+        double score;
+        int heapIndex = -1;    // -1 while not a candidate
+
+        Member(AgentState agent, int order) {
+            this.agent = agent;
+            this.order = order;
+            this.x = agent.position.x;
+            this.y = agent.position.y;
+            this.battery = agent.batteryLevel;
+            this.active = agent.status == AgentStatus.ACTIVE;
+        }
+
+        /**
+         * Whether anything the score depends on differs from what was last
+         * seen (the state object is often the same one, changed in place)
+         */
+        boolean changed(AgentState state) {
+            return state != agent || state.position.x != x || state.position.y != y
+                || state.batteryLevel != battery || (state.status == AgentStatus.ACTIVE) != active;
+        }
+
+        boolean isCandidate() {
+            return heapIndex >= 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LeaderElection[%s | candidates=%d | members=%d | best=%d | recenters=%d]",
+            reason, heapSize, members.size(), best(), recenterCount);
+    }
+}
@@ -6,11 +6,35 @@
  * - Enable hierarchical decision-making structure
  * - Maintain formation relative to designated leader
  * - Handle leader failure and automatic succession
+ *
+ * ELECTIONS:
+ * - selectLeader builds a LeaderElection: swarm aggregates are computed
+ *   once and the candidates kept in a max-heap, so choosing a leader is
+ *   O(n) instead of a swarm scan per candidate
+ * - updateCandidate(agent) feeds battery/position/status changes into
+ *   the standing election(s) one agent at a time; updateCandidates(agents)
+ *   feeds the whole swarm (SwarmCoordinator, every tick), where only the
+ *   agents that changed cost more than a lookup
+ * - handleLeaderFailure promotes the next-best candidate of the standing
+ *   election (reason SUCCESSION), popping only top entries that are gone;
+ *   only with no usable candidate does it fall back to a fresh
+ *   HIGHEST_BATTERY election
+ * - selectPartitionLeaders elects one leader per sub-swarm, in parallel
+ *   for large swarms; handlePartitionLeaderFailure fails over per partition
+ *
+ * HIERARCHY (large swarms):
+ * - buildLeaderTree arranges the swarm as a LeaderTree below the current
+ *   leader with bounded fan-out; updateHierarchy produces the follower
+ *   commands per subtree instead of everyone tracking the leader
+ * - Leader changes re-root the tree; removeFromHierarchy and leader
+ *   failures repair it locally
  */
 package com.team6.swarm.intelligence.coordination;
 
 import com.team6.swarm.core.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 public class LeaderFollower {
     // Leadership tracking
@@ -31,6 +55,20 @@ public class LeaderFollower {
     // Leader monitoring
     private long lastLeaderUpdate;
     private static final long LEADER_TIMEOUT = 5000;
+
+    // Standing elections: next-best candidates for failover
+    private LeaderElection election;
+    private final Map<Integer, LeaderElection> partitionElections;
+    private final Map<Integer, Integer> partitionLeaders;
+
+    // Multi-level hierarchy, null while the flat follower map is used
+    private LeaderTree leaderTree;
+
+    /**
+     * PARALLEL_ELECTION_THRESHOLD: agents across all partitions above which
+     * partition elections run in parallel.
+     */
+    private static final int PARALLEL_ELECTION_THRESHOLD = 2_000;
     
     public LeaderFollower() {
         this.currentLeaderId = -1;
@@ -38,6 +76,8 @@ public class LeaderFollower {
         this.leadershipHistory = new ArrayList<>();
         this.leadershipChangeCount = 0;
         this.lastLeaderUpdate = System.currentTimeMillis();
+        this.partitionElections = new ConcurrentHashMap<>();
+        this.partitionLeaders = new ConcurrentHashMap<>();
     }
     
     /**
@@ -53,6 +93,15 @@ public class LeaderFollower {
             leadershipHistory.add(currentLeaderId);
         }
         
+        if (leaderTree != null && leaderTree.getRootId() != agentId) {
+            if (leaderTree.contains(agentId)) {
+                leaderTree.promoteToRoot(agentId);
+            } else {
+                System.err.println("Agent " + agentId + " is not in the leader tree - tree dropped, rebuild it");
+                leaderTree = null;
+            }
+        }
+        
         currentLeaderId = agentId;
         selectionReason = reason;
         leadershipStartTime = System.currentTimeMillis();
@@ -74,68 +123,62 @@ public class LeaderFollower {
             return;
         }
         
-        AgentState bestAgent = null;
-        double bestScore = -1;
-        
-        for (AgentState agent : agents) {
-            if (agent.status != AgentStatus.ACTIVE) {
-                continue;
-            }
-            
-            double score = scoreAgentForLeadership(agent, agents, reason);
-            
-            if (score > bestScore) {
-                bestScore = score;
-                bestAgent = agent;
-            }
-        }
+        election = new LeaderElection(agents, reason);
+        int bestAgent = election.best();
         
-        if (bestAgent != null) {
-            setLeader(bestAgent.agentId, reason);
+        if (bestAgent != -1) {
+            setLeader(bestAgent, reason);
         } else {
             System.err.println("No suitable leader found");
         }
     }
-    
+
     /**
-     * SCORE AGENT FOR LEADERSHIP
+     * UPDATE CANDIDATE
+     * Feed one agent's new battery, position or status into the standing
+     * election and the election of its partition (O(log n) each)
      */
-    private double scoreAgentForLeadership(AgentState agent, List<AgentState> allAgents,
-                                          LeaderSelectionReason reason) {
-        double score = 0;
-        
-        switch (reason) {
-            case HIGHEST_BATTERY:
-                score = agent.batteryLevel * 100;
-                break;
-                
-            case CENTRAL_POSITION:
-                Point2D swarmCenter = calculateSwarmCenter(allAgents);
-                double distanceToCenter = agent.position.distanceTo(swarmCenter);
-                score = 100 - distanceToCenter;
-                break;
-                
-            case BEST_SENSORS:
-                score = 50;
-                break;
-                
-            case LOWEST_ID:
-                score = 1000 - agent.agentId;
-                break;
-                
-            case AUTO:
-                score = agent.batteryLevel * 40;
-                Point2D center = calculateSwarmCenter(allAgents);
-                double dist = agent.position.distanceTo(center);
-                score += Math.max(0, 100 - dist) * 0.3;
-                score += (1000 - agent.agentId) * 0.01;
-                break;
-                
-            default:
-                score = agent.batteryLevel * 50;
+    public void updateCandidate(AgentState agent) {
+        if (agent == null) {
+            throw new IllegalArgumentException("agent must not be null");
         }
-        
-        return score;
+        if (election != null) {
+            election.update(agent);
+        }
+        for (LeaderElection partitionElection : partitionElections.values()) {
+            if (partitionElection.isMember(agent.agentId)) {
+                partitionElection.update(agent);
+            }
+        }
+    }
+
+    /**
+     * UPDATE CANDIDATES
+     * Feed every agent's current state through updateCandidate; agents
+     * whose battery, position and status did not change are skipped in
+     * O(1), the rest re-ranked in O(log n)
+     */
+    public void updateCandidates(List<AgentState> agents) {
+        if (agents == null) {
+            throw new IllegalArgumentException("agents must not be null");
+        }
+        if (election == null && partitionElections.isEmpty()) {
+            return;
+        }
+        for (AgentState agent : agents) {
+            updateCandidate(agent);
+        }
+    }
+
+    /**
+     * Next-best candidates of the standing election, best first
+     */
+    public List<Integer> getSuccessionOrder(int limit) {
+        return election != null ? election.ranking(limit) : new ArrayList<>();
+    }
+
+    public LeaderElection getElection() {
+        return election;
     }
     
     /**
@@ -187,6 +230,9 @@ public class LeaderFollower {
         System.out.println("Leader failure detected! Selecting new leader...");
         
         remainingAgents.removeIf(a -> a.agentId == currentLeaderId);
+        if (leaderTree != null) {
+            leaderTree.remove(currentLeaderId);
+        }
         
         if (remainingAgents.isEmpty()) {
             System.err.println("No agents remaining to become leader!");
@@ -194,13 +240,188 @@ public class LeaderFollower {
             return;
         }
         
-        selectLeader(remainingAgents, LeaderSelectionReason.HIGHEST_BATTERY);
+        int successor = election != null ? nextCandidate(election, currentLeaderId, remainingAgents) : -1;
+        if (successor != -1) {
+            setLeader(successor, LeaderSelectionReason.SUCCESSION);
+        } else {
+            selectLeader(remainingAgents, LeaderSelectionReason.HIGHEST_BATTERY);
+        }
         
         if (currentLeaderId != -1) {
             updateFollowerOffsets(remainingAgents);
         }
     }
     
+    /**
+     * NEXT CANDIDATE
+     * Drop the failed leader from an election and take the top candidate,
+     * re-checked against its current state: a candidate that is gone is
+     * dropped, one whose score fell is re-ranked and the next top tried.
+     * Scores are as current as the last updateCandidate(s).
+     */
+    private int nextCandidate(LeaderElection standing, int failedId, List<AgentState> remainingAgents) {
+        standing.remove(failedId);
+        while (true) {
+            int candidate = standing.best();
+            if (candidate == -1) {
+                return -1;
+            }
+            AgentState state = findAgent(remainingAgents, candidate);
+            if (state == null) {
+                standing.remove(candidate);
+                continue;
+            }
+            standing.update(state);
+            if (standing.best() == candidate) {
+                return candidate;
+            }
+        }
+    }
+
+    // ==================== PARTITION LEADERS ====================
+
+    /**
+     * SELECT PARTITION LEADERS
+     * One election per sub-swarm, run in parallel once the partitions hold
+     * PARALLEL_ELECTION_THRESHOLD agents; replaces any earlier partition
+     * leaders. The swarm-wide leader is not changed.
+     *
+     * @return partition ID -> leader agent ID (partitions with no suitable
+     *         leader are left out)
+     */
+    public Map<Integer, Integer> selectPartitionLeaders(Map<Integer, List<AgentState>> partitions,
+                                                        LeaderSelectionReason reason) {
+        if (partitions == null || reason == null) {
+            throw new IllegalArgumentException("partitions and reason must not be null");
+        }
+        int totalAgents = 0;
+        for (List<AgentState> members : partitions.values()) {
+            totalAgents += members.size();
+        }
+
+        // Drop the old standings first: they hold a member per agent too
+        partitionElections.clear();
+        partitionLeaders.clear();
+
+        var entries = partitions.entrySet().stream();
+        if (totalAgents >= PARALLEL_ELECTION_THRESHOLD) {
+            entries = entries.parallel();
+        }
+        Map<Integer, LeaderElection> elections = entries.collect(Collectors.toMap(
+            Map.Entry::getKey, e -> new LeaderElection(e.getValue(), reason)));
+
+        partitionElections.putAll(elections);
+        for (Map.Entry<Integer, LeaderElection> entry : elections.entrySet()) {
+            int leader = entry.getValue().best();
+            if (leader != -1) {
+                partitionLeaders.put(entry.getKey(), leader);
+            }
+        }
+
+        System.out.println(String.format("Partition leaders elected: %d of %d partitions (%s)",
+            partitionLeaders.size(), partitions.size(), reason));
+        return new HashMap<>(partitionLeaders);
+    }
+
+    /**
+     * HANDLE PARTITION LEADER FAILURE
+     *
+     * @return the partition's new leader, or -1 if it has no candidate left
+     */
+    public int handlePartitionLeaderFailure(int partitionId, List<AgentState> partitionAgents) {
+        LeaderElection partitionElection = partitionElections.get(partitionId);
+        Integer failed = partitionLeaders.remove(partitionId);
+        if (partitionElection == null || failed == null) {
+            return -1;
+        }
+        int successor = nextCandidate(partitionElection, failed, partitionAgents);
+        if (successor != -1) {
+            partitionLeaders.put(partitionId, successor);
+            System.out.println(String.format("Partition %d: Agent %d succeeds failed leader Agent %d",
+                partitionId, successor, failed));
+        } else {
+            System.err.println("Partition " + partitionId + " has no agents left to lead");
+        }
+        return successor;
+    }
+
+    /**
+     * Leader of one partition, -1 if none
+     */
+    public int getPartitionLeader(int partitionId) {
+        return partitionLeaders.getOrDefault(partitionId, -1);
+    }
+
+    public Map<Integer, Integer> getPartitionLeaders() {
+        return new HashMap<>(partitionLeaders);
+    }
+
+    public boolean isPartitionLeader(int agentId) {
+        return partitionLeaders.containsValue(agentId);
+    }
+    
+    // ==================== LEADER TREE ====================
+
+    /**
+     * BUILD LEADER TREE
+     * Arrange the agents below the current leader (elected with AUTO if
+     * there is none) with at most fanOut direct followers per node
+     */
+    public LeaderTree buildLeaderTree(List<AgentState> agents, int fanOut) {
+        if (agents == null || agents.isEmpty()) {
+            System.err.println("Cannot build leader tree: no agents available");
+            return null;
+        }
+        if (currentLeaderId == -1 || findAgent(agents, currentLeaderId) == null) {
+            selectLeader(agents, LeaderSelectionReason.AUTO);
+        }
+        if (currentLeaderId == -1) {
+            return null;
+        }
+        
+        LeaderTree tree = new LeaderTree(fanOut);
+        tree.build(agents, currentLeaderId);
+        leaderTree = tree;
+        
+        System.out.println(String.format(
+            "Leader tree built: Agent %d leads %d agents in %d levels (fan-out %d)",
+            currentLeaderId, tree.size() - 1, tree.getHeight(), fanOut
+        ));
+        return tree;
+    }
+
+    /**
+     * UPDATE HIERARCHY
+     * Follower commands for the whole tree, each agent relative to its parent
+     */
+    public List<MovementCommand> updateHierarchy(List<AgentState> agents) {
+        if (leaderTree == null) {
+            System.err.println("No leader tree - call buildLeaderTree first");
+            return new ArrayList<>();
+        }
+        updateLeaderStatus();
+        return leaderTree.update(agents);
+    }
+
+    /**
+     * Drop a failed follower or sub-leader from the tree (a failed leader
+     * goes through handleLeaderFailure)
+     */
+    public void removeFromHierarchy(int agentId) {
+        if (agentId == currentLeaderId) {
+            System.err.println("Agent " + agentId + " is the leader - use handleLeaderFailure");
+            return;
+        }
+        if (leaderTree != null) {
+            leaderTree.remove(agentId);
+        }
+        followers.remove(agentId);
+    }
+
+    public LeaderTree getLeaderTree() {
+        return leaderTree;
+    }
+    
     public void updateLeaderStatus() {
         lastLeaderUpdate = System.currentTimeMillis();
     }
@@ -360,26 +581,6 @@ public class LeaderFollower {
         return new Point2D(newX, newY);
     }
     
-    /**
-     * CALCULATE SWARM CENTER
-     */
-    private Point2D calculateSwarmCenter(List<AgentState> agents) {
-        double sumX = 0;
-        double sumY = 0;
-        
-        for (AgentState agent : agents) {
-            sumX += agent.position.x;
-            sumY += agent.position.y;
-        }
-        
-        if (agents.size() > 0) {
-            sumX /= agents.size();
-            sumY /= agents.size();
-        }
-        
-        return new Point2D(sumX, sumY);
-    }
-    
     /**
      * SETUP V-FORMATION
      */
@@ -477,8 +678,12 @@ public class LeaderFollower {
     }
     
     public AgentState getLeaderState(List<AgentState> agents) {
+        return findAgent(agents, currentLeaderId);
+    }
+
+    private static AgentState findAgent(List<AgentState> agents, int agentId) {
         for (AgentState agent : agents) {
-            if (agent.agentId == currentLeaderId) {
+            if (agent.agentId == agentId) {
                 return agent;
             }
         }
@@ -563,6 +768,10 @@ public class LeaderFollower {
         followers.clear();
         leadershipHistory.clear();
         leadershipChangeCount = 0;
+        election = null;
+        leaderTree = null;
+        partitionElections.clear();
+        partitionLeaders.clear();
         System.out.println("Leader-Follower system reset");
     }
     
@@ -0,0 +1,609 @@
+/**
+ * LEADERTREE CLASS - Multi-Level Leader-Follower Hierarchy
+ *
+ * PURPOSE:
+ * - Replaces the flat "every follower tracks the leader" model for large
+ *   swarms: sub-leaders follow the leader, followers follow their
+ *   sub-leader, and no node has more than fanOut direct followers
+ * - A follower corrects against a nearby parent, so agents far from the
+ *   leader no longer chase a point hundreds of units away
+ *
+ * STRUCTURE:
+ * - Built top-down: the agents under a node are split into fanOut
+ *   angular sectors around it, the sector member nearest the node
+ *   becomes its sub-leader and the rest of the sector hangs below that
+ *   sub-leader (height about log_fanOut(n))
+ * - Each node keeps its offset from its parent, taken from positions when
+ *   it was attached
+ *
+ * FAILURES (incremental, touching only the failed node's neighbourhood):
+ * - remove(): the failed node's nearest child takes its slot and the
+ *   other children are adopted below it, at the nearest free slot one
+ *   level down or else in the shallowest subtree
+ * - promoteToRoot(): an agent moves into the root slot; its old slot is
+ *   repaired the same way and the previous root is adopted below it
+ * - Repairs can deepen the tree; once it is MAX_EXTRA_HEIGHT levels
+ *   taller than when built, it is rebuilt from last known positions
+ *
+ * UPDATES:
+ * - update() walks each of the root's subtrees level by level, in
+ *   parallel once the tree holds PARALLEL_UPDATE_THRESHOLD nodes; every
+ *   subtree writes only its own nodes and commands
+ * - Per level: nodes, compute time (last update and average) and mean
+ *   distance from the offset position, see getLevelStats()
+ *
+ * USAGE:
+ * LeaderTree tree = new LeaderTree(8);
+ * tree.build(agents, leaderId);
+ * List<MovementCommand> commands = tree.update(agents);
+ * tree.remove(failedAgentId);
+ */
+package com.team6.swarm.intelligence.coordination;
+
+import com.team6.swarm.core.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class LeaderTree {
+    public static final int DEFAULT_FAN_OUT = 8;
+
+    /**
+     * PARALLEL_UPDATE_THRESHOLD: nodes above which subtrees update in parallel.
+     * MAX_EXTRA_HEIGHT: repair-induced growth over the built height that
+     *   triggers a rebuild.
+     */
+    private static final int PARALLEL_UPDATE_THRESHOLD = 1_000;
+    private static final int MAX_EXTRA_HEIGHT = 2;
+    private static final double POSITION_TOLERANCE = 10.0;
+    private static final double SMOOTH_FACTOR = 0.3;
+
+    private final int fanOut;
+    private final Map<Integer, Node> nodes;
+    private Node root;
+    private int builtHeight;
+    private long tick;              // Stamps the states seen by one update
+
+    // Statistics
+    private int repairCount;
+    private int rebuildCount;
+    private long updateCount;
+    private int[] lastLevelNodes;
+    private long[] lastLevelNanos;
+    private double[] lastLevelError;
+    private long[] totalLevelNanos;
+
+    public LeaderTree(int fanOut) {
+        if (fanOut < 2) {
+            throw new IllegalArgumentException("fanOut must be at least 2");
+        }
+        this.fanOut = fanOut;
+        this.nodes = new HashMap<>();
+        resetMetrics();
+    }
+
+    // ==================== BUILD ====================
+
+    /**
+     * Build the tree under rootId from the agents' current positions
+     */
+    public void build(List<AgentState> agents, int rootId) {
+        if (agents == null) {
+            throw new IllegalArgumentException("agents must not be null");
+        }
+        nodes.clear();
+        root = null;
+        for (AgentState agent : agents) {
+            nodes.putIfAbsent(agent.agentId, new Node(agent.agentId, agent.position));
+        }
+        root = nodes.get(rootId);
+        if (root == null) {
+            nodes.clear();
+            throw new IllegalArgumentException("root agent " + rootId + " is not in the agent list");
+        }
+        layout();
+    }
+
+    /**
+     * Lay every node out again below the current root
+     */
+    public void rebuild() {
+        if (root == null) return;
+        rebuildCount++;
+        layout();
+    }
+
+    private void layout() {
+        List<Node> rest = new ArrayList<>(nodes.size());
+        for (Node node : nodes.values()) {
+            node.parent = null;
+            node.children.clear();
+            node.height = 0;
+            if (node != root) rest.add(node);
+        }
+        rest.sort(Comparator.comparingInt(n -> n.agentId));   // Same tree for the same swarm
+        root.offsetX = 0;
+        root.offsetY = 0;
+        attachGroup(root, rest);
+        builtHeight = root.height;
+        resetMetrics();
+    }
+
+    /**
+     * Split a group into fanOut sectors around parent; each sector's
+     * nearest member leads the rest of it
+     */
+    private void attachGroup(Node parent, List<Node> group) {
+        if (group.size() <= fanOut) {
+            for (Node node : group) {
+                link(parent, node);
+            }
+            parent.height = group.isEmpty() ? 0 : 1;
+            return;
+        }
+        group.sort(Comparator.comparingDouble(n -> Math.atan2(n.lastY - parent.lastY, n.lastX - parent.lastX)));
+        int height = 0;
+        for (int sector = 0; sector < fanOut; sector++) {
+            List<Node> members = new ArrayList<>(group.subList(
+                sector * group.size() / fanOut, (sector + 1) * group.size() / fanOut));
+            Node subLeader = nearest(members, parent.lastX, parent.lastY);
+            members.remove(subLeader);
+            link(parent, subLeader);
+            attachGroup(subLeader, members);
+            height = Math.max(height, subLeader.height + 1);
+        }
+        parent.height = height;
+    }
+
+    // ==================== REPAIR ====================
+
+    /**
+     * Add an agent below the node nearest to it that has a free slot
+     */
+    public void add(AgentState agent) {
+        if (agent == null) {
+            throw new IllegalArgumentException("agent must not be null");
+        }
+        if (nodes.containsKey(agent.agentId)) return;
+        Node node = new Node(agent.agentId, agent.position);
+        nodes.put(agent.agentId, node);
+        if (root == null) {
+            root = node;
+            builtHeight = 0;
+            return;
+        }
+        adopt(root, node);
+        rebuildIfTooTall();
+    }
+
+    /**
+     * Drop a failed agent; its nearest child takes over its slot
+     *
+     * @return true if the agent was in the tree
+     */
+    public boolean remove(int agentId) {
+        Node failed = nodes.remove(agentId);
+        if (failed == null) {
+            return false;
+        }
+        repairCount++;
+        if (failed.children.isEmpty()) {
+            if (failed == root) {
+                root = null;
+            } else {
+                Node parent = failed.parent;
+                parent.children.remove(failed);
+                refreshHeights(parent);
+            }
+            return true;
+        }
+        moveInto(failed, nearest(failed.children, failed.lastX, failed.lastY));
+        rebuildIfTooTall();
+        return true;
+    }
+
+    /**
+     * Make an agent in the tree the root; the previous root stays in the
+     * tree below it
+     */
+    public void promoteToRoot(int agentId) {
+        Node node = nodes.get(agentId);
+        if (node == null) {
+            throw new IllegalArgumentException("agent " + agentId + " is not in the tree");
+        }
+        if (node == root) return;
+        repairCount++;
+        Node oldRoot = root;
+        moveInto(oldRoot, node);
+        adopt(node, oldRoot);
+        rebuildIfTooTall();
+    }
+
+    /**
+     * Take successor out of its slot (repairing it) and put it in target's
+     * slot with target's children; target is left unlinked
+     */
+    private void moveInto(Node target, Node successor) {
+        detach(successor);
+        Node parent = target.parent;
+        if (parent == null) {
+            root = successor;
+            successor.parent = null;
+            successor.offsetX = 0;
+            successor.offsetY = 0;
+        } else {
+            parent.children.set(parent.children.indexOf(target), successor);
+            successor.parent = parent;
+            setOffset(successor);
+        }
+        for (Node child : target.children) {
+            child.parent = successor;
+            successor.children.add(child);
+            setOffset(child);
+        }
+        target.children.clear();
+        target.parent = null;
+        target.height = 0;
+        refreshHeights(successor);
+    }
+
+    /**
+     * Unlink a non-root node; its nearest child takes its slot and adopts
+     * the others
+     */
+    private void detach(Node node) {
+        Node parent = node.parent;
+        List<Node> children = new ArrayList<>(node.children);
+        node.children.clear();
+        node.parent = null;
+        node.height = 0;
+        parent.children.remove(node);
+        if (children.isEmpty()) {
+            refreshHeights(parent);
+            return;
+        }
+        Node heir = nearest(children, node.lastX, node.lastY);
+        children.remove(heir);
+        link(parent, heir);
+        refreshHeights(heir);
+        for (Node orphan : children) {
+            adopt(heir, orphan);
+        }
+    }
+
+    /**
+     * Attach a node (with its subtree) below from; while the host is full,
+     * step to the nearest child with a free slot, else into the shallowest
+     * child subtree, so the tree grows as little as possible
+     */
+    private void adopt(Node from, Node orphan) {
+        Node host = from;
+        while (host.children.size() >= fanOut) {
+            Node next = null;
+            double nextDistance = Double.MAX_VALUE;
+            boolean nextFree = false;
+            for (Node child : host.children) {
+                boolean free = child.children.size() < fanOut;
+                double dx = child.lastX - orphan.lastX;
+                double dy = child.lastY - orphan.lastY;
+                double distance = dx * dx + dy * dy;
+                boolean better;
+                if (next == null || free != nextFree) {
+                    better = next == null || free;
+                } else if (!free && child.height != next.height) {
+                    better = child.height < next.height;
+                } else {
+                    better = distance < nextDistance;
+                }
+                if (better) {
+                    next = child;
+                    nextDistance = distance;
+                    nextFree = free;
+                }
+            }
+            host = next;
+        }
+        link(host, orphan);
+        refreshHeights(host);
+    }
+
+    private void link(Node parent, Node child) {
+        child.parent = parent;
+        parent.children.add(child);
+        setOffset(child);
+    }
+
+    private void setOffset(Node child) {
+        child.offsetX = child.lastX - child.parent.lastX;
+        child.offsetY = child.lastY - child.parent.lastY;
+    }
+
+    private void refreshHeights(Node node) {
+        for (Node n = node; n != null; n = n.parent) {
+            int height = 0;
+            for (Node child : n.children) {
+                height = Math.max(height, child.height + 1);
+            }
+            n.height = height;
+        }
+    }
+
+    private void rebuildIfTooTall() {
+        if (root != null && root.height > builtHeight + MAX_EXTRA_HEIGHT) {
+            rebuild();
+        }
+    }
+
+    private static Node nearest(List<Node> candidates, double x, double y) {
+        Node best = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (Node node : candidates) {
+            double dx = node.lastX - x;
+            double dy = node.lastY - y;
+            double distance = dx * dx + dy * dy;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    // ==================== UPDATE ====================
+
+    /**
+     * Movement commands bringing every node back to its offset from its
+     * parent; agents missing from the list keep their last known position
+     */
+    public List<MovementCommand> update(List<AgentState> agents) {
+        if (agents == null) {
+            throw new IllegalArgumentException("agents must not be null");
+        }
+        List<MovementCommand> commands = new ArrayList<>();
+        if (root == null) {
+            return commands;
+        }
+        int levels = root.height + 1;
+        long start = System.nanoTime();
+        long current = ++tick;
+        for (AgentState agent : agents) {
+            Node node = nodes.get(agent.agentId);
+            if (node != null) {
+                node.state = agent;
+                node.stateTick = current;
+            }
+        }
+        if (root.stateTick == current) {
+            root.lastX = root.state.position.x;
+            root.lastY = root.state.position.y;
+        }
+        long rootNanos = System.nanoTime() - start;
+
+        var subtrees = root.children.stream();
+        if (nodes.size() >= PARALLEL_UPDATE_THRESHOLD) {
+            subtrees = subtrees.parallel();
+        }
+        List<SubtreeResult> results = subtrees
+            .map(subRoot -> updateSubtree(subRoot, current, levels))
+            .collect(Collectors.toList());
+
+        int[] levelNodes = new int[levels];
+        long[] levelNanos = new long[levels];
+        double[] levelError = new double[levels];
+        levelNodes[0] = 1;
+        levelNanos[0] = rootNanos;
+        for (SubtreeResult result : results) {
+            commands.addAll(result.commands);
+            for (int level = 1; level < levels; level++) {
+                levelNodes[level] += result.nodes[level];
+                levelNanos[level] += result.nanos[level];
+                levelError[level] += result.error[level];
+            }
+        }
+        recordLevels(levelNodes, levelNanos, levelError);
+        return commands;
+    }
+
+    /**
+     * One subtree, level by level; touches only nodes inside it
+     */
+    private SubtreeResult updateSubtree(Node subRoot, long current, int levels) {
+        SubtreeResult result = new SubtreeResult(levels);
+        List<Node> level = new ArrayList<>();
+        level.add(subRoot);
+        for (int depth = 1; !level.isEmpty(); depth++) {
+            long start = System.nanoTime();
+            List<Node> next = new ArrayList<>();
+            for (Node node : level) {
+                next.addAll(node.children);
+                if (node.stateTick != current) continue;
+                node.lastX = node.state.position.x;
+                node.lastY = node.state.position.y;
+
+                double dx = node.parent.lastX + node.offsetX - node.lastX;
+                double dy = node.parent.lastY + node.offsetY - node.lastY;
+                double error = Math.sqrt(dx * dx + dy * dy);
+                result.nodes[depth]++;
+                result.error[depth] += error;
+                if (error > POSITION_TOLERANCE) {
+                    MovementCommand cmd = new MovementCommand();
+                    cmd.agentId = node.agentId;
+                    cmd.type = MovementType.MOVE_TO_TARGET;
+                    cmd.parameters.put("target", new Point2D(
+                        node.lastX + dx * SMOOTH_FACTOR, node.lastY + dy * SMOOTH_FACTOR));
+                    result.commands.add(cmd);
+                }
+            }
+            result.nanos[depth] += System.nanoTime() - start;
+            level = next;
+        }
+        return result;
+    }
+
+    private void recordLevels(int[] levelNodes, long[] levelNanos, double[] levelError) {
+        updateCount++;
+        if (totalLevelNanos.length < levelNanos.length) {
+            totalLevelNanos = Arrays.copyOf(totalLevelNanos, levelNanos.length);
+        }
+        for (int level = 0; level < levelNanos.length; level++) {
+            totalLevelNanos[level] += levelNanos[level];
+            levelError[level] = levelNodes[level] > 0 ? levelError[level] / levelNodes[level] : 0.0;
+        }
+        lastLevelNodes = levelNodes;
+        lastLevelNanos = levelNanos;
+        lastLevelError = levelError;
+    }
+
+    private void resetMetrics() {
+        updateCount = 0;
+        lastLevelNodes = new int[0];
+        lastLevelNanos = new long[0];
+        lastLevelError = new double[0];
+        totalLevelNanos = new long[0];
+    }
+
+    // ==================== QUERIES ====================
+
+    public boolean contains(int agentId) {
+        return nodes.containsKey(agentId);
+    }
+
+    public int getRootId() {
+        return root != null ? root.agentId : -1;
+    }
+
+    /**
+     * Agent this one follows, -1 for the root or an unknown agent
+     */
+    public int getParentId(int agentId) {
+        Node node = nodes.get(agentId);
+        return node != null && node.parent != null ? node.parent.agentId : -1;
+    }
+
+    public List<Integer> getChildIds(int agentId) {
+        Node node = nodes.get(agentId);
+        List<Integer> ids = new ArrayList<>();
+        if (node != null) {
+            for (Node child : node.children) ids.add(child.agentId);
+        }
+        return ids;
+    }
+
+    /**
+     * Level of an agent (root = 0), -1 if not in the tree
+     */
+    public int getLevel(int agentId) {
+        Node node = nodes.get(agentId);
+        if (node == null) return -1;
+        int level = 0;
+        for (Node n = node.parent; n != null; n = n.parent) level++;
+        return level;
+    }
+
+    /**
+     * Offset an agent keeps from its parent, null for the root or an unknown agent
+     */
+    public Vector2D getOffset(int agentId) {
+        Node node = nodes.get(agentId);
+        return node != null && node.parent != null ? new Vector2D(node.offsetX, node.offsetY) : null;
+    }
+
+    /**
+     * Levels below the root (0 for a lone root)
+     */
+    public int getHeight() {
+        return root != null ? root.height : 0;
+    }
+
+    public int getFanOut() {
+        return fanOut;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public int getRepairCount() {
+        return repairCount;
+    }
+
+    public int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    /**
+     * Per-level figures from the last update (root first)
+     */
+    public List<LevelStats> getLevelStats() {
+        List<LevelStats> stats = new ArrayList<>(lastLevelNanos.length);
+        for (int level = 0; level < lastLevelNanos.length; level++) {
+            stats.add(new LevelStats(level, lastLevelNodes[level], lastLevelNanos[level],
+                (double) totalLevelNanos[level] / updateCount, lastLevelError[level]));
+        }
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LeaderTree[root=%d | nodes=%d | height=%d | fanOut=%d | repairs=%d | rebuilds=%d]",
+            getRootId(), nodes.size(), getHeight(), fanOut, repairCount, rebuildCount);
+    }
+
+    // ==================== TYPES ====================
+
+    /**
+     * One level of the tree as seen by the last update
+     */
+    public static final class LevelStats {
+        public final int level;
+        public final int nodes;
+        public final long lastNanos;         // Compute time summed over subtrees
+        public final double averageNanos;    // Same, averaged over updates since the last build
+        public final double meanError;       // Mean distance from the offset position
+
+        LevelStats(int level, int nodes, long lastNanos, double averageNanos, double meanError) {
+            this.level = level;
+            this.nodes = nodes;
+            this.lastNanos = lastNanos;
+            this.averageNanos = averageNanos;
+            this.meanError = meanError;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Level %d: %d nodes | %.3f ms (avg %.3f) | error %.1f",
+                level, nodes, lastNanos / 1e6, averageNanos / 1e6, meanError);
+        }
+    }
+
+    private static final class Node {
+        final int agentId;
+        final List<Node> children = new ArrayList<>();
+        Node parent;
+        int height;          // Levels below this node
+        double offsetX;      // Position kept relative to the parent
+        double offsetY;
+        double lastX;        // Last known position
+        double lastY;
+        AgentState state;    // As passed to the update stamped stateTick
+        long stateTick;
+
+        Node(int agentId, Point2D position) {
+            this.agentId = agentId;
+            this.lastX = position.x;
+            this.lastY = position.y;
+        }
+    }
+
+    private static final class SubtreeResult {
+        final List<MovementCommand> commands = new ArrayList<>();
+        final int[] nodes;
+        final long[] nanos;
+        final double[] error;
+
+        SubtreeResult(int levels) {
+            this.nodes = new int[levels];
+            this.nanos = new long[levels];
+            this.error = new double[levels];
+        }
+    }
+}
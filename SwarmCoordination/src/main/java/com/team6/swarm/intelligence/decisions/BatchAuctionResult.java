@@ -0,0 +1,135 @@
+package com.team6.swarm.intelligence.decisions;
+import java.util.*;
+
+/**
+ * BATCHAUCTIONRESULT CLASS - Outcome of a Multi-Task Auction
+ *
+ * - awards: one AuctionResult per assigned task, in the order the tasks
+ *   were given; its bids are the candidates that task's auction considered
+ * - bundles: the tasks each agent won, in the order it won them
+ * - unassigned: tasks nobody could take (no bidder in range, or every
+ *   bidder's bundle full)
+ * - statistics: how many (agent, task) bids were actually evaluated
+ *   against how many pairs an unpruned auction would have evaluated
+ */
+public class BatchAuctionResult {
+    private final Map<String, AuctionResult> awards;
+    private final Map<Integer, List<String>> bundles;
+    private final List<String> unassignedTasks;
+    private final long bidsEvaluated;
+    private final long candidatePairs;
+    private final int rounds;
+    private final long elapsedNanos;
+    private final long timestamp;
+
+    public BatchAuctionResult(Map<String, AuctionResult> awards, Map<Integer, List<String>> bundles,
+                              List<String> unassignedTasks, long bidsEvaluated, long candidatePairs,
+                              int rounds, long elapsedNanos) {
+        this.awards = new LinkedHashMap<>(awards);
+        this.bundles = new LinkedHashMap<>();
+        for (Map.Entry<Integer, List<String>> entry : bundles.entrySet()) {
+            this.bundles.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+        }
+        this.unassignedTasks = new ArrayList<>(unassignedTasks);
+        this.bidsEvaluated = bidsEvaluated;
+        this.candidatePairs = candidatePairs;
+        this.rounds = rounds;
+        this.elapsedNanos = elapsedNanos;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * Task ID -> auction result, for assigned tasks only
+     */
+    public Map<String, AuctionResult> getAwards() {
+        return Collections.unmodifiableMap(awards);
+    }
+
+    public AuctionResult getAward(String taskId) {
+        return awards.get(taskId);
+    }
+
+    /**
+     * Winning agent for a task, or -1 if it was not assigned
+     */
+    public int getWinner(String taskId) {
+        AuctionResult award = awards.get(taskId);
+        return award != null ? award.getWinningBid().getAgentId() : -1;
+    }
+
+    /**
+     * Agent ID -> tasks it won
+     */
+    public Map<Integer, List<String>> getBundles() {
+        return Collections.unmodifiableMap(bundles);
+    }
+
+    public List<String> getBundle(int agentId) {
+        List<String> bundle = bundles.get(agentId);
+        return bundle != null ? bundle : Collections.emptyList();
+    }
+
+    public List<String> getUnassignedTasks() {
+        return Collections.unmodifiableList(unassignedTasks);
+    }
+
+    public int getAssignedCount() {
+        return awards.size();
+    }
+
+    /**
+     * Sum of winning bid costs
+     */
+    public double getTotalCost() {
+        double total = 0;
+        for (AuctionResult award : awards.values()) {
+            total += award.getWinningBid().getCost();
+        }
+        return total;
+    }
+
+    /**
+     * Bids actually computed (cost and quality)
+     */
+    public long getBidsEvaluated() {
+        return bidsEvaluated;
+    }
+
+    /**
+     * Bids an auction over every (eligible agent, task) pair would compute
+     */
+    public long getCandidatePairs() {
+        return candidatePairs;
+    }
+
+    /**
+     * Fraction of pairs skipped by spatial pruning (0-1)
+     */
+    public double getPruningRatio() {
+        return candidatePairs > 0 ? 1.0 - (double) Math.min(bidsEvaluated, candidatePairs) / candidatePairs : 0;
+    }
+
+    /**
+     * Bidding rounds; more than 1 when tasks lost all their candidates to other tasks
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "BatchAuctionResult[Assigned: %d | Unassigned: %d | Agents: %d | Cost: %.2f | Bids: %d/%d | Rounds: %d]",
+            awards.size(), unassignedTasks.size(), bundles.size(), getTotalCost(),
+            bidsEvaluated, candidatePairs, rounds
+        );
+    }
+}
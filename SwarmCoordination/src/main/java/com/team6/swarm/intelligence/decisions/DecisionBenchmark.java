@@ -0,0 +1,206 @@
+/**
+ * DECISIONBENCHMARK CLASS - Decision Scalability Measurements
+ *
+ * PURPOSE:
+ * - Measures mission allocation and decision scoring time as tasks,
+ *   options and agents grow
+ * - Gives repeatable numbers to compare before/after optimizations
+ * - Runs standalone; not part of the pass/fail test suites
+ *
+ * BENCHMARKS:
+ * 1. One conductAuction per task (every agent bids on every task, winners
+ *    may conflict) vs conductBatchAuction (pruned, parallel bidding,
+ *    conflict-free winners)
+ * 2. Multi-criteria scoring, 50 options x 10 criteria x 5k agents: a scan
+ *    of the swarm per (option, criterion) pair vs the score matrix vs a
+ *    repeated decision in the same tick
+ *
+ * USAGE:
+ * java com.team6.swarm.intelligence.decisions.DecisionBenchmark
+ */
+package com.team6.swarm.intelligence.decisions;
+
+import com.team6.swarm.core.AgentState;
+import com.team6.swarm.core.AgentStatus;
+import com.team6.swarm.core.Point2D;
+import com.team6.swarm.intelligence.tasking.Task;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class DecisionBenchmark {
+    private static final int WARMUP_RUNS = 2;
+    private static final int SCORING_RUNS = 20;
+    private static final Pattern LOCATION = Pattern.compile(
+        "\\(?\\s*([+-]?\\d+(?:\\.\\d+)?)\\s*,\\s*([+-]?\\d+(?:\\.\\d+)?)\\s*\\)?");
+
+    public static void main(String[] args) {
+        System.out.println("=== Decision Benchmarks ===");
+
+        benchmarkAuctions();
+        benchmarkMultiCriteria();
+
+        System.out.println("\n=== Benchmarks Complete ===");
+    }
+
+    // ===== BENCHMARK 1: PER-TASK VS BATCH AUCTION =====
+    private static void benchmarkAuctions() {
+        System.out.println("\n--- Per-task auctions vs batch auction ---");
+        System.out.println(String.format("%-6s %-7s %-10s %10s %10s %9s %11s %8s",
+            "tasks", "agents", "mode", "bids", "assigned", "conflicts", "totalCost", "ms"));
+
+        int[][] sizes = {{50, 200}, {200, 1_000}, {500, 2_000}};
+        for (int[] size : sizes) {
+            Random random = new Random(3);
+            List<AgentState> agents = createAgents(size[1], random);
+            List<Task> tasks = createTasks(size[0], random);
+
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                runPerTask(tasks, agents, false);
+                runBatch(tasks, agents, false);
+            }
+            runPerTask(tasks, agents, true);
+            runBatch(tasks, agents, true);
+        }
+    }
+
+    private static void runPerTask(List<Task> tasks, List<AgentState> agents, boolean print) {
+        DecisionEngine engine = new DecisionEngine();
+        long start = System.nanoTime();
+        long bids = 0;
+        double totalCost = 0;
+        Set<Integer> winners = new HashSet<>();
+        int conflicts = 0;
+        for (Task task : tasks) {
+            AuctionResult result = engine.conductAuction(task, agents);
+            if (result == null) continue;
+            bids += result.getBidCount();
+            totalCost += result.getWinningBid().getCost();
+            if (!winners.add(result.getWinningBid().getAgentId())) {
+                conflicts++;
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        if (print) {
+            System.out.println(String.format("%-6d %-7d %-10s %10d %10d %9d %11.1f %8d",
+                tasks.size(), agents.size(), "per-task", bids, winners.size(), conflicts, totalCost, elapsedMs));
+        }
+    }
+
+    private static void runBatch(List<Task> tasks, List<AgentState> agents, boolean print) {
+        DecisionEngine engine = new DecisionEngine();
+        long start = System.nanoTime();
+        BatchAuctionResult result = engine.conductBatchAuction(tasks, agents);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        if (print) {
+            System.out.println(String.format("%-6d %-7d %-10s %10d %10d %9d %11.1f %8d",
+                tasks.size(), agents.size(), "batch", result.getBidsEvaluated(), result.getAssignedCount(),
+                0, result.getTotalCost(), elapsedMs));
+        }
+    }
+
+    // ===== BENCHMARK 2: MULTI-CRITERIA SCORING =====
+    private static void benchmarkMultiCriteria() {
+        System.out.println("\n--- Multi-criteria scoring: 50 options x 10 criteria x 5000 agents ---");
+        System.out.println(String.format("%-12s %14s %10s", "mode", "agentVisits", "us/decision"));
+
+        Random random = new Random(8);
+        List<AgentState> agents = createAgents(5_000, random);
+        List<String> options = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String location = String.format("(%.0f, %.0f)", random.nextDouble() * 800, random.nextDouble() * 600);
+            options.add(i % 5 == 0 ? location + " eta=" + (20 + i) : location);
+        }
+        CriterionType[] types = {
+            CriterionType.DISTANCE, CriterionType.BATTERY_COST, CriterionType.TIME, CriterionType.RISK,
+            CriterionType.COVERAGE, CriterionType.EFFICIENCY, CriterionType.COORDINATION,
+            CriterionType.DISTANCE, CriterionType.BATTERY_COST, CriterionType.TIME
+        };
+        DecisionEngine engine = new DecisionEngine();
+        DecisionContext decision = engine.createDecision("bench", "Pick a site", options);
+        for (int c = 0; c < types.length; c++) {
+            decision.addCriterion(types[c].name() + "_" + c, types[c], 0.1);
+        }
+
+        // Reference: one swarm scan per (option, distance-based criterion), like the original evaluators
+        long visits = 0;
+        long start = 0;
+        double checksum = 0;
+        for (int run = -WARMUP_RUNS; run < SCORING_RUNS; run++) {
+            if (run == 0) {
+                start = System.nanoTime();
+                visits = 0;
+            }
+            for (String option : options) {
+                for (DecisionCriterion criterion : decision.getCriteria()) {
+                    CriterionType type = criterion.getType();
+                    if (type == CriterionType.DISTANCE || type == CriterionType.BATTERY_COST
+                        || type == CriterionType.TIME) {
+                        checksum += perPairMeanDistance(option, agents);
+                        visits += agents.size();
+                    }
+                }
+            }
+        }
+        printScoring("per-pair", visits / SCORING_RUNS, start);
+
+        // Score matrix, fresh aggregates every decision
+        for (int run = -WARMUP_RUNS; run < SCORING_RUNS; run++) {
+            if (run == 0) start = System.nanoTime();
+            checksum += engine.evaluateMultiCriteria(decision, agents).getBestScore();
+        }
+        printScoring("matrix", (long) options.size() * agents.size(), start);
+
+        // Same tick: the first decision of the tick pays, the rest reuse it
+        engine.evaluateMultiCriteria(decision, agents, 0);
+        for (int run = -WARMUP_RUNS; run < SCORING_RUNS; run++) {
+            if (run == 0) start = System.nanoTime();
+            checksum += engine.evaluateMultiCriteria(decision, agents, 0).getBestScore();
+        }
+        printScoring("same tick", 0, start);
+        System.out.println("  " + engine.getMultiCriteriaScorer() + " checksum=" + Math.round(checksum));
+    }
+
+    private static double perPairMeanDistance(String option, List<AgentState> agents) {
+        Matcher matcher = LOCATION.matcher(option);
+        if (!matcher.find()) return Double.NaN;
+        Point2D target = new Point2D(Double.parseDouble(matcher.group(1)), Double.parseDouble(matcher.group(2)));
+        double sum = 0;
+        for (AgentState agent : agents) {
+            sum += agent.position.distanceTo(target);
+        }
+        return sum / agents.size();
+    }
+
+    private static void printScoring(String mode, long agentVisits, long start) {
+        long micros = (System.nanoTime() - start) / 1_000 / SCORING_RUNS;
+        System.out.println(String.format("%-12s %14d %10d", mode, agentVisits, micros));
+    }
+
+    private static List<AgentState> createAgents(int count, Random random) {
+        List<AgentState> agents = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            AgentState agent = new AgentState();
+            agent.agentId = id;
+            agent.position = new Point2D(random.nextDouble() * 800, random.nextDouble() * 600);
+            agent.status = AgentStatus.ACTIVE;
+            agent.batteryLevel = 0.3 + random.nextDouble() * 0.7;
+            agents.add(agent);
+        }
+        return agents;
+    }
+
+    private static List<Task> createTasks(int count, Random random) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(Task.createMoveToWaypoint("bench_" + i,
+                new Point2D(random.nextDouble() * 800, random.nextDouble() * 600)));
+        }
+        return tasks;
+    }
+}
@@ -50,6 +50,9 @@
  *
  * MULTI-CRITERIA SCORING:
  * 
+ * (MultiCriteriaScorer: each option is parsed and measured against the
+ *  swarm once, all criteria scored from that; cached per tick)
+ *
  * For each option:
  *   score = 0
  *   
@@ -68,6 +71,13 @@
  *   
  * Select agent with lowest cost bid
  *
+ * BATCH AUCTION (conductBatchAuction):
+ * - Whole mission in one call: bids for every task are evaluated in
+ *   parallel, candidates pruned through a SpatialGrid of the agents
+ * - Winners resolved cheapest-first across all tasks so an agent never
+ *   wins more tasks than its bundle allows
+ * - Returns a BatchAuctionResult instead of logging each bid
+ *
  * INTEGRATION POINTS:
  * - Extends: VotingSystem for advanced voting
  * - Uses: AgentState for capability assessment
@@ -79,14 +89,19 @@ package com.team6.swarm.intelligence.decisions;
 import com.team6.swarm.core.*;
 import com.team6.swarm.intelligence.flocking.BehaviorType;
 import com.team6.swarm.intelligence.voting.*;
+import com.team6.swarm.intelligence.optimization.SpatialGrid;
 import com.team6.swarm.intelligence.tasking.Task;
 
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class DecisionEngine {
     // Decision tracking
     private final Map<String, DecisionContext> activeDecisions;
     private final List<DecisionResult> decisionHistory;
+    private final MultiCriteriaScorer scorer;
     
     // Performance metrics
     private int totalDecisions;
@@ -100,8 +115,19 @@ public class DecisionEngine {
      * Constructor
      */
     public DecisionEngine() {
+        this(new MultiCriteriaScorer());
+    }
+    
+    /**
+     * Constructor with a scorer set up for this world's scale
+     */
+    public DecisionEngine(MultiCriteriaScorer scorer) {
+        if (scorer == null) {
+            throw new IllegalArgumentException("scorer must not be null");
+        }
         this.activeDecisions = new HashMap<>();
         this.decisionHistory = new ArrayList<>();
+        this.scorer = scorer;
         this.totalDecisions = 0;
         this.weightedVotingDecisions = 0;
         this.multiCriteriaDecisions = 0;
@@ -295,40 +321,42 @@ public class DecisionEngine {
      */
     public MultiCriteriaResult evaluateMultiCriteria(DecisionContext decision,
                                                     List<AgentState> agents) {
-        System.out.println("Multi-criteria evaluation: " + decision.getDecisionId());
+        return evaluateMultiCriteria(decision, agents, MultiCriteriaScorer.NO_TICK);
+    }
+    
+    /**
+     * MULTI-CRITERIA DECISION ANALYSIS (same tick)
+     * Decisions evaluated with the same tick and agent list reuse the
+     * swarm aggregates and per-option distances of the first one
+     *
+     * @param tick Simulation tick the agent states belong to
+     */
+    public MultiCriteriaResult evaluateMultiCriteria(DecisionContext decision,
+                                                    List<AgentState> agents, long tick) {
+        List<String> options = decision.getOptions();
+        List<DecisionCriterion> criteria = decision.getCriteria();
+        double[][] scores = scorer.score(options, criteria, agents, tick);
         
         Map<String, Double> optionScores = new HashMap<>();
         Map<String, Map<String, Double>> detailedScores = new HashMap<>();
+        String bestOption = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
         
-        // Evaluate each option
-        for (String option : decision.getOptions()) {
+        for (int o = 0; o < options.size(); o++) {
             double totalScore = 0;
             Map<String, Double> criteriaScores = new HashMap<>();
             
-            // Evaluate each criterion
-            for (DecisionCriterion criterion : decision.getCriteria()) {
-                double score = evaluateCriterion(option, criterion, agents);
-                double weightedScore = score * criterion.getWeight();
-                
-                criteriaScores.put(criterion.getName(), score);
-                totalScore += weightedScore;
-                
-                System.out.println(String.format("  %s - %s: %.2f (weighted: %.2f)",
-                    option, criterion.getName(), score, weightedScore));
+            for (int c = 0; c < criteria.size(); c++) {
+                DecisionCriterion criterion = criteria.get(c);
+                criteriaScores.put(criterion.getName(), scores[o][c]);
+                totalScore += scores[o][c] * criterion.getWeight();
             }
             
-            optionScores.put(option, totalScore);
-            detailedScores.put(option, criteriaScores);
-        }
-        
-        // Find best option
-        String bestOption = null;
-        double bestScore = Double.NEGATIVE_INFINITY;
-        
-        for (Map.Entry<String, Double> entry : optionScores.entrySet()) {
-            if (entry.getValue() > bestScore) {
-                bestScore = entry.getValue();
-                bestOption = entry.getKey();
+            optionScores.put(options.get(o), totalScore);
+            detailedScores.put(options.get(o), criteriaScores);
+            if (totalScore > bestScore) {
+                bestScore = totalScore;
+                bestOption = options.get(o);
             }
         }
         
@@ -343,141 +371,14 @@ public class DecisionEngine {
         multiCriteriaDecisions++;
         totalDecisions++;
         
-        System.out.println(String.format("Best option: %s (score: %.2f)", bestOption, bestScore));
-        
         return result;
     }
     
     /**
-     * EVALUATE CRITERION
-     * Score option on specific criterion
+     * Scorer behind evaluateMultiCriteria (cache statistics)
      */
-    private double evaluateCriterion(String option, DecisionCriterion criterion,
-                    List<AgentState> agents) {
-      switch (criterion.getType()) {
-        case DISTANCE:
-          return evaluateDistance(option, criterion, agents);
-
-        case BATTERY_COST:
-          return evaluateBatteryCost(option, criterion, agents);
-
-        case TIME:
-          return evaluateTime(option, criterion, agents);
-
-        case RISK:
-          return evaluateRisk(option, criterion, agents);
-
-        case COVERAGE:
-          return evaluateCoverage(option, criterion, agents);
-
-        default:
-          return 50.0;  // Neutral score
-      }
-    }
-
-    /**
-     * Evaluate distance criterion (shorter = better)
-     *
-     * TODO: Replace the heuristic parsing below with structured option metadata
-     *       (e.g., DecisionOption/Target objects) instead of parsing strings.
-     *       Throwing UnsupportedOperationException makes it explicit this is a stub.
-     */
-    private double evaluateDistance(String option, DecisionCriterion criterion,
-                    List<AgentState> agents) {
-      // Try to parse a coordinate pair "(x,y)" or "x,y" from the option string.
-      try {
-        java.util.regex.Pattern p = java.util.regex.Pattern.compile("\\(?\\s*([+-]?\\d+(?:\\.\\d+)?)\\s*,\\s*([+-]?\\d+(?:\\.\\d+)?)\\s*\\)?");
-        java.util.regex.Matcher m = p.matcher(option);
-        if (m.find()) {
-          double tx = Double.parseDouble(m.group(1));
-          double ty = Double.parseDouble(m.group(2));
-
-          // NOTE: Assumes Point2D has a (double,double) constructor and distanceTo method.
-          // TODO: Use a proper target/location object instead of parsing strings.
-          Point2D target = new Point2D(tx, ty);
-
-          int count = 0;
-          double sum = 0.0;
-          for (AgentState a : agents) {
-            if (a.position != null) {
-              sum += a.position.distanceTo(target);
-              count++;
-            }
-          }
-
-          if (count == 0) {
-            throw new UnsupportedOperationException("evaluateDistance: no agent positions available to compute distance for option: " + option);
-          }
-
-          double avgDistance = sum / count;
-          double maxDistance = 500.0; // TODO: make configurable or derive from environment
-
-          return Math.max(0, (maxDistance - avgDistance) / maxDistance * 100);
-        }
-      } catch (Exception e) {
-        // fall through to explicit unsupported exception below
-      }
-
-      // If we cannot parse useful info from the option string, return a neutral score.
-      // This keeps the multi-criteria evaluation robust when option metadata isn't structured.
-      return 50.0; // neutral score (0-100)
-    }
-
-    /**
-     * Evaluate battery cost (lower cost = better)
-     *
-     * TODO: Compute battery consumption based on distance, payload, maneuvers and agent models.
-     */
-    private double evaluateBatteryCost(String option, DecisionCriterion criterion,
-                                      List<AgentState> agents) {
-      // Try to parse explicit battery consumption like "batteryCost=0.15" or "consumption=15%"
-      try {
-        java.util.regex.Pattern p1 = java.util.regex.Pattern.compile("battery[_-]?cost\\s*=\\s*([0-9]*\\.?[0-9]+)");
-        java.util.regex.Pattern p2 = java.util.regex.Pattern.compile("consumption\\s*=\\s*([0-9]*\\.?[0-9]+)\\s*%");
-
-        java.util.regex.Matcher m1 = p1.matcher(option);
-        java.util.regex.Matcher m2 = p2.matcher(option);
-
-        if (m1.find()) {
-          double estimatedCost = Double.parseDouble(m1.group(1)); // e.g., 0.15
-          return Math.max(0, (1.0 - estimatedCost) * 100);
-        } else if (m2.find()) {
-          double estimatedPercent = Double.parseDouble(m2.group(1)) / 100.0;
-          return Math.max(0, (1.0 - estimatedPercent) * 100);
-        }
-
-        // Fallback heuristic: if option contains a location, estimate battery from average agent distance
-        java.util.regex.Pattern locP = java.util.regex.Pattern.compile("\\(?\\s*([+-]?\\d+(?:\\.\\d+)?)\\s*,\\s*([+-]?\\d+(?:\\.\\d+)?)\\s*\\)?");
-        java.util.regex.Matcher lm = locP.matcher(option);
-        if (lm.find()) {
-          double tx = Double.parseDouble(lm.group(1));
-          double ty = Double.parseDouble(lm.group(2));
-          Point2D target = new Point2D(tx, ty);
-
-          int count = 0;
-          double sumDist = 0.0;
-          for (AgentState a : agents) {
-            if (a.position != null) {
-              sumDist += a.position.distanceTo(target);
-              count++;
-            }
-          }
-          if (count == 0) {
-            throw new UnsupportedOperationException("evaluateBatteryCost: no agent positions available to estimate battery cost for option: " + option);
-          }
-          double avgDistance = sumDist / count;
-
-          // Simple linear battery model: cost = distance * factor / maxExpectedDistance
-          double maxDistance = 500.0; // TODO: configure
-          double estimatedCost = Math.min(1.0, avgDistance / maxDistance);
-          return Math.max(0, (1.0 - estimatedCost) * 100);
-        }
-      } catch (Exception ignored) {
-        // Fall through to neutral fallback
-      }
-
-      // Fallback: return neutral score when battery cost cannot be determined
-      return 50.0;
+    public MultiCriteriaScorer getMultiCriteriaScorer() {
+        return scorer;
     }
 
     // -------------------- TUNABLE CONSTANTS (replace magic numbers) --------------------
@@ -524,83 +425,18 @@ public class DecisionEngine {
      * prefer the higher-quality bid.
      */
     private static final double BID_COST_SIMILARITY_THRESHOLD = 0.1; // 10% cost difference threshold
-    // -----------------------------------------------------------------------------------
 
     /**
-     * Evaluate time criterion (faster = better)
-     *
-     * TODO: Replace heuristics with real ETA calculations using agent speeds, path planning estimates, and environment constraints.
+     * Batch auction tuning.
+     * DEFAULT_BATCH_CANDIDATES: cheapest bids kept per task in the first round.
+     * BATCH_CELL_SIZE: spatial index cell size and first search radius.
+     * PARALLEL_AUCTION_THRESHOLD: (task, agent) pairs above which bids are evaluated in parallel.
      */
-    private double evaluateTime(String option, DecisionCriterion criterion,
-            List<AgentState> agents) {
-      // Try explicit time parsing like "time=30" or "eta=30s"
-      try {
-      java.util.regex.Pattern pTime = java.util.regex.Pattern.compile("(?:time|eta)\\s*=\\s*([0-9]*\\.?[0-9]+)");
-      java.util.regex.Matcher mTime = pTime.matcher(option);
-      if (mTime.find()) {
-        double estimatedTime = Double.parseDouble(mTime.group(1));
-        double maxTime = 120.0; // TODO: derive from criterion or environment
-        return Math.max(0, (maxTime - estimatedTime) / maxTime * 100);
-      }
-
-      // Fallback: estimate time from distance using a nominal speed
-      java.util.regex.Pattern locP = java.util.regex.Pattern.compile("\\(?\\s*([+-]?\\d+(?:\\.\\d+)?)\\s*,\\s*([+-]?\\d+(?:\\.\\d+)?)\\s*\\)?");
-      java.util.regex.Matcher lm = locP.matcher(option);
-      if (lm.find()) {
-        double tx = Double.parseDouble(lm.group(1));
-        double ty = Double.parseDouble(lm.group(2));
-        Point2D target = new Point2D(tx, ty);
-
-        int count = 0;
-        double sumDist = 0.0;
-        for (AgentState a : agents) {
-        if (a.position != null) {
-          sumDist += a.position.distanceTo(target);
-          count++;
-        }
-        }
-        if (count == 0) {
-        throw new UnsupportedOperationException("evaluateTime: no agent positions available to estimate time for option: " + option);
-        }
-
-        double avgDistance = sumDist / count;
-        double nominalSpeed = 1.0; // units per second - TODO: replace with agent-specific speeds
-        double estimatedTime = avgDistance / nominalSpeed;
-        double maxTime = Math.max(estimatedTime, 120.0); // keep a sensible max cap
-
-        return Math.max(0, (maxTime - estimatedTime) / maxTime * 100);
-      }
-      } catch (Exception ignored) {
-        // fall through to neutral fallback
-      }
+    public static final int DEFAULT_BATCH_CANDIDATES = 16;
+    private static final double BATCH_CELL_SIZE = 100.0;
+    private static final long PARALLEL_AUCTION_THRESHOLD = 20_000;
+    // -----------------------------------------------------------------------------------
 
-      // Fallback: neutral score when ETA cannot be estimated
-      return 50.0;
-    }
-    
-    /**
-     * Evaluate risk criterion (lower risk = better)
-     */
-    private double evaluateRisk(String option, DecisionCriterion criterion,
-                              List<AgentState> agents) {
-        // Assess risk level of option
-        // Consider: collision probability, battery risk, failure risk
-        double riskLevel = 0.2;  // Placeholder: 20% risk
-        
-        return Math.max(0, (1.0 - riskLevel) * 100);
-    }
-    
-    /**
-     * Evaluate coverage criterion (better coverage = better)
-     */
-    private double evaluateCoverage(String option, DecisionCriterion criterion,
-                                  List<AgentState> agents) {
-        // Estimate area coverage for option
-        double coveragePercent = 0.75;  // Placeholder: 75% coverage
-        
-        return coveragePercent * 100;
-    }
-    
     // ==================== AUCTION-BASED ALLOCATION ====================
     
     /**
@@ -612,8 +448,6 @@ public class DecisionEngine {
      * @return Winning bid and agent
      */
     public AuctionResult conductAuction(Task task, List<AgentState> agents) {
-        System.out.println("Auction for task: " + task.taskId);
-        
         List<TaskBid> bids = new ArrayList<>();
         
         // Collect bids from all eligible agents
@@ -633,13 +467,10 @@ public class DecisionEngine {
                 );
                 
                 bids.add(bid);
-                System.out.println(String.format("  Agent %d bids: cost=%.2f, quality=%.2f",
-                  agent.agentId, cost, bid.getQuality()));
             }
         }
         
         if (bids.isEmpty()) {
-            System.out.println("No bids received for task");
             return null;
         }
         
@@ -655,9 +486,6 @@ public class DecisionEngine {
         auctionDecisions++;
         totalDecisions++;
         
-        System.out.println(String.format("Winning bid: Agent %d (cost: %.2f)",
-          winningBid.getAgentId(), winningBid.getCost()));
-        
         return result;
     }
     
@@ -666,11 +494,19 @@ public class DecisionEngine {
      * Agent's cost to complete task
      */
     private double calculateTaskCost(AgentState agent, Task task) {
+        return calculateTaskCost(agent, agent.position, task);
+    }
+    
+    /**
+     * Cost for an agent that starts from another point (the end of the
+     * tasks it already won in a batch auction)
+     */
+    private double calculateTaskCost(AgentState agent, Point2D from, Task task) {
         double cost = 0;
         
         // 1. DISTANCE COST
         if (task.targetLocation != null) {
-        double distance = agent.position.distanceTo(task.targetLocation);
+        double distance = from.distanceTo(task.targetLocation);
         cost += distance * DISTANCE_COST_FACTOR;  // Distance factor (tunabled)
         }
         
@@ -744,6 +580,342 @@ public class DecisionEngine {
         return bestBid;
     }
     
+    // ==================== BATCH AUCTION ====================
+    
+    /**
+     * CONDUCT BATCH AUCTION
+     * Auction a whole mission at once, at most one task per agent
+     *
+     * @param tasks Tasks to allocate (unique task IDs)
+     * @param agents Potential bidders
+     * @return Winner per task, bundle per agent and bid statistics
+     */
+    public BatchAuctionResult conductBatchAuction(List<Task> tasks, List<AgentState> agents) {
+        return conductBatchAuction(tasks, agents, 1, DEFAULT_BATCH_CANDIDATES);
+    }
+    
+    /**
+     * CONDUCT BATCH AUCTION
+     * Iterative auction over all (agent, task) pairs
+     *
+     * ROUND 1 - bidding (parallel over tasks for large missions):
+     * - Each task asks a SpatialGrid of the active agents for bidders in a
+     *   radius that doubles until its candidatesPerTask cheapest bids are
+     *   known: no agent outside the radius can bid less, because cost grows
+     *   with distance and battery/role only scale it within known bounds
+     *
+     * RESOLUTION - serial, so no agent gets conflicting tasks:
+     * - All candidate bids in one queue, cheapest first (ties: higher
+     *   quality, lower agent ID, earlier task)
+     * - The cheapest bid whose task is open and whose agent has room in its
+     *   bundle wins
+     * - A bid made before its agent won another task is stale: the agent
+     *   re-bids its marginal cost from the end of its bundle and the new
+     *   bid goes back in the queue
+     *
+     * LATER ROUNDS:
+     * - Tasks whose candidates all went to other tasks are re-auctioned
+     *   among every agent that still has room (no pruning; usually few)
+     * - Stops when a round assigns nothing
+     *
+     * @param maxTasksPerAgent Bundle size: most tasks one agent may win
+     * @param candidatesPerTask Cheapest bids kept per task in round 1
+     */
+    public BatchAuctionResult conductBatchAuction(List<Task> tasks, List<AgentState> agents,
+                                                  int maxTasksPerAgent, int candidatesPerTask) {
+        if (tasks == null || agents == null) {
+            throw new IllegalArgumentException("tasks and agents must not be null");
+        }
+        if (maxTasksPerAgent < 1 || candidatesPerTask < 1) {
+            throw new IllegalArgumentException("maxTasksPerAgent and candidatesPerTask must be positive");
+        }
+        long start = System.nanoTime();
+        
+        Set<String> taskIds = new HashSet<>();
+        for (Task task : tasks) {
+            if (!taskIds.add(task.taskId)) {
+                throw new IllegalArgumentException("task IDs must be unique: " + task.taskId);
+            }
+        }
+        
+        BatchAuction auction = new BatchAuction(tasks, agents, maxTasksPerAgent);
+        
+        // Round 1: pruned candidates, evaluated in parallel for large missions
+        IntStream taskIndexes = IntStream.range(0, tasks.size());
+        if ((long) tasks.size() * auction.bidders.size() >= PARALLEL_AUCTION_THRESHOLD) {
+            taskIndexes = taskIndexes.parallel();
+        }
+        List<List<BatchBid>> candidates = taskIndexes
+            .mapToObj(t -> auction.collectCandidates(t, candidatesPerTask))
+            .collect(Collectors.toList());
+        
+        int rounds = 1;
+        int awarded = auction.resolve(candidates);
+        
+        // Later rounds: re-auction what lost all its candidates
+        while (awarded > 0 && auction.hasOpenTasksAndCapacity()) {
+            rounds++;
+            List<List<BatchBid>> retry = new ArrayList<>();
+            for (int t = 0; t < tasks.size(); t++) {
+                retry.add(auction.winners[t] == null ? auction.collectAll(t) : Collections.emptyList());
+            }
+            awarded = auction.resolve(retry);
+        }
+        
+        BatchAuctionResult result = auction.toResult(rounds, System.nanoTime() - start);
+        auctionDecisions += result.getAssignedCount();
+        totalDecisions += result.getAssignedCount();
+        return result;
+    }
+    
+    /**
+     * One bid inside a batch auction
+     */
+    private static final class BatchBid implements Comparable<BatchBid> {
+        final int task;
+        final int slot;        // Bidder index
+        final int version;     // Bidder's bundle version when the bid was made
+        final double cost;
+        final double quality;
+        final int agentId;
+        private TaskBid taskBid;
+        
+        BatchBid(int task, int slot, int version, int agentId, double cost, double quality) {
+            this.task = task;
+            this.slot = slot;
+            this.version = version;
+            this.agentId = agentId;
+            this.cost = cost;
+            this.quality = quality;
+        }
+        
+        TaskBid toTaskBid(String taskId) {
+            if (taskBid == null) {
+                taskBid = new TaskBid(agentId, taskId, cost, quality);
+            }
+            return taskBid;
+        }
+        
+        @Override
+        public int compareTo(BatchBid other) {
+            int c = Double.compare(cost, other.cost);
+            if (c != 0) return c;
+            c = Double.compare(other.quality, quality);
+            if (c != 0) return c;
+            c = Integer.compare(agentId, other.agentId);
+            return c != 0 ? c : Integer.compare(task, other.task);
+        }
+    }
+    
+    /**
+     * State of one batch auction: bidder index, bundles and winners
+     */
+    private final class BatchAuction {
+        final List<Task> tasks;
+        final List<AgentState> bidders;
+        final Map<AgentState, Integer> slots;
+        final SpatialGrid grid;
+        final int maxTasksPerAgent;
+        final double minBatteryFactor;
+        
+        final BatchBid[] winners;
+        final List<List<BatchBid>> offered;
+        final int[] load;
+        final int[] version;
+        final Point2D[] bundleEnd;
+        final List<List<Integer>> bundles;
+        final LongAdder bidsEvaluated = new LongAdder();
+        
+        BatchAuction(List<Task> tasks, List<AgentState> agents, int maxTasksPerAgent) {
+            this.tasks = tasks;
+            this.maxTasksPerAgent = maxTasksPerAgent;
+            this.bidders = new ArrayList<>();
+            this.slots = new IdentityHashMap<>();
+            double width = 1.0;
+            double height = 1.0;
+            double maxBattery = 0.0;
+            for (AgentState agent : agents) {
+                if (agent.status != AgentStatus.ACTIVE || agent.position == null) continue;
+                slots.put(agent, bidders.size());
+                bidders.add(agent);
+                width = Math.max(width, agent.position.x + 1.0);
+                height = Math.max(height, agent.position.y + 1.0);
+                maxBattery = Math.max(maxBattery, agent.batteryLevel);
+            }
+            this.minBatteryFactor = BATTERY_PENALTY_MAX - maxBattery;
+            this.grid = new SpatialGrid(width, height, BATCH_CELL_SIZE);
+            for (AgentState bidder : bidders) {
+                grid.insert(bidder);
+            }
+            
+            this.winners = new BatchBid[tasks.size()];
+            this.offered = new ArrayList<>(tasks.size());
+            for (int t = 0; t < tasks.size(); t++) {
+                offered.add(new ArrayList<>());
+            }
+            this.load = new int[bidders.size()];
+            this.version = new int[bidders.size()];
+            this.bundleEnd = new Point2D[bidders.size()];
+            this.bundles = new ArrayList<>(bidders.size());
+            for (int b = 0; b < bidders.size(); b++) {
+                bundleEnd[b] = bidders.get(b).position;
+                bundles.add(null);
+            }
+        }
+        
+        /**
+         * Round 1: the limit cheapest bids for a task, found through the grid
+         * (safe to call from several threads; reads only)
+         */
+        List<BatchBid> collectCandidates(int t, int limit) {
+            Task task = tasks.get(t);
+            if (task.targetLocation == null || minBatteryFactor <= 0.0) {
+                return cheapest(collectAll(t), limit);
+            }
+            double costPerUnit = DISTANCE_COST_FACTOR * minBatteryFactor
+                * (task.requiredRole != null ? ROLE_MISMATCH_PENALTY : 1.0);
+            double maxRadius = MAX_ACCEPTABLE_BID_COST / costPerUnit;
+            
+            List<BatchBid> bids = new ArrayList<>();
+            double previousRadius = -1.0;
+            double radius = BATCH_CELL_SIZE;
+            while (true) {
+                List<AgentState> found = grid.queryRadius(task.targetLocation, Math.min(radius, maxRadius));
+                for (AgentState agent : found) {
+                    if (agent.position.distanceTo(task.targetLocation) <= previousRadius) continue;
+                    BatchBid bid = bid(t, slots.get(agent));
+                    if (bid != null) bids.add(bid);
+                }
+                // Anyone further out costs at least radius * costPerUnit
+                if (bids.size() >= limit) {
+                    bids = cheapest(bids, limit);
+                    if (bids.get(limit - 1).cost <= radius * costPerUnit) break;
+                }
+                if (radius >= maxRadius || found.size() == bidders.size()) break;
+                previousRadius = radius;
+                radius *= 2.0;
+            }
+            return cheapest(bids, limit);
+        }
+        
+        /**
+         * Later rounds: bids from every bidder with room left
+         */
+        List<BatchBid> collectAll(int t) {
+            List<BatchBid> bids = new ArrayList<>();
+            for (int b = 0; b < bidders.size(); b++) {
+                if (load[b] >= maxTasksPerAgent) continue;
+                BatchBid bid = bid(t, b);
+                if (bid != null) bids.add(bid);
+            }
+            return bids;
+        }
+        
+        private List<BatchBid> cheapest(List<BatchBid> bids, int limit) {
+            Collections.sort(bids);
+            return bids.size() > limit ? new ArrayList<>(bids.subList(0, limit)) : bids;
+        }
+        
+        /**
+         * A bidder's bid from the end of its current bundle, or null if
+         * the cost is not acceptable
+         */
+        private BatchBid bid(int t, int b) {
+            bidsEvaluated.increment();
+            AgentState agent = bidders.get(b);
+            Task task = tasks.get(t);
+            double cost = calculateTaskCost(agent, bundleEnd[b], task);
+            if (cost >= MAX_ACCEPTABLE_BID_COST) {
+                return null;
+            }
+            return new BatchBid(t, b, version[b], agent.agentId, cost, calculateBidQuality(agent, task));
+        }
+        
+        /**
+         * Awards bids cheapest first; returns the number of tasks assigned
+         */
+        int resolve(List<List<BatchBid>> candidates) {
+            PriorityQueue<BatchBid> queue = new PriorityQueue<>();
+            for (List<BatchBid> taskBids : candidates) {
+                for (BatchBid bid : taskBids) {
+                    queue.add(bid);
+                    offered.get(bid.task).add(bid);
+                }
+            }
+            int awarded = 0;
+            while (!queue.isEmpty()) {
+                BatchBid bid = queue.poll();
+                if (winners[bid.task] != null || load[bid.slot] >= maxTasksPerAgent) continue;
+                if (bid.version != version[bid.slot]) {
+                    // Bidder won a task since: re-bid from the end of its bundle
+                    BatchBid rebid = bid(bid.task, bid.slot);
+                    if (rebid != null) {
+                        queue.add(rebid);
+                        offered.get(rebid.task).add(rebid);
+                    }
+                    continue;
+                }
+                winners[bid.task] = bid;
+                load[bid.slot]++;
+                version[bid.slot]++;
+                Point2D target = tasks.get(bid.task).targetLocation;
+                if (target != null) {
+                    bundleEnd[bid.slot] = target;
+                }
+                if (bundles.get(bid.slot) == null) {
+                    bundles.set(bid.slot, new ArrayList<>());
+                }
+                bundles.get(bid.slot).add(bid.task);
+                awarded++;
+            }
+            return awarded;
+        }
+        
+        boolean hasOpenTasksAndCapacity() {
+            boolean open = false;
+            for (BatchBid winner : winners) {
+                if (winner == null) {
+                    open = true;
+                    break;
+                }
+            }
+            if (!open) return false;
+            for (int b = 0; b < load.length; b++) {
+                if (load[b] < maxTasksPerAgent) return true;
+            }
+            return false;
+        }
+        
+        BatchAuctionResult toResult(int rounds, long elapsedNanos) {
+            Map<String, AuctionResult> awards = new LinkedHashMap<>();
+            List<String> unassigned = new ArrayList<>();
+            for (int t = 0; t < tasks.size(); t++) {
+                String taskId = tasks.get(t).taskId;
+                BatchBid winner = winners[t];
+                if (winner == null) {
+                    unassigned.add(taskId);
+                    continue;
+                }
+                List<TaskBid> bids = new ArrayList<>();
+                for (BatchBid bid : offered.get(t)) {
+                    bids.add(bid.toTaskBid(taskId));
+                }
+                awards.put(taskId, new AuctionResult(taskId, winner.toTaskBid(taskId), bids));
+            }
+            Map<Integer, List<String>> agentBundles = new LinkedHashMap<>();
+            for (int b = 0; b < bidders.size(); b++) {
+                if (bundles.get(b) == null) continue;
+                List<String> bundle = new ArrayList<>();
+                for (int t : bundles.get(b)) {
+                    bundle.add(tasks.get(t).taskId);
+                }
+                agentBundles.put(bidders.get(b).agentId, bundle);
+            }
+            return new BatchAuctionResult(awards, agentBundles, unassigned, bidsEvaluated.sum(),
+                (long) tasks.size() * bidders.size(), rounds, elapsedNanos);
+        }
+    }
+    
     // ==================== UTILITY METHODS ====================
     
     /**
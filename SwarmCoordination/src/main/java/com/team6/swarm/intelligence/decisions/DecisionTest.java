@@ -30,6 +30,15 @@
  *    - Test compromise with split decisions
  *    - Verify revote strategy
  *
+ * 5. BATCH AUCTION TEST
+ *    - Many tasks auctioned in one call
+ *    - Verify no agent wins more tasks than its bundle allows
+ *    - Compare spatially pruned bidding against bidding by every agent
+ *
+ * 6. MULTI-CRITERIA CACHE TEST
+ *    - Scores computed from per-option swarm distances
+ *    - Repeated decisions in the same tick reuse them
+ *
  * VALIDATION APPROACH:
  * - All tests use real calculated values
  * - No hardcoded expected results
@@ -62,6 +71,8 @@ public class DecisionTest {
         testConflictResolutionLeader();
         testConflictResolutionCompromise();
         testConflictResolutionRevote();
+        testBatchAuction();
+        testMultiCriteriaCache();
         
         System.out.println();
         System.out.println("========================================");
@@ -604,6 +615,182 @@ public class DecisionTest {
         System.out.println();
     }
     
+    /**
+     * TEST 7: BATCH AUCTION
+     * Verify multi-task auction gives conflict-free, near-optimal assignments
+     */
+    private static void testBatchAuction() {
+        System.out.println("TEST 7: Batch Multi-Task Auction");
+        System.out.println("--------------------------------");
+        
+        DecisionEngine engine = new DecisionEngine();
+        Random random = new Random(42);
+        List<AgentState> agents = createRandomAgents(400, random);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            tasks.add(Task.createMoveToWaypoint("batch_" + i,
+                new Point2D(random.nextDouble() * 800, random.nextDouble() * 600)));
+        }
+        
+        // One task per agent, pruned candidates
+        BatchAuctionResult pruned = engine.conductBatchAuction(tasks, agents);
+        Set<Integer> winners = new HashSet<>();
+        for (AuctionResult award : pruned.getAwards().values()) {
+            winners.add(award.getWinningBid().getAgentId());
+        }
+        System.out.println("Pruned:   " + pruned);
+        System.out.println(String.format("  Bids evaluated: %d of %d pairs (%.0f%% pruned)",
+            pruned.getBidsEvaluated(), pruned.getCandidatePairs(), pruned.getPruningRatio() * 100));
+        if (pruned.getAssignedCount() == tasks.size() && winners.size() == tasks.size()) {
+            System.out.println("  ✓ PASS: All " + tasks.size() + " tasks assigned to distinct agents");
+        } else {
+            System.out.println("  ✗ FAIL: " + pruned.getAssignedCount() + " assigned, "
+                + winners.size() + " distinct winners");
+        }
+        
+        // Every agent bids on every task
+        BatchAuctionResult full = engine.conductBatchAuction(tasks, agents, 1, Integer.MAX_VALUE);
+        System.out.println("Unpruned: " + full);
+        double costRatio = pruned.getTotalCost() / full.getTotalCost();
+        if (costRatio <= 1.05 && pruned.getPruningRatio() > 0.5) {
+            System.out.println(String.format("  ✓ PASS: Pruned cost within %.1f%% of unpruned", (costRatio - 1) * 100));
+        } else {
+            System.out.println(String.format("  ✗ FAIL: cost ratio %.3f, pruning %.2f",
+                costRatio, pruned.getPruningRatio()));
+        }
+        
+        // Bundles: fewer agents than tasks
+        List<AgentState> fewAgents = agents.subList(0, 30);
+        BatchAuctionResult bundled = engine.conductBatchAuction(tasks, fewAgents, 3, 8);
+        int largestBundle = 0;
+        for (List<String> bundle : bundled.getBundles().values()) {
+            largestBundle = Math.max(largestBundle, bundle.size());
+        }
+        System.out.println("Bundles:  " + bundled);
+        if (bundled.getAssignedCount() == tasks.size() && largestBundle <= 3) {
+            System.out.println("  ✓ PASS: 80 tasks spread over 30 agents, largest bundle " + largestBundle);
+        } else {
+            System.out.println("  ✗ FAIL: " + bundled.getAssignedCount() + " assigned, largest bundle " + largestBundle);
+        }
+        
+        // One task: batch winner is the cheapest single-auction bid
+        Task single = tasks.get(0);
+        AuctionResult auction = engine.conductAuction(single, agents);
+        TaskBid cheapest = auction.getAllBids().stream()
+            .min(Comparator.comparingDouble(b -> b.getCost()))
+            .orElse(null);
+        int batchWinner = engine.conductBatchAuction(Collections.singletonList(single), agents).getWinner(single.taskId);
+        if (cheapest != null && cheapest.getAgentId() == batchWinner) {
+            System.out.println("  ✓ PASS: Single-task batch matches cheapest auction bid (Agent " + batchWinner + ")");
+        } else {
+            System.out.println("  ✗ FAIL: batch winner " + batchWinner + " vs cheapest " + cheapest);
+        }
+        
+        // Parallel bidding gives the same result every run
+        List<AgentState> manyAgents = createRandomAgents(2000, new Random(7));
+        BatchAuctionResult first = engine.conductBatchAuction(tasks, manyAgents);
+        BatchAuctionResult second = engine.conductBatchAuction(tasks, manyAgents);
+        boolean same = true;
+        for (Task task : tasks) {
+            same &= first.getWinner(task.taskId) == second.getWinner(task.taskId);
+        }
+        if (same) {
+            System.out.println("  ✓ PASS: Parallel batch auction is deterministic");
+        } else {
+            System.out.println("  ✗ FAIL: Parallel batch auction winners differ between runs");
+        }
+        System.out.println();
+    }
+    
+    /**
+     * TEST 8: MULTI-CRITERIA CACHE
+     * Verify per-tick scoring cache gives correct, reused and refreshed scores
+     */
+    private static void testMultiCriteriaCache() {
+        System.out.println("TEST 8: Multi-Criteria Scoring Cache");
+        System.out.println("------------------------------------");
+        
+        DecisionEngine engine = new DecisionEngine();
+        MultiCriteriaScorer scorer = engine.getMultiCriteriaScorer();
+        List<AgentState> agents = createRandomAgents(200, new Random(9));
+        List<String> options = Arrays.asList("(100, 100)", "(400, 300) eta=30", "(700,500) battery_cost=0.2");
+        
+        DecisionContext decision = engine.createDecision("rally_point", "Select rally point", options);
+        decision.addCriterion("Distance", CriterionType.DISTANCE, 0.5);
+        decision.addCriterion("Battery Cost", CriterionType.BATTERY_COST, 0.3);
+        decision.addCriterion("Time", CriterionType.TIME, 0.2);
+        
+        MultiCriteriaResult result = engine.evaluateMultiCriteria(decision, agents, 1);
+        
+        // Expected distance score from the mean distance of all agents
+        double meanDistance = 0;
+        for (AgentState agent : agents) {
+            meanDistance += agent.position.distanceTo(new Point2D(400, 300));
+        }
+        meanDistance /= agents.size();
+        double expectedDistance = Math.max(0, (500 - meanDistance) / 500 * 100);
+        Map<String, Double> center = result.getDetailedScores("(400, 300) eta=30");
+        System.out.println(String.format("  (400, 300): distance=%.2f (expected %.2f), time=%.2f",
+            center.get("Distance"), expectedDistance, center.get("Time")));
+        System.out.println(String.format("  (700,500): battery cost=%.2f",
+            result.getDetailedScores("(700,500) battery_cost=0.2").get("Battery Cost")));
+        if (Math.abs(center.get("Distance") - expectedDistance) < 1e-9
+            && Math.abs(center.get("Time") - 75.0) < 1e-9
+            && Math.abs(result.getDetailedScores("(700,500) battery_cost=0.2").get("Battery Cost") - 80.0) < 1e-9) {
+            System.out.println("  ✓ PASS: Scores match mean distance and explicit option values");
+        } else {
+            System.out.println("  ✗ FAIL: Scores do not match expected values");
+        }
+        
+        // Second decision, same tick: no agent is read again
+        DecisionContext followUp = engine.createDecision("rally_point_2", "Re-check rally point", options);
+        followUp.addCriterion("Distance", CriterionType.DISTANCE, 1.0);
+        long builds = scorer.getProfileBuilds();
+        MultiCriteriaResult repeated = engine.evaluateMultiCriteria(followUp, agents, 1);
+        System.out.println("  " + scorer);
+        if (scorer.getProfileBuilds() == builds && scorer.getAggregateBuilds() == 1
+            && repeated.getBestOption().equals(result.getBestOption())) {
+            System.out.println("  ✓ PASS: Same-tick decision reused all " + options.size() + " option profiles");
+        } else {
+            System.out.println("  ✗ FAIL: Same-tick decision recomputed profiles");
+        }
+        
+        // Next tick: the swarm moved next to (100, 100)
+        for (AgentState agent : agents) {
+            agent.position = new Point2D(100 + agent.position.x * 0.05, 100 + agent.position.y * 0.05);
+        }
+        MultiCriteriaResult moved = engine.evaluateMultiCriteria(followUp, agents, 2);
+        System.out.println("  Tick 2 best option: " + moved.getBestOption());
+        if (moved.getBestOption().equals("(100, 100)") && scorer.getAggregateBuilds() == 2) {
+            System.out.println("  ✓ PASS: New tick rebuilt aggregates from moved agents");
+        } else {
+            System.out.println("  ✗ FAIL: New tick used stale aggregates");
+        }
+        
+        // A scorer set up for a larger world and faster agents
+        DecisionEngine wide = new DecisionEngine(new MultiCriteriaScorer(1000, 10));
+        DecisionContext far = wide.createDecision("far_point", "Select far point", Arrays.asList("(700,500)"));
+        far.addCriterion("Distance", CriterionType.DISTANCE, 0.5);
+        far.addCriterion("Time", CriterionType.TIME, 0.5);
+        Map<String, Double> farScores = wide.evaluateMultiCriteria(far, agents, 3).getDetailedScores("(700,500)");
+        double farDistance = 0;
+        for (AgentState agent : agents) {
+            farDistance += agent.position.distanceTo(new Point2D(700, 500));
+        }
+        farDistance /= agents.size();
+        double expectedFar = (1000 - farDistance) / 1000 * 100;
+        double expectedTime = Math.max(0, (120 - farDistance / 10) / 120 * 100);
+        System.out.println(String.format("  Scale 1000 / speed 10: distance=%.2f (expected %.2f), time=%.2f (expected %.2f)",
+            farScores.get("Distance"), expectedFar, farScores.get("Time"), expectedTime));
+        if (Math.abs(farScores.get("Distance") - expectedFar) < 1e-9
+            && Math.abs(farScores.get("Time") - expectedTime) < 1e-9) {
+            System.out.println("  ✓ PASS: Scorer scale and speed are configurable");
+        } else {
+            System.out.println("  ✗ FAIL: Scorer ignored its scale or speed");
+        }
+        System.out.println();
+    }
+    
     // ==================== HELPER METHODS ====================
     
     /**
@@ -628,6 +815,24 @@ public class DecisionTest {
         return agents;
     }
     
+    /**
+     * Create active agents at random positions in an 800x600 world
+     */
+    private static List<AgentState> createRandomAgents(int count, Random random) {
+        List<AgentState> agents = new ArrayList<>();
+        
+        for (int i = 1; i <= count; i++) {
+            AgentState agent = new AgentState();
+            agent.agentId = i;
+            agent.position = new Point2D(random.nextDouble() * 800, random.nextDouble() * 600);
+            agent.status = AgentStatus.ACTIVE;
+            agent.batteryLevel = 0.3 + random.nextDouble() * 0.7;
+            agents.add(agent);
+        }
+        
+        return agents;
+    }
+    
     /**
      * Find agent by ID
      */
@@ -0,0 +1,259 @@
+/**
+ * MULTICRITERIASCORER CLASS - Score Matrix for Multi-Criteria Decisions
+ *
+ * PURPOSE:
+ * - Scores every (option, criterion) pair of a decision in one pass
+ * - Everything the criteria need from the swarm is computed once per
+ *   option instead of once per (option, criterion) pair
+ *
+ * PER TICK (swarm aggregates):
+ * - Agent positions copied into primitive x/y arrays
+ * - Rebuilt when the tick or the agent list changes; evaluating with
+ *   NO_TICK always rebuilds (positions may have moved)
+ *
+ * PER OPTION (profile, cached for the rest of the tick):
+ * - Parsed once: target "(x, y)", "battery_cost=" / "consumption=%",
+ *   "time=" / "eta=" (lower case)
+ * - Mean agent distance to the target: one pass over the position arrays
+ * - A second decision in the same tick with the same option strings
+ *   reuses the profiles and touches no agent at all
+ *
+ * SCORES (0-100, same formulas as before the matrix):
+ * - DISTANCE: (maxDistance - meanDistance) / maxDistance
+ * - BATTERY_COST: explicit cost, else meanDistance / maxDistance
+ * - TIME: explicit time against 120, else meanDistance / nominalSpeed
+ * - maxDistance and nominalSpeed are constructor parameters
+ *   (default 500 units and 1 unit per second)
+ * - RISK: 80, COVERAGE: 75 (placeholders), others 50
+ * - 50 (neutral) whenever an option gives nothing to score on
+ *
+ * USAGE:
+ * MultiCriteriaScorer scorer = new MultiCriteriaScorer(worldDiagonal, cruiseSpeed);
+ * double[][] scores = scorer.score(options, criteria, agents, tick);
+ * double distanceScore = scores[optionIndex][criterionIndex];
+ */
+package com.team6.swarm.intelligence.decisions;
+
+import com.team6.swarm.core.AgentState;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class MultiCriteriaScorer {
+    public static final long NO_TICK = Long.MIN_VALUE;
+    public static final double DEFAULT_MAX_DISTANCE = 500.0;
+    public static final double DEFAULT_NOMINAL_SPEED = 1.0;   // units per second
+
+    private static final Pattern LOCATION = Pattern.compile(
+        "\\(?\\s*([+-]?\\d+(?:\\.\\d+)?)\\s*,\\s*([+-]?\\d+(?:\\.\\d+)?)\\s*\\)?");
+    private static final Pattern BATTERY_COST = Pattern.compile("battery[_-]?cost\\s*=\\s*([0-9]*\\.?[0-9]+)");
+    private static final Pattern CONSUMPTION = Pattern.compile("consumption\\s*=\\s*([0-9]*\\.?[0-9]+)\\s*%");
+    private static final Pattern TIME = Pattern.compile("(?:time|eta)\\s*=\\s*([0-9]*\\.?[0-9]+)");
+
+    private static final double NEUTRAL_SCORE = 50.0;
+    private static final double MAX_TIME = 120.0;
+    private static final double RISK_LEVEL = 0.2;       // Placeholder: 20% risk
+    private static final double COVERAGE_PERCENT = 0.75; // Placeholder: 75% coverage
+
+    // Scoring scale
+    private final double maxDistance;
+    private final double nominalSpeed;
+
+    // Swarm aggregates for the current tick
+    private long tick;
+    private List<AgentState> tickAgents;
+    private int tickAgentCount;
+    private double[] xs;
+    private double[] ys;
+    private int positionCount;
+
+    // Option profiles for the current tick
+    private final Map<String, OptionProfile> profiles;
+
+    // Statistics
+    private long aggregateBuilds;
+    private long profileBuilds;
+    private long profileHits;
+
+    public MultiCriteriaScorer() {
+        this(DEFAULT_MAX_DISTANCE, DEFAULT_NOMINAL_SPEED);
+    }
+
+    /**
+     * @param maxDistance Mean distance that scores 0 on DISTANCE and BATTERY_COST
+     * @param nominalSpeed Speed (units per second) used to estimate TIME from distance
+     */
+    public MultiCriteriaScorer(double maxDistance, double nominalSpeed) {
+        if (!(maxDistance > 0) || !(nominalSpeed > 0)) {
+            throw new IllegalArgumentException("maxDistance and nominalSpeed must be positive");
+        }
+        this.maxDistance = maxDistance;
+        this.nominalSpeed = nominalSpeed;
+        this.tick = NO_TICK;
+        this.xs = new double[0];
+        this.ys = new double[0];
+        this.profiles = new HashMap<>();
+    }
+
+    /**
+     * Scores all options on all criteria.
+     *
+     * @param tick Simulation tick the agent states belong to, or NO_TICK
+     * @return scores[option][criterion], unweighted (0-100)
+     */
+    public double[][] score(List<String> options, List<DecisionCriterion> criteria,
+                            List<AgentState> agents, long tick) {
+        if (options == null || criteria == null || agents == null) {
+            throw new IllegalArgumentException("options, criteria and agents must not be null");
+        }
+        prepare(agents, tick);
+
+        double[][] scores = new double[options.size()][criteria.size()];
+        for (int o = 0; o < options.size(); o++) {
+            OptionProfile profile = profile(options.get(o));
+            for (int c = 0; c < criteria.size(); c++) {
+                scores[o][c] = profile.score(criteria.get(c).getType());
+            }
+        }
+        return scores;
+    }
+
+    private void prepare(List<AgentState> agents, long tick) {
+        if (tick != NO_TICK && tick == this.tick && agents == tickAgents && agents.size() == tickAgentCount) {
+            return;
+        }
+        this.tick = tick;
+        this.tickAgents = agents;
+        this.tickAgentCount = agents.size();
+        profiles.clear();
+
+        if (xs.length < agents.size()) {
+            xs = new double[agents.size()];
+            ys = new double[agents.size()];
+        }
+        positionCount = 0;
+        for (AgentState agent : agents) {
+            if (agent.position != null) {
+                xs[positionCount] = agent.position.x;
+                ys[positionCount] = agent.position.y;
+                positionCount++;
+            }
+        }
+        aggregateBuilds++;
+    }
+
+    private OptionProfile profile(String option) {
+        OptionProfile profile = profiles.get(option);
+        if (profile != null) {
+            profileHits++;
+            return profile;
+        }
+        profile = new OptionProfile(option);
+        profiles.put(option, profile);
+        profileBuilds++;
+        return profile;
+    }
+
+    private double meanDistance(double targetX, double targetY) {
+        if (positionCount == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        for (int i = 0; i < positionCount; i++) {
+            double dx = xs[i] - targetX;
+            double dy = ys[i] - targetY;
+            sum += Math.sqrt(dx * dx + dy * dy);
+        }
+        return sum / positionCount;
+    }
+
+    /**
+     * What an option string says, plus the swarm's mean distance to its target
+     */
+    private final class OptionProfile {
+        final double meanDistance;    // NaN: no target or no agent positions
+        final double batteryCost;     // NaN: not given
+        final double time;            // NaN: not given
+
+        OptionProfile(String option) {
+            Matcher location = LOCATION.matcher(option);
+            meanDistance = location.find()
+                ? meanDistance(Double.parseDouble(location.group(1)), Double.parseDouble(location.group(2)))
+                : Double.NaN;
+
+            Matcher cost = BATTERY_COST.matcher(option);
+            Matcher consumption = CONSUMPTION.matcher(option);
+            if (cost.find()) {
+                batteryCost = Double.parseDouble(cost.group(1));
+            } else if (consumption.find()) {
+                batteryCost = Double.parseDouble(consumption.group(1)) / 100.0;
+            } else {
+                batteryCost = Double.NaN;
+            }
+
+            Matcher eta = TIME.matcher(option);
+            time = eta.find() ? Double.parseDouble(eta.group(1)) : Double.NaN;
+        }
+
+        double score(CriterionType type) {
+            switch (type) {
+                case DISTANCE:
+                    if (Double.isNaN(meanDistance)) return NEUTRAL_SCORE;
+                    return Math.max(0, (maxDistance - meanDistance) / maxDistance * 100);
+
+                case BATTERY_COST:
+                    if (!Double.isNaN(batteryCost)) return Math.max(0, (1.0 - batteryCost) * 100);
+                    if (Double.isNaN(meanDistance)) return NEUTRAL_SCORE;
+                    return Math.max(0, (1.0 - Math.min(1.0, meanDistance / maxDistance)) * 100);
+
+                case TIME:
+                    if (!Double.isNaN(time)) return Math.max(0, (MAX_TIME - time) / MAX_TIME * 100);
+                    if (Double.isNaN(meanDistance)) return NEUTRAL_SCORE;
+                    double estimatedTime = meanDistance / nominalSpeed;
+                    double maxTime = Math.max(estimatedTime, MAX_TIME);
+                    return Math.max(0, (maxTime - estimatedTime) / maxTime * 100);
+
+                case RISK:
+                    return Math.max(0, (1.0 - RISK_LEVEL) * 100);
+
+                case COVERAGE:
+                    return COVERAGE_PERCENT * 100;
+
+                default:
+                    return NEUTRAL_SCORE;
+            }
+        }
+    }
+
+    // ==================== STATISTICS ====================
+
+    /**
+     * Times the agent positions were copied (once per tick at most when ticks are given)
+     */
+    public long getAggregateBuilds() {
+        return aggregateBuilds;
+    }
+
+    /**
+     * Options parsed and measured against the swarm
+     */
+    public long getProfileBuilds() {
+        return profileBuilds;
+    }
+
+    /**
+     * Options answered from the current tick's cache
+     */
+    public long getProfileHits() {
+        return profileHits;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MultiCriteriaScorer[tick=%d | agents=%d | profiles=%d | builds=%d | hits=%d]",
+            tick, positionCount, profiles.size(), profileBuilds, profileHits);
+    }
+}
@@ -41,7 +41,8 @@
  * 5. Maintain formations
  * 6. Handle emergencies
  * 7. Resolve behavior conflicts
- * 8. Send movement commands
+ * 8. Refresh leadership candidates
+ * 9. Send movement commands
  *
  * USAGE PATTERNS:
  *
@@ -92,6 +93,7 @@ public class SwarmCoordinator {
     private CoordinationMode currentMode;
     private boolean coordinationActive;
     private long lastUpdateTime;
+    private long simulationTime;     // ms, sum of update() deltaTimes (vote deadlines)
     
     // Performance tracking
     private int updateCount;
@@ -155,12 +157,13 @@ public class SwarmCoordinator {
         
         long startTime = System.currentTimeMillis();
         updateCount++;
+        simulationTime += Math.round(deltaTime * 1000);
         
         // 1. Update flocking behaviors
         updateFlocking(agents);
         
         // 2. Check for pending votes and expire timeouts
-        votingSystem.expireProposals();
+        votingSystem.expireProposals(simulationTime);
         
         // 3. Monitor task progress
         updateTasks(agents);
@@ -174,6 +177,9 @@ public class SwarmCoordinator {
         // 6. Resolve behavior conflicts
         resolveBehaviorConflicts(agents);
         
+        // 7. Keep leadership candidates scored on current state
+        leaderFollower.updateCandidates(agents);
+        
         // Update performance metrics
         long updateTime = System.currentTimeMillis() - startTime;
         averageUpdateTime = (averageUpdateTime * (updateCount - 1) + updateTime) / updateCount;
@@ -237,7 +243,7 @@ public class SwarmCoordinator {
      * Start democratic decision process
      */
     public String initiateVote(String question, List<String> options, ProposalType type) {
-        return votingSystem.initiateVote(question, options, type);
+        return votingSystem.initiateVote(question, options, type, simulationTime);
     }
     
     /**
@@ -245,7 +251,7 @@ public class SwarmCoordinator {
      * Record individual vote response
      */
     public void processVote(VoteResponse response) {
-        votingSystem.processVote(response);
+        votingSystem.processVote(response, simulationTime);
     }
     
     /**
@@ -276,16 +282,25 @@ public class SwarmCoordinator {
             }
         }
         
-        // Check for failed agents and reassign their tasks
+        // Check for failed agents and reassign their tasks in one batch
         List<AgentState> activeAgents = new ArrayList<>();
+        List<Integer> failedAgentIds = new ArrayList<>();
         for (AgentState agent : agents) {
             if (agent.status == AgentStatus.ACTIVE) {
                 activeAgents.add(agent);
             } else if (agent.status == AgentStatus.FAILED) {
-                // Reassign this agent's tasks
-                taskAllocator.reassignAgentTasks(agent.agentId, activeAgents);
+                failedAgentIds.add(agent.agentId);
             }
         }
+        if (!failedAgentIds.isEmpty()) {
+            taskAllocator.reassignAgentTasks(failedAgentIds, activeAgents);
+        }
+        
+        // Keep backup candidates in step with agent movement
+        taskAllocator.refreshBackupCandidates(activeAgents);
+        
+        // Move queued work off the busiest agents, a little every tick
+        taskAllocator.rebalance(activeAgents);
     }
     
     /**
@@ -451,7 +466,8 @@ public class SwarmCoordinator {
         String proposalId = votingSystem.initiateVote(
             "Critical battery levels detected. Continue mission or return all?",
             Arrays.asList("RETURN_ALL", "RETURN_LOW_ONLY", "CONTINUE"),
-            ProposalType.EMERGENCY
+            ProposalType.EMERGENCY,
+            simulationTime
         );
         
         System.out.println("Battery emergency vote initiated: " + proposalId);
@@ -690,6 +706,13 @@ public class SwarmCoordinator {
         return lastUpdateTime;
     }
     
+    /**
+     * Simulation time in ms (sum of update deltaTimes); vote deadlines use it
+     */
+    public long getSimulationTime() {
+        return simulationTime;
+    }
+    
     public int getUpdateCount() {
         return updateCount;
     }
@@ -16,8 +16,21 @@
  *
  * AGENT ASSIGNMENT:
  * - participatingAgents: List of agent IDs in formation
- * - positions: Map of agentId → calculated position
- * - roles: Map of agentId → formation role (leader, wing, etc.)
+ * - getPositions(): Map of agentId → calculated position
+ * - getRoles(): Map of agentId → formation role (leader, wing, etc.)
+ *
+ * LAZY LAYOUT:
+ * - Slot geometry comes from a FormationTemplate shared by every
+ *   formation of the same type and agent count (spacing 1, heading 0)
+ * - moveTo / setHeading / rotate / setSpacing only store the new value;
+ *   nothing is recomputed until a position is read
+ * - getAgentPosition() transforms one slot (translate, rotate, scale);
+ *   getPositions() transforms all slots in one pass
+ * - Direct writes to the public fields are picked up on the next read.
+ *   participatingAgents starts as the formation's own list, which counts
+ *   its changes (any reorder, set, add or remove is one version check);
+ *   a list assigned to the field is compared against the slots' copy of
+ *   its IDs on each read instead (O(n))
  *
  * DYNAMIC PROPERTIES:
  * - isMoving: Whether formation is translating
@@ -101,7 +114,7 @@
  *     agentIds
  * );
  *
- * 2. Calculate Positions:
+ * 2. Calculate Positions (optional, positions are computed on read):
  * formation.calculatePositions();
  *
  * 3. Get Agent Position:
@@ -133,8 +146,19 @@ public class Formation {
     
     // Agent assignment
     public List<Integer> participatingAgents;
-    public Map<Integer, Point2D> positions;      // agentId → position
-    public Map<Integer, FormationRole> roles;    // agentId → role
+    
+    // Lazy layout: shared unit template, transformed on read
+    private FormationTemplate template;
+    private final Map<Integer, Integer> slots;   // agentId → template slot
+    private List<Integer> slotList;              // List the slots were built from
+    private int slotVersion;                     // Its version then (own list)
+    private int[] slotIds = new int[0];          // Its IDs then (assigned list)
+    private double transformAngle = Double.NaN;
+    private double transformSpacing = Double.NaN;
+    private double scaledCos;                    // cos(angle) * spacing
+    private double scaledSin;
+    private double[] worldX = new double[0];     // Scratch for getPositions()
+    private double[] worldY = new double[0];
     
     // Dynamic properties
     public boolean isMoving;
@@ -155,9 +179,8 @@ public class Formation {
         this.centerPoint = centerPoint;
         this.spacing = spacing;
         this.heading = heading;
-        this.participatingAgents = new ArrayList<>(agentIds);
-        this.positions = new HashMap<>();
-        this.roles = new HashMap<>();
+        this.participatingAgents = new AgentList(agentIds);
+        this.slots = new HashMap<>(agentIds.size() * 2);
         this.isMoving = false;
         this.rotationRate = Math.PI / 4;  // 45° per second
         this.formationId = "formation_" + System.currentTimeMillis();
@@ -169,220 +192,95 @@ public class Formation {
             this.leaderAgentId = agentIds.get(0);
         }
         
-        // Calculate initial positions
+        // Resolve template and slots (positions are computed on read)
         calculatePositions();
     }
     
     // ==================== POSITION CALCULATION ====================
     
     /**
-     * Calculate positions for all agents based on formation type
+     * Re-resolve the template and agent slots now
+     * (optional: every change is also picked up on the next read)
      */
     public void calculatePositions() {
-        positions.clear();
-        roles.clear();
-        
-        switch (formationType) {
-            case LINE:
-                calculateLineFormation();
-                break;
-            case COLUMN:
-                calculateColumnFormation();
-                break;
-            case WEDGE:
-                calculateWedgeFormation();
-                break;
-            case CIRCLE:
-                calculateCircleFormation();
-                break;
-            case DIAMOND:
-                calculateDiamondFormation();
-                break;
-            case GRID:
-                calculateGridFormation();
-                break;
-        }
+        template = null;
+        layout();
     }
     
     /**
-     * LINE FORMATION
-     * Agents in horizontal line
+     * Shared unit template for the current type and agent count
+     * (slot index rebuilt only when participatingAgents changed)
      */
-    private void calculateLineFormation() {
-        int agentCount = participatingAgents.size();
-        int centerIndex = agentCount / 2;
-        
-        for (int i = 0; i < agentCount; i++) {
-            int agentId = participatingAgents.get(i);
-            
-            // Calculate offset from center
-            double offset = (i - centerIndex) * spacing;
-            
-            // Calculate position perpendicular to heading
-            double perpHeading = heading + Math.PI / 2;  // 90° rotation
-            double x = centerPoint.x + offset * Math.cos(perpHeading);
-            double y = centerPoint.y + offset * Math.sin(perpHeading);
-            
-            positions.put(agentId, new Point2D(x, y));
-            
-            // Assign roles
-            if (i == centerIndex) {
-                roles.put(agentId, FormationRole.LEADER);
-            } else {
-                roles.put(agentId, FormationRole.WING);
+    private FormationTemplate layout() {
+        List<Integer> agents = participatingAgents;
+        int agentCount = agents.size();
+        if (template == null || !slotsCurrent(agents)) {
+            slots.clear();
+            for (int i = 0; i < agentCount; i++) {
+                slots.put(agents.get(i), i);   // Listed twice: last slot wins
             }
+            recordSlots(agents);
         }
-    }
-    
-    /**
-     * COLUMN FORMATION
-     * Agents in vertical column (single file)
-     */
-    private void calculateColumnFormation() {
-        for (int i = 0; i < participatingAgents.size(); i++) {
-            int agentId = participatingAgents.get(i);
-            
-            // Calculate position along heading direction
-            double offset = i * spacing;
-            double x = centerPoint.x + offset * Math.cos(heading);
-            double y = centerPoint.y + offset * Math.sin(heading);
-            
-            positions.put(agentId, new Point2D(x, y));
-            
-            // First agent is leader
-            if (i == 0) {
-                roles.put(agentId, FormationRole.LEADER);
-            } else {
-                roles.put(agentId, FormationRole.FOLLOWER);
-            }
+        if (template == null || template.type != formationType || template.agentCount != agentCount) {
+            template = FormationTemplate.get(formationType, agentCount);
         }
+        return template;
     }
     
     /**
-     * WEDGE FORMATION
-     * V-shape with leader at point
+     * Whether the slots still match the list: the same list, and for the
+     * formation's own list the same version, else the same IDs in order
      */
-    private void calculateWedgeFormation() {
-        int agentCount = participatingAgents.size();
-        
-        for (int i = 0; i < agentCount; i++) {
-            int agentId = participatingAgents.get(i);
-            
-            if (i == 0) {
-                // Leader at the point
-                positions.put(agentId, new Point2D(centerPoint.x, centerPoint.y));
-                roles.put(agentId, FormationRole.LEADER);
-            } else {
-                // Calculate layer and side
-                int layer = (i - 1) / 2 + 1;
-                int side = (i - 1) % 2;  // 0=left, 1=right
-                
-                // Lateral offset (perpendicular to heading)
-                double lateralOffset = layer * spacing * (side == 0 ? -1 : 1);
-                double perpHeading = heading + Math.PI / 2;
-                
-                // Rear offset (behind leader)
-                double rearOffset = layer * spacing * 0.8;  // 80% of spacing
-                
-                double x = centerPoint.x 
-                    + lateralOffset * Math.cos(perpHeading)
-                    - rearOffset * Math.cos(heading);
-                double y = centerPoint.y 
-                    + lateralOffset * Math.sin(perpHeading)
-                    - rearOffset * Math.sin(heading);
-                
-                positions.put(agentId, new Point2D(x, y));
-                roles.put(agentId, FormationRole.WING);
+    private boolean slotsCurrent(List<Integer> agents) {
+        if (agents != slotList) {
+            return false;
+        }
+        if (agents instanceof AgentList) {
+            return ((AgentList) agents).version() == slotVersion;
+        }
+        if (agents.size() != slotIds.length) {
+            return false;
+        }
+        for (int i = 0; i < slotIds.length; i++) {
+            if (agents.get(i) != slotIds[i]) {
+                return false;
             }
         }
+        return true;
     }
     
-    /**
-     * CIRCLE FORMATION
-     * Agents arranged in circular ring
-     */
-    private void calculateCircleFormation() {
-        int agentCount = participatingAgents.size();
-        double radius = (agentCount * spacing) / (2 * Math.PI);
-        
-        for (int i = 0; i < agentCount; i++) {
-            int agentId = participatingAgents.get(i);
-            
-            // Calculate angle for this agent
-            double angle = (2 * Math.PI * i) / agentCount + heading;
-            
-            double x = centerPoint.x + radius * Math.cos(angle);
-            double y = centerPoint.y + radius * Math.sin(angle);
-            
-            positions.put(agentId, new Point2D(x, y));
-            roles.put(agentId, FormationRole.PERIMETER);
+    private void recordSlots(List<Integer> agents) {
+        slotList = agents;
+        if (agents instanceof AgentList) {
+            slotVersion = ((AgentList) agents).version();
+            slotIds = new int[0];
+        } else {
+            slotIds = new int[agents.size()];
+            for (int i = 0; i < slotIds.length; i++) {
+                slotIds[i] = agents.get(i);
+            }
         }
     }
     
     /**
-     * DIAMOND FORMATION
-     * Diamond/rhombus shape
+     * Refresh cached rotation * spacing if heading or spacing changed
      */
-    private void calculateDiamondFormation() {
-        int agentCount = participatingAgents.size();
-        
-        if (agentCount >= 4) {
-            // Place first 4 at cardinal points
-            positions.put(participatingAgents.get(0), 
-                new Point2D(centerPoint.x, centerPoint.y - spacing));  // North
-            positions.put(participatingAgents.get(1), 
-                new Point2D(centerPoint.x + spacing, centerPoint.y));  // East
-            positions.put(participatingAgents.get(2), 
-                new Point2D(centerPoint.x, centerPoint.y + spacing));  // South
-            positions.put(participatingAgents.get(3), 
-                new Point2D(centerPoint.x - spacing, centerPoint.y));  // West
-            
-            roles.put(participatingAgents.get(0), FormationRole.LEADER);
-            for (int i = 1; i < 4; i++) {
-                roles.put(participatingAgents.get(i), FormationRole.WING);
-            }
-            
-            // Additional agents fill in between or inside
-            for (int i = 4; i < agentCount; i++) {
-                int agentId = participatingAgents.get(i);
-                double angle = (2 * Math.PI * (i - 4)) / (agentCount - 4) + Math.PI / 4;
-                double radius = spacing * 0.7;  // Slightly inside
-                
-                double x = centerPoint.x + radius * Math.cos(angle);
-                double y = centerPoint.y + radius * Math.sin(angle);
-                
-                positions.put(agentId, new Point2D(x, y));
-                roles.put(agentId, FormationRole.INTERIOR);
-            }
+    private void updateTransform(FormationTemplate template) {
+        double angle = template.rotates ? heading : 0.0;
+        if (angle != transformAngle || spacing != transformSpacing) {
+            transformAngle = angle;
+            transformSpacing = spacing;
+            scaledCos = Math.cos(angle) * spacing;
+            scaledSin = Math.sin(angle) * spacing;
         }
     }
     
     /**
-     * GRID FORMATION
-     * Square grid pattern
+     * Template slot of an agent, -1 if not in formation or not placed
      */
-    private void calculateGridFormation() {
-        int agentCount = participatingAgents.size();
-        
-        // Calculate grid dimensions
-        int cols = (int) Math.ceil(Math.sqrt(agentCount));
-        int rows = (int) Math.ceil((double) agentCount / cols);
-        
-        for (int i = 0; i < agentCount; i++) {
-            int agentId = participatingAgents.get(i);
-            
-            int row = i / cols;
-            int col = i % cols;
-            
-            double x = centerPoint.x + (col - cols / 2.0) * spacing;
-            double y = centerPoint.y + (row - rows / 2.0) * spacing;
-            
-            positions.put(agentId, new Point2D(x, y));
-            
-            // Corner agents are perimeter, others interior
-            boolean isCorner = (row == 0 || row == rows - 1) && (col == 0 || col == cols - 1);
-            roles.put(agentId, isCorner ? FormationRole.PERIMETER : FormationRole.INTERIOR);
-        }
+    private int slotOf(int agentId, FormationTemplate template) {
+        Integer slot = slots.get(agentId);
+        return slot != null && slot < template.placedCount ? slot : -1;
     }
     
     // ==================== FORMATION MANIPULATION ====================
@@ -392,7 +290,6 @@ public class Formation {
      */
     public void moveTo(Point2D newCenter) {
         this.centerPoint = newCenter;
-        calculatePositions();
     }
     
     /**
@@ -400,7 +297,6 @@ public class Formation {
      */
     public void setHeading(double newHeading) {
         this.heading = newHeading;
-        calculatePositions();
     }
     
     /**
@@ -408,7 +304,6 @@ public class Formation {
      */
     public void rotate(double angleRadians) {
         this.heading += angleRadians;
-        calculatePositions();
     }
     
     /**
@@ -416,16 +311,18 @@ public class Formation {
      */
     public void setSpacing(double newSpacing) {
         this.spacing = newSpacing;
-        calculatePositions();
     }
     
     /**
      * Add agent to formation
      */
     public void addAgent(int agentId) {
-        if (!participatingAgents.contains(agentId)) {
+        layout();
+        if (!slots.containsKey(agentId)) {
+            slots.put(agentId, participatingAgents.size());
             participatingAgents.add(agentId);
-            calculatePositions();
+            recordSlots(participatingAgents);
+            template = FormationTemplate.get(formationType, participatingAgents.size());
         }
     }
     
@@ -433,10 +330,9 @@ public class Formation {
      * Remove agent from formation
      */
     public void removeAgent(int agentId) {
-        participatingAgents.remove(Integer.valueOf(agentId));
-        positions.remove(agentId);
-        roles.remove(agentId);
-        calculatePositions();
+        if (participatingAgents.remove(Integer.valueOf(agentId))) {
+            template = null;   // Later slots shift down
+        }
     }
     
     // ==================== QUERY METHODS ====================
@@ -445,21 +341,78 @@ public class Formation {
      * Get position for specific agent
      */
     public Point2D getAgentPosition(int agentId) {
-        return positions.get(agentId);
+        FormationTemplate current = layout();
+        int slot = slotOf(agentId, current);
+        if (slot < 0) {
+            return null;
+        }
+        updateTransform(current);
+        double ux = current.getUnitX(slot);
+        double uy = current.getUnitY(slot);
+        return new Point2D(centerPoint.x + ux * scaledCos - uy * scaledSin,
+                           centerPoint.y + ux * scaledSin + uy * scaledCos);
+    }
+    
+    /**
+     * Positions of every placed agent (agentId → position), computed in
+     * one pass over the template
+     */
+    public Map<Integer, Point2D> getPositions() {
+        FormationTemplate current = layout();
+        int placed = current.placedCount;
+        if (worldX.length < placed) {
+            worldX = new double[placed];
+            worldY = new double[placed];
+        }
+        current.transform(centerPoint.x, centerPoint.y, heading, spacing, worldX, worldY);
+        
+        Map<Integer, Point2D> result = new HashMap<>(placed * 2);
+        for (Map.Entry<Integer, Integer> entry : slots.entrySet()) {
+            int slot = entry.getValue();
+            if (slot < placed) {
+                result.put(entry.getKey(), new Point2D(worldX[slot], worldY[slot]));
+            }
+        }
+        return result;
     }
     
     /**
      * Get role for specific agent
      */
     public FormationRole getAgentRole(int agentId) {
-        return roles.get(agentId);
+        FormationTemplate current = layout();
+        int slot = slotOf(agentId, current);
+        return slot < 0 ? null : current.getRole(slot);
+    }
+    
+    /**
+     * Roles of every placed agent (agentId → role)
+     */
+    public Map<Integer, FormationRole> getRoles() {
+        FormationTemplate current = layout();
+        Map<Integer, FormationRole> result = new HashMap<>(current.placedCount * 2);
+        for (Map.Entry<Integer, Integer> entry : slots.entrySet()) {
+            FormationRole role = current.getRole(entry.getValue());
+            if (role != null) {
+                result.put(entry.getKey(), role);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Unit template currently shared by this formation
+     */
+    public FormationTemplate getTemplate() {
+        return layout();
     }
     
     /**
      * Check if agent is in formation
      */
     public boolean hasAgent(int agentId) {
-        return participatingAgents.contains(agentId);
+        layout();
+        return slots.containsKey(agentId);
     }
     
     /**
@@ -469,6 +422,26 @@ public class Formation {
         return participatingAgents.size();
     }
     
+    /**
+     * ArrayList that counts every change, including set() (which ArrayList
+     * itself does not), so layout() can tell a reorder from no change
+     */
+    private static final class AgentList extends ArrayList<Integer> {
+        AgentList(Collection<Integer> agentIds) {
+            super(agentIds);
+        }
+        
+        @Override
+        public Integer set(int index, Integer agentId) {
+            modCount++;
+            return super.set(index, agentId);
+        }
+        
+        int version() {
+            return modCount;
+        }
+    }
+    
     @Override
     public String toString() {
         return String.format(
@@ -0,0 +1,175 @@
+/**
+ * FORMATIONBENCHMARK CLASS - Formation Layout Cost Measurements
+ *
+ * PURPOSE:
+ * - Measures what moving, rotating and reading a large formation costs
+ * - Compares the old eager layout (every slot recomputed into a map on
+ *   each change) with template-based lazy layout
+ * - Runs standalone; not part of the pass/fail test suites
+ *
+ * BENCHMARKS:
+ * 1. 100 moves + rotations per tick, then every position read once:
+ *    eager recompute per change vs Formation (transform on read)
+ * 2. Reading every agent's target once per tick with no change in
+ *    between: eager map lookups vs getAgentPosition vs getPositions
+ * 3. Creating 200 formations of the same shape and size: eager layout
+ *    vs Formation sharing one cached template
+ *
+ * USAGE:
+ * java com.team6.swarm.intelligence.formation.FormationBenchmark
+ */
+package com.team6.swarm.intelligence.formation;
+
+import com.team6.swarm.core.Point2D;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FormationBenchmark {
+    private static final int WARMUP_RUNS = 2;
+    private static final int TICKS = 20;
+    private static final int CHANGES_PER_TICK = 100;
+    private static final int FORMATIONS = 200;
+    private static final int[] SIZES = {1_000, 5_000, 10_000};
+
+    public static void main(String[] args) {
+        System.out.println("=== Formation Benchmarks ===");
+
+        benchmarkMoves();
+        benchmarkReads();
+        benchmarkCreation();
+
+        System.out.println("\n=== Benchmarks Complete ===");
+    }
+
+    // ===== BENCHMARK 1: MOVES THEN READ =====
+    private static void benchmarkMoves() {
+        System.out.println("\n--- " + CHANGES_PER_TICK + " moves + rotations, then one read, per tick ---");
+        System.out.println(String.format("%-7s %-7s %10s %12s %12s", "agents", "mode", "ms", "ms/tick", "checksum"));
+
+        for (int size : SIZES) {
+            List<Integer> agentIds = createAgentIds(size);
+            for (int mode = 0; mode < 2; mode++) {
+                Map<Integer, Point2D> eager = new HashMap<>();
+                Formation lazy = new Formation(FormationType.WEDGE, new Point2D(0, 0), 20.0, 0, agentIds);
+                double heading = 0;
+                double checksum = 0;
+                long start = 0;
+                for (int tick = -WARMUP_RUNS; tick < TICKS; tick++) {
+                    if (tick == 0) start = System.nanoTime();
+                    for (int change = 0; change < CHANGES_PER_TICK; change++) {
+                        Point2D center = new Point2D(change, change * 0.5);
+                        heading += 0.01;
+                        if (mode == 0) {
+                            eagerWedge(eager, agentIds, center, heading, 20.0);   // moveTo
+                            eagerWedge(eager, agentIds, center, heading, 20.0);   // setHeading
+                        } else {
+                            lazy.moveTo(center);
+                            lazy.setHeading(heading);
+                        }
+                    }
+                    Map<Integer, Point2D> read = mode == 0 ? eager : lazy.getPositions();
+                    checksum = read.get(agentIds.get(size - 1)).x;
+                }
+                double millis = (System.nanoTime() - start) / 1e6;
+                System.out.println(String.format("%-7d %-7s %10.2f %12.3f %12.4f", size,
+                    mode == 0 ? "eager" : "lazy", millis, millis / TICKS, checksum));
+            }
+        }
+    }
+
+    // ===== BENCHMARK 2: READS =====
+    private static void benchmarkReads() {
+        System.out.println("\n--- Every agent's target read once per tick ---");
+        System.out.println(String.format("%-7s %-13s %10s %12s %12s", "agents", "mode", "ms", "ms/tick", "checksum"));
+
+        for (int size : SIZES) {
+            List<Integer> agentIds = createAgentIds(size);
+            Map<Integer, Point2D> eager = new HashMap<>();
+            eagerWedge(eager, agentIds, new Point2D(400, 300), 0.5, 20.0);
+            Formation lazy = new Formation(FormationType.WEDGE, new Point2D(400, 300), 20.0, 0.5, agentIds);
+
+            String[] modes = {"eager map", "per agent", "getPositions"};
+            for (int mode = 0; mode < modes.length; mode++) {
+                double sum = 0;
+                long start = 0;
+                for (int tick = -WARMUP_RUNS; tick < TICKS; tick++) {
+                    if (tick == 0) start = System.nanoTime();
+                    Map<Integer, Point2D> all = mode == 2 ? lazy.getPositions() : null;
+                    for (int agentId : agentIds) {
+                        Point2D target = mode == 0 ? eager.get(agentId)
+                            : mode == 1 ? lazy.getAgentPosition(agentId) : all.get(agentId);
+                        sum += target.x;
+                    }
+                }
+                double millis = (System.nanoTime() - start) / 1e6;
+                System.out.println(String.format("%-7d %-13s %10.2f %12.3f %12.0f", size, modes[mode],
+                    millis, millis / TICKS, sum));
+            }
+        }
+    }
+
+    // ===== BENCHMARK 3: CREATION =====
+    private static void benchmarkCreation() {
+        System.out.println("\n--- " + FORMATIONS + " formations of one shape, created and read ---");
+        System.out.println(String.format("%-7s %-7s %10s %12s", "agents", "mode", "ms", "new builds"));
+
+        for (int size : SIZES) {
+            List<Integer> agentIds = createAgentIds(size);
+            for (int mode = 0; mode < 2; mode++) {
+                long builds = FormationTemplate.getBuildCount();
+                long start = 0;
+                for (int run = -WARMUP_RUNS; run < 1; run++) {
+                    if (run == 0) start = System.nanoTime();
+                    for (int f = 0; f < FORMATIONS; f++) {
+                        Point2D center = new Point2D(f * 10, f * 5);
+                        if (mode == 0) {
+                            eagerWedge(new HashMap<>(), agentIds, center, f * 0.01, 20.0);
+                        } else {
+                            new Formation(FormationType.WEDGE, center, 20.0, f * 0.01, agentIds)
+                                .getAgentPosition(agentIds.get(0));
+                        }
+                    }
+                }
+                System.out.println(String.format("%-7d %-7s %10.2f %12d", size,
+                    mode == 0 ? "eager" : "lazy", (System.nanoTime() - start) / 1e6,
+                    FormationTemplate.getBuildCount() - builds));
+            }
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * WEDGE layout as Formation computed it before templates: every slot,
+     * into a fresh map, on every change
+     */
+    private static void eagerWedge(Map<Integer, Point2D> positions, List<Integer> agentIds,
+                                   Point2D center, double heading, double spacing) {
+        positions.clear();
+        for (int i = 0; i < agentIds.size(); i++) {
+            int agentId = agentIds.get(i);
+            if (i == 0) {
+                positions.put(agentId, new Point2D(center.x, center.y));
+                continue;
+            }
+            int layer = (i - 1) / 2 + 1;
+            double lateralOffset = layer * spacing * ((i - 1) % 2 == 0 ? -1 : 1);
+            double perpHeading = heading + Math.PI / 2;
+            double rearOffset = layer * spacing * 0.8;
+            positions.put(agentId, new Point2D(
+                center.x + lateralOffset * Math.cos(perpHeading) - rearOffset * Math.cos(heading),
+                center.y + lateralOffset * Math.sin(perpHeading) - rearOffset * Math.sin(heading)));
+        }
+    }
+
+    private static List<Integer> createAgentIds(int count) {
+        List<Integer> agentIds = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            agentIds.add(id);
+        }
+        return agentIds;
+    }
+}
@@ -0,0 +1,212 @@
+/**
+ * FORMATIONTEMPLATE CLASS - Unit Geometry for One Formation Shape and Size
+ *
+ * PURPOSE:
+ * - Holds the slot layout of a formation type for a given agent count at
+ *   spacing 1, heading 0, centered on the origin, plus each slot's role
+ * - Shared by every Formation with the same (type, agent count): built
+ *   once, then only transformed
+ *
+ * FRAME:
+ * - +x points along the heading, +y is 90° counter-clockwise from it
+ * - World position of slot i (see Formation):
+ *   x = center.x + spacing * (unitX[i] * cos(heading) - unitY[i] * sin(heading))
+ *   y = center.y + spacing * (unitX[i] * sin(heading) + unitY[i] * cos(heading))
+ * - DIAMOND and GRID ignore heading (rotates == false), as they always have
+ *
+ * SLOTS:
+ * - Slot i belongs to the i-th participating agent
+ * - placedCount may be below the agent count (DIAMOND needs 4 agents
+ *   before it places anyone)
+ *
+ * USAGE:
+ * FormationTemplate template = FormationTemplate.get(FormationType.WEDGE, 12);
+ * FormationRole role = template.getRole(0);   // LEADER
+ */
+package com.team6.swarm.intelligence.formation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class FormationTemplate {
+    /**
+     * MAX_CACHED_TEMPLATES: cache size at which it is cleared and refilled on
+     * demand (distinct (type, count) pairs are few in practice).
+     */
+    private static final int MAX_CACHED_TEMPLATES = 1_024;
+    private static final Map<Long, FormationTemplate> CACHE = new ConcurrentHashMap<>();
+    private static long builds;
+
+    public final FormationType type;
+    public final int agentCount;
+    public final int placedCount;
+    public final boolean rotates;
+    private final double[] unitX;
+    private final double[] unitY;
+    private final FormationRole[] roles;
+
+    private FormationTemplate(FormationType type, int agentCount) {
+        this.type = type;
+        this.agentCount = agentCount;
+        this.rotates = type != FormationType.DIAMOND && type != FormationType.GRID;
+        this.placedCount = type == FormationType.DIAMOND && agentCount < 4 ? 0 : agentCount;
+        this.unitX = new double[placedCount];
+        this.unitY = new double[placedCount];
+        this.roles = new FormationRole[placedCount];
+        layout();
+    }
+
+    /**
+     * Cached template for a shape and agent count
+     */
+    public static FormationTemplate get(FormationType type, int agentCount) {
+        if (type == null) {
+            throw new IllegalArgumentException("type must not be null");
+        }
+        if (agentCount < 0) {
+            throw new IllegalArgumentException("agentCount must not be negative");
+        }
+        long key = ((long) type.ordinal() << 32) | agentCount;
+        FormationTemplate template = CACHE.get(key);
+        if (template == null) {
+            if (CACHE.size() >= MAX_CACHED_TEMPLATES) {
+                CACHE.clear();
+            }
+            template = CACHE.computeIfAbsent(key, k -> build(type, agentCount));
+        }
+        return template;
+    }
+
+    private static FormationTemplate build(FormationType type, int agentCount) {
+        synchronized (CACHE) {
+            builds++;
+        }
+        return new FormationTemplate(type, agentCount);
+    }
+
+    // ==================== LAYOUTS ====================
+
+    private void layout() {
+        switch (type) {
+            case LINE:
+                // Perpendicular to the heading, centered on the middle agent
+                int centerIndex = agentCount / 2;
+                for (int i = 0; i < placedCount; i++) {
+                    place(i, 0, i - centerIndex, i == centerIndex ? FormationRole.LEADER : FormationRole.WING);
+                }
+                break;
+
+            case COLUMN:
+                // Single file along the heading, leader at the center point
+                for (int i = 0; i < placedCount; i++) {
+                    place(i, i, 0, i == 0 ? FormationRole.LEADER : FormationRole.FOLLOWER);
+                }
+                break;
+
+            case WEDGE:
+                // Leader at the point, layers alternate left/right, 0.8 spacing back per layer
+                place(0, 0, 0, FormationRole.LEADER);
+                for (int i = 1; i < placedCount; i++) {
+                    int layer = (i - 1) / 2 + 1;
+                    int side = (i - 1) % 2;  // 0=left, 1=right
+                    place(i, -layer * 0.8, layer * (side == 0 ? -1 : 1), FormationRole.WING);
+                }
+                break;
+
+            case CIRCLE:
+                // Ring whose circumference is agentCount * spacing
+                double radius = agentCount / (2 * Math.PI);
+                for (int i = 0; i < placedCount; i++) {
+                    double angle = (2 * Math.PI * i) / agentCount;
+                    place(i, radius * Math.cos(angle), radius * Math.sin(angle), FormationRole.PERIMETER);
+                }
+                break;
+
+            case DIAMOND:
+                // North, east, south, west; the rest on a ring at 0.7 spacing
+                if (placedCount >= 4) {
+                    place(0, 0, -1, FormationRole.LEADER);
+                    place(1, 1, 0, FormationRole.WING);
+                    place(2, 0, 1, FormationRole.WING);
+                    place(3, -1, 0, FormationRole.WING);
+                    for (int i = 4; i < placedCount; i++) {
+                        double angle = (2 * Math.PI * (i - 4)) / (agentCount - 4) + Math.PI / 4;
+                        place(i, 0.7 * Math.cos(angle), 0.7 * Math.sin(angle), FormationRole.INTERIOR);
+                    }
+                }
+                break;
+
+            case GRID:
+                // Row-major square grid; corners are perimeter
+                int cols = (int) Math.ceil(Math.sqrt(agentCount));
+                int rows = cols == 0 ? 0 : (int) Math.ceil((double) agentCount / cols);
+                for (int i = 0; i < placedCount; i++) {
+                    int row = i / cols;
+                    int col = i % cols;
+                    boolean isCorner = (row == 0 || row == rows - 1) && (col == 0 || col == cols - 1);
+                    place(i, col - cols / 2.0, row - rows / 2.0,
+                        isCorner ? FormationRole.PERIMETER : FormationRole.INTERIOR);
+                }
+                break;
+        }
+    }
+
+    private void place(int slot, double x, double y, FormationRole role) {
+        unitX[slot] = x;
+        unitY[slot] = y;
+        roles[slot] = role;
+    }
+
+    // ==================== QUERIES ====================
+
+    public double getUnitX(int slot) {
+        return unitX[slot];
+    }
+
+    public double getUnitY(int slot) {
+        return unitY[slot];
+    }
+
+    /**
+     * Role of a slot, null if the slot is not placed
+     */
+    public FormationRole getRole(int slot) {
+        return slot >= 0 && slot < placedCount ? roles[slot] : null;
+    }
+
+    /**
+     * Apply center/heading/spacing to every placed slot, writing world
+     * coordinates into x and y (each at least placedCount long)
+     */
+    public void transform(double centerX, double centerY, double heading, double spacing,
+                          double[] x, double[] y) {
+        double angle = rotates ? heading : 0.0;
+        double cos = Math.cos(angle) * spacing;
+        double sin = Math.sin(angle) * spacing;
+        double[] ux = unitX;
+        double[] uy = unitY;
+        for (int i = 0; i < placedCount; i++) {
+            x[i] = centerX + ux[i] * cos - uy[i] * sin;
+            y[i] = centerY + ux[i] * sin + uy[i] * cos;
+        }
+    }
+
+    /**
+     * Templates built since startup (cache misses)
+     */
+    public static long getBuildCount() {
+        synchronized (CACHE) {
+            return builds;
+        }
+    }
+
+    public static int getCacheSize() {
+        return CACHE.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FormationTemplate[%s x %d | placed=%d%s]",
+            type, agentCount, placedCount, rotates ? "" : " | fixed heading");
+    }
+}
@@ -39,6 +39,11 @@
  *    Expected: Each formation valid
  *    Success: All shapes created successfully
  *
+ * 7. FORMATION TEMPLATE TEST
+ *    Setup: Every type at several sizes, moved, rotated, rescaled, resized
+ *    Expected: Lazy template positions and roles match the per-type formulas
+ *    Success: Moves leave the template alone; same shape/size shares one
+ *
  * WEEK 4 SUCCESS CRITERIA:
  * ✓ All formation types implemented
  * ✓ Position calculation algorithms
@@ -67,6 +72,7 @@ public class FormationTest {
         testFormationMaintenance();
         testFormationTransition();
         testAllFormations();
+        testFormationTemplates();
         
         System.out.println();
         System.out.println("========================================");
@@ -397,8 +403,198 @@ public class FormationTest {
         System.out.println();
     }
     
+    /**
+     * TEST 7: FORMATION TEMPLATES
+     * Lazy template transform must place agents exactly where the
+     * per-type formulas do
+     */
+    private static void testFormationTemplates() {
+        System.out.println("TEST 7: Formation Templates (Lazy Transform)");
+        System.out.println("--------------------------------------------");
+        
+        Random random = new Random(7);
+        int[] sizes = {1, 2, 3, 4, 5, 8, 9, 37};
+        int mismatches = 0;
+        int checked = 0;
+        
+        for (FormationType type : FormationType.values()) {
+            for (int size : sizes) {
+                List<Integer> agentIds = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    agentIds.add(100 + i * 3);
+                }
+                Formation formation = new Formation(type, new Point2D(400, 300), 40.0, 0.3, agentIds);
+                mismatches += compareToFormulas(formation);
+                
+                // Moves, rotations and spacing changes
+                for (int step = 0; step < 5; step++) {
+                    formation.moveTo(new Point2D(random.nextDouble() * 800, random.nextDouble() * 600));
+                    formation.rotate(random.nextDouble() * 2 * Math.PI - Math.PI);
+                    formation.setSpacing(10 + random.nextDouble() * 60);
+                    mismatches += compareToFormulas(formation);
+                    checked++;
+                }
+                
+                // Membership changes
+                formation.addAgent(999);
+                mismatches += compareToFormulas(formation);
+                formation.removeAgent(agentIds.get(0));
+                mismatches += compareToFormulas(formation);
+                checked += 2;
+            }
+        }
+        
+        System.out.println();
+        System.out.println(String.format("  Layouts checked: %d | Mismatched agents: %d", checked, mismatches));
+        if (mismatches == 0) {
+            System.out.println("  ✓ PASS: Template positions and roles match formulas");
+        } else {
+            System.out.println("  ✗ FAIL: Template layout differs from formulas");
+        }
+        
+        // Moving and rotating must not build templates
+        List<Integer> large = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            large.add(i);
+        }
+        Formation wedge = new Formation(FormationType.WEDGE, new Point2D(0, 0), 20.0, 0, large);
+        Formation other = new Formation(FormationType.WEDGE, new Point2D(50, 50), 5.0, 1, large);
+        long builds = FormationTemplate.getBuildCount();
+        for (int i = 0; i < 100; i++) {
+            wedge.moveTo(new Point2D(i, i));
+            wedge.rotate(0.01);
+            wedge.setSpacing(20 + i);
+        }
+        Point2D moved = wedge.getAgentPosition(999);
+        boolean noRebuild = FormationTemplate.getBuildCount() == builds;
+        boolean shared = wedge.getTemplate() == other.getTemplate();
+        if (noRebuild && shared && compareToFormulas(wedge) == 0 && moved != null) {
+            System.out.println("  ✓ PASS: Moves reuse one shared template");
+        } else {
+            System.out.println(String.format("  ✗ FAIL: Template rebuilt (%b) or not shared (%b)",
+                !noRebuild, !shared));
+        }
+        
+        // Direct field writes are picked up on read
+        wedge.formationType = FormationType.GRID;
+        wedge.spacing = 7.5;
+        boolean directWrites = wedge.getTemplate().type == FormationType.GRID
+            && compareToFormulas(wedge) == 0;
+        
+        // Same-size list changes move agents to their new slots and roles
+        Collections.reverse(wedge.participatingAgents);
+        boolean reordered = compareToFormulas(wedge) == 0;
+        List<Integer> shuffled = new ArrayList<>(large);
+        Collections.shuffle(shuffled, new Random(5));
+        wedge.participatingAgents = shuffled;
+        boolean replaced = compareToFormulas(wedge) == 0;
+        Collections.swap(shuffled, 0, 999);
+        boolean swapped = compareToFormulas(wedge) == 0;
+        System.out.println(String.format("  Same-size changes: reversed=%b, replaced=%b, swapped=%b",
+            reordered, replaced, swapped));
+        directWrites = directWrites && reordered && replaced && swapped;
+        Formation diamond = new Formation(FormationType.DIAMOND, new Point2D(0, 0), 10.0, 0,
+            Arrays.asList(1, 2, 3));
+        boolean unplaced = diamond.getAgentPosition(1) == null && diamond.getAgentRole(1) == null
+            && diamond.getPositions().isEmpty() && diamond.hasAgent(1);
+        if (directWrites && unplaced) {
+            System.out.println("  ✓ PASS: Field writes and unplaced agents handled");
+        } else {
+            System.out.println("  ✗ FAIL: Field writes or unplaced agents mishandled");
+        }
+        System.out.println();
+    }
+    
     // ==================== HELPER METHODS ====================
     
+    /**
+     * Count agents whose lazy position/role differs from the per-type formulas
+     */
+    private static int compareToFormulas(Formation formation) {
+        Map<Integer, Point2D> expected = new HashMap<>();
+        Map<Integer, FormationRole> expectedRoles = new HashMap<>();
+        List<Integer> ids = formation.participatingAgents;
+        int n = ids.size();
+        double cx = formation.centerPoint.x;
+        double cy = formation.centerPoint.y;
+        double s = formation.spacing;
+        double h = formation.heading;
+        
+        for (int i = 0; i < n; i++) {
+            int id = ids.get(i);
+            switch (formation.formationType) {
+                case LINE:
+                    double offset = (i - n / 2) * s;
+                    expected.put(id, new Point2D(cx + offset * Math.cos(h + Math.PI / 2),
+                                                 cy + offset * Math.sin(h + Math.PI / 2)));
+                    expectedRoles.put(id, i == n / 2 ? FormationRole.LEADER : FormationRole.WING);
+                    break;
+                case COLUMN:
+                    expected.put(id, new Point2D(cx + i * s * Math.cos(h), cy + i * s * Math.sin(h)));
+                    expectedRoles.put(id, i == 0 ? FormationRole.LEADER : FormationRole.FOLLOWER);
+                    break;
+                case WEDGE:
+                    int layer = i == 0 ? 0 : (i - 1) / 2 + 1;
+                    double lateral = layer * s * ((i - 1) % 2 == 0 ? -1 : 1);
+                    double rear = layer * s * 0.8;
+                    expected.put(id, new Point2D(
+                        cx + lateral * Math.cos(h + Math.PI / 2) - rear * Math.cos(h),
+                        cy + lateral * Math.sin(h + Math.PI / 2) - rear * Math.sin(h)));
+                    expectedRoles.put(id, i == 0 ? FormationRole.LEADER : FormationRole.WING);
+                    break;
+                case CIRCLE:
+                    double radius = (n * s) / (2 * Math.PI);
+                    double angle = (2 * Math.PI * i) / n + h;
+                    expected.put(id, new Point2D(cx + radius * Math.cos(angle), cy + radius * Math.sin(angle)));
+                    expectedRoles.put(id, FormationRole.PERIMETER);
+                    break;
+                case DIAMOND:
+                    if (n < 4) break;
+                    double[][] cardinal = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}};
+                    if (i < 4) {
+                        expected.put(id, new Point2D(cx + cardinal[i][0] * s, cy + cardinal[i][1] * s));
+                        expectedRoles.put(id, i == 0 ? FormationRole.LEADER : FormationRole.WING);
+                    } else {
+                        double a = (2 * Math.PI * (i - 4)) / (n - 4) + Math.PI / 4;
+                        expected.put(id, new Point2D(cx + s * 0.7 * Math.cos(a), cy + s * 0.7 * Math.sin(a)));
+                        expectedRoles.put(id, FormationRole.INTERIOR);
+                    }
+                    break;
+                case GRID:
+                    int cols = (int) Math.ceil(Math.sqrt(n));
+                    int rows = (int) Math.ceil((double) n / cols);
+                    int row = i / cols;
+                    int col = i % cols;
+                    expected.put(id, new Point2D(cx + (col - cols / 2.0) * s, cy + (row - rows / 2.0) * s));
+                    boolean corner = (row == 0 || row == rows - 1) && (col == 0 || col == cols - 1);
+                    expectedRoles.put(id, corner ? FormationRole.PERIMETER : FormationRole.INTERIOR);
+                    break;
+            }
+        }
+        
+        int mismatches = 0;
+        Map<Integer, Point2D> bulk = formation.getPositions();
+        Map<Integer, FormationRole> roles = formation.getRoles();
+        if (bulk.size() != expected.size() || roles.size() != expectedRoles.size()) {
+            mismatches++;
+        }
+        for (int id : ids) {
+            Point2D want = expected.get(id);
+            Point2D single = formation.getAgentPosition(id);
+            Point2D fromBulk = bulk.get(id);
+            if (want == null) {
+                if (single != null || fromBulk != null) mismatches++;
+            } else if (single == null || fromBulk == null
+                    || single.distanceTo(want) > 1e-6 || fromBulk.distanceTo(want) > 1e-6) {
+                mismatches++;
+            } else if (formation.getAgentRole(id) != expectedRoles.get(id)
+                    || roles.get(id) != expectedRoles.get(id)) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+    
     /**
      * Create test agent with default properties
      */
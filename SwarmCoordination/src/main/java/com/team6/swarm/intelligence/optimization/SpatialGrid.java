@@ -19,6 +19,10 @@
  * - Query rectangle: O(c) where c = cells in rectangle
  * - Memory: O(n) where n = agent count
  *
+ * THREAD SAFETY:
+ * - Inserts are not thread-safe; once filled, the grid may be queried
+ *   from several threads at once (e.g. parallel batch auctions)
+ *
  * USAGE:
  * SpatialGrid grid = new SpatialGrid(800, 600, 100);
  * grid.insert(agent);
@@ -28,6 +32,7 @@ package com.team6.swarm.intelligence.optimization;
 
 import com.team6.swarm.core.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SpatialGrid {
     // Grid configuration
@@ -40,7 +45,7 @@ public class SpatialGrid {
     
     // Statistics
     private int totalInserts;
-    private int totalQueries;
+    private final AtomicInteger totalQueries;
     
     /**
      * Constructor
@@ -54,7 +59,7 @@ public class SpatialGrid {
         this.gridHeight = (int) Math.ceil(worldHeight / cellSize);
         this.cells = new HashMap<>();
         this.totalInserts = 0;
-        this.totalQueries = 0;
+        this.totalQueries = new AtomicInteger();
     }
     
     /**
@@ -72,7 +77,7 @@ public class SpatialGrid {
      * Get all agents within radius of position
      */
     public List<AgentState> queryRadius(Point2D position, double radius) {
-        totalQueries++;
+        totalQueries.incrementAndGet();
         List<AgentState> results = new ArrayList<>();
         
         // Calculate cells to check
@@ -106,7 +111,7 @@ public class SpatialGrid {
      * Get all agents in rectangular area
      */
     public List<AgentState> queryRectangle(Point2D topLeft, Point2D bottomRight) {
-        totalQueries++;
+        totalQueries.incrementAndGet();
         List<AgentState> results = new ArrayList<>();
         
         int minCellX = getCellX(topLeft.x);
@@ -135,6 +140,14 @@ public class SpatialGrid {
         return results;
     }
     
+    /**
+     * GET OCCUPIED CELLS
+     * Agents grouped by cell, only cells holding at least one agent
+     */
+    public Collection<List<AgentState>> getOccupiedCells() {
+        return Collections.unmodifiableCollection(cells.values());
+    }
+    
     /**
      * CLEAR GRID
      * Remove all agents
@@ -186,14 +199,14 @@ public class SpatialGrid {
     }
     
     public int getTotalQueries() {
-        return totalQueries;
+        return totalQueries.get();
     }
     
     @Override
     public String toString() {
         return String.format(
             "SpatialGrid[%dx%d cells | %.0f unit cells | %d agents | %d queries]",
-            gridWidth, gridHeight, cellSize, getAgentCount(), totalQueries
+            gridWidth, gridHeight, cellSize, getAgentCount(), totalQueries.get()
         );
     }
 }
\ No newline at end of file
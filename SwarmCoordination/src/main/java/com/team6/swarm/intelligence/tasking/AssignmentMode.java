@@ -0,0 +1,9 @@
+package com.team6.swarm.intelligence.tasking;
+
+/**
+ * AssignmentMode - How TaskAllocator.assignTasks distributes a batch.
+ */
+public enum AssignmentMode {
+    GREEDY,     // Highest priority first, each task takes its best agent
+    OPTIMAL     // Whole batch solved at once for the best total score
+}
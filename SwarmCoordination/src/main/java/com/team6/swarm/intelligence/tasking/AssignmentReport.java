@@ -0,0 +1,56 @@
+package com.team6.swarm.intelligence.tasking;
+
+/**
+ * AssignmentReport - Outcome of one TaskAllocator.assignTasks batch.
+ *
+ * Cost of an assignment is MAX_SCORE - assignmentScore, so the greedy and
+ * optimal modes can be compared on the same scale; distances are from each
+ * agent to its task's target location.
+ */
+public class AssignmentReport {
+    public static final double MAX_SCORE = 100.0;
+
+    public final AssignmentMode mode;
+    public final int taskCount;
+    public final int assignedCount;
+    public final double totalScore;
+    public final double totalDistance;
+    public final double maxDistance;
+    public final int candidateEdges;     // (task, agent slot) pairs considered; 0 for greedy
+    public final long solveNanos;
+
+    public AssignmentReport(AssignmentMode mode, int taskCount, int assignedCount, double totalScore,
+                            double totalDistance, double maxDistance, int candidateEdges, long solveNanos) {
+        this.mode = mode;
+        this.taskCount = taskCount;
+        this.assignedCount = assignedCount;
+        this.totalScore = totalScore;
+        this.totalDistance = totalDistance;
+        this.maxDistance = maxDistance;
+        this.candidateEdges = candidateEdges;
+        this.solveNanos = solveNanos;
+    }
+
+    public int getUnassignedCount() {
+        return taskCount - assignedCount;
+    }
+
+    /**
+     * Sum of (MAX_SCORE - score) over assigned tasks
+     */
+    public double getTotalCost() {
+        return assignedCount * MAX_SCORE - totalScore;
+    }
+
+    public double getSolveMillis() {
+        return solveNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "AssignmentReport[%s | %d/%d assigned | cost=%.1f | distance=%.0f (max %.0f) | %.2f ms]",
+            mode, assignedCount, taskCount, getTotalCost(), totalDistance, maxDistance, getSolveMillis()
+        );
+    }
+}
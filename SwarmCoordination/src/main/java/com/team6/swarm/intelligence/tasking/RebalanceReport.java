@@ -0,0 +1,54 @@
+package com.team6.swarm.intelligence.tasking;
+
+/**
+ * RebalanceReport - Outcome of one TaskAllocator.rebalance pass.
+ *
+ * Makespan is the largest estimated remaining work time of any agent
+ * (WorkloadBalancer.remainingMillis summed per agent); travel added by
+ * moved tasks is reported separately as migration time.
+ */
+public class RebalanceReport {
+    public final int tasksMoved;
+    public final int donorsVisited;
+    public final long makespanBeforeMillis;
+    public final long makespanAfterMillis;
+    public final long migrationMillis;     // Travel the receiving agents take on
+    public final long elapsedNanos;
+    public final boolean budgetExhausted;  // Stopped by the time budget, more may follow next tick
+
+    public RebalanceReport(int tasksMoved, int donorsVisited, long makespanBeforeMillis, long makespanAfterMillis,
+                           long migrationMillis, long elapsedNanos, boolean budgetExhausted) {
+        this.tasksMoved = tasksMoved;
+        this.donorsVisited = donorsVisited;
+        this.makespanBeforeMillis = makespanBeforeMillis;
+        this.makespanAfterMillis = makespanAfterMillis;
+        this.migrationMillis = migrationMillis;
+        this.elapsedNanos = elapsedNanos;
+        this.budgetExhausted = budgetExhausted;
+    }
+
+    public long getMakespanReductionMillis() {
+        return makespanBeforeMillis - makespanAfterMillis;
+    }
+
+    /**
+     * Fraction of the makespan removed (0-1)
+     */
+    public double getMakespanImprovement() {
+        return makespanBeforeMillis > 0 ? (double) getMakespanReductionMillis() / makespanBeforeMillis : 0.0;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "RebalanceReport[moved=%d | donors=%d | makespan %.1fs -> %.1fs (%.0f%%) | migration=%.1fs | %.2f ms%s]",
+            tasksMoved, donorsVisited, makespanBeforeMillis / 1000.0, makespanAfterMillis / 1000.0,
+            getMakespanImprovement() * 100, migrationMillis / 1000.0, getElapsedMillis(),
+            budgetExhausted ? " | budget hit" : ""
+        );
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * SPARSEASSIGNMENTSOLVER CLASS - Minimum-Cost Assignment on a Sparse Matrix
+ *
+ * PURPOSE:
+ * - Finds the assignment of rows (tasks) to columns (agent slots) with the
+ *   lowest total cost, each column used at most once
+ * - Only the listed (row, column) edges exist, so pruned candidate lists
+ *   keep the problem small
+ *
+ * UNASSIGNED ROWS:
+ * - Every row has a private "unassigned" column with its own cost, so a
+ *   solution always exists; a row ends unassigned only when every real
+ *   option costs more than leaving it (or is taken by a cheaper row)
+ *
+ * ALGORITHM (Hungarian method, successive shortest paths):
+ * - Rows are added one at a time; Dijkstra over reduced costs finds the
+ *   cheapest alternating path from the new row to a free column, and the
+ *   row and column potentials are updated so reduced costs stay >= 0
+ * - Optimal for the edges given; O(rows * E log E) for E edges
+ *
+ * USAGE:
+ * SparseAssignmentSolver solver = new SparseAssignmentSolver(tasks, slots);
+ * solver.addEdge(task, slot, cost);
+ * solver.setUnassignedCost(task, 1000.0);
+ * int[] slotOfTask = solver.solve();   // -1 = unassigned
+ */
+package com.team6.swarm.intelligence.tasking;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+public class SparseAssignmentSolver {
+    private static final double DEFAULT_UNASSIGNED_COST = 1e9;
+
+    private final int rows;
+    private final int columns;
+    private final double[] unassignedCost;
+
+    // Edges as added, turned into per-row arrays by solve()
+    private int[] edgeRows;
+    private int[] edgeColumns;
+    private double[] edgeCosts;
+    private int edgeCount;
+
+    private double totalCost;
+    private boolean solved;
+
+    public SparseAssignmentSolver(int rows, int columns) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("rows and columns must not be negative");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.unassignedCost = new double[rows];
+        Arrays.fill(unassignedCost, DEFAULT_UNASSIGNED_COST);
+        this.edgeRows = new int[16];
+        this.edgeColumns = new int[16];
+        this.edgeCosts = new double[16];
+    }
+
+    public void addEdge(int row, int column, double cost) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IllegalArgumentException("edge (" + row + ", " + column + ") is outside the matrix");
+        }
+        if (edgeCount == edgeRows.length) {
+            int capacity = edgeCount * 2;
+            edgeRows = Arrays.copyOf(edgeRows, capacity);
+            edgeColumns = Arrays.copyOf(edgeColumns, capacity);
+            edgeCosts = Arrays.copyOf(edgeCosts, capacity);
+        }
+        edgeRows[edgeCount] = row;
+        edgeColumns[edgeCount] = column;
+        edgeCosts[edgeCount] = cost;
+        edgeCount++;
+    }
+
+    /**
+     * Cost of leaving a row unassigned (default: effectively never).
+     */
+    public void setUnassignedCost(int row, double cost) {
+        unassignedCost[row] = cost;
+    }
+
+    /**
+     * @return Column assigned to each row, -1 if the row is unassigned
+     */
+    public int[] solve() {
+        // Per-row adjacency; column index columns + r is row r's unassigned column
+        int[] start = new int[rows + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            start[edgeRows[e] + 1]++;
+        }
+        for (int r = 0; r < rows; r++) {
+            start[r + 1] += start[r] + 1;
+        }
+        int[] adjColumn = new int[edgeCount + rows];
+        double[] adjCost = new double[edgeCount + rows];
+        int[] fill = Arrays.copyOf(start, rows);
+        for (int e = 0; e < edgeCount; e++) {
+            int slot = fill[edgeRows[e]]++;
+            adjColumn[slot] = edgeColumns[e];
+            adjCost[slot] = edgeCosts[e];
+        }
+        for (int r = 0; r < rows; r++) {
+            adjColumn[fill[r]] = columns + r;
+            adjCost[fill[r]] = unassignedCost[r];
+        }
+
+        int totalColumns = columns + rows;
+        double[] rowPotential = new double[rows];
+        double[] columnPotential = new double[totalColumns];
+        int[] columnMatch = new int[totalColumns];
+        int[] rowMatch = new int[rows];
+        Arrays.fill(columnMatch, -1);
+        Arrays.fill(rowMatch, -1);
+        for (int r = 0; r < rows; r++) {
+            double min = Double.POSITIVE_INFINITY;
+            for (int a = start[r]; a < start[r + 1]; a++) {
+                min = Math.min(min, adjCost[a]);
+            }
+            rowPotential[r] = min;
+        }
+
+        double[] dist = new double[totalColumns];
+        int[] predecessor = new int[totalColumns];
+        boolean[] done = new boolean[totalColumns];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        int[] touched = new int[totalColumns];
+        PriorityQueue<long[]> queue = new PriorityQueue<>((x, y) -> Double.compare(
+            Double.longBitsToDouble(x[0]), Double.longBitsToDouble(y[0])));
+
+        for (int source = 0; source < rows; source++) {
+            int touchedCount = 0;
+            queue.clear();
+            int freeColumn = -1;
+            double shortest = 0.0;
+
+            // Relax the source row's edges
+            for (int a = start[source]; a < start[source + 1]; a++) {
+                int c = adjColumn[a];
+                double d = Math.max(0.0, adjCost[a] - rowPotential[source] - columnPotential[c]);
+                if (d < dist[c]) {
+                    if (dist[c] == Double.POSITIVE_INFINITY) touched[touchedCount++] = c;
+                    dist[c] = d;
+                    predecessor[c] = source;
+                    queue.add(new long[] {Double.doubleToLongBits(d), c});
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                long[] top = queue.poll();
+                int c = (int) top[1];
+                double d = Double.longBitsToDouble(top[0]);
+                if (done[c] || d > dist[c]) continue;
+                done[c] = true;
+                int owner = columnMatch[c];
+                if (owner < 0) {
+                    freeColumn = c;
+                    shortest = d;
+                    break;
+                }
+                // Continue through the row currently holding this column
+                for (int a = start[owner]; a < start[owner + 1]; a++) {
+                    int next = adjColumn[a];
+                    if (done[next]) continue;
+                    double nd = d + Math.max(0.0, adjCost[a] - rowPotential[owner] - columnPotential[next]);
+                    if (nd < dist[next]) {
+                        if (dist[next] == Double.POSITIVE_INFINITY) touched[touchedCount++] = next;
+                        dist[next] = nd;
+                        predecessor[next] = owner;
+                        queue.add(new long[] {Double.doubleToLongBits(nd), next});
+                    }
+                }
+            }
+
+            // Potentials: settled columns and the rows reached through them
+            rowPotential[source] += shortest;
+            for (int i = 0; i < touchedCount; i++) {
+                int c = touched[i];
+                if (done[c] && c != freeColumn) {
+                    double delta = shortest - dist[c];
+                    columnPotential[c] -= delta;
+                    rowPotential[columnMatch[c]] += delta;
+                }
+            }
+
+            // Augment along the path back to the source row
+            int c = freeColumn;
+            while (c >= 0) {
+                int r = predecessor[c];
+                int previous = rowMatch[r];
+                columnMatch[c] = r;
+                rowMatch[r] = c;
+                c = r == source ? -1 : previous;
+            }
+
+            for (int i = 0; i < touchedCount; i++) {
+                dist[touched[i]] = Double.POSITIVE_INFINITY;
+                done[touched[i]] = false;
+            }
+        }
+
+        int[] assignment = new int[rows];
+        totalCost = 0.0;
+        for (int r = 0; r < rows; r++) {
+            int c = rowMatch[r];
+            assignment[r] = c < columns ? c : -1;
+            for (int a = start[r]; a < start[r + 1]; a++) {
+                if (adjColumn[a] == c) {
+                    totalCost += adjCost[a];
+                    break;
+                }
+            }
+        }
+        solved = true;
+        return assignment;
+    }
+
+    /**
+     * Total cost of the last solution, including unassigned rows.
+     */
+    public double getTotalCost() {
+        if (!solved) {
+            throw new IllegalStateException("solve() has not been called");
+        }
+        return totalCost;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SparseAssignmentSolver[%d x %d | edges=%d]", rows, columns, edgeCount);
+    }
+}
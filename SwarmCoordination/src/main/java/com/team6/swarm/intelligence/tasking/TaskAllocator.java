@@ -56,8 +56,46 @@
  *   
  *   // Select agent with highest score
  *
+ * BATCH MODES (assignTasks):
+ *
+ * GREEDY (default):
+ * - Tasks sorted by priority, each takes its best-scoring agent
+ * - Early tasks take the nearest agents, later ones get what is left
+ *
+ * OPTIMAL:
+ * - Sparse cost matrix (cost = 100 - score) from each task to its nearest
+ *   eligible agents, every agent replicated once per free task slot
+ * - Solved with SparseAssignmentSolver (Hungarian method) for the best
+ *   total score; priority enforced by tiered unassigned costs
+ * - getLastAssignmentReport(): total cost, distance and solve time for
+ *   either mode
+ *
+ * TASK INDEX (TaskSpatialIndex):
+ * - Every task the allocator holds (pending or assigned) is indexed by
+ *   targetLocation; assigning sets task.assignedTo, a terminal assignment
+ *   removes its task from the index
+ * - getTasksNear / getTasksWithinRadius / getTasksInRegion filter by
+ *   TaskStatus and TaskType; getOpenTasksNear returns unassigned tasks
+ * - assignPendingTasks: each agent with a free slot only considers its
+ *   CANDIDATE_TASKS_PER_AGENT nearest open tasks, instead of every
+ *   pending task; redistributeTasks uses it to hand open work to idle
+ *   agents
+ *
  * FAILURE HANDLING:
  *
+ * Backup Candidates:
+ * - Every assignment keeps a ranked shortlist of the next
+ *   BACKUP_CANDIDATES_PER_TASK best agents, taken from the agents the
+ *   allocator already scored while assigning it
+ * - refreshBackupCandidates(agents) re-ranks only the shortlists whose
+ *   agents have moved more than BACKUP_STALE_DISTANCE or disappeared
+ * - Reassignment rescores the shortlist only (near O(1) per task); a
+ *   full scan of the agents is the fallback when no backup is left
+ * - reassignAgentTasks(failedIds, agents) handles a group failure in one
+ *   pass: all orphaned tasks' backups are ranked together, highest
+ *   priority then best score first, so two orphans never take the same
+ *   last slot
+ *
  * When Agent Fails:
  * 1. Detect failure (battery low, malfunction, stuck)
  * 2. Get all tasks assigned to failed agent
@@ -68,6 +106,20 @@
  *
  * WORKLOAD MANAGEMENT:
  *
+ * WorkloadBalancer keeps open task count and estimated remaining time per
+ * agent, ordered by remaining time, updated on every workload change.
+ *
+ * Rebalancing (rebalance, run each tick within a time budget):
+ * - Donor: the agent with the most remaining time (stale entries are
+ *   recounted before they are trusted)
+ * - Move: one of the donor's not-yet-accepted tasks to an eligible agent
+ *   near the task, if receiverRemaining + duration + travel +
+ *   HANDOFF_COST_MILLIS stays below the donor's remaining time
+ * - Best gain (drop in max(donor, receiver)) wins; stops at the average,
+ *   at the budget, or when the busiest agent has no worthwhile move
+ * - A moved task's backup shortlist is re-ranked around its new owner
+ * - RebalanceReport: makespan before/after, tasks moved, migration time
+ *
  * Track Per Agent:
  * - Active tasks count
  * - Total estimated workload time
@@ -91,9 +143,16 @@
  * Assign Multiple Tasks:
  * List<TaskAssignment> assignments = 
  *     allocator.assignTasks(taskList, availableAgents);
+ * allocator.assignTasks(taskList, availableAgents, AssignmentMode.OPTIMAL);
  *
  * Handle Failure:
  * allocator.reassignAgentTasks(failedAgentId, remainingAgents);
+ * allocator.reassignAgentTasks(failedAgentIds, remainingAgents);  // Group failure
+ * allocator.refreshBackupCandidates(agents);                      // Once per tick
+ *
+ * Pick Up Open Work:
+ * List<Task> nearby = allocator.getOpenTasksNear(agent.position, 5, null);
+ * allocator.assignPendingTasks(idleAgents);
  *
  * Check Workload:
  * int load = allocator.getAgentLoad(agentId);
@@ -108,6 +167,8 @@
 package com.team6.swarm.intelligence.tasking;
 
 import com.team6.swarm.core.AgentState;
+import com.team6.swarm.core.Point2D;
+import com.team6.swarm.intelligence.optimization.SpatialGrid;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -115,16 +176,52 @@ public class TaskAllocator {
     // Task tracking
     private final Map<String, TaskAssignment> assignments;
     private final Map<Integer, List<TaskAssignment>> agentWorkload;
-    private final Queue<Task> pendingTasks;
+    private final Map<String, Task> pendingTasks;  // Task ID -> task, in queue order
+    private final TaskSpatialIndex taskIndex;
+    private final Map<String, BackupList> backups;  // Task ID -> ranked backup agents
+    private final WorkloadBalancer balancer;
     
     // Configuration
     private static final int MAX_TASKS_PER_AGENT = 3;
     private static final double MIN_BATTERY_FOR_TASK = 0.2;
     
+    // Optimal batch assignment
+    private static final int CANDIDATE_AGENTS_PER_TASK = 10;
+    private static final double CANDIDATE_SEARCH_RADIUS = 100.0;
+    private static final double PRIORITY_TIER_COST = 1000.0;
+    
+    // Task index
+    private static final double TASK_INDEX_CELL_SIZE = 25.0;
+    private static final int CANDIDATE_TASKS_PER_AGENT = 5;
+    
+    // Failure recovery
+    private static final int BACKUP_CANDIDATES_PER_TASK = 4;
+    private static final double BACKUP_STALE_DISTANCE = 50.0;
+    
+    // Rebalancing
+    public static final long DEFAULT_REBALANCE_BUDGET_NANOS = 1_000_000;  // 1 ms per tick
+    private static final long HANDOFF_COST_MILLIS = 2000;      // Coordination overhead per moved task
+    private static final long MIN_REBALANCE_GAIN_MILLIS = 1000;
+    private static final double DEFAULT_TRAVEL_SPEED = 50.0;    // Units per second if maxSpeed unset
+    private static final int REBALANCE_GRID_MAX_AGE = 20;       // Calls before receivers are re-gridded
+    
     // Performance metrics
     private int totalTasksAssigned;
     private int totalReassignments;
     private int failedAssignments;
+    private int backupReassignments;
+    private int fallbackReassignments;
+    private int rebalancedTasks;
+    private long makespanReductionMillis;
+    private AssignmentReport lastReport;
+    private RebalanceReport lastRebalanceReport;
+    
+    // Rebalance state carried between ticks
+    private List<AgentState> rebalancePool;
+    private SpatialGrid rebalanceGrid;
+    private int rebalanceSourceSize;
+    private int rebalanceGridAge;
+    private long convergedVersion = -1;
     
     /**
      * Constructor
@@ -132,7 +229,10 @@ public class TaskAllocator {
     public TaskAllocator() {
         this.assignments = new ConcurrentHashMap<>();
         this.agentWorkload = new ConcurrentHashMap<>();
-        this.pendingTasks = new LinkedList<>();
+        this.pendingTasks = new LinkedHashMap<>();
+        this.taskIndex = new TaskSpatialIndex(TASK_INDEX_CELL_SIZE);
+        this.backups = new ConcurrentHashMap<>();
+        this.balancer = new WorkloadBalancer();
         this.totalTasksAssigned = 0;
         this.totalReassignments = 0;
         this.failedAssignments = 0;
@@ -162,6 +262,7 @@ public class TaskAllocator {
         AgentState bestAgent = null;
         double bestScore = -1;
         AssignmentReason bestReason = AssignmentReason.NEAREST_AGENT;
+        RankedAgents ranked = new RankedAgents(BACKUP_CANDIDATES_PER_TASK + 1);
         
         for (AgentState agent : availableAgents) {
             // Skip if agent doesn't meet basic requirements
@@ -171,6 +272,7 @@ public class TaskAllocator {
             
             // Calculate assignment score
             double score = calculateAssignmentScore(agent, task);
+            ranked.offer(agent, score);
             
             if (score > bestScore) {
                 bestScore = score;
@@ -182,20 +284,13 @@ public class TaskAllocator {
         // No suitable agent found
         if (bestAgent == null) {
             System.out.println("No eligible agent found for task: " + task.taskId);
-            pendingTasks.offer(task);  // Add to pending queue
+            queuePending(task);
             return null;
         }
         
-        // Create assignment
-        TaskAssignment assignment = new TaskAssignment(
-            task, bestAgent.agentId, bestReason, bestScore);
-        // Set allocator reference so the assignment can notify back when it ends
-        assignment.setAllocator(this);
-        
-        // Track assignment
-        assignments.put(task.taskId, assignment);
-        addToAgentWorkload(bestAgent.agentId, assignment);
-        totalTasksAssigned++;
+        // Create assignment; the runners-up become its backups
+        TaskAssignment assignment = recordAssignment(task, bestAgent, bestReason, bestScore);
+        backups.put(task.taskId, ranked.toBackups(bestAgent.agentId));
         
         // Log assignment
         System.out.println(String.format(
@@ -206,12 +301,60 @@ public class TaskAllocator {
         return assignment;
     }
     
+    /**
+     * Create and track an assignment
+     */
+    private TaskAssignment recordAssignment(Task task, AgentState agent,
+                                            AssignmentReason reason, double score) {
+        TaskAssignment assignment = new TaskAssignment(task, agent.agentId, reason, score);
+        trackAssignment(assignment);
+        totalTasksAssigned++;
+        return assignment;
+    }
+    
+    /**
+     * Make an assignment the task's current one
+     */
+    private void trackAssignment(TaskAssignment assignment) {
+        Task task = assignment.task;
+        // Set allocator reference so the assignment can notify back when it ends
+        assignment.setAllocator(this);
+        
+        task.assignedTo = assignment.assignedAgentId;
+        assignments.put(task.taskId, assignment);
+        addToAgentWorkload(assignment.assignedAgentId, assignment);
+        pendingTasks.remove(task.taskId);
+        taskIndex.add(task);
+        backups.remove(task.taskId);
+    }
+    
+    /**
+     * Queue a task nobody could take and index it as open work
+     */
+    private void queuePending(Task task) {
+        task.assignedTo = -1;
+        task.status = TaskStatus.PENDING;
+        pendingTasks.put(task.taskId, task);
+        taskIndex.add(task);
+    }
+    
     /**
      * ASSIGN MULTIPLE TASKS
      * Distributes list of tasks across available agents
      */
     public List<TaskAssignment> assignTasks(List<Task> tasks, List<AgentState> availableAgents) {
-        List<TaskAssignment> results = new ArrayList<>();
+        return assignTasks(tasks, availableAgents, AssignmentMode.GREEDY);
+    }
+    
+    /**
+     * ASSIGN MULTIPLE TASKS
+     * GREEDY: highest priority first, each task takes its best agent
+     * OPTIMAL: best total score over the whole batch (see assignOptimal)
+     * Either way getLastAssignmentReport() describes the result afterwards
+     */
+    public List<TaskAssignment> assignTasks(List<Task> tasks, List<AgentState> availableAgents,
+                                            AssignmentMode mode) {
+        long start = System.nanoTime();
         
         // Sort tasks by priority (HIGH first, then NORMAL, then LOW)
         List<Task> sortedTasks = new ArrayList<>(tasks);
@@ -222,16 +365,229 @@ public class TaskAllocator {
             return Integer.compare(p2, p1);  // Reverse order (highest first)
         });
         
-        for (Task task : sortedTasks) {
-            TaskAssignment assignment = assignTask(task, availableAgents);
-            if (assignment != null) {
-                results.add(assignment);
+        List<TaskAssignment> results = new ArrayList<>();
+        int candidateEdges = 0;
+        if (mode == AssignmentMode.OPTIMAL) {
+            candidateEdges = assignOptimal(sortedTasks, availableAgents, results);
+        } else {
+            for (Task task : sortedTasks) {
+                TaskAssignment assignment = assignTask(task, availableAgents);
+                if (assignment != null) {
+                    results.add(assignment);
+                }
             }
         }
         
+        lastReport = buildReport(mode, sortedTasks.size(), results, availableAgents,
+            candidateEdges, System.nanoTime() - start);
         return results;
     }
     
+    /**
+     * OPTIMAL BATCH ASSIGNMENT
+     * Minimum-cost assignment over a sparse (task x agent slot) matrix
+     *
+     * - Agent replication: an agent with load L has MAX_TASKS_PER_AGENT - L
+     *   slots; slot r is scored as if the agent already had r tasks, so the
+     *   load-balancing term is charged per extra task
+     * - Pruning: each task only gets edges to its CANDIDATE_AGENTS_PER_TASK
+     *   nearest eligible agents (highest scoring for non-location tasks)
+     * - Cost = MAX_SCORE - calculateAssignmentScore
+     * - Priority tiers: leaving a task unassigned costs
+     *   PRIORITY_TIER_COST x (priority + 1), far more than any assignment,
+     *   so a lower tier never keeps a higher one from being assigned
+     * - Tasks left unassigned while slots are still free get every eligible
+     *   agent as a candidate and the batch is solved once more
+     *
+     * @return Number of candidate edges in the final solve
+     */
+    private int assignOptimal(List<Task> sortedTasks, List<AgentState> availableAgents,
+                              List<TaskAssignment> results) {
+        List<Task> tasks = new ArrayList<>();
+        for (Task task : sortedTasks) {
+            if (task.validate()) {
+                tasks.add(task);
+            } else {
+                System.err.println("Cannot assign invalid task: " + task.taskId);
+            }
+        }
+        
+        // Agents that can take at least one more task, and their slots
+        List<AgentState> pool = new ArrayList<>();
+        List<Integer> firstSlot = new ArrayList<>();
+        List<Integer> slotAgent = new ArrayList<>();
+        for (AgentState agent : availableAgents) {
+            if (agent.status != com.team6.swarm.core.AgentStatus.ACTIVE
+                || agent.batteryLevel < MIN_BATTERY_FOR_TASK) {
+                continue;
+            }
+            int load = getAgentLoad(agent.agentId);
+            if (load >= MAX_TASKS_PER_AGENT) continue;
+            firstSlot.add(slotAgent.size());
+            for (int r = load; r < MAX_TASKS_PER_AGENT; r++) {
+                slotAgent.add(pool.size());
+            }
+            pool.add(agent);
+        }
+        SpatialGrid grid = agentGrid(pool);
+        Map<AgentState, Integer> poolIndex = new IdentityHashMap<>();
+        for (int i = 0; i < pool.size(); i++) {
+            poolIndex.put(pool.get(i), i);
+        }
+        
+        boolean[] allCandidates = new boolean[tasks.size()];
+        List<List<AgentState>> taskCandidates = new ArrayList<>(Collections.nCopies(tasks.size(), null));
+        int[] slotOfTask;
+        int edges;
+        while (true) {
+            SparseAssignmentSolver solver = new SparseAssignmentSolver(tasks.size(), slotAgent.size());
+            for (int t = 0; t < tasks.size(); t++) {
+                Task task = tasks.get(t);
+                solver.setUnassignedCost(t, PRIORITY_TIER_COST * (getPriorityValue(task.priority) + 1));
+                List<AgentState> candidates = allCandidates[t]
+                    ? eligibleAgents(task, pool)
+                    : nearestEligibleAgents(task, pool, grid);
+                taskCandidates.set(t, candidates);
+                for (AgentState agent : candidates) {
+                    int p = poolIndex.get(agent);
+                    int load = getAgentLoad(agent.agentId);
+                    for (int r = load; r < MAX_TASKS_PER_AGENT; r++) {
+                        double score = calculateAssignmentScore(agent, task, r);
+                        solver.addEdge(t, firstSlot.get(p) + (r - load), AssignmentReport.MAX_SCORE - score);
+                    }
+                }
+            }
+            slotOfTask = solver.solve();
+            edges = solver.getEdgeCount();
+            
+            // Retry with every eligible agent for tasks that lost their candidates
+            int usedSlots = 0;
+            boolean retry = false;
+            for (int t = 0; t < tasks.size(); t++) {
+                if (slotOfTask[t] >= 0) usedSlots++;
+            }
+            for (int t = 0; t < tasks.size(); t++) {
+                if (slotOfTask[t] < 0 && !allCandidates[t] && usedSlots < slotAgent.size()) {
+                    allCandidates[t] = true;
+                    retry = true;
+                }
+            }
+            if (!retry) break;
+        }
+        
+        // Commit in priority order so loads and reasons match the greedy mode
+        for (int t = 0; t < tasks.size(); t++) {
+            Task task = tasks.get(t);
+            if (slotOfTask[t] < 0) {
+                queuePending(task);
+                continue;
+            }
+            AgentState agent = pool.get(slotAgent.get(slotOfTask[t]));
+            double score = calculateAssignmentScore(agent, task);
+            AssignmentReason reason = determineAssignmentReason(agent, task, score);
+            results.add(recordAssignment(task, agent, reason, score));
+            backups.put(task.taskId, rankBackups(task, taskCandidates.get(t), agent.agentId));
+        }
+        return edges;
+    }
+    
+    /**
+     * Grid over the agents that have a position, sized to cover them
+     */
+    private SpatialGrid agentGrid(List<AgentState> agents) {
+        double width = 1.0;
+        double height = 1.0;
+        for (AgentState agent : agents) {
+            if (agent.position != null) {
+                width = Math.max(width, agent.position.x + 1.0);
+                height = Math.max(height, agent.position.y + 1.0);
+            }
+        }
+        SpatialGrid grid = new SpatialGrid(width, height, CANDIDATE_SEARCH_RADIUS);
+        for (AgentState agent : agents) {
+            if (agent.position != null) {
+                grid.insert(agent);
+            }
+        }
+        return grid;
+    }
+    
+    /**
+     * Up to CANDIDATE_AGENTS_PER_TASK eligible agents closest to the task
+     */
+    private List<AgentState> nearestEligibleAgents(Task task, List<AgentState> pool, SpatialGrid grid) {
+        if (task.targetLocation == null) {
+            // No location: best scores at current load
+            List<AgentState> eligible = eligibleAgents(task, pool);
+            eligible.sort((a, b) -> Double.compare(calculateAssignmentScore(b, task),
+                                                   calculateAssignmentScore(a, task)));
+            return eligible.size() > CANDIDATE_AGENTS_PER_TASK
+                ? new ArrayList<>(eligible.subList(0, CANDIDATE_AGENTS_PER_TASK)) : eligible;
+        }
+        
+        double requiredBattery = Math.max(task.minimumBattery, MIN_BATTERY_FOR_TASK);
+        List<AgentState> found = new ArrayList<>();
+        double radius = CANDIDATE_SEARCH_RADIUS;
+        while (true) {
+            found.clear();
+            int inRange = 0;
+            for (AgentState agent : grid.queryRadius(task.targetLocation, radius)) {
+                inRange++;
+                if (agent.batteryLevel >= requiredBattery) {
+                    found.add(agent);
+                }
+            }
+            if (found.size() >= CANDIDATE_AGENTS_PER_TASK || inRange == grid.getTotalInserts()) break;
+            radius *= 2.0;
+        }
+        found.sort(Comparator.comparingDouble(a -> a.position.distanceTo(task.targetLocation)));
+        return found.size() > CANDIDATE_AGENTS_PER_TASK
+            ? new ArrayList<>(found.subList(0, CANDIDATE_AGENTS_PER_TASK)) : found;
+    }
+    
+    /**
+     * Pool agents that meet the task's battery requirement
+     */
+    private List<AgentState> eligibleAgents(Task task, List<AgentState> pool) {
+        List<AgentState> eligible = new ArrayList<>();
+        for (AgentState agent : pool) {
+            if (isAgentEligible(agent, task)
+                && (task.targetLocation == null || agent.position != null)) {
+                eligible.add(agent);
+            }
+        }
+        return eligible;
+    }
+    
+    private AssignmentReport buildReport(AssignmentMode mode, int taskCount, List<TaskAssignment> results,
+                                         List<AgentState> agents, int candidateEdges, long nanos) {
+        Map<Integer, AgentState> byId = new HashMap<>();
+        for (AgentState agent : agents) {
+            byId.put(agent.agentId, agent);
+        }
+        double totalScore = 0;
+        double totalDistance = 0;
+        double maxDistance = 0;
+        for (TaskAssignment assignment : results) {
+            totalScore += assignment.assignmentScore;
+            AgentState agent = byId.get(assignment.assignedAgentId);
+            if (agent != null && agent.position != null && assignment.task.targetLocation != null) {
+                double distance = agent.position.distanceTo(assignment.task.targetLocation);
+                totalDistance += distance;
+                maxDistance = Math.max(maxDistance, distance);
+            }
+        }
+        return new AssignmentReport(mode, taskCount, results.size(), totalScore,
+            totalDistance, maxDistance, candidateEdges, nanos);
+    }
+    
+    /**
+     * Report for the most recent assignTasks call, null before the first
+     */
+    public AssignmentReport getLastAssignmentReport() {
+        return lastReport;
+    }
+    
     /**
      * Convert priority to numeric value for sorting
      */
@@ -281,6 +637,13 @@ public class TaskAllocator {
      * Multi-criteria scoring algorithm
      */
     private double calculateAssignmentScore(AgentState agent, Task task) {
+        return calculateAssignmentScore(agent, task, getAgentLoad(agent.agentId));
+    }
+    
+    /**
+     * Score as if the agent already had currentLoad tasks
+     */
+    private double calculateAssignmentScore(AgentState agent, Task task, int currentLoad) {
         double score = 0.0;
         
         // 1. DISTANCE SCORING (30 points max)
@@ -294,7 +657,6 @@ public class TaskAllocator {
         }
         
         // 2. LOAD BALANCING (25 points max)
-        int currentLoad = getAgentLoad(agent.agentId);
         double loadScore = (MAX_TASKS_PER_AGENT - currentLoad) / 
                           (double) MAX_TASKS_PER_AGENT * 25;
         score += loadScore;
@@ -352,28 +714,100 @@ public class TaskAllocator {
      */
     public List<TaskAssignment> reassignAgentTasks(int failedAgentId, 
                                                     List<AgentState> availableAgents) {
+        return reassignAgentTasks(Collections.singleton(failedAgentId), availableAgents);
+    }
+    
+    /**
+     * REASSIGN TASKS OF FAILED AGENTS
+     * Group failure: every orphaned task is resolved in one pass
+     *
+     * 1. Orphans: non-terminal assignments of the failed agents, reset to
+     *    PENDING and unassigned (started ones included)
+     * 2. Proposals: each orphan's backup shortlist, rescored against the
+     *    agents' current state (failed, missing or full agents dropped)
+     * 3. Proposals taken highest priority first, then best score, while
+     *    the task is still orphaned and the agent still eligible
+     * 4. Orphans with no usable backup fall back to a full assignTask scan;
+     *    any that nobody can take are queued as pending
+     */
+    public List<TaskAssignment> reassignAgentTasks(Collection<Integer> failedAgentIds,
+                                                    List<AgentState> availableAgents) {
         List<TaskAssignment> reassignments = new ArrayList<>();
+        if (failedAgentIds == null || availableAgents == null) {
+            System.err.println("Cannot reassign tasks: invalid parameters");
+            return reassignments;
+        }
+        Set<Integer> failed = new HashSet<>(failedAgentIds);
         
-        // Get all tasks for failed agent
-        List<TaskAssignment> failedTasks = agentWorkload.getOrDefault(
-            failedAgentId, new ArrayList<>());
-        
+        // Get all tasks for failed agents and remove them from workload
+        Map<Task, TaskAssignment> orphans = new LinkedHashMap<>();
+        for (int failedAgentId : failed) {
+            List<TaskAssignment> failedTasks = agentWorkload.remove(failedAgentId);
+            if (failedTasks == null) continue;
+            balancer.refresh(failedAgentId, null);
+            for (TaskAssignment oldAssignment : failedTasks) {
+                if (!oldAssignment.status.isTerminal()) {  // Skip already completed/cancelled tasks
+                    orphans.put(oldAssignment.task, oldAssignment);
+                }
+            }
+        }
+        if (orphans.isEmpty()) {
+            return reassignments;
+        }
         System.out.println(String.format(
-            "Reassigning %d tasks from failed Agent %d",
-            failedTasks.size(), failedAgentId
+            "Reassigning %d tasks from failed Agent(s) %s", orphans.size(), failed
         ));
         
-        // Remove from agent workload
-        agentWorkload.remove(failedAgentId);
+        Map<Integer, AgentState> survivors = new HashMap<>();
+        List<AgentState> survivorList = new ArrayList<>();
+        for (AgentState agent : availableAgents) {
+            if (!failed.contains(agent.agentId)) {
+                survivors.put(agent.agentId, agent);
+                survivorList.add(agent);
+            }
+        }
+        
+        // Proposals from the backup shortlists only
+        List<PendingProposal> proposals = new ArrayList<>();
+        for (Task task : orphans.keySet()) {
+            task.assignedTo = -1;  // Open until a new agent takes it
+            task.status = TaskStatus.PENDING;  // A started task restarts with its new agent
+            BackupList list = backups.get(task.taskId);
+            if (list == null) continue;
+            for (int i = 0; i < list.size; i++) {
+                AgentState agent = survivors.get(list.agentIds[i]);
+                if (agent != null && isAgentEligible(agent, task)) {
+                    proposals.add(new PendingProposal(agent, task, calculateAssignmentScore(agent, task)));
+                }
+            }
+        }
+        proposals.sort(this::compareProposals);
         
-        // Reassign each task
-        for (TaskAssignment oldAssignment : failedTasks) {
-            if (oldAssignment.status.isTerminal()) {
-                continue;  // Skip already completed/cancelled tasks
+        Map<Task, TaskAssignment> taken = new IdentityHashMap<>();
+        for (PendingProposal proposal : proposals) {
+            Task task = proposal.task;
+            if (taken.containsKey(task) || !isAgentEligible(proposal.agent, task)) {
+                continue;
+            }
+            BackupList remaining = backups.get(task.taskId).without(proposal.agent.agentId);
+            double score = calculateAssignmentScore(proposal.agent, task);
+            TaskAssignment newAssignment = recordAssignment(task, proposal.agent,
+                AssignmentReason.REASSIGNMENT, score);
+            backups.put(task.taskId, remaining);
+            taken.put(task, newAssignment);
+            backupReassignments++;
+        }
+        
+        // Reassign each task, falling back to a full scan
+        for (Map.Entry<Task, TaskAssignment> orphan : orphans.entrySet()) {
+            TaskAssignment oldAssignment = orphan.getValue();
+            TaskAssignment newAssignment = taken.get(orphan.getKey());
+            if (newAssignment == null) {
+                newAssignment = assignTask(orphan.getKey(), survivorList);
+                if (newAssignment != null) {
+                    fallbackReassignments++;
+                }
             }
-            
-            // Try to find new agent
-            TaskAssignment newAssignment = assignTask(oldAssignment.task, availableAgents);
             
             if (newAssignment != null) {
                 newAssignment.reassignmentCount = oldAssignment.reassignmentCount + 1;
@@ -381,6 +815,7 @@ public class TaskAllocator {
                 reassignments.add(newAssignment);
                 totalReassignments++;
             } else {
+                queuePending(orphan.getKey());  // assignTask skips this when nobody survived
                 failedAssignments++;
                 System.err.println("Failed to reassign task: " + oldAssignment.task.taskId);
             }
@@ -389,25 +824,173 @@ public class TaskAllocator {
         return reassignments;
     }
     
+    /**
+     * REFRESH BACKUP CANDIDATES
+     * Re-ranks the shortlists that agent movement has made stale
+     *
+     * A shortlist is stale when it is missing, or one of its agents is gone
+     * or has moved more than BACKUP_STALE_DISTANCE since it was ranked.
+     * Fresh shortlists are left alone, so a quiet swarm costs one pass over
+     * the assignments.
+     *
+     * @return Number of shortlists re-ranked
+     */
+    public int refreshBackupCandidates(List<AgentState> agents) {
+        if (agents == null || assignments.isEmpty()) {
+            return 0;
+        }
+        Map<Integer, AgentState> byId = new HashMap<>();
+        for (AgentState agent : agents) {
+            byId.put(agent.agentId, agent);
+        }
+        
+        List<TaskAssignment> stale = new ArrayList<>();
+        for (TaskAssignment assignment : assignments.values()) {
+            if (assignment.status.isTerminal()) continue;
+            BackupList list = backups.get(assignment.task.taskId);
+            if (list == null || list.isStale(byId)) {
+                stale.add(assignment);
+            }
+        }
+        if (stale.isEmpty()) {
+            return 0;
+        }
+        
+        List<AgentState> pool = new ArrayList<>();
+        for (AgentState agent : agents) {
+            if (agent.status == com.team6.swarm.core.AgentStatus.ACTIVE
+                && agent.batteryLevel >= MIN_BATTERY_FOR_TASK) {
+                pool.add(agent);
+            }
+        }
+        SpatialGrid grid = agentGrid(pool);
+        for (TaskAssignment assignment : stale) {
+            Task task = assignment.task;
+            backups.put(task.taskId, rankBackups(task, nearestEligibleAgents(task, pool, grid),
+                assignment.assignedAgentId));
+        }
+        return stale.size();
+    }
+    
+    /**
+     * Best BACKUP_CANDIDATES_PER_TASK eligible candidates other than the assigned agent
+     */
+    private BackupList rankBackups(Task task, List<AgentState> candidates, int assignedAgentId) {
+        RankedAgents ranked = new RankedAgents(BACKUP_CANDIDATES_PER_TASK + 1);
+        for (AgentState agent : candidates) {
+            if (agent.agentId != assignedAgentId && isAgentEligible(agent, task)) {
+                ranked.offer(agent, calculateAssignmentScore(agent, task));
+            }
+        }
+        return ranked.toBackups(assignedAgentId);
+    }
+    
+    /**
+     * Highest scoring agents offered so far, best first (earliest wins ties)
+     */
+    private static final class RankedAgents {
+        final AgentState[] agents;
+        final double[] scores;
+        int size;
+        
+        RankedAgents(int capacity) {
+            this.agents = new AgentState[capacity];
+            this.scores = new double[capacity];
+        }
+        
+        void offer(AgentState agent, double score) {
+            if (size == agents.length && score <= scores[size - 1]) return;
+            int i = size < agents.length ? size++ : size - 1;
+            while (i > 0 && scores[i - 1] < score) {
+                agents[i] = agents[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            agents[i] = agent;
+            scores[i] = score;
+        }
+        
+        BackupList toBackups(int excludedAgentId) {
+            BackupList list = new BackupList(BACKUP_CANDIDATES_PER_TASK);
+            for (int i = 0; i < size && list.size < BACKUP_CANDIDATES_PER_TASK; i++) {
+                if (agents[i].agentId != excludedAgentId) {
+                    list.add(agents[i]);
+                }
+            }
+            return list;
+        }
+    }
+    
+    /**
+     * Ranked backup agents for one assignment, with where each agent was
+     * when it was ranked
+     */
+    private static final class BackupList {
+        final int[] agentIds;
+        final double[] xs;
+        final double[] ys;
+        int size;
+        
+        BackupList(int capacity) {
+            this.agentIds = new int[capacity];
+            this.xs = new double[capacity];
+            this.ys = new double[capacity];
+        }
+        
+        void add(AgentState agent) {
+            agentIds[size] = agent.agentId;
+            xs[size] = agent.position != null ? agent.position.x : Double.NaN;
+            ys[size] = agent.position != null ? agent.position.y : Double.NaN;
+            size++;
+        }
+        
+        BackupList without(int agentId) {
+            BackupList copy = new BackupList(agentIds.length);
+            for (int i = 0; i < size; i++) {
+                if (agentIds[i] != agentId) {
+                    copy.agentIds[copy.size] = agentIds[i];
+                    copy.xs[copy.size] = xs[i];
+                    copy.ys[copy.size] = ys[i];
+                    copy.size++;
+                }
+            }
+            return copy;
+        }
+        
+        boolean isStale(Map<Integer, AgentState> agentsById) {
+            for (int i = 0; i < size; i++) {
+                AgentState agent = agentsById.get(agentIds[i]);
+                if (agent == null || agent.status != com.team6.swarm.core.AgentStatus.ACTIVE) {
+                    return true;
+                }
+                if (agent.position != null && !Double.isNaN(xs[i])
+                    && Math.hypot(agent.position.x - xs[i], agent.position.y - ys[i]) > BACKUP_STALE_DISTANCE) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    
     /**
      * REDISTRIBUTE TASKS
      * Balance workload across all agents
+     * Open tasks go to agents with free slots near them (assignPendingTasks),
+     * then queued work moves off the busiest agents (rebalance)
      */
     public void redistributeTasks(List<AgentState> availableAgents) {
-        // Get all active assignments
-        List<TaskAssignment> activeAssignments = new ArrayList<>();
-        for (TaskAssignment assignment : assignments.values()) {
-            if (assignment.isActive()) {
-                activeAssignments.add(assignment);
-            }
+        if (!pendingTasks.isEmpty()) {
+            assignPendingTasks(availableAgents);
+        }
+        
+        RebalanceReport report = rebalance(availableAgents, DEFAULT_REBALANCE_BUDGET_NANOS);
+        if (report.tasksMoved > 0) {
+            System.out.println("Redistributed tasks: " + report);
         }
         
         // Check if redistribution needed
         if (!isWorkloadBalanced()) {
-            System.out.println("Workload unbalanced - redistributing tasks");
-            
-            // For now, just log the imbalance
-            // Full redistribution would require cancelling and reassigning
+            System.out.println("Workload still unbalanced");
             for (Map.Entry<Integer, List<TaskAssignment>> entry : agentWorkload.entrySet()) {
                 System.out.println(String.format(
                     "  Agent %d: %d tasks", entry.getKey(), entry.getValue().size()
@@ -416,6 +999,239 @@ public class TaskAllocator {
         }
     }
     
+    /**
+     * REBALANCE WITH THE DEFAULT BUDGET
+     */
+    public RebalanceReport rebalance(List<AgentState> availableAgents) {
+        return rebalance(availableAgents, DEFAULT_REBALANCE_BUDGET_NANOS);
+    }
+    
+    /**
+     * REBALANCE
+     * Moves not-yet-accepted tasks from the busiest agent to nearby agents
+     * with time to spare, until the budget runs out (see WORKLOAD MANAGEMENT)
+     *
+     * - Converged when the busiest agent has no worthwhile move: the
+     *   makespan cannot drop by moving single tasks. Later calls return at
+     *   once until a workload changes or the receiver grid expires
+     * - Receiver grid (active agents with battery) is kept for
+     *   REBALANCE_GRID_MAX_AGE calls or until the agent count changes;
+     *   eligibility and travel always use the agents' current state
+     *
+     * @param budgetNanos Wall-clock budget; the next call carries on
+     */
+    public RebalanceReport rebalance(List<AgentState> availableAgents, long budgetNanos) {
+        long start = System.nanoTime();
+        if (availableAgents == null) {
+            return recordRebalance(new RebalanceReport(0, 0, 0, 0, 0, 0, false));
+        }
+        boolean gridCurrent = rebalanceGrid != null && rebalanceSourceSize == availableAgents.size()
+            && rebalanceGridAge < REBALANCE_GRID_MAX_AGE;
+        if (gridCurrent && convergedVersion == balancer.getVersion()) {
+            rebalanceGridAge++;
+            long makespan = balancer.getMaxRemainingMillis();
+            return recordRebalance(new RebalanceReport(0, 0, makespan, makespan, 0,
+                System.nanoTime() - start, false));
+        }
+        if (!gridCurrent) {
+            buildRebalanceGrid(availableAgents);
+        }
+        rebalanceGridAge++;
+        
+        Set<Integer> fresh = new HashSet<>();
+        long makespanBefore = freshRemaining(nextDonor(fresh));
+        // Average over every active agent, idle ones included
+        double averageRemaining = balancer.getTotalRemainingMillis() / (double) Math.max(1, rebalancePool.size());
+        
+        int moved = 0;
+        int visited = 0;
+        long migration = 0;
+        boolean outOfTime = false;
+        while (true) {
+            if (System.nanoTime() - start > budgetNanos) {
+                outOfTime = true;
+                break;
+            }
+            Integer donorId = nextDonor(fresh);
+            if (donorId == null) break;
+            long donorRemaining = balancer.getRemainingMillis(donorId);
+            if (donorRemaining - averageRemaining < MIN_REBALANCE_GAIN_MILLIS) break;
+            visited++;
+            
+            // Best move of one of the donor's queued tasks
+            TaskAssignment bestAssignment = null;
+            AgentState bestReceiver = null;
+            long bestGain = MIN_REBALANCE_GAIN_MILLIS - 1;
+            long bestTravel = 0;
+            for (TaskAssignment assignment : new ArrayList<>(agentWorkload.getOrDefault(donorId,
+                                                                                       Collections.emptyList()))) {
+                if (assignment.status != TaskStatus.PENDING || assignment.acceptedTime > 0) continue;
+                Task task = assignment.task;
+                long duration = WorkloadBalancer.remainingMillis(assignment);
+                for (AgentState receiver : nearestEligibleAgents(task, rebalancePool, rebalanceGrid)) {
+                    if (receiver.agentId == donorId || !isAgentEligible(receiver, task)) continue;
+                    long travel = travelMillis(receiver, task);
+                    long receiverAfter = balancer.getRemainingMillis(receiver.agentId)
+                        + duration + travel + HANDOFF_COST_MILLIS;
+                    long gain = donorRemaining - Math.max(donorRemaining - duration, receiverAfter);
+                    if (gain > bestGain || (gain == bestGain && bestReceiver != null && travel < bestTravel)) {
+                        bestGain = gain;
+                        bestAssignment = assignment;
+                        bestReceiver = receiver;
+                        bestTravel = travel;
+                    }
+                }
+            }
+            if (bestAssignment == null) break;  // Busiest agent cannot improve: converged
+            
+            // Hand over: the old assignment is cancelled, the task starts over with the receiver
+            TaskAssignment handedOver = bestAssignment.reassign(bestReceiver.agentId, AssignmentReason.LOAD_BALANCE);
+            handedOver.assignmentScore = calculateAssignmentScore(bestReceiver, handedOver.task);
+            trackAssignment(handedOver);
+            backups.put(handedOver.task.taskId, rankBackups(handedOver.task,
+                nearestEligibleAgents(handedOver.task, rebalancePool, rebalanceGrid), bestReceiver.agentId));
+            fresh.add(bestReceiver.agentId);
+            moved++;
+            migration += bestTravel;
+        }
+        convergedVersion = outOfTime ? -1 : balancer.getVersion();
+        
+        long makespanAfter = freshRemaining(nextDonor(fresh));
+        rebalancedTasks += moved;
+        makespanReductionMillis += makespanBefore - makespanAfter;
+        return recordRebalance(new RebalanceReport(moved, visited, makespanBefore, makespanAfter, migration,
+            System.nanoTime() - start, outOfTime));
+    }
+    
+    /**
+     * Receivers for rebalance: active agents with battery and a position
+     */
+    private void buildRebalanceGrid(List<AgentState> availableAgents) {
+        rebalancePool = new ArrayList<>();
+        for (AgentState agent : availableAgents) {
+            if (agent.status == com.team6.swarm.core.AgentStatus.ACTIVE
+                && agent.batteryLevel >= MIN_BATTERY_FOR_TASK && agent.position != null) {
+                rebalancePool.add(agent);
+            }
+        }
+        rebalanceGrid = agentGrid(rebalancePool);
+        rebalanceSourceSize = availableAgents.size();
+        rebalanceGridAge = 0;
+    }
+    
+    /**
+     * Busiest agent, recounting stale entries until the top one is current
+     */
+    private Integer nextDonor(Set<Integer> fresh) {
+        while (true) {
+            Integer candidate = balancer.mostLoadedAgent();
+            if (candidate == null || !fresh.add(candidate)) {
+                return candidate;
+            }
+            balancer.refresh(candidate, agentWorkload.get(candidate));
+        }
+    }
+    
+    private long freshRemaining(Integer agentId) {
+        return agentId != null ? balancer.getRemainingMillis(agentId) : 0;
+    }
+    
+    /**
+     * Time for an agent to reach a task's target at its top speed
+     */
+    private long travelMillis(AgentState agent, Task task) {
+        if (task.targetLocation == null || agent.position == null) {
+            return 0;
+        }
+        double speed = agent.maxSpeed > 0 ? agent.maxSpeed : DEFAULT_TRAVEL_SPEED;
+        return (long) (agent.position.distanceTo(task.targetLocation) / speed * 1000);
+    }
+    
+    private RebalanceReport recordRebalance(RebalanceReport report) {
+        lastRebalanceReport = report;
+        return report;
+    }
+    
+    /**
+     * ASSIGN PENDING TASKS
+     * Hands open tasks to agents with free slots, candidates from the task index
+     *
+     * - Each agent proposes its CANDIDATE_TASKS_PER_AGENT nearest open tasks
+     *   it is eligible for, so the cost grows with agents, not agents x pending
+     * - Proposals are taken highest priority first, then best score, while
+     *   the task is still open and the agent still has a slot
+     * - Open tasks without a location are offered to every agent
+     *
+     * @return Assignments made; tasks nobody proposed stay pending
+     */
+    public List<TaskAssignment> assignPendingTasks(List<AgentState> availableAgents) {
+        List<TaskAssignment> results = new ArrayList<>();
+        if (availableAgents == null || pendingTasks.isEmpty()) {
+            return results;
+        }
+        
+        List<PendingProposal> proposals = new ArrayList<>();
+        for (AgentState agent : availableAgents) {
+            if (agent.status != com.team6.swarm.core.AgentStatus.ACTIVE
+                || agent.batteryLevel < MIN_BATTERY_FOR_TASK
+                || getAgentLoad(agent.agentId) >= MAX_TASKS_PER_AGENT) {
+                continue;
+            }
+            List<Task> candidates = new ArrayList<>(taskIndex.unlocatedTasks(null, null));
+            if (agent.position != null) {
+                candidates.addAll(taskIndex.nearest(agent.position, CANDIDATE_TASKS_PER_AGENT,
+                    task -> task.isPending() && isAgentEligible(agent, task)));
+            }
+            for (Task task : candidates) {
+                if (task.isPending() && isAgentEligible(agent, task)) {
+                    proposals.add(new PendingProposal(agent, task, calculateAssignmentScore(agent, task)));
+                }
+            }
+        }
+        proposals.sort(this::compareProposals);
+        
+        for (PendingProposal proposal : proposals) {
+            AgentState agent = proposal.agent;
+            Task task = proposal.task;
+            if (!task.isPending() || !isAgentEligible(agent, task)) {
+                continue;
+            }
+            double score = calculateAssignmentScore(agent, task);
+            AssignmentReason reason = determineAssignmentReason(agent, task, score);
+            results.add(recordAssignment(task, agent, reason, score));
+        }
+        
+        if (!results.isEmpty()) {
+            System.out.println(String.format(
+                "Assigned %d pending tasks (%d still pending)", results.size(), pendingTasks.size()
+            ));
+        }
+        return results;
+    }
+    
+    /**
+     * Highest priority first, then best score
+     */
+    private int compareProposals(PendingProposal a, PendingProposal b) {
+        int byPriority = Integer.compare(getPriorityValue(b.task.priority), getPriorityValue(a.task.priority));
+        return byPriority != 0 ? byPriority : Double.compare(b.score, a.score);
+    }
+    
+    /**
+     * An agent offering to take an open task
+     */
+    private static final class PendingProposal {
+        final AgentState agent;
+        final Task task;
+        final double score;
+        
+        PendingProposal(AgentState agent, Task task, double score) {
+            this.agent = agent;
+            this.task = task;
+            this.score = score;
+        }
+    }
+    
     // ==================== WORKLOAD MANAGEMENT ====================
     
     /**
@@ -451,25 +1267,12 @@ public class TaskAllocator {
      * Check if workload is balanced across agents
      */
     public boolean isWorkloadBalanced() {
-        if (agentWorkload.isEmpty()) return true;
-        
-        // Calculate average load
-        double avgLoad = agentWorkload.values().stream()
-            // Use non-terminal counts for each agent so the average reflects
-            // real pending/in-progress workload rather than total history size.
-            .mapToInt(list -> (int) list.stream().filter(t -> !t.status.isTerminal()).count())
-            .average()
-            .orElse(0.0);
-        
-        // Check if any agent has >2x average
-        for (List<TaskAssignment> tasks : agentWorkload.values()) {
-            int nonTerminal = (int) tasks.stream().filter(t -> !t.status.isTerminal()).count();
-            if (nonTerminal > avgLoad * 2) {
-                return false;
-            }
-        }
-        
-        return true;
+        // Running counts from the balancer: no agent may hold >2x the average
+        return balancer.getMaxTaskCount() <= balancer.getAverageTaskCount() * 2;
+    }
+    
+    public WorkloadBalancer getWorkloadBalancer() {
+        return balancer;
     }
     
     /**
@@ -483,6 +1286,7 @@ public class TaskAllocator {
             agentWorkload.put(agentId, list);
         }
         list.add(assignment);
+        balancer.assignmentAdded(agentId, assignment);
     }
 
     /**
@@ -493,6 +1297,7 @@ public class TaskAllocator {
         List<TaskAssignment> tasks = agentWorkload.get(agentId);
         if (tasks != null) {
             tasks.remove(assignment);
+            balancer.assignmentRemoved(agentId, assignment);
             // If list becomes empty, remove the key to keep map small
             if (tasks.isEmpty()) {
                 agentWorkload.remove(agentId);
@@ -507,6 +1312,11 @@ public class TaskAllocator {
     public void notifyAssignmentTerminal(TaskAssignment assignment) {
         if (assignment == null) return;
         removeFromAgentWorkload(assignment.assignedAgentId, assignment);
+        // Finished work leaves the task index (unless the task was handed on)
+        if (assignments.get(assignment.task.taskId) == assignment) {
+            taskIndex.remove(assignment.task.taskId);
+            backups.remove(assignment.task.taskId);
+        }
     }
     
     
@@ -537,7 +1347,56 @@ public class TaskAllocator {
      * Get all pending tasks
      */
     public List<Task> getPendingTasks() {
-        return new ArrayList<>(pendingTasks);
+        return new ArrayList<>(pendingTasks.values());
+    }
+    
+    /**
+     * Up to k indexed tasks nearest a point (null filter = any)
+     */
+    public List<Task> getTasksNear(Point2D position, int k, Set<TaskStatus> statuses, Set<TaskType> types) {
+        return taskIndex.nearest(position, k, statuses, types);
+    }
+    
+    /**
+     * Indexed tasks within radius of a point, nearest first (null filter = any)
+     */
+    public List<Task> getTasksWithinRadius(Point2D center, double radius,
+                                           Set<TaskStatus> statuses, Set<TaskType> types) {
+        return taskIndex.withinRadius(center, radius, statuses, types);
+    }
+    
+    /**
+     * Indexed tasks inside a rectangle (null filter = any)
+     */
+    public List<Task> getTasksInRegion(Point2D corner, Point2D oppositeCorner,
+                                       Set<TaskStatus> statuses, Set<TaskType> types) {
+        return taskIndex.inRegion(corner, oppositeCorner, statuses, types);
+    }
+    
+    /**
+     * Up to k unassigned tasks nearest a point, optionally of given types
+     */
+    public List<Task> getOpenTasksNear(Point2D position, int k, Set<TaskType> types) {
+        return taskIndex.nearest(position, k,
+            task -> task.isPending() && (types == null || types.contains(task.taskType)));
+    }
+    
+    public TaskSpatialIndex getTaskIndex() {
+        return taskIndex;
+    }
+    
+    /**
+     * Backup agent IDs for a task's current assignment, best first
+     */
+    public List<Integer> getBackupCandidates(String taskId) {
+        BackupList list = backups.get(taskId);
+        List<Integer> ids = new ArrayList<>();
+        if (list != null) {
+            for (int i = 0; i < list.size; i++) {
+                ids.add(list.agentIds[i]);
+            }
+        }
+        return ids;
     }
     
     // ==================== PERFORMANCE METRICS ====================
@@ -554,6 +1413,41 @@ public class TaskAllocator {
         return failedAssignments;
     }
     
+    /**
+     * Reassignments resolved from a backup shortlist
+     */
+    public int getBackupReassignments() {
+        return backupReassignments;
+    }
+    
+    /**
+     * Reassignments that needed a full scan of the agents
+     */
+    public int getFallbackReassignments() {
+        return fallbackReassignments;
+    }
+    
+    /**
+     * Tasks moved between agents by rebalance
+     */
+    public int getRebalancedTasks() {
+        return rebalancedTasks;
+    }
+    
+    /**
+     * Makespan removed by all rebalance calls so far
+     */
+    public long getMakespanReductionMillis() {
+        return makespanReductionMillis;
+    }
+    
+    /**
+     * Report for the most recent rebalance call, null before the first
+     */
+    public RebalanceReport getLastRebalanceReport() {
+        return lastRebalanceReport;
+    }
+    
     public double getAssignmentSuccessRate() {
         int total = totalTasksAssigned + failedAssignments;
         return total > 0 ? (double) totalTasksAssigned / total : 1.0;
@@ -563,5 +1457,9 @@ public class TaskAllocator {
         totalTasksAssigned = 0;
         totalReassignments = 0;
         failedAssignments = 0;
+        backupReassignments = 0;
+        fallbackReassignments = 0;
+        rebalancedTasks = 0;
+        makespanReductionMillis = 0;
     }
 }
\ No newline at end of file
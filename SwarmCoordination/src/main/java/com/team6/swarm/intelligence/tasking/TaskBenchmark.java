@@ -0,0 +1,267 @@
+/**
+ * TASKBENCHMARK CLASS - Task Allocation Scalability Measurements
+ *
+ * PURPOSE:
+ * - Compares the greedy and optimal assignTasks modes as missions grow
+ * - Gives repeatable numbers to compare before/after optimizations
+ * - Runs standalone; not part of the pass/fail test suites
+ *
+ * BENCHMARKS:
+ * 1. Greedy vs optimal batch assignment: total cost (100 - score per
+ *    task), total and longest agent-to-task distance, solve time
+ *    (greedy logs every assignment; that output is discarded)
+ * 2. Open tasks near each agent: scan of every pending task (nearest
+ *    only) vs the allocator's task index (5 nearest)
+ * 3. Group failure: one assignTask scan per orphaned task vs the batch
+ *    reassignAgentTasks over backup shortlists
+ * 4. Work stealing: tasks first given to a third of the agents, then
+ *    rebalance once per tick with the default 1 ms budget until it
+ *    stops moving work; makespan before/after, ticks needed and the
+ *    cost of a tick once converged
+ *
+ * USAGE:
+ * java com.team6.swarm.intelligence.tasking.TaskBenchmark
+ */
+package com.team6.swarm.intelligence.tasking;
+
+import com.team6.swarm.core.AgentState;
+import com.team6.swarm.core.AgentStatus;
+import com.team6.swarm.core.Point2D;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TaskBenchmark {
+    private static final int WARMUP_RUNS = 2;
+
+    public static void main(String[] args) {
+        System.out.println("=== Task Allocation Benchmarks ===");
+
+        benchmarkAssignmentModes();
+        benchmarkOpenTaskLookup();
+        benchmarkGroupFailure();
+        benchmarkWorkStealing();
+
+        System.out.println("\n=== Benchmarks Complete ===");
+    }
+
+    // ===== BENCHMARK 1: GREEDY VS OPTIMAL =====
+    private static void benchmarkAssignmentModes() {
+        System.out.println("\n--- Greedy vs optimal batch assignment ---");
+        System.out.println(String.format("%-6s %-7s %-8s %9s %10s %10s %8s %9s %9s",
+            "tasks", "agents", "mode", "assigned", "totalCost", "distance", "maxDist", "edges", "ms"));
+
+        int[][] sizes = {{100, 100}, {500, 2_000}, {1_000, 5_000}};
+        for (int[] size : sizes) {
+            Random random = new Random(21);
+            List<AgentState> agents = createAgents(size[1], random);
+            List<Task> tasks = createTasks(size[0], random);
+            for (AssignmentMode mode : AssignmentMode.values()) {
+                AssignmentReport report = null;
+                for (int run = 0; run <= WARMUP_RUNS; run++) {
+                    report = run(tasks, agents, mode);
+                }
+                System.out.println(String.format("%-6d %-7d %-8s %9d %10.1f %10.0f %8.0f %9d %9.1f",
+                    tasks.size(), agents.size(), mode, report.assignedCount, report.getTotalCost(),
+                    report.totalDistance, report.maxDistance, report.candidateEdges, report.getSolveMillis()));
+            }
+        }
+    }
+
+    // ===== BENCHMARK 2: OPEN TASK LOOKUP =====
+    private static void benchmarkOpenTaskLookup() {
+        System.out.println("\n--- Open tasks near each agent (k = 5) ---");
+        System.out.println(String.format("%-7s %-7s %-6s %12s %9s", "tasks", "agents", "mode", "examined", "ms"));
+
+        int[][] sizes = {{1_000, 500}, {10_000, 2_000}, {50_000, 5_000}};
+        for (int[] size : sizes) {
+            Random random = new Random(34);
+            List<AgentState> agents = createAgents(size[1], random);
+            List<Task> tasks = createTasks(size[0], random);
+            TaskAllocator allocator = new TaskAllocator();
+            List<AgentState> drained = createAgents(1, random);
+            drained.get(0).batteryLevel = 0.0;   // Nobody eligible: every task stays pending
+            run(tasks, drained, AssignmentMode.OPTIMAL, allocator);
+
+            long checksum = 0;
+            long start = 0;
+            for (int run = -WARMUP_RUNS; run < 1; run++) {
+                if (run == 0) start = System.nanoTime();
+                List<Task> pending = allocator.getPendingTasks();
+                for (AgentState agent : agents) {
+                    Task nearest = null;
+                    double best = Double.MAX_VALUE;
+                    for (Task task : pending) {
+                        double distance = agent.position.distanceTo(task.targetLocation);
+                        if (distance < best) {
+                            best = distance;
+                            nearest = task;
+                        }
+                    }
+                    checksum += nearest.taskId.length();
+                }
+            }
+            System.out.println(String.format("%-7d %-7d %-6s %12d %9.1f", tasks.size(), agents.size(), "scan",
+                (long) tasks.size() * agents.size(), (System.nanoTime() - start) / 1e6));
+
+            for (int run = -WARMUP_RUNS; run < 1; run++) {
+                if (run == 0) start = System.nanoTime();
+                for (AgentState agent : agents) {
+                    checksum += allocator.getOpenTasksNear(agent.position, 5, null).get(0).taskId.length();
+                }
+            }
+            long examined = allocator.getTaskIndex().getTasksExamined() / (WARMUP_RUNS + 1);
+            System.out.println(String.format("%-7d %-7d %-6s %12d %9.1f   (checksum %d)", tasks.size(),
+                agents.size(), "index", examined, (System.nanoTime() - start) / 1e6, checksum));
+        }
+    }
+
+    // ===== BENCHMARK 3: GROUP FAILURE =====
+    private static void benchmarkGroupFailure() {
+        System.out.println("\n--- Group failure: 10% of agents fail at once ---");
+        System.out.println(String.format("%-6s %-7s %-8s %-10s %9s %9s %9s",
+            "tasks", "agents", "orphans", "mode", "moved", "fallback", "ms"));
+
+        int[][] sizes = {{300, 1_000}, {1_000, 5_000}, {3_000, 20_000}};
+        for (int[] size : sizes) {
+            Random random = new Random(55);
+            List<AgentState> agents = createAgents(size[1], random);
+            List<Task> tasks = createTasks(size[0], random);
+            List<Integer> failed = new ArrayList<>();
+            List<AgentState> survivors = new ArrayList<>();
+            for (AgentState agent : agents) {
+                if (agent.agentId % 10 == 0) {
+                    failed.add(agent.agentId);
+                } else {
+                    survivors.add(agent);
+                }
+            }
+
+            for (int mode = 0; mode < 2; mode++) {
+                double millis = 0;
+                int moved = 0;
+                int orphans = 0;
+                TaskAllocator allocator = null;
+                for (int run = 0; run <= WARMUP_RUNS; run++) {
+                    allocator = new TaskAllocator();
+                    run(tasks, agents, AssignmentMode.OPTIMAL, allocator);
+                    orphans = 0;
+                    for (int id : failed) orphans += allocator.getAgentLoad(id);
+
+                    PrintStream console = System.out;
+                    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+                    long start = System.nanoTime();
+                    try {
+                        moved = mode == 0
+                            ? reassignByScan(allocator, failed, survivors)
+                            : allocator.reassignAgentTasks(failed, survivors).size();
+                    } finally {
+                        System.setOut(console);
+                    }
+                    millis = (System.nanoTime() - start) / 1e6;
+                }
+                System.out.println(String.format("%-6d %-7d %-8d %-10s %9d %9d %9.2f",
+                    tasks.size(), agents.size(), orphans, mode == 0 ? "scan" : "backups", moved,
+                    mode == 0 ? moved : allocator.getFallbackReassignments(), millis));
+            }
+        }
+    }
+
+    // ===== BENCHMARK 4: WORK STEALING =====
+    private static void benchmarkWorkStealing() {
+        System.out.println("\n--- Work stealing, 1 ms budget per tick ---");
+        System.out.println(String.format("%-6s %-7s %6s %8s %11s %10s %8s %10s %9s",
+            "tasks", "agents", "ticks", "moved", "makespan0", "makespan", "gain", "ms/tick", "quiet ms"));
+
+        int[][] sizes = {{300, 1_000}, {1_000, 5_000}, {3_000, 20_000}};
+        for (int[] size : sizes) {
+            Random random = new Random(89);
+            List<AgentState> agents = createAgents(size[1], random);
+            List<Task> tasks = createTasks(size[0], random);
+            List<AgentState> firstThird = agents.subList(0, size[1] / 3);
+            for (Task task : tasks) {
+                task.estimatedDuration = 20_000 + random.nextInt(100_000);
+            }
+
+            TaskAllocator allocator = new TaskAllocator();
+            run(tasks, firstThird, AssignmentMode.OPTIMAL, allocator);
+            long makespanBefore = allocator.getWorkloadBalancer().getMaxRemainingMillis();
+            int ticks = 0;
+            int moved = 0;
+            double millis = 0;
+            while (ticks < 10_000) {
+                RebalanceReport report = allocator.rebalance(agents);
+                ticks++;
+                moved += report.tasksMoved;
+                millis += report.getElapsedMillis();
+                if (!report.budgetExhausted) break;
+            }
+            long makespanAfter = allocator.getWorkloadBalancer().getMaxRemainingMillis();
+            double quiet = allocator.rebalance(agents).getElapsedMillis();  // Converged: nothing changed since
+            System.out.println(String.format("%-6d %-7d %6d %8d %10.1fs %9.1fs %7.0f%% %10.3f %9.4f",
+                tasks.size(), agents.size(), ticks, moved, makespanBefore / 1000.0, makespanAfter / 1000.0,
+                100.0 * (makespanBefore - makespanAfter) / makespanBefore, millis / ticks, quiet));
+        }
+    }
+
+    /**
+     * The reassignment loop before backup candidates: one full scan per task
+     */
+    private static int reassignByScan(TaskAllocator allocator, List<Integer> failed, List<AgentState> survivors) {
+        int moved = 0;
+        for (int id : failed) {
+            for (TaskAssignment orphan : allocator.getAgentAssignments(id)) {
+                allocator.removeFromAgentWorkload(id, orphan);
+                orphan.task.assignedTo = -1;
+                if (allocator.assignTask(orphan.task, survivors) != null) {
+                    moved++;
+                }
+            }
+        }
+        return moved;
+    }
+
+    private static AssignmentReport run(List<Task> tasks, List<AgentState> agents, AssignmentMode mode) {
+        return run(tasks, agents, mode, new TaskAllocator());
+    }
+
+    private static AssignmentReport run(List<Task> tasks, List<AgentState> agents, AssignmentMode mode,
+                                        TaskAllocator allocator) {
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            allocator.assignTasks(tasks, agents, mode);
+        } finally {
+            System.setOut(console);
+        }
+        return allocator.getLastAssignmentReport();
+    }
+
+    private static List<AgentState> createAgents(int count, Random random) {
+        List<AgentState> agents = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            AgentState agent = new AgentState();
+            agent.agentId = id;
+            agent.position = new Point2D(random.nextDouble() * 800, random.nextDouble() * 600);
+            agent.status = AgentStatus.ACTIVE;
+            agent.batteryLevel = 0.3 + random.nextDouble() * 0.7;
+            agents.add(agent);
+        }
+        return agents;
+    }
+
+    private static List<Task> createTasks(int count, Random random) {
+        List<Task> tasks = new ArrayList<>(count);
+        TaskPriority[] priorities = TaskPriority.values();
+        for (int i = 0; i < count; i++) {
+            Task task = Task.createMoveToWaypoint("bench_" + i,
+                new Point2D(random.nextDouble() * 800, random.nextDouble() * 600));
+            task.priority = priorities[random.nextInt(priorities.length)];
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,345 @@
+/**
+ * TASKSPATIALINDEX CLASS - Uniform Grid over Task Target Locations
+ *
+ * PURPOSE:
+ * - Answers "which tasks are near this point / inside this region"
+ *   without scanning every task the allocator knows about
+ * - Kept up to date by TaskAllocator as tasks are queued, assigned,
+ *   completed or cancelled
+ *
+ * STRUCTURE:
+ * - Square cells of cellSize, keyed by (cellX, cellY) packed into a long
+ * - Only occupied cells exist, so the world needs no fixed bounds
+ * - Tasks without a targetLocation are tracked separately; spatial
+ *   queries never return them
+ *
+ * FILTERS:
+ * - Every query takes a set of TaskStatus and a set of TaskType values,
+ *   null meaning "any"
+ * - Status and type are read from the task when the query runs, so a
+ *   status change needs no index update; only a move (new
+ *   targetLocation) or removal does
+ *
+ * QUERIES:
+ * - nearest: rings of cells around the query point, stopping once the
+ *   k-th match is closer than anything an unvisited ring could hold
+ * - withinRadius: cells overlapping the circle's bounding square
+ * - inRegion: cells overlapping the rectangle
+ *
+ * USAGE:
+ * TaskSpatialIndex index = new TaskSpatialIndex(100.0);
+ * index.add(task);
+ * List<Task> open = index.nearest(agent.position, 5, EnumSet.of(TaskStatus.PENDING), null);
+ * index.remove(task.taskId);
+ */
+package com.team6.swarm.intelligence.tasking;
+
+import com.team6.swarm.core.Point2D;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+public class TaskSpatialIndex {
+    private final double cellSize;
+    private final Map<Long, List<Task>> cells;
+    private final Map<String, Long> cellOfTask;
+    private final Map<String, Task> unlocated;
+
+    // Occupied cell bounds; only grow until the index empties
+    private int minCellX;
+    private int maxCellX;
+    private int minCellY;
+    private int maxCellY;
+
+    // Statistics
+    private long queries;
+    private long tasksExamined;
+
+    public TaskSpatialIndex(double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("cellSize must be positive");
+        }
+        this.cellSize = cellSize;
+        this.cells = new HashMap<>();
+        this.cellOfTask = new HashMap<>();
+        this.unlocated = new LinkedHashMap<>();
+        resetBounds();
+    }
+
+    // ==================== UPDATES ====================
+
+    /**
+     * Add a task, or move it if its targetLocation changed since it was added
+     */
+    public synchronized void add(Task task) {
+        if (task == null) {
+            throw new IllegalArgumentException("task must not be null");
+        }
+        remove(task.taskId);
+        if (task.targetLocation == null) {
+            unlocated.put(task.taskId, task);
+            return;
+        }
+        int cx = cellCoord(task.targetLocation.x);
+        int cy = cellCoord(task.targetLocation.y);
+        long key = cellKey(cx, cy);
+        cells.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+        cellOfTask.put(task.taskId, key);
+        minCellX = Math.min(minCellX, cx);
+        maxCellX = Math.max(maxCellX, cx);
+        minCellY = Math.min(minCellY, cy);
+        maxCellY = Math.max(maxCellY, cy);
+    }
+
+    /**
+     * @return true if the task was in the index
+     */
+    public synchronized boolean remove(String taskId) {
+        if (unlocated.remove(taskId) != null) {
+            return true;
+        }
+        Long key = cellOfTask.remove(taskId);
+        if (key == null) {
+            return false;
+        }
+        List<Task> cell = cells.get(key);
+        cell.removeIf(t -> t.taskId.equals(taskId));
+        if (cell.isEmpty()) {
+            cells.remove(key);
+        }
+        if (cellOfTask.isEmpty()) {
+            resetBounds();
+        }
+        return true;
+    }
+
+    public synchronized boolean contains(String taskId) {
+        return cellOfTask.containsKey(taskId) || unlocated.containsKey(taskId);
+    }
+
+    public synchronized void clear() {
+        cells.clear();
+        cellOfTask.clear();
+        unlocated.clear();
+        resetBounds();
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Up to k matching tasks closest to a point, nearest first
+     */
+    public List<Task> nearest(Point2D from, int k, Set<TaskStatus> statuses, Set<TaskType> types) {
+        return nearest(from, k, filter(statuses, types));
+    }
+
+    /**
+     * Matching tasks within radius of a point, nearest first
+     */
+    public List<Task> withinRadius(Point2D center, double radius, Set<TaskStatus> statuses, Set<TaskType> types) {
+        return withinRadius(center, radius, filter(statuses, types));
+    }
+
+    /**
+     * Matching tasks inside the rectangle spanned by two opposite corners
+     */
+    public List<Task> inRegion(Point2D corner, Point2D oppositeCorner,
+                               Set<TaskStatus> statuses, Set<TaskType> types) {
+        return inRegion(corner, oppositeCorner, filter(statuses, types));
+    }
+
+    /**
+     * Matching tasks that have no targetLocation
+     */
+    public synchronized List<Task> unlocatedTasks(Set<TaskStatus> statuses, Set<TaskType> types) {
+        Predicate<Task> accept = filter(statuses, types);
+        List<Task> result = new ArrayList<>();
+        for (Task task : unlocated.values()) {
+            if (accept.test(task)) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    synchronized List<Task> nearest(Point2D from, int k, Predicate<Task> accept) {
+        if (from == null) {
+            throw new IllegalArgumentException("from must not be null");
+        }
+        queries++;
+        if (k <= 0 || cells.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int ox = cellCoord(from.x);
+        int oy = cellCoord(from.y);
+        int firstRing = Math.max(Math.max(minCellX - ox, ox - maxCellX), Math.max(minCellY - oy, oy - maxCellY));
+        int lastRing = Math.max(Math.max(ox - minCellX, maxCellX - ox), Math.max(oy - minCellY, maxCellY - oy));
+
+        // Max-heap on distance holding the best k so far
+        PriorityQueue<Match> best = new PriorityQueue<>((a, b) -> Double.compare(b.distance, a.distance));
+        for (int ring = Math.max(0, firstRing); ring <= lastRing; ring++) {
+            // Only the part of the ring inside the occupied bounds
+            for (int cx = Math.max(ox - ring, minCellX); cx <= Math.min(ox + ring, maxCellX); cx++) {
+                // Edge columns are walked in full, other columns only at the top and bottom rows
+                boolean edgeColumn = cx == ox - ring || cx == ox + ring;
+                int step = edgeColumn ? 1 : 2 * ring;
+                int fromY = edgeColumn ? Math.max(oy - ring, minCellY) : oy - ring;
+                int toY = edgeColumn ? Math.min(oy + ring, maxCellY) : oy + ring;
+                for (int cy = fromY; cy <= toY; cy += step) {
+                    if (cy < minCellY || cy > maxCellY) continue;
+                    List<Task> cell = cells.get(cellKey(cx, cy));
+                    if (cell == null) continue;
+                    for (Task task : cell) {
+                        tasksExamined++;
+                        if (!accept.test(task)) continue;
+                        double distance = from.distanceTo(task.targetLocation);
+                        if (best.size() < k) {
+                            best.add(new Match(task, distance));
+                        } else if (distance < best.peek().distance) {
+                            best.poll();
+                            best.add(new Match(task, distance));
+                        }
+                    }
+                }
+            }
+            // Cells in ring + 1 are at least ring * cellSize away
+            if (best.size() == k && best.peek().distance <= ring * cellSize) {
+                break;
+            }
+        }
+
+        List<Task> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(best.poll().task);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    synchronized List<Task> withinRadius(Point2D center, double radius, Predicate<Task> accept) {
+        if (center == null) {
+            throw new IllegalArgumentException("center must not be null");
+        }
+        queries++;
+        List<Task> result = new ArrayList<>();
+        if (radius < 0 || cells.isEmpty()) {
+            return result;
+        }
+        int fromX = Math.max(minCellX, cellCoord(center.x - radius));
+        int toX = Math.min(maxCellX, cellCoord(center.x + radius));
+        int fromY = Math.max(minCellY, cellCoord(center.y - radius));
+        int toY = Math.min(maxCellY, cellCoord(center.y + radius));
+        for (int cx = fromX; cx <= toX; cx++) {
+            for (int cy = fromY; cy <= toY; cy++) {
+                List<Task> cell = cells.get(cellKey(cx, cy));
+                if (cell == null) continue;
+                for (Task task : cell) {
+                    tasksExamined++;
+                    if (accept.test(task) && center.distanceTo(task.targetLocation) <= radius) {
+                        result.add(task);
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingDouble(t -> center.distanceTo(t.targetLocation)));
+        return result;
+    }
+
+    synchronized List<Task> inRegion(Point2D corner, Point2D oppositeCorner, Predicate<Task> accept) {
+        if (corner == null || oppositeCorner == null) {
+            throw new IllegalArgumentException("corners must not be null");
+        }
+        queries++;
+        List<Task> result = new ArrayList<>();
+        double lowX = Math.min(corner.x, oppositeCorner.x);
+        double highX = Math.max(corner.x, oppositeCorner.x);
+        double lowY = Math.min(corner.y, oppositeCorner.y);
+        double highY = Math.max(corner.y, oppositeCorner.y);
+        if (cells.isEmpty()) {
+            return result;
+        }
+        int fromX = Math.max(minCellX, cellCoord(lowX));
+        int toX = Math.min(maxCellX, cellCoord(highX));
+        int fromY = Math.max(minCellY, cellCoord(lowY));
+        int toY = Math.min(maxCellY, cellCoord(highY));
+        for (int cx = fromX; cx <= toX; cx++) {
+            for (int cy = fromY; cy <= toY; cy++) {
+                List<Task> cell = cells.get(cellKey(cx, cy));
+                if (cell == null) continue;
+                for (Task task : cell) {
+                    tasksExamined++;
+                    Point2D target = task.targetLocation;
+                    if (accept.test(task) && target.x >= lowX && target.x <= highX
+                        && target.y >= lowY && target.y <= highY) {
+                        result.add(task);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // ==================== HELPERS ====================
+
+    private static final class Match {
+        final Task task;
+        final double distance;
+
+        Match(Task task, double distance) {
+            this.task = task;
+            this.distance = distance;
+        }
+    }
+
+    private static Predicate<Task> filter(Set<TaskStatus> statuses, Set<TaskType> types) {
+        return task -> (statuses == null || statuses.contains(task.status))
+            && (types == null || types.contains(task.taskType));
+    }
+
+    private int cellCoord(double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    private static long cellKey(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    private void resetBounds() {
+        minCellX = Integer.MAX_VALUE;
+        maxCellX = Integer.MIN_VALUE;
+        minCellY = Integer.MAX_VALUE;
+        maxCellY = Integer.MIN_VALUE;
+    }
+
+    // ==================== STATISTICS ====================
+
+    public synchronized int size() {
+        return cellOfTask.size() + unlocated.size();
+    }
+
+    public synchronized int getOccupiedCells() {
+        return cells.size();
+    }
+
+    public synchronized long getQueryCount() {
+        return queries;
+    }
+
+    /**
+     * Tasks looked at by all queries so far; compare with size() x queries
+     * for what full scans would have cost
+     */
+    public synchronized long getTasksExamined() {
+        return tasksExamined;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("TaskSpatialIndex[tasks=%d | unlocated=%d | cells=%d | queries=%d | examined=%d]",
+            cellOfTask.size(), unlocated.size(), cells.size(), queries, tasksExamined);
+    }
+}
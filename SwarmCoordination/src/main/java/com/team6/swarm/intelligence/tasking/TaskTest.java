@@ -39,6 +39,30 @@
  *    Expected: HIGH priority assigned first
  *    Success: Priority-based ordering
  *
+ * 7. OPTIMAL BATCH ASSIGNMENT TEST
+ *    Setup: Greedy trap (2 tasks, 2 agents), 200 tasks / 300 agents,
+ *           more tasks than slots with mixed priorities
+ *    Expected: Total score never below greedy, capacity and priority kept
+ *    Success: Optimal mode fixes the trap, lower tiers left pending
+ *
+ * 8. TASK SPATIAL INDEX TEST
+ *    Setup: 2000 tasks of mixed type/status; allocator with pending work
+ *    Expected: nearest/radius/region queries match a full scan, index
+ *              follows assignment and completion
+ *    Success: Same answers with far fewer tasks examined, idle agents
+ *             pick up the open tasks nearest them
+ *
+ * 9. BACKUP CANDIDATE REASSIGNMENT TEST
+ *    Setup: 40 tasks over 60 agents, 10 busy agents fail at once
+ *    Expected: Every orphan moves to a backup in one batch, capacity kept
+ *    Success: No full-scan fallback, moved agents leave the shortlists
+ *
+ * 10. WORK STEALING TEST
+ *    Setup: 3 agents with 3 queued tasks each, 9 idle agents nearby
+ *    Expected: Queued tasks move to idle agents, started ones stay
+ *    Success: Makespan drops, counts match a full recount, a zero budget
+ *             defers the work to the next call
+ *
  * WEEK 3 SUCCESS CRITERIA:
  * ✓ Task creation and validation
  * ✓ TaskAssignment tracking
@@ -51,6 +75,8 @@ package com.team6.swarm.intelligence.tasking;
 
 import com.team6.swarm.core.*;
 import com.team6.swarm.intelligence.flocking.BehaviorType;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.util.*;
 
 public class TaskTest {
@@ -68,6 +94,10 @@ public class TaskTest {
         testBatteryAwareness();
         testAgentFailure();
         testPriorityHandling();
+        testOptimalAssignment();
+        testTaskIndex();
+        testBackupReassignment();
+        testWorkStealing();
         
         System.out.println();
         System.out.println("========================================");
@@ -307,11 +337,25 @@ public class TaskTest {
                 a.task.taskId, a.assignedAgentId, a.reassignmentCount));
         }
         
+        // A started task whose agent fails with nobody left is open work again
+        TaskAllocator startedAllocator = new TaskAllocator();
+        Task started = Task.createMoveToWaypoint("task_started", new Point2D(200, 200));
+        List<AgentState> crew = createTestAgents(2);
+        TaskAssignment running = startedAllocator.assignTask(started, crew.subList(0, 1));
+        running.accept();
+        startedAllocator.reassignAgentTasks(running.assignedAgentId, new ArrayList<>());
+        boolean reopened = started.isPending()
+            && startedAllocator.getOpenTasksNear(started.targetLocation, 5, null).contains(started);
+        List<TaskAssignment> resumed = startedAllocator.assignPendingTasks(crew.subList(1, 2));
+        reopened &= resumed.size() == 1 && resumed.get(0).assignedAgentId == crew.get(1).agentId;
+        System.out.println(String.format("Started task after its agent failed: open=%b, picked up by %s",
+            reopened, resumed.isEmpty() ? "nobody" : "Agent " + resumed.get(0).assignedAgentId));
+        
         System.out.println();
-        if (reassignments.size() > 0) {
+        if (reassignments.size() > 0 && reopened) {
             System.out.println("  ✓ PASS: Tasks successfully reassigned");
         } else {
-            System.out.println("  ✗ FAIL: Reassignment failed");
+            System.out.println("  ✗ FAIL: Reassignment failed (started task reopened=" + reopened + ")");
         }
         System.out.println();
     }
@@ -389,8 +433,406 @@ public class TaskTest {
         System.out.println();
     }
     
+    /**
+     * TEST 7: OPTIMAL BATCH ASSIGNMENT
+     * Whole-batch assignment should beat greedy without breaking limits
+     */
+    private static void testOptimalAssignment() {
+        System.out.println("TEST 7: Optimal Batch Assignment");
+        System.out.println("--------------------------------");
+        
+        // Greedy trap: the first task takes the agent the second one needs
+        List<AgentState> pair = new ArrayList<>();
+        pair.add(createAgentAt(1, 0, 100));
+        pair.add(createAgentAt(2, 100, 100));
+        List<Task> trap = Arrays.asList(
+            Task.createMoveToWaypoint("trap_1", new Point2D(90, 100)),
+            Task.createMoveToWaypoint("trap_2", new Point2D(190, 100)));
+        
+        TaskAllocator greedy = new TaskAllocator();
+        greedy.assignTasks(trap, pair);
+        AssignmentReport greedyTrap = greedy.getLastAssignmentReport();
+        TaskAllocator optimal = new TaskAllocator();
+        optimal.assignTasks(trap, pair, AssignmentMode.OPTIMAL);
+        AssignmentReport optimalTrap = optimal.getLastAssignmentReport();
+        
+        System.out.println("  Greedy:  " + greedyTrap);
+        System.out.println("  Optimal: " + optimalTrap);
+        if (optimal.getAssignment("trap_1").assignedAgentId == 1
+            && optimal.getAssignment("trap_2").assignedAgentId == 2
+            && optimalTrap.totalDistance < greedyTrap.totalDistance) {
+            System.out.println("  ✓ PASS: Optimal mode sends each agent to the task ahead of it");
+        } else {
+            System.out.println("  ✗ FAIL: Optimal mode repeated the greedy assignment");
+        }
+        
+        // Large batch: never worse than greedy, capacity respected
+        Random random = new Random(11);
+        List<AgentState> swarm = new ArrayList<>();
+        for (int i = 1; i <= 300; i++) {
+            AgentState agent = createAgentAt(i, random.nextDouble() * 800, random.nextDouble() * 600);
+            agent.batteryLevel = 0.3 + random.nextDouble() * 0.7;
+            swarm.add(agent);
+        }
+        List<Task> mission = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Task task = Task.createMoveToWaypoint("mission_" + i,
+                new Point2D(random.nextDouble() * 800, random.nextDouble() * 600));
+            task.priority = TaskPriority.values()[i % TaskPriority.values().length];
+            mission.add(task);
+        }
+        TaskAllocator greedyLarge = new TaskAllocator();
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));  // Greedy logs every task
+        greedyLarge.assignTasks(mission, swarm);
+        System.setOut(console);
+        TaskAllocator optimalLarge = new TaskAllocator();
+        optimalLarge.assignTasks(mission, swarm, AssignmentMode.OPTIMAL);
+        AssignmentReport greedyReport = greedyLarge.getLastAssignmentReport();
+        AssignmentReport optimalReport = optimalLarge.getLastAssignmentReport();
+        int maxLoad = 0;
+        for (AgentState agent : swarm) {
+            maxLoad = Math.max(maxLoad, optimalLarge.getAgentLoad(agent.agentId));
+        }
+        System.out.println("  Greedy:  " + greedyReport);
+        System.out.println("  Optimal: " + optimalReport);
+        if (optimalReport.assignedCount == mission.size()
+            && optimalReport.totalScore >= greedyReport.totalScore - 1e-6 && maxLoad <= 3) {
+            System.out.println(String.format("  ✓ PASS: 200 tasks, cost %.1f vs greedy %.1f, max load %d",
+                optimalReport.getTotalCost(), greedyReport.getTotalCost(), maxLoad));
+        } else {
+            System.out.println("  ✗ FAIL: Optimal batch worse than greedy or over capacity");
+        }
+        
+        // More tasks than slots: 2 agents x 3 slots, 8 tasks
+        List<Task> crowded = new ArrayList<>();
+        TaskPriority[] tiers = {TaskPriority.LOW, TaskPriority.HIGH, TaskPriority.NORMAL, TaskPriority.HIGH,
+                                TaskPriority.LOW, TaskPriority.NORMAL, TaskPriority.HIGH, TaskPriority.NORMAL};
+        for (int i = 0; i < tiers.length; i++) {
+            // LOW tasks are the closest, so only the tiers keep them out
+            Task task = Task.createMoveToWaypoint("crowded_" + i,
+                new Point2D(tiers[i] == TaskPriority.LOW ? 50 : 300 + 40 * i, 100));
+            task.priority = tiers[i];
+            crowded.add(task);
+        }
+        TaskAllocator tiered = new TaskAllocator();
+        tiered.assignTasks(crowded, pair, AssignmentMode.OPTIMAL);
+        boolean lowPending = true;
+        for (Task pending : tiered.getPendingTasks()) {
+            lowPending &= pending.priority == TaskPriority.LOW;
+        }
+        System.out.println("  Tiers:   " + tiered.getLastAssignmentReport());
+        if (tiered.getLastAssignmentReport().assignedCount == 6 && tiered.getPendingTasks().size() == 2 && lowPending) {
+            System.out.println("  ✓ PASS: HIGH and NORMAL tasks assigned, both LOW tasks pending");
+        } else {
+            System.out.println("  ✗ FAIL: Priority tiers not respected");
+        }
+        System.out.println();
+    }
+    
+    /**
+     * TEST 8: TASK SPATIAL INDEX
+     * Spatial task queries should match a full scan and follow the task lifecycle
+     */
+    private static void testTaskIndex() {
+        System.out.println("TEST 8: Task Spatial Index");
+        System.out.println("--------------------------");
+        
+        // Queries against a full scan
+        Random random = new Random(5);
+        TaskSpatialIndex index = new TaskSpatialIndex(50.0);
+        List<Task> all = new ArrayList<>();
+        TaskStatus[] statuses = {TaskStatus.PENDING, TaskStatus.IN_PROGRESS, TaskStatus.BLOCKED};
+        TaskType[] types = {TaskType.MOVE_TO_WAYPOINT, TaskType.GUARD_POSITION, TaskType.SEARCH_PATTERN};
+        for (int i = 0; i < 2000; i++) {
+            Task task = new Task("indexed_" + i, types[random.nextInt(types.length)]);
+            task.targetLocation = new Point2D(random.nextDouble() * 1000 - 200, random.nextDouble() * 800 - 100);
+            task.status = statuses[random.nextInt(statuses.length)];
+            all.add(task);
+            index.add(task);
+        }
+        // Moving a task re-files it
+        all.get(0).targetLocation = new Point2D(5000, 5000);
+        index.add(all.get(0));
+        
+        Set<TaskStatus> pendingOnly = EnumSet.of(TaskStatus.PENDING);
+        Set<TaskType> movesAndGuards = EnumSet.of(TaskType.MOVE_TO_WAYPOINT, TaskType.GUARD_POSITION);
+        int mismatches = 0;
+        for (int q = 0; q < 50; q++) {
+            Point2D point = new Point2D(random.nextDouble() * 1200 - 300, random.nextDouble() * 1000 - 200);
+            List<Task> expected = new ArrayList<>();
+            for (Task task : all) {
+                if (pendingOnly.contains(task.status) && movesAndGuards.contains(task.taskType)) {
+                    expected.add(task);
+                }
+            }
+            expected.sort(Comparator.comparingDouble(t -> point.distanceTo(t.targetLocation)));
+            if (!index.nearest(point, 7, pendingOnly, movesAndGuards).equals(expected.subList(0, 7))) {
+                mismatches++;
+            }
+            
+            List<Task> inRadius = new ArrayList<>();
+            for (Task task : expected) {
+                if (point.distanceTo(task.targetLocation) <= 120) inRadius.add(task);
+            }
+            if (!index.withinRadius(point, 120, pendingOnly, movesAndGuards).equals(inRadius)) {
+                mismatches++;
+            }
+            
+            Point2D corner = new Point2D(point.x + 150, point.y - 80);
+            Set<String> inRegion = new HashSet<>();
+            for (Task task : all) {
+                if (task.targetLocation.x >= point.x && task.targetLocation.x <= corner.x
+                    && task.targetLocation.y >= corner.y && task.targetLocation.y <= point.y) {
+                    inRegion.add(task.taskId);
+                }
+            }
+            Set<String> found = new HashSet<>();
+            for (Task task : index.inRegion(point, corner, null, null)) {
+                found.add(task.taskId);
+            }
+            if (!found.equals(inRegion)) {
+                mismatches++;
+            }
+        }
+        long fullScan = (long) all.size() * index.getQueryCount();
+        System.out.println("  " + index);
+        if (mismatches == 0 && index.getTasksExamined() < fullScan / 5
+            && index.nearest(new Point2D(4990, 4990), 1, null, null).get(0) == all.get(0)) {
+            System.out.println(String.format("  ✓ PASS: 150 queries match a full scan, %d of %d tasks examined",
+                index.getTasksExamined(), fullScan));
+        } else {
+            System.out.println("  ✗ FAIL: " + mismatches + " queries differ from a full scan");
+        }
+        
+        // Allocator keeps the index in step with the task lifecycle
+        TaskAllocator allocator = new TaskAllocator();
+        List<AgentState> agents = new ArrayList<>();
+        agents.add(createAgentAt(1, 0, 0));
+        agents.add(createAgentAt(2, 500, 0));
+        for (AgentState agent : agents) {
+            agent.batteryLevel = 0.1;  // Too low: everything goes pending
+        }
+        List<Task> work = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            work.add(Task.createMoveToWaypoint("near_a_" + i, new Point2D(10 + i, 0)));
+            work.add(Task.createMoveToWaypoint("near_b_" + i, new Point2D(490 - i, 0)));
+        }
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        allocator.assignTasks(work, agents);
+        System.setOut(console);
+        boolean allOpen = allocator.getOpenTasksNear(new Point2D(0, 0), 10, null).size() == 8;
+        
+        for (AgentState agent : agents) {
+            agent.batteryLevel = 0.9;
+        }
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        List<TaskAssignment> picked = allocator.assignPendingTasks(agents);
+        System.setOut(console);
+        boolean nearestPicked = true;
+        for (TaskAssignment assignment : picked) {
+            nearestPicked &= assignment.task.taskId.startsWith(assignment.assignedAgentId == 1 ? "near_a" : "near_b");
+        }
+        List<Task> open = allocator.getOpenTasksNear(new Point2D(0, 0), 10, null);
+        
+        TaskAssignment first = allocator.getAgentAssignments(1).get(0);
+        first.complete();
+        boolean removed = !allocator.getTaskIndex().contains(first.task.taskId);
+        List<Task> region = allocator.getTasksInRegion(new Point2D(-50, -50), new Point2D(100, 50), null, null);
+        
+        System.out.println("  " + allocator.getTaskIndex());
+        if (allOpen && picked.size() == 6 && nearestPicked && open.size() == 2
+            && allocator.getPendingTasks().size() == 2 && removed && region.size() == 3) {
+            System.out.println("  ✓ PASS: 6 open tasks taken by the agents next to them, completed task left the index");
+        } else {
+            System.out.println(String.format("  ✗ FAIL: open=%b picked=%d nearest=%b left=%d removed=%b region=%d",
+                allOpen, picked.size(), nearestPicked, open.size(), removed, region.size()));
+        }
+        System.out.println();
+    }
+    
+    /**
+     * TEST 9: BACKUP CANDIDATE REASSIGNMENT
+     * Group failures should be resolved from the backup shortlists
+     */
+    private static void testBackupReassignment() {
+        System.out.println("TEST 9: Backup Candidate Reassignment");
+        System.out.println("-------------------------------------");
+        
+        Random random = new Random(17);
+        List<AgentState> swarm = new ArrayList<>();
+        for (int i = 1; i <= 60; i++) {
+            swarm.add(createAgentAt(i, random.nextDouble() * 600, random.nextDouble() * 400));
+        }
+        List<Task> mission = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            mission.add(Task.createMoveToWaypoint("backup_" + i,
+                new Point2D(random.nextDouble() * 600, random.nextDouble() * 400)));
+        }
+        TaskAllocator allocator = new TaskAllocator();
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        allocator.assignTasks(mission, swarm);
+        System.setOut(console);
+        
+        boolean shortlists = true;
+        for (Task task : mission) {
+            List<Integer> backups = allocator.getBackupCandidates(task.taskId);
+            shortlists &= backups.size() == 4
+                && !backups.contains(allocator.getAssignment(task.taskId).assignedAgentId);
+        }
+        
+        // The first 10 agents holding work fail together
+        Set<Integer> failed = new LinkedHashSet<>();
+        for (Task task : mission) {
+            if (failed.size() < 10) failed.add(allocator.getAssignment(task.taskId).assignedAgentId);
+        }
+        int orphans = 0;
+        for (int id : failed) orphans += allocator.getAgentLoad(id);
+        List<AgentState> survivors = new ArrayList<>();
+        for (AgentState agent : swarm) {
+            if (!failed.contains(agent.agentId)) survivors.add(agent);
+        }
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        List<TaskAssignment> moved = allocator.reassignAgentTasks(failed, survivors);
+        System.setOut(console);
+        
+        boolean valid = true;
+        for (TaskAssignment assignment : moved) {
+            valid &= !failed.contains(assignment.assignedAgentId)
+                && assignment.reassignmentCount == 1
+                && assignment.assignmentReason == AssignmentReason.REASSIGNMENT;
+        }
+        for (AgentState agent : survivors) {
+            valid &= allocator.getAgentLoad(agent.agentId) <= 3;
+        }
+        System.out.println(String.format("  %d agents failed, %d orphans: %d from backups, %d full scans",
+            failed.size(), orphans, allocator.getBackupReassignments(), allocator.getFallbackReassignments()));
+        
+        // An agent that moves away drops out of every shortlist on refresh
+        AgentState wanderer = survivors.get(0);
+        wanderer.position = new Point2D(10_000, 10_000);
+        int refreshed = allocator.refreshBackupCandidates(survivors);
+        boolean dropped = true;
+        for (Task task : mission) {
+            dropped &= !allocator.getBackupCandidates(task.taskId).contains(wanderer.agentId);
+        }
+        int quiet = allocator.refreshBackupCandidates(survivors);
+        
+        if (shortlists && moved.size() == orphans && valid
+            && allocator.getBackupReassignments() == orphans && allocator.getFallbackReassignments() == 0
+            && dropped && quiet == 0) {
+            System.out.println(String.format(
+                "  ✓ PASS: Group failure resolved from backups, %d stale shortlists re-ranked", refreshed));
+        } else {
+            System.out.println(String.format(
+                "  ✗ FAIL: shortlists=%b moved=%d/%d valid=%b dropped=%b quiet=%d",
+                shortlists, moved.size(), orphans, valid, dropped, quiet));
+        }
+        System.out.println();
+    }
+    
+    /**
+     * TEST 10: WORK STEALING
+     * Overloaded agents should hand queued tasks to nearby idle agents
+     */
+    private static void testWorkStealing() {
+        System.out.println("TEST 10: Work Stealing");
+        System.out.println("----------------------");
+        
+        List<AgentState> busy = new ArrayList<>();
+        List<AgentState> swarm = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            AgentState agent = createAgentAt(i, 100 + 20 * (i % 4), 100 + 20 * (i / 4));
+            swarm.add(agent);
+            if (i <= 3) busy.add(agent);
+        }
+        List<Task> work = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            work.add(Task.createMoveToWaypoint("queued_" + i, new Point2D(120 + 5 * i, 130)));
+        }
+        TaskAllocator allocator = new TaskAllocator();
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        allocator.assignTasks(work, busy);  // Only 3 agents available: 3 tasks each
+        System.setOut(console);
+        TaskAssignment started = allocator.getAgentAssignments(1).get(0);
+        started.accept();
+        
+        RebalanceReport deferred = allocator.rebalance(swarm, 0);
+        RebalanceReport report = allocator.rebalance(swarm, 50_000_000);
+        System.out.println("  Deferred: " + deferred);
+        System.out.println("  " + report);
+        
+        boolean valid = allocator.getAssignment(started.task.taskId) == started
+            && started.assignedAgentId == 1;
+        int recount = 0;
+        int maxLoad = 0;
+        for (AgentState agent : swarm) {
+            int load = allocator.getAgentLoad(agent.agentId);
+            recount += load;
+            maxLoad = Math.max(maxLoad, load);
+            valid &= allocator.getWorkloadBalancer().getTaskCount(agent.agentId) == load;
+        }
+        for (TaskAssignment assignment : allocator.getAllAssignments().values()) {
+            if (assignment.assignedAgentId > 3) {
+                valid &= assignment.assignmentReason == AssignmentReason.LOAD_BALANCE;
+            }
+        }
+        
+        if (deferred.tasksMoved == 0 && deferred.budgetExhausted && report.tasksMoved >= 4
+            && report.makespanAfterMillis < report.makespanBeforeMillis && valid
+            && recount == 9 && maxLoad <= 3 && allocator.getWorkloadBalancer().getTotalTasks() == 9
+            && allocator.isWorkloadBalanced()) {
+            System.out.println(String.format("  ✓ PASS: %d tasks stolen, makespan %.0fs -> %.0fs, started task kept",
+                report.tasksMoved, report.makespanBeforeMillis / 1000.0, report.makespanAfterMillis / 1000.0));
+        } else {
+            System.out.println(String.format("  ✗ FAIL: moved=%d valid=%b recount=%d maxLoad=%d balanced=%b",
+                report.tasksMoved, valid, recount, maxLoad, allocator.isWorkloadBalanced()));
+        }
+        
+        // A moved task keeps a shortlist: its new owner failing is covered from it
+        TaskAssignment stolen = null;
+        for (TaskAssignment assignment : allocator.getAllAssignments().values()) {
+            if (assignment.assignmentReason == AssignmentReason.LOAD_BALANCE) stolen = assignment;
+        }
+        int thief = stolen.assignedAgentId;
+        List<Integer> shortlist = allocator.getBackupCandidates(stolen.task.taskId);
+        List<AgentState> remaining = new ArrayList<>(swarm);
+        remaining.removeIf(agent -> agent.agentId == thief);
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        allocator.reassignAgentTasks(thief, remaining);
+        System.setOut(console);
+        TaskAssignment recovered = allocator.getAssignment(stolen.task.taskId);
+        System.out.println(String.format("  %s moved to Agent %d, backups %s; after it fails: Agent %d",
+            stolen.task.taskId, thief, shortlist, recovered.assignedAgentId));
+        if (!shortlist.isEmpty() && !shortlist.contains(thief)
+            && shortlist.contains(recovered.assignedAgentId)
+            && allocator.getBackupReassignments() >= 1 && allocator.getFallbackReassignments() == 0) {
+            System.out.println("  ✓ PASS: Stolen task reassigned from its backups");
+        } else {
+            System.out.println(String.format("  ✗ FAIL: backups=%s backup reassignments=%d full scans=%d",
+                shortlist, allocator.getBackupReassignments(), allocator.getFallbackReassignments()));
+        }
+        System.out.println();
+    }
+    
     // ==================== HELPER METHODS ====================
     
+    /**
+     * Create one active agent at a position
+     */
+    private static AgentState createAgentAt(int id, double x, double y) {
+        AgentState agent = new AgentState();
+        agent.agentId = id;
+        agent.agentName = "Agent_" + id;
+        agent.position = new Point2D(x, y);
+        agent.status = com.team6.swarm.core.AgentStatus.ACTIVE;
+        agent.batteryLevel = 0.8;
+        return agent;
+    }
+    
     /**
      * Create test agents with default properties
      */
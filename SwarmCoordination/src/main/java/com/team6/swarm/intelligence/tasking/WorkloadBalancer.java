@@ -0,0 +1,217 @@
+/**
+ * WORKLOADBALANCER CLASS - Per-Agent Workload Bookkeeping
+ *
+ * PURPOSE:
+ * - Keeps each agent's open task count and estimated remaining work time
+ *   up to date as the allocator adds and removes assignments
+ * - Orders agents by remaining time so the most loaded agent is found in
+ *   O(log n) instead of summing every workload list
+ * - Answers isWorkloadBalanced-style questions from running totals
+ *
+ * REMAINING TIME (per assignment, fixed when it is counted):
+ * - Not started: task.estimatedDuration
+ * - In progress: estimatedDuration x (100 - completion%) / 100
+ * - Progress is not pushed to the balancer; refresh(agentId, assignments)
+ *   recounts one agent. Progress only lowers remaining time, so a stale
+ *   entry overestimates and refreshing the top entry until it stays on
+ *   top gives the true maximum (see TaskAllocator.rebalance)
+ *
+ * USAGE (by TaskAllocator):
+ * balancer.assignmentAdded(agentId, assignment);
+ * balancer.assignmentRemoved(agentId, assignment);
+ * Integer busiest = balancer.mostLoadedAgent();
+ */
+package com.team6.swarm.intelligence.tasking;
+
+import java.util.*;
+
+public class WorkloadBalancer {
+    private final Map<Integer, AgentLoad> loads;
+    private final TreeSet<AgentLoad> byRemaining;          // Most remaining time first
+    private final TreeMap<Integer, Integer> countFrequency; // Open task count -> agents with it
+    private final Map<TaskAssignment, Long> counted;       // Remaining time each assignment added
+    private int totalTasks;
+    private long totalRemainingMillis;
+    private long version;                                  // Bumped whenever a count changes
+
+    public WorkloadBalancer() {
+        this.loads = new HashMap<>();
+        this.byRemaining = new TreeSet<>((a, b) -> a.remainingMillis != b.remainingMillis
+            ? Long.compare(b.remainingMillis, a.remainingMillis)
+            : Integer.compare(a.agentId, b.agentId));
+        this.countFrequency = new TreeMap<>();
+        this.counted = new IdentityHashMap<>();
+    }
+
+    // ==================== UPDATES ====================
+
+    public synchronized void assignmentAdded(int agentId, TaskAssignment assignment) {
+        if (assignment == null || assignment.status.isTerminal() || counted.containsKey(assignment)) {
+            return;
+        }
+        long remaining = remainingMillis(assignment);
+        counted.put(assignment, remaining);
+        AgentLoad load = loads.computeIfAbsent(agentId, AgentLoad::new);
+        load.assignments.add(assignment);
+        update(load, 1, remaining);
+    }
+
+    public synchronized void assignmentRemoved(int agentId, TaskAssignment assignment) {
+        Long remaining = counted.remove(assignment);
+        AgentLoad load = loads.get(agentId);
+        if (remaining == null || load == null) {
+            return;
+        }
+        load.assignments.remove(assignment);
+        update(load, -1, -remaining);
+    }
+
+    /**
+     * Recount one agent from its assignment list (picks up progress)
+     */
+    public synchronized void refresh(int agentId, List<TaskAssignment> assignments) {
+        long before = version;
+        int countBefore = getTaskCount(agentId);
+        long remainingBefore = getRemainingMillis(agentId);
+        AgentLoad load = loads.get(agentId);
+        if (load != null) {
+            for (TaskAssignment assignment : new ArrayList<>(load.assignments)) {
+                assignmentRemoved(agentId, assignment);
+            }
+        }
+        if (assignments != null) {
+            for (TaskAssignment assignment : assignments) {
+                assignmentAdded(agentId, assignment);
+            }
+        }
+        // A recount that changed nothing is not a change
+        if (getTaskCount(agentId) == countBefore && getRemainingMillis(agentId) == remainingBefore) {
+            version = before;
+        }
+    }
+
+    private void update(AgentLoad load, int taskDelta, long millisDelta) {
+        byRemaining.remove(load);
+        decrementFrequency(load.taskCount);
+        load.taskCount += taskDelta;
+        load.remainingMillis += millisDelta;
+        version++;
+        totalTasks += taskDelta;
+        totalRemainingMillis += millisDelta;
+        if (load.taskCount <= 0) {
+            loads.remove(load.agentId);
+            return;
+        }
+        countFrequency.merge(load.taskCount, 1, Integer::sum);
+        byRemaining.add(load);
+    }
+
+    private void decrementFrequency(int taskCount) {
+        Integer agents = countFrequency.get(taskCount);
+        if (agents == null) return;
+        if (agents == 1) {
+            countFrequency.remove(taskCount);
+        } else {
+            countFrequency.put(taskCount, agents - 1);
+        }
+    }
+
+    /**
+     * Estimated time left on one assignment
+     */
+    public static long remainingMillis(TaskAssignment assignment) {
+        long duration = Math.max(0, assignment.task.estimatedDuration);
+        return duration * (100 - assignment.completionPercentage) / 100;
+    }
+
+    // ==================== QUERIES ====================
+
+    public synchronized int getTaskCount(int agentId) {
+        AgentLoad load = loads.get(agentId);
+        return load != null ? load.taskCount : 0;
+    }
+
+    public synchronized long getRemainingMillis(int agentId) {
+        AgentLoad load = loads.get(agentId);
+        return load != null ? load.remainingMillis : 0;
+    }
+
+    /**
+     * Agent with the most remaining time (as last counted), null if none
+     */
+    public synchronized Integer mostLoadedAgent() {
+        return byRemaining.isEmpty() ? null : byRemaining.first().agentId;
+    }
+
+    /**
+     * Agents with work, most remaining time first
+     */
+    public synchronized List<Integer> agentsByRemaining(int limit) {
+        List<Integer> ids = new ArrayList<>(Math.min(limit, byRemaining.size()));
+        for (AgentLoad load : byRemaining) {
+            if (ids.size() >= limit) break;
+            ids.add(load.agentId);
+        }
+        return ids;
+    }
+
+    /**
+     * Largest remaining time of any agent (as last counted)
+     */
+    public synchronized long getMaxRemainingMillis() {
+        return byRemaining.isEmpty() ? 0 : byRemaining.first().remainingMillis;
+    }
+
+    public synchronized int getMaxTaskCount() {
+        return countFrequency.isEmpty() ? 0 : countFrequency.lastKey();
+    }
+
+    /**
+     * Changes whenever any agent's count or remaining time changes
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized int getTotalTasks() {
+        return totalTasks;
+    }
+
+    public synchronized long getTotalRemainingMillis() {
+        return totalRemainingMillis;
+    }
+
+    /**
+     * Agents with at least one open task
+     */
+    public synchronized int getLoadedAgentCount() {
+        return loads.size();
+    }
+
+    /**
+     * Mean open task count over agents that have work
+     */
+    public synchronized double getAverageTaskCount() {
+        return loads.isEmpty() ? 0.0 : (double) totalTasks / loads.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("WorkloadBalancer[agents=%d | tasks=%d | remaining=%ds | max=%ds]",
+            loads.size(), totalTasks, totalRemainingMillis / 1000, getMaxRemainingMillis() / 1000);
+    }
+
+    /**
+     * Running totals for one agent
+     */
+    private static final class AgentLoad {
+        final int agentId;
+        final List<TaskAssignment> assignments = new ArrayList<>();
+        int taskCount;
+        long remainingMillis;
+
+        AgentLoad(int agentId) {
+            this.agentId = agentId;
+        }
+    }
+}
@@ -72,6 +72,7 @@ public class SystemController {
     private Thread simulationThread;
     private long lastUpdateTime;
     private double simulationSpeed;
+    private volatile long simulationTimeMs;  // Sum of scaled deltaTimes (vote deadlines)
     
     // ==================== CONFIGURATION ====================
     private BehaviorConfiguration behaviorConfig;
@@ -433,7 +434,7 @@ public class SystemController {
             type = ProposalType.COORDINATION;
         }
         
-        String proposalId = votingSystem.initiateVote(question, options, type);
+        String proposalId = votingSystem.initiateVote(question, options, type, simulationTimeMs);
         
         return "Vote initiated: " + proposalId;
     }
@@ -560,6 +561,7 @@ public class SystemController {
         while (simulationRunning) {
             long currentTime = System.currentTimeMillis();
             double deltaTime = (currentTime - lastUpdateTime) / 1000.0 * simulationSpeed;
+            simulationTimeMs += Math.round(deltaTime * 1000);
             
             try {
                 // Update all agents
@@ -602,7 +604,7 @@ public class SystemController {
                 
                 // Check voting timeouts
                 if (votingSystem != null) {
-                    votingSystem.expireProposals();
+                    votingSystem.expireProposals(simulationTimeMs);
                 }
                 
                 // Publish visualization update
@@ -733,6 +735,13 @@ public class SystemController {
         return simulationSpeed;
     }
     
+    /**
+     * Simulated milliseconds elapsed (scaled by the simulation speed)
+     */
+    public long getSimulationTime() {
+        return simulationTimeMs;
+    }
+    
     public void setSimulationSpeed(double speed) {
         this.simulationSpeed = Math.max(0.1, Math.min(5.0, speed));
     }